@@ -26,8 +26,16 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.math3.stat.descriptive.UnivariateStatistic;
 import org.apache.commons.math3.stat.descriptive.rank.Max;
@@ -36,6 +44,7 @@ import org.apache.commons.math3.stat.descriptive.rank.Min;
 import org.moeaframework.analysis.sensitivity.ResultEntry;
 import org.moeaframework.analysis.sensitivity.ResultFileReader;
 import org.moeaframework.analysis.sensitivity.ResultFileWriter;
+import org.moeaframework.core.FrameworkException;
 import org.moeaframework.core.Indicator;
 import org.moeaframework.core.NondominatedPopulation;
 import org.moeaframework.core.PopulationIO;
@@ -81,6 +90,15 @@ import org.moeaframework.util.statistics.MannWhitneyUTest;
  * The output produced is compatible with the 
  * <a href="http://yaml.org/">YAML</a> format, and thus can be postprocessed
  * easily with any YAML parser.
+ * <p>
+ * Indicator values are cached for each approximation set, so repeated calls
+ * to {@link #printAnalysis()} or {@link #saveAnalysis(File)} only evaluate
+ * newly-added sets or newly-included indicators.  Approximation sets should
+ * therefore not be modified after being added to the analyzer.  The
+ * evaluation of indicators and the statistical significance tests can be
+ * distributed across multiple threads with {@link #distributeOn(int)}, and
+ * {@link #streamResultFiles()} avoids holding the approximation sets of
+ * result files in memory.
  */
 public class Analyzer extends ProblemBuilder {
 	
@@ -181,6 +199,56 @@ public class Analyzer extends ProblemBuilder {
 	 */
 	private Map<String, List<NondominatedPopulation>> data;
 	
+	/**
+	 * The result files whose approximation sets are read on demand rather than
+	 * stored in {@code data}.
+	 */
+	private Map<String, List<File>> streamedData;
+	
+	/**
+	 * {@code true} if result files are streamed rather than loaded into
+	 * memory; {@code false} otherwise.
+	 */
+	private boolean streamResultFiles;
+	
+	/**
+	 * The number of threads used to evaluate the indicators and statistical
+	 * significance tests.
+	 */
+	private int numberOfThreads;
+	
+	/**
+	 * The cached indicator values of each approximation set, keyed by the
+	 * identity of the set and the name of the indicator.
+	 */
+	private Map<NondominatedPopulation, Map<String, Double>> cache;
+	
+	/**
+	 * The cached indicator values of each entry in the streamed result files,
+	 * keyed by the file and the name of the indicator.
+	 */
+	private Map<File, Map<String, double[]>> streamedCache;
+	
+	/**
+	 * The cached indicator values of the aggregate approximation set of each
+	 * algorithm, keyed by the name of the algorithm and the name of the
+	 * indicator.
+	 */
+	private Map<String, Map<String, Double>> aggregateCache;
+	
+	/**
+	 * {@code true} if the reference set was last aggregated from the
+	 * approximation sets, in which case adding data invalidates all cached
+	 * indicator values; {@code false} otherwise.
+	 */
+	private boolean referenceSetDerived;
+	
+	/**
+	 * The number of times a quality indicator was evaluated.  This is package
+	 * private and intended only for testing.
+	 */
+	final AtomicInteger numberOfIndicatorEvaluations;
+	
 	/**
 	 * Constructs a new analyzer initialized with default settings.
 	 */
@@ -188,48 +256,109 @@ public class Analyzer extends ProblemBuilder {
 		super();
 		
 		significanceLevel = 0.05;
+		numberOfThreads = 1;
 		statistics = new ArrayList<UnivariateStatistic>();
 		data = new HashMap<String, List<NondominatedPopulation>>();
+		streamedData = new HashMap<String, List<File>>();
+		cache = new IdentityHashMap<NondominatedPopulation,
+				Map<String, Double>>();
+		streamedCache = new HashMap<File, Map<String, double[]>>();
+		aggregateCache = new HashMap<String, Map<String, Double>>();
+		numberOfIndicatorEvaluations = new AtomicInteger();
 	}
 	
 	@Override
 	public Analyzer withSameProblemAs(ProblemBuilder builder) {
+		invalidateCache();
 		return (Analyzer)super.withSameProblemAs(builder);
 	}
 	
 	@Override
 	public Analyzer usingProblemFactory(ProblemFactory problemFactory) {
+		invalidateCache();
 		return (Analyzer)super.usingProblemFactory(problemFactory);
 	}
 	
 	@Override
 	public Analyzer withProblem(String problemName) {
+		invalidateCache();
 		return (Analyzer)super.withProblem(problemName);
 	}
 	
 	@Override
 	public Analyzer withProblemClass(Class<?> problemClass, 
 			Object... problemArguments) {
+		invalidateCache();
 		return (Analyzer)super.withProblemClass(problemClass, problemArguments);
 	}
 
 	@Override
 	public Analyzer withProblemClass(String problemClassName, 
 			Object... problemArguments) throws ClassNotFoundException {
+		invalidateCache();
 		return (Analyzer)super.withProblemClass(problemClassName,
 				problemArguments);
 	}
 	
 	@Override
 	public Analyzer withEpsilon(double... epsilon) {
+		invalidateCache();
 		return (Analyzer)super.withEpsilon(epsilon);
 	}
 	
 	@Override
 	public Analyzer withReferenceSet(File referenceSetFile) {
+		invalidateCache();
 		return (Analyzer)super.withReferenceSet(referenceSetFile);
 	}
 	
+	/**
+	 * Distributes the evaluation of indicators and statistical significance
+	 * tests across the specified number of threads.  The output is identical
+	 * to the serial analysis.
+	 * 
+	 * @param numberOfThreads the number of threads
+	 * @return a reference to this analyzer
+	 * @throws IllegalArgumentException if {@code numberOfThreads} is less than
+	 *         {@code 1}
+	 */
+	public Analyzer distributeOn(int numberOfThreads) {
+		if (numberOfThreads < 1) {
+			throw new IllegalArgumentException(
+					"number of threads must be at least 1");
+		}
+		
+		this.numberOfThreads = numberOfThreads;
+		
+		return this;
+	}
+	
+	/**
+	 * Distributes the evaluation of indicators and statistical significance
+	 * tests across all available cores.
+	 * 
+	 * @return a reference to this analyzer
+	 */
+	public Analyzer distributeOnAllCores() {
+		return distributeOn(Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * Enables streaming of result files.  Result files subsequently loaded
+	 * with {@link #loadAs(String, File)} or
+	 * {@link #loadData(File, String, String)} are not read into memory;
+	 * instead, their approximation sets are read one at a time whenever they
+	 * are needed.  The files must not be modified or deleted while they are
+	 * used by this analyzer.
+	 * 
+	 * @return a reference to this analyzer
+	 */
+	public Analyzer streamResultFiles() {
+		streamResultFiles = true;
+		
+		return this;
+	}
+	
 	/**
 	 * Enables the evaluation of the hypervolume metric.
 	 * 
@@ -470,6 +599,7 @@ public class Analyzer extends ProblemBuilder {
 		}
 		
 		list.add(result);
+		invalidateCache(name);
 		
 		return this;
 	}
@@ -488,7 +618,7 @@ public class Analyzer extends ProblemBuilder {
 	throws IOException {
 		FileUtils.mkdir(directory);
 
-		for (String algorithm : data.keySet()) {
+		for (String algorithm : getAlgorithms()) {
 			saveAs(algorithm, new File(directory, prefix + algorithm + 
 					suffix));
 		}
@@ -531,6 +661,20 @@ public class Analyzer extends ProblemBuilder {
 	 * @throws IOException if an I/O error occurred
 	 */
 	public Analyzer loadAs(String name, File resultFile) throws IOException {
+		if (streamResultFiles) {
+			List<File> list = streamedData.get(name);
+			
+			if (list == null) {
+				list = new ArrayList<File>();
+				streamedData.put(name, list);
+			}
+			
+			list.add(resultFile);
+			invalidateCache(name);
+			
+			return this;
+		}
+		
 		Problem problem = null;
 		ResultFileReader reader = null;
 		
@@ -560,12 +704,16 @@ public class Analyzer extends ProblemBuilder {
 	/**
 	 * Saves the samples to a result file using {@link ResultFileWriter}.  If
 	 * {@code name} is {@code null}, the reference set is saved.  Otherwise,
-	 * the approximation sets for the named entries are saved.
+	 * the approximation sets for the named entries are saved.  A streamed
+	 * result file can only be overwritten with its own contents, such as when
+	 * it is the only source of the named entries.
 	 * 
 	 * @param name the name of the samples
 	 * @param resultFile the result file to which the data is saved
 	 * @return a reference to this analyzer
 	 * @throws IOException if an I/O error occurred
+	 * @throws IllegalArgumentException if the result file is streamed and
+	 *         saving would change its contents
 	 */
 	public Analyzer saveAs(String name, File resultFile) throws IOException {
 		Problem problem = null;
@@ -574,17 +722,55 @@ public class Analyzer extends ProblemBuilder {
 		try {
 			problem = getProblemInstance();
 			
+			//changing the contents of a streamed file would leave its cached
+			//indicator values stale and could count its sets twice
+			File outputFile = resultFile;
+			
+			if (isStreamed(resultFile)) {
+				if ((name == null) || data.containsKey(name) ||
+						!isStreamed(name, resultFile) ||
+						(streamedData.get(name).size() > 1)) {
+					throw new IllegalArgumentException(
+							"unable to overwrite a streamed result file");
+				}
+				
+				//write to a temporary file since the destination is being read
+				outputFile = File.createTempFile("analyzer", null,
+						resultFile.getAbsoluteFile().getParentFile());
+			}
+			
 			//delete the file to avoid appending
-			FileUtils.delete(resultFile);
+			FileUtils.delete(outputFile);
 
 			try {
-				writer = new ResultFileWriter(problem, resultFile);
+				writer = new ResultFileWriter(problem, outputFile);
 				
 				if (name == null) {
 					writer.append(new ResultEntry(getReferenceSet()));
 				} else {
-					for (NondominatedPopulation result : data.get(name)) {
-						writer.append(new ResultEntry(result));
+					if (data.containsKey(name)) {
+						for (NondominatedPopulation result : data.get(name)) {
+							writer.append(new ResultEntry(result));
+						}
+					}
+					
+					if (streamedData.containsKey(name)) {
+						for (File file : streamedData.get(name)) {
+							ResultFileReader reader = null;
+							
+							try {
+								reader = new ResultFileReader(problem, file);
+								
+								while (reader.hasNext()) {
+									writer.append(new ResultEntry(
+											reader.next().getPopulation()));
+								}
+							} finally {
+								if (reader != null) {
+									reader.close();
+								}
+							}
+						}
 					}
 				}
 			} finally {
@@ -592,6 +778,10 @@ public class Analyzer extends ProblemBuilder {
 					writer.close();
 				}
 			}
+			
+			if (outputFile != resultFile) {
+				FileUtils.move(outputFile, resultFile);
+			}
 		} finally {
 			if (problem != null) {
 				problem.close();
@@ -671,9 +861,13 @@ public class Analyzer extends ProblemBuilder {
 	 */
 	public NondominatedPopulation getReferenceSet() {
 		try {
-			return super.getReferenceSet();
+			NondominatedPopulation referenceSet = super.getReferenceSet();
+			referenceSetDerived = false;
+			return referenceSet;
 		} catch (IllegalArgumentException e) {
 			if (referenceSetFile == null) {
+				referenceSetDerived = true;
+				
 				//return the combination of all approximation sets
 				NondominatedPopulation referenceSet = newArchive();
 				
@@ -683,6 +877,27 @@ public class Analyzer extends ProblemBuilder {
 					}
 				}
 				
+				if (!streamedData.isEmpty()) {
+					Problem problem = null;
+					
+					try {
+						problem = getProblemInstance();
+						
+						for (List<File> entry : streamedData.values()) {
+							for (File file : entry) {
+								addAll(problem, file, referenceSet);
+							}
+						}
+					} catch (IOException ioe) {
+						throw new IllegalArgumentException(
+								"unable to load reference set", ioe);
+					} finally {
+						if (problem != null) {
+							problem.close();
+						}
+					}
+				}
+				
 				return referenceSet;
 			} else {
 				throw e;
@@ -698,11 +913,12 @@ public class Analyzer extends ProblemBuilder {
 	 * @throws IOException if an I/O error occurred
 	 */
 	public Analyzer printAnalysis(PrintStream ps) throws IOException {
-		if (data.isEmpty()) {
+		if (data.isEmpty() && streamedData.isEmpty()) {
 			return this;
 		}
 		
 		Problem problem = null;
+		MetricEvaluator evaluator = null;
 		
 		try {
 			problem = getProblemInstance();
@@ -711,111 +927,37 @@ public class Analyzer extends ProblemBuilder {
 			NondominatedPopulation referenceSet = getReferenceSet();
 			
 			//setup the quality indicators
-			List<Indicator> indicators = new ArrayList<Indicator>();
-			
-			if (includeHypervolume) {
-				indicators.add(new Hypervolume(problem, referenceSet));
-			}
-			
-			if (includeGenerationalDistance) {
-				indicators.add(new GenerationalDistance(problem, referenceSet));
-			}
-			
-			if (includeInvertedGenerationalDistance) {
-				indicators.add(new InvertedGenerationalDistance(problem, 
-						referenceSet));
-			}
-			
-			if (includeAdditiveEpsilonIndicator) {
-				indicators.add(new AdditiveEpsilonIndicator(problem, 
-						referenceSet));
-			}
-			
-			if (includeMaximumParetoFrontError) {
-				indicators.add(new MaximumParetoFrontError(problem, 
-						referenceSet));
-			}
-			
-			if (includeSpacing) {
-				indicators.add(new Spacing(problem));
-			}
-			
-			if (includeContribution) {
-				if (epsilon == null) {
-					indicators.add(new Contribution(referenceSet));
-				} else {
-					indicators.add(new Contribution(referenceSet, epsilon));
-				}
-			}
-			
-			if (includeR1) {
-				indicators.add(new R1Indicator(problem,
-						R1Indicator.getDefaultSubdivisions(problem),
-						referenceSet));
-			}
-			
-			if (includeR2) {
-				indicators.add(new R2Indicator(problem,
-						R2Indicator.getDefaultSubdivisions(problem),
-						referenceSet));
-			}
-			
-			if (includeR3) {
-				indicators.add(new R3Indicator(problem,
-						R3Indicator.getDefaultSubdivisions(problem),
-						referenceSet));
-			}
+			List<Indicator> indicators = createIndicators(problem,
+					referenceSet);
 			
 			if (indicators.isEmpty()) {
 				System.err.println("no indicators selected");
 				return this;
 			}
 			
-			//generate the aggregate sets
-			Map<String, NondominatedPopulation> aggregateSets =
-					new HashMap<String, NondominatedPopulation>();
-			
-			if (showAggregate) {
-				for (String algorithm : data.keySet()) {
-					NondominatedPopulation aggregateSet = newArchive();
-					
-					for (NondominatedPopulation set : data.get(algorithm)) {
-						aggregateSet.addAll(set);
-					}
-					
-					aggregateSets.put(algorithm, aggregateSet);
-				}
-			}
+			evaluator = new MetricEvaluator(problem, referenceSet,
+					indicators);
 			
 			//precompute the individual seed metrics, as they are used both
 			//for descriptive statistics and statistical significance tests
-			Map<String, Map<Indicator, double[]>> metrics = 
-					new HashMap<String, Map<Indicator, double[]>>();
+			final Map<String, Map<Indicator, double[]>> metrics = 
+					computeMetrics(problem, indicators, evaluator);
 			
-			for (String algorithm : data.keySet()) {
-				Map<Indicator, double[]> entry = 
-						new HashMap<Indicator, double[]>();
-				
-				for (Indicator indicator : indicators) {
-					List<NondominatedPopulation> sets = data.get(algorithm);
-					double[] values = new double[sets.size()];
-					
-					for (int i=0; i<sets.size(); i++) {
-						values[i] = indicator.evaluate(sets.get(i));
-					}
-					
-					entry.put(indicator, values);
-				}
-				
-				metrics.put(algorithm, entry);
+			//precompute the metrics of the aggregate sets
+			Map<String, Map<Indicator, Double>> aggregateMetrics =
+					new HashMap<String, Map<Indicator, Double>>();
+			
+			if (showAggregate) {
+				aggregateMetrics = computeAggregateMetrics(problem,
+						indicators, metrics, evaluator);
 			}
 			
 			//precompute the statistical significance of the medians
-			Map<Indicator, Map<String, List<String>>> indifferences =
+			final Map<Indicator, Map<String, List<String>>> indifferences =
 					new HashMap<Indicator, Map<String, List<String>>>();
 			
 			if (showStatisticalSignificance) {
-				List<String> algorithms = new ArrayList<String>(
+				final List<String> algorithms = new ArrayList<String>(
 						metrics.keySet());
 				
 				//initialize the storage
@@ -830,57 +972,21 @@ public class Analyzer extends ProblemBuilder {
 					indifferences.put(indicator, entry);
 				}
 				
-				for (Indicator indicator : indicators) {
-					//insufficient number of samples, skip test
-					if (algorithms.size() < 2) {
-						continue;
-					}
-					
-					KruskalWallisTest kwTest = new KruskalWallisTest(
-							algorithms.size());
-					
-					for (int i=0; i<algorithms.size(); i++) {
-						kwTest.addAll(metrics.get(algorithms.get(i))
-								.get(indicator), i);
-					}
-					
-					try {
-						if (!kwTest.test(significanceLevel)) {
-							for (int i=0; i<algorithms.size()-1; i++) {
-								for (int j=i+1; j<algorithms.size(); j++) {
-									indifferences.get(indicator)
-											.get(algorithms.get(i))
-											.add(algorithms.get(j));
-									indifferences.get(indicator)
-											.get(algorithms.get(j))
-											.add(algorithms.get(i));
-								}
-							}
-						} else {
-							for (int i=0; i<algorithms.size()-1; i++) {
-								for (int j=i+1; j<algorithms.size(); j++) {
-									MannWhitneyUTest mwTest = 
-											new MannWhitneyUTest();
-									
-									mwTest.addAll(metrics.get(algorithms.get(i))
-											.get(indicator), 0);
-									mwTest.addAll(metrics.get(algorithms.get(j))
-											.get(indicator), 1);
-									
-									if (!mwTest.test(significanceLevel)) {
-										indifferences.get(indicator)
-												.get(algorithms.get(i))
-												.add(algorithms.get(j));
-										indifferences.get(indicator)
-												.get(algorithms.get(j))
-												.add(algorithms.get(i));
-									}
-								}
+				//insufficient number of samples, skip test
+				if (algorithms.size() >= 2) {
+					for (final Indicator indicator : indicators) {
+						evaluator.submit(new Runnable() {
+
+							@Override
+							public void run() {
+								testSignificance(indicator, algorithms,
+										metrics, indifferences.get(indicator));
 							}
-						}
-					} catch (RuntimeException e) {
-						e.printStackTrace();
+							
+						});
 					}
+					
+					evaluator.await();
 				}
 			}
 			
@@ -909,8 +1015,8 @@ public class Analyzer extends ProblemBuilder {
 						
 						if (showAggregate) {
 							ps.print("        Aggregate: ");
-							ps.println(indicator.evaluate(
-									aggregateSets.get(algorithm)));
+							ps.println(aggregateMetrics.get(algorithm)
+									.get(indicator));
 						}
 						
 						if (statistics.isEmpty()) {
@@ -950,6 +1056,10 @@ public class Analyzer extends ProblemBuilder {
 				}
 			}
 		} finally {
+			if (evaluator != null) {
+				evaluator.shutdown();
+			}
+			
 			if (problem != null) {
 				problem.close();
 			}
@@ -958,6 +1068,548 @@ public class Analyzer extends ProblemBuilder {
 		return this;
 	}
 	
+	/**
+	 * Creates the quality indicators selected in this analyzer.
+	 * 
+	 * @param problem the problem
+	 * @param referenceSet the reference set
+	 * @return the quality indicators selected in this analyzer
+	 */
+	private List<Indicator> createIndicators(Problem problem,
+			NondominatedPopulation referenceSet) {
+		List<Indicator> indicators = new ArrayList<Indicator>();
+		
+		if (includeHypervolume) {
+			indicators.add(new Hypervolume(problem, referenceSet));
+		}
+		
+		if (includeGenerationalDistance) {
+			indicators.add(new GenerationalDistance(problem, referenceSet));
+		}
+		
+		if (includeInvertedGenerationalDistance) {
+			indicators.add(new InvertedGenerationalDistance(problem, 
+					referenceSet));
+		}
+		
+		if (includeAdditiveEpsilonIndicator) {
+			indicators.add(new AdditiveEpsilonIndicator(problem, 
+					referenceSet));
+		}
+		
+		if (includeMaximumParetoFrontError) {
+			indicators.add(new MaximumParetoFrontError(problem, 
+					referenceSet));
+		}
+		
+		if (includeSpacing) {
+			indicators.add(new Spacing(problem));
+		}
+		
+		if (includeContribution) {
+			if (epsilon == null) {
+				indicators.add(new Contribution(referenceSet));
+			} else {
+				indicators.add(new Contribution(referenceSet, epsilon));
+			}
+		}
+		
+		if (includeR1) {
+			indicators.add(new R1Indicator(problem,
+					R1Indicator.getDefaultSubdivisions(problem),
+					referenceSet));
+		}
+		
+		if (includeR2) {
+			indicators.add(new R2Indicator(problem,
+					R2Indicator.getDefaultSubdivisions(problem),
+					referenceSet));
+		}
+		
+		if (includeR3) {
+			indicators.add(new R3Indicator(problem,
+					R3Indicator.getDefaultSubdivisions(problem),
+					referenceSet));
+		}
+		
+		return indicators;
+	}
+	
+	/**
+	 * Computes the indicator values of each approximation set, reusing cached
+	 * values when available and caching newly-computed values.
+	 * 
+	 * @param problem the problem
+	 * @param indicators the quality indicators
+	 * @param evaluator the evaluator of the quality indicators
+	 * @return the indicator values of each approximation set, keyed by
+	 *         algorithm and indicator
+	 * @throws IOException if an I/O error occurred while reading a streamed
+	 *         result file
+	 */
+	private Map<String, Map<Indicator, double[]>> computeMetrics(
+			Problem problem, List<Indicator> indicators,
+			MetricEvaluator evaluator) throws IOException {
+		Map<String, List<double[]>> rows = new HashMap<String, List<double[]>>();
+		Map<NondominatedPopulation, double[]> computedSets =
+				new IdentityHashMap<NondominatedPopulation, double[]>();
+		Map<File, List<double[]>> computedFiles =
+				new HashMap<File, List<double[]>>();
+		
+		for (String algorithm : getAlgorithms()) {
+			List<double[]> algorithmRows = new ArrayList<double[]>();
+			
+			if (data.containsKey(algorithm)) {
+				for (NondominatedPopulation set : data.get(algorithm)) {
+					double[] values = new double[indicators.size()];
+					boolean[] missing = new boolean[indicators.size()];
+					
+					if (lookup(cache.get(set), indicators, values, missing)) {
+						evaluator.evaluate(set, missing, values);
+						computedSets.put(set, values);
+					}
+					
+					algorithmRows.add(values);
+				}
+			}
+			
+			if (streamedData.containsKey(algorithm)) {
+				for (File file : streamedData.get(algorithm)) {
+					Map<String, double[]> fileCache = streamedCache.get(file);
+					
+					if ((fileCache != null) && fileCache.keySet().containsAll(
+							getKeys(indicators))) {
+						int size = fileCache.values().iterator().next().length;
+						
+						for (int j = 0; j < size; j++) {
+							double[] values = new double[indicators.size()];
+							
+							for (int i = 0; i < indicators.size(); i++) {
+								values[i] = fileCache.get(getKey(
+										indicators.get(i)))[j];
+							}
+							
+							algorithmRows.add(values);
+						}
+					} else {
+						List<double[]> fileRows = new ArrayList<double[]>();
+						ResultFileReader reader = null;
+						
+						try {
+							reader = new ResultFileReader(problem, file);
+							
+							while (reader.hasNext()) {
+								double[] values = new double[indicators.size()];
+								boolean[] missing = 
+										new boolean[indicators.size()];
+								
+								lookup(fileCache, fileRows.size(), indicators,
+										values, missing);
+								evaluator.evaluate(
+										reader.next().getPopulation(),
+										missing, values);
+								fileRows.add(values);
+							}
+						} finally {
+							if (reader != null) {
+								reader.close();
+							}
+						}
+						
+						algorithmRows.addAll(fileRows);
+						computedFiles.put(file, fileRows);
+					}
+				}
+			}
+			
+			rows.put(algorithm, algorithmRows);
+		}
+		
+		evaluator.await();
+		
+		//update the caches
+		for (Map.Entry<NondominatedPopulation, double[]> entry :
+				computedSets.entrySet()) {
+			Map<String, Double> setCache = cache.get(entry.getKey());
+			
+			if (setCache == null) {
+				setCache = new HashMap<String, Double>();
+				cache.put(entry.getKey(), setCache);
+			}
+			
+			for (int i = 0; i < indicators.size(); i++) {
+				setCache.put(getKey(indicators.get(i)), entry.getValue()[i]);
+			}
+		}
+		
+		for (Map.Entry<File, List<double[]>> entry : computedFiles.entrySet()) {
+			Map<String, double[]> fileCache = new HashMap<String, double[]>();
+			List<double[]> fileRows = entry.getValue();
+			
+			if (streamedCache.containsKey(entry.getKey())) {
+				fileCache.putAll(streamedCache.get(entry.getKey()));
+			}
+			
+			for (int i = 0; i < indicators.size(); i++) {
+				double[] values = new double[fileRows.size()];
+				
+				for (int j = 0; j < fileRows.size(); j++) {
+					values[j] = fileRows.get(j)[i];
+				}
+				
+				fileCache.put(getKey(indicators.get(i)), values);
+			}
+			
+			streamedCache.put(entry.getKey(), fileCache);
+		}
+		
+		//convert the rows into the metrics for each indicator
+		Map<String, Map<Indicator, double[]>> metrics = 
+				new HashMap<String, Map<Indicator, double[]>>();
+		
+		for (Map.Entry<String, List<double[]>> entry : rows.entrySet()) {
+			Map<Indicator, double[]> algorithmMetrics = 
+					new HashMap<Indicator, double[]>();
+			List<double[]> algorithmRows = entry.getValue();
+			
+			for (int i = 0; i < indicators.size(); i++) {
+				double[] values = new double[algorithmRows.size()];
+				
+				for (int j = 0; j < algorithmRows.size(); j++) {
+					values[j] = algorithmRows.get(j)[i];
+				}
+				
+				algorithmMetrics.put(indicators.get(i), values);
+			}
+			
+			metrics.put(entry.getKey(), algorithmMetrics);
+		}
+		
+		return metrics;
+	}
+	
+	/**
+	 * Computes the indicator values of the aggregate approximation set of each
+	 * algorithm with more than one approximation set, reusing cached values
+	 * when available and caching newly-computed values.
+	 * 
+	 * @param problem the problem
+	 * @param indicators the quality indicators
+	 * @param metrics the indicator values of each approximation set
+	 * @param evaluator the evaluator of the quality indicators
+	 * @return the indicator values of the aggregate approximation sets, keyed
+	 *         by algorithm and indicator
+	 * @throws IOException if an I/O error occurred while reading a streamed
+	 *         result file
+	 */
+	private Map<String, Map<Indicator, Double>> computeAggregateMetrics(
+			Problem problem, List<Indicator> indicators,
+			Map<String, Map<Indicator, double[]>> metrics,
+			MetricEvaluator evaluator) throws IOException {
+		Map<String, double[]> computed = new HashMap<String, double[]>();
+		Map<String, Map<Indicator, Double>> result =
+				new HashMap<String, Map<Indicator, Double>>();
+		
+		for (String algorithm : metrics.keySet()) {
+			double[] values = new double[indicators.size()];
+			boolean[] missing = new boolean[indicators.size()];
+			
+			if (metrics.get(algorithm).get(indicators.get(0)).length <= 1) {
+				continue;
+			}
+			
+			if (lookup(aggregateCache.get(algorithm), indicators, values,
+					missing)) {
+				NondominatedPopulation aggregateSet = newArchive();
+				
+				if (data.containsKey(algorithm)) {
+					for (NondominatedPopulation set : data.get(algorithm)) {
+						aggregateSet.addAll(set);
+					}
+				}
+				
+				if (streamedData.containsKey(algorithm)) {
+					for (File file : streamedData.get(algorithm)) {
+						addAll(problem, file, aggregateSet);
+					}
+				}
+				
+				evaluator.evaluate(aggregateSet, missing, values);
+			}
+			
+			computed.put(algorithm, values);
+		}
+		
+		evaluator.await();
+		
+		for (Map.Entry<String, double[]> entry : computed.entrySet()) {
+			Map<String, Double> algorithmCache = new HashMap<String, Double>();
+			Map<Indicator, Double> algorithmMetrics = 
+					new HashMap<Indicator, Double>();
+			
+			for (int i = 0; i < indicators.size(); i++) {
+				algorithmCache.put(getKey(indicators.get(i)),
+						entry.getValue()[i]);
+				algorithmMetrics.put(indicators.get(i), entry.getValue()[i]);
+			}
+			
+			if (aggregateCache.containsKey(entry.getKey())) {
+				aggregateCache.get(entry.getKey()).putAll(algorithmCache);
+			} else {
+				aggregateCache.put(entry.getKey(), algorithmCache);
+			}
+			
+			result.put(entry.getKey(), algorithmMetrics);
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Tests the statistical significance of the differences in the medians of
+	 * an indicator between all pairs of algorithms.  The algorithms whose
+	 * medians are indifferent are recorded in {@code indifferences}.
+	 * 
+	 * @param indicator the quality indicator
+	 * @param algorithms the algorithms
+	 * @param metrics the indicator values of each approximation set
+	 * @param indifferences the indifferent algorithms of each algorithm
+	 */
+	private void testSignificance(Indicator indicator, List<String> algorithms,
+			Map<String, Map<Indicator, double[]>> metrics,
+			Map<String, List<String>> indifferences) {
+		KruskalWallisTest kwTest = new KruskalWallisTest(algorithms.size());
+		
+		for (int i=0; i<algorithms.size(); i++) {
+			kwTest.addAll(metrics.get(algorithms.get(i)).get(indicator), i);
+		}
+		
+		try {
+			if (!kwTest.test(significanceLevel)) {
+				for (int i=0; i<algorithms.size()-1; i++) {
+					for (int j=i+1; j<algorithms.size(); j++) {
+						indifferences.get(algorithms.get(i))
+								.add(algorithms.get(j));
+						indifferences.get(algorithms.get(j))
+								.add(algorithms.get(i));
+					}
+				}
+			} else {
+				for (int i=0; i<algorithms.size()-1; i++) {
+					for (int j=i+1; j<algorithms.size(); j++) {
+						MannWhitneyUTest mwTest = new MannWhitneyUTest();
+						
+						mwTest.addAll(metrics.get(algorithms.get(i))
+								.get(indicator), 0);
+						mwTest.addAll(metrics.get(algorithms.get(j))
+								.get(indicator), 1);
+						
+						if (!mwTest.test(significanceLevel)) {
+							indifferences.get(algorithms.get(i))
+									.add(algorithms.get(j));
+							indifferences.get(algorithms.get(j))
+									.add(algorithms.get(i));
+						}
+					}
+				}
+			}
+		} catch (RuntimeException e) {
+			e.printStackTrace();
+		}
+	}
+	
+	/**
+	 * Copies the cached indicator values into {@code values} and marks the
+	 * indicators without a cached value in {@code missing}.
+	 * 
+	 * @param cachedValues the cached indicator values; or {@code null} if no
+	 *        values are cached
+	 * @param indicators the quality indicators
+	 * @param values the array receiving the cached indicator values
+	 * @param missing the array marking indicators without a cached value
+	 * @return {@code true} if any indicator has no cached value;
+	 *         {@code false} otherwise
+	 */
+	private boolean lookup(Map<String, Double> cachedValues,
+			List<Indicator> indicators, double[] values, boolean[] missing) {
+		boolean isMissing = false;
+		
+		for (int i = 0; i < indicators.size(); i++) {
+			Double value = null;
+			
+			if (cachedValues != null) {
+				value = cachedValues.get(getKey(indicators.get(i)));
+			}
+			
+			if (value == null) {
+				missing[i] = true;
+				isMissing = true;
+			} else {
+				values[i] = value;
+			}
+		}
+		
+		return isMissing;
+	}
+	
+	/**
+	 * Copies the cached indicator values of an entry in a streamed result file
+	 * into {@code values} and marks the indicators without a cached value in
+	 * {@code missing}.
+	 * 
+	 * @param cachedValues the cached indicator values of all entries in the
+	 *        file; or {@code null} if no values are cached
+	 * @param index the index of the entry in the file
+	 * @param indicators the quality indicators
+	 * @param values the array receiving the cached indicator values
+	 * @param missing the array marking indicators without a cached value
+	 */
+	private void lookup(Map<String, double[]> cachedValues, int index,
+			List<Indicator> indicators, double[] values, boolean[] missing) {
+		for (int i = 0; i < indicators.size(); i++) {
+			double[] cachedValue = null;
+			
+			if (cachedValues != null) {
+				cachedValue = cachedValues.get(getKey(indicators.get(i)));
+			}
+			
+			if ((cachedValue == null) || (index >= cachedValue.length)) {
+				missing[i] = true;
+			} else {
+				values[i] = cachedValue[index];
+			}
+		}
+	}
+	
+	/**
+	 * Returns the key identifying an indicator in the caches.
+	 * 
+	 * @param indicator the quality indicator
+	 * @return the key identifying the indicator in the caches
+	 */
+	private String getKey(Indicator indicator) {
+		return indicator.getClass().getName();
+	}
+	
+	/**
+	 * Returns the keys identifying the indicators in the caches.
+	 * 
+	 * @param indicators the quality indicators
+	 * @return the keys identifying the indicators in the caches
+	 */
+	private List<String> getKeys(List<Indicator> indicators) {
+		List<String> keys = new ArrayList<String>();
+		
+		for (Indicator indicator : indicators) {
+			keys.add(getKey(indicator));
+		}
+		
+		return keys;
+	}
+	
+	/**
+	 * Returns the names of all algorithms with in-memory or streamed data.
+	 * 
+	 * @return the names of all algorithms with in-memory or streamed data
+	 */
+	private Set<String> getAlgorithms() {
+		Set<String> algorithms = new LinkedHashSet<String>(data.keySet());
+		algorithms.addAll(streamedData.keySet());
+		return algorithms;
+	}
+	
+	/**
+	 * Returns {@code true} if the specified file is streamed for the
+	 * algorithm; {@code false} otherwise.
+	 * 
+	 * @param name the name of the algorithm
+	 * @param file the file
+	 * @return {@code true} if the specified file is streamed for the
+	 *         algorithm; {@code false} otherwise
+	 * @throws IOException if an I/O error occurred
+	 */
+	private boolean isStreamed(String name, File file) throws IOException {
+		if (streamedData.containsKey(name)) {
+			for (File streamedFile : streamedData.get(name)) {
+				if (streamedFile.getCanonicalFile().equals(
+						file.getCanonicalFile())) {
+					return true;
+				}
+			}
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Returns {@code true} if the specified file is streamed for any
+	 * algorithm; {@code false} otherwise.
+	 * 
+	 * @param file the file
+	 * @return {@code true} if the specified file is streamed for any
+	 *         algorithm; {@code false} otherwise
+	 * @throws IOException if an I/O error occurred
+	 */
+	private boolean isStreamed(File file) throws IOException {
+		for (String name : streamedData.keySet()) {
+			if (isStreamed(name, file)) {
+				return true;
+			}
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Adds all approximation sets stored in a result file to a population.
+	 * 
+	 * @param problem the problem
+	 * @param file the result file
+	 * @param population the population to which the approximation sets are
+	 *        added
+	 * @throws IOException if an I/O error occurred
+	 */
+	private void addAll(Problem problem, File file,
+			NondominatedPopulation population) throws IOException {
+		ResultFileReader reader = null;
+		
+		try {
+			reader = new ResultFileReader(problem, file);
+			
+			while (reader.hasNext()) {
+				population.addAll(reader.next().getPopulation());
+			}
+		} finally {
+			if (reader != null) {
+				reader.close();
+			}
+		}
+	}
+	
+	/**
+	 * Discards all cached indicator values.
+	 */
+	private void invalidateCache() {
+		cache.clear();
+		streamedCache.clear();
+		aggregateCache.clear();
+	}
+	
+	/**
+	 * Discards the cached indicator values affected by adding data to the
+	 * specified algorithm.  If the reference set is aggregated from the
+	 * approximation sets, all cached values are discarded.
+	 * 
+	 * @param name the name of the algorithm
+	 */
+	private void invalidateCache(String name) {
+		if (referenceSetDerived) {
+			invalidateCache();
+		} else {
+			aggregateCache.remove(name);
+		}
+	}
+	
 	/**
 	 * Clears all data stored in this analyzer.
 	 * 
@@ -965,8 +1617,176 @@ public class Analyzer extends ProblemBuilder {
 	 */
 	public Analyzer clear() {
 		data.clear();
+		streamedData.clear();
+		invalidateCache();
 		
 		return this;
 	}
 	
+	/**
+	 * Evaluates the quality indicators on approximation sets, either serially
+	 * on the calling thread or in parallel on a fork-join pool.  When run in
+	 * parallel, each thread uses its own instances of the quality indicators,
+	 * and the number of approximation sets waiting to be evaluated is bounded
+	 * so that streamed result files are not held in memory.
+	 */
+	private class MetricEvaluator {
+		
+		/**
+		 * The quality indicators used by the calling thread.
+		 */
+		private final List<Indicator> indicators;
+		
+		/**
+		 * The fork-join pool; or {@code null} if evaluating serially.
+		 */
+		private final ForkJoinPool pool;
+		
+		/**
+		 * The quality indicators used by each thread in the pool; or
+		 * {@code null} if evaluating serially.
+		 */
+		private final ThreadLocal<List<Indicator>> localIndicators;
+		
+		/**
+		 * Bounds the number of approximation sets waiting to be evaluated; or
+		 * {@code null} if evaluating serially.
+		 */
+		private final Semaphore permits;
+		
+		/**
+		 * The tasks submitted since the last call to {@link #await()}.
+		 */
+		private final List<Future<?>> futures;
+		
+		/**
+		 * Constructs a new evaluator of the quality indicators.
+		 * 
+		 * @param problem the problem
+		 * @param referenceSet the reference set
+		 * @param indicators the quality indicators used by the calling thread
+		 */
+		public MetricEvaluator(final Problem problem,
+				final NondominatedPopulation referenceSet,
+				List<Indicator> indicators) {
+			super();
+			this.indicators = indicators;
+			
+			futures = new ArrayList<Future<?>>();
+			
+			if (numberOfThreads > 1) {
+				pool = new ForkJoinPool(numberOfThreads);
+				permits = new Semaphore(4 * numberOfThreads);
+				localIndicators = new ThreadLocal<List<Indicator>>() {
+					
+					@Override
+					protected List<Indicator> initialValue() {
+						return createIndicators(problem, referenceSet);
+					}
+					
+				};
+			} else {
+				pool = null;
+				permits = null;
+				localIndicators = null;
+			}
+		}
+		
+		/**
+		 * Evaluates the indicators marked in {@code missing} on the
+		 * approximation set, storing the values in {@code values}.  When run in
+		 * parallel, the values are available after calling {@link #await()}.
+		 * 
+		 * @param set the approximation set
+		 * @param missing the indicators to evaluate
+		 * @param values the array receiving the indicator values
+		 */
+		public void evaluate(final NondominatedPopulation set,
+				final boolean[] missing, final double[] values) {
+			if (pool == null) {
+				evaluate(indicators, set, missing, values);
+			} else {
+				permits.acquireUninterruptibly();
+				
+				futures.add(pool.submit(new Runnable() {
+
+					@Override
+					public void run() {
+						try {
+							evaluate(localIndicators.get(), set, missing,
+									values);
+						} finally {
+							permits.release();
+						}
+					}
+					
+				}));
+			}
+		}
+		
+		/**
+		 * Evaluates the indicators marked in {@code missing} on the
+		 * approximation set.
+		 * 
+		 * @param indicators the quality indicators
+		 * @param set the approximation set
+		 * @param missing the indicators to evaluate
+		 * @param values the array receiving the indicator values
+		 */
+		private void evaluate(List<Indicator> indicators,
+				NondominatedPopulation set, boolean[] missing,
+				double[] values) {
+			for (int i = 0; i < indicators.size(); i++) {
+				if (missing[i]) {
+					values[i] = indicators.get(i).evaluate(set);
+					numberOfIndicatorEvaluations.incrementAndGet();
+				}
+			}
+		}
+		
+		/**
+		 * Runs the task, either immediately on the calling thread or in the
+		 * pool.
+		 * 
+		 * @param task the task
+		 */
+		public void submit(Runnable task) {
+			if (pool == null) {
+				task.run();
+			} else {
+				futures.add(pool.submit(task));
+			}
+		}
+		
+		/**
+		 * Waits for all submitted tasks to complete.
+		 * 
+		 * @throws FrameworkException if a task failed or the calling thread
+		 *         was interrupted
+		 */
+		public void await() {
+			try {
+				for (Future<?> future : futures) {
+					future.get();
+				}
+			} catch (InterruptedException e) {
+				throw new FrameworkException(e);
+			} catch (ExecutionException e) {
+				throw new FrameworkException(e.getCause());
+			} finally {
+				futures.clear();
+			}
+		}
+		
+		/**
+		 * Shuts down the pool, if any.
+		 */
+		public void shutdown() {
+			if (pool != null) {
+				pool.shutdownNow();
+			}
+		}
+		
+	}
+	
 }
@@ -22,21 +22,31 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.moeaframework.algorithm.Checkpoints;
+import org.moeaframework.algorithm.SteadyStateAlgorithm;
 import org.moeaframework.core.Algorithm;
+import org.moeaframework.core.FrameworkException;
 import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.PRNG;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.spi.AlgorithmFactory;
 import org.moeaframework.core.spi.ProblemFactory;
 import org.moeaframework.util.TypedProperties;
+import org.moeaframework.util.distributed.AsynchronousAlgorithm;
 import org.moeaframework.util.distributed.DistributedProblem;
 import org.moeaframework.util.io.FileUtils;
 import org.moeaframework.util.progress.ProgressHelper;
 import org.moeaframework.util.progress.ProgressListener;
+import org.moeaframework.util.random.RandomGenerator;
+import org.moeaframework.util.random.RandomStreams;
 
 /**
  * Configures and executes algorithms while hiding the underlying boilerplate 
@@ -78,6 +88,12 @@ public class Executor extends ProblemBuilder {
 	 */
 	private ExecutorService executorService;
 	
+	/**
+	 * {@code true} if steady-state algorithms evaluate offspring
+	 * asynchronously when distributed; {@code false} otherwise.
+	 */
+	private boolean asynchronous;
+	
 	/**
 	 * The checkpoint file for storing the algorithm state; or {@code null} if
 	 * checkpoints are not used.
@@ -115,6 +131,25 @@ public class Executor extends ProblemBuilder {
 	 */
 	private AtomicBoolean isCanceled;
 	
+	/**
+	 * The generator providing each seed's source of randomness when running
+	 * seeds in parallel.
+	 */
+	private RandomGenerator randomGenerator;
+	
+	/**
+	 * The current NFE of each seed when running seeds in parallel, indexed by
+	 * {@code seed-1}; or {@code null} if seeds are run sequentially.  Access
+	 * is guarded by synchronizing on {@link #progress}.
+	 */
+	private int[] parallelNFE;
+	
+	/**
+	 * The sum of {@link #parallelNFE}, reported as the current NFE to the
+	 * progress listeners when running seeds in parallel.
+	 */
+	private int parallelTotalNFE;
+	
 	/**
 	 * Constructs a new executor initialized with default settings.
 	 */
@@ -125,6 +160,7 @@ public class Executor extends ProblemBuilder {
 		progress = new ProgressHelper(this);
 		properties = new TypedProperties();
 		numberOfThreads = 1;
+		randomGenerator = RandomGenerator.MERSENNE_TWISTER;
 	}
 	
 	/**
@@ -246,11 +282,32 @@ public class Executor extends ProblemBuilder {
 	 * @throws IllegalArgumentException if {@code numberOfThreads <= 0}
 	 */
 	public Executor distributeOn(int numberOfThreads) {
+		return distributeOn(numberOfThreads, false);
+	}
+	
+	/**
+	 * Enables this executor to distribute solution evaluations across the
+	 * specified number of threads.  In asynchronous mode, algorithms
+	 * implementing {@link SteadyStateAlgorithm}, such as &epsilon;-MOEA and
+	 * MOEA/D, are driven by an {@link AsynchronousAlgorithm} that inserts each
+	 * offspring as soon as its evaluation completes, keeping up to twice as
+	 * many offspring in flight as there are threads.  Other algorithms are
+	 * distributed normally.  Asynchronous mode also applies when distributing
+	 * with {@link #distributeWith(ExecutorService)}.
+	 * 
+	 * @param numberOfThreads the number of threads
+	 * @param asynchronous {@code true} if steady-state algorithms evaluate
+	 *        offspring asynchronously; {@code false} otherwise
+	 * @return a reference to this executor
+	 * @throws IllegalArgumentException if {@code numberOfThreads <= 0}
+	 */
+	public Executor distributeOn(int numberOfThreads, boolean asynchronous) {
 		if (numberOfThreads <= 0) {
 			throw new IllegalArgumentException("invalid number of threads");
 		}
 		
 		this.numberOfThreads = numberOfThreads;
+		this.asynchronous = asynchronous;
 		
 		return this;
 	}
@@ -265,6 +322,21 @@ public class Executor extends ProblemBuilder {
 		return distributeOn(Runtime.getRuntime().availableProcessors());
 	}
 	
+	/**
+	 * Sets the generator providing each seed's source of randomness when
+	 * running seeds with {@link #runSeedsInParallel(int, int)}.  Defaults to
+	 * the Mersenne Twister.
+	 * 
+	 * @param randomGenerator the generator providing each seed's source of
+	 *        randomness
+	 * @return a reference to this executor
+	 */
+	public Executor withRandomGenerator(RandomGenerator randomGenerator) {
+		this.randomGenerator = randomGenerator;
+		
+		return this;
+	}
+	
 	/**
 	 * Sets the checkpoint file where the algorithm state is stored.  This
 	 * method must be invoked in order to enable checkpoints.
@@ -335,6 +407,21 @@ public class Executor extends ProblemBuilder {
 		return this;
 	}
 	
+	/**
+	 * Sets whether the end-of-run approximation set is stored in an
+	 * {@link org.moeaframework.core.NDTreeArchive} when no &epsilon; values
+	 * are set.  The indexed archive produces the same results but is faster
+	 * for large approximation sets.
+	 * 
+	 * @param indexedArchive {@code true} if an indexed archive is used;
+	 *        {@code false} otherwise
+	 * @return a reference to this executor
+	 */
+	@Override
+	public Executor withIndexedArchive(boolean indexedArchive) {
+		return (Executor)super.withIndexedArchive(indexedArchive);
+	}
+	
 	/**
 	 * Sets the maximum number of evaluations; equivalent to setting the
 	 * property {@code maxEvaluations}.
@@ -619,6 +706,144 @@ public class Executor extends ProblemBuilder {
 		return results;
 	}
 	
+	/**
+	 * Runs this executor with its configured settings multiple times, running
+	 * up to {@code numberOfThreads} seeds concurrently.  The individual
+	 * end-of-run approximation sets are returned in seed order.  If the run
+	 * is canceled, the list contains any complete seeds that finished prior
+	 * to cancellation.
+	 * <p>
+	 * Each seed is given its own source of randomness (see
+	 * {@link PRNG#setThreadRandom(Random)}), taken from {@link RandomStreams}
+	 * by seed index.  The master seed of these streams is drawn from the
+	 * global {@link PRNG} before any seed is started, and the generator is set
+	 * by {@link #withRandomGenerator(RandomGenerator)}.  Consequently, the
+	 * results are reproducible by calling {@link PRNG#setSeed(long)} before
+	 * this method and do not depend on the number of threads or the order in
+	 * which the seeds complete.  The results will, however, differ from
+	 * {@link #runSeeds(int)}, where all seeds share the global source.
+	 * <p>
+	 * Progress reports aggregate the evaluations of all running seeds and are
+	 * delivered from the worker threads; listeners are never invoked
+	 * concurrently.  The problem, algorithm factory and any custom collectors
+	 * attached to the instrumenter must support being used by multiple
+	 * threads.  When an instrumenter is used,
+	 * {@link Instrumenter#getLastAccumulator()} references the accumulator of
+	 * the most recently started seed.
+	 * 
+	 * @param numberOfSeeds the number of seeds to run
+	 * @param numberOfThreads the maximum number of seeds run concurrently
+	 * @return the individual end-of-run approximation sets
+	 * @throws IllegalArgumentException if {@code numberOfThreads <= 0}
+	 */
+	public List<NondominatedPopulation> runSeedsInParallel(
+			int numberOfSeeds, int numberOfThreads) {
+		if (numberOfThreads <= 0) {
+			throw new IllegalArgumentException("invalid number of threads");
+		}
+		
+		isCanceled.set(false);
+		
+		if ((checkpointFile != null) && (numberOfSeeds > 1)) {
+			System.err.println(
+					"checkpoints not supported when running multiple seeds");
+			checkpointFile = null;
+		}
+		
+		int maxEvaluations = properties.getInt("maxEvaluations", 25000);
+		
+		List<NondominatedPopulation> results =
+				new ArrayList<NondominatedPopulation>();
+		List<Future<NondominatedPopulation>> futures =
+				new ArrayList<Future<NondominatedPopulation>>();
+		
+		// split the streams up front so they are independent of the scheduling
+		RandomStreams streams = new RandomStreams(randomGenerator,
+				PRNG.getRandom().nextLong());
+		
+		synchronized (progress) {
+			parallelNFE = new int[numberOfSeeds];
+			parallelTotalNFE = 0;
+			progress.start(numberOfSeeds, maxEvaluations);
+		}
+		
+		ExecutorService executor = Executors.newFixedThreadPool(
+				Math.min(numberOfThreads, Math.max(numberOfSeeds, 1)));
+		
+		try {
+			for (int i = 0; i < numberOfSeeds; i++) {
+				futures.add(executor.submit(new SeedRunner(i+1, numberOfSeeds,
+						maxEvaluations, streams.getStream(i))));
+			}
+			
+			for (Future<NondominatedPopulation> future : futures) {
+				NondominatedPopulation result = future.get();
+				
+				if (result != null) {
+					results.add(result);
+				}
+			}
+		} catch (InterruptedException e) {
+			isCanceled.set(true);
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			isCanceled.set(true);
+			
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException)e.getCause();
+			} else {
+				throw new FrameworkException(e.getCause());
+			}
+		} finally {
+			executor.shutdown();
+			
+			synchronized (progress) {
+				parallelNFE = null;
+				progress.stop();
+			}
+		}
+		
+		return results;
+	}
+	
+	/**
+	 * Reports the current NFE of a seed to the progress listeners.  When
+	 * running seeds in parallel, the reported NFE is the sum over all running
+	 * seeds.
+	 * 
+	 * @param seed the seed being run
+	 * @param currentNFE the current NFE of the seed
+	 */
+	private void updateProgress(int seed, int currentNFE) {
+		synchronized (progress) {
+			if (parallelNFE == null) {
+				progress.setCurrentNFE(currentNFE);
+			} else {
+				parallelTotalNFE += currentNFE - parallelNFE[seed-1];
+				parallelNFE[seed-1] = currentNFE;
+				progress.setCurrentNFE(parallelTotalNFE);
+			}
+		}
+	}
+	
+	/**
+	 * Notifies the progress listeners that a seed running in parallel has
+	 * finished.
+	 * 
+	 * @param seed the seed that finished
+	 */
+	private void finishParallelSeed(int seed) {
+		synchronized (progress) {
+			if (parallelNFE == null) {
+				return;
+			}
+			
+			parallelTotalNFE -= parallelNFE[seed-1];
+			parallelNFE[seed-1] = 0;
+			progress.nextSeed(parallelTotalNFE);
+		}
+	}
+	
 	/**
 	 * Runs this executor with its configured settings.
 	 * 
@@ -650,18 +875,25 @@ public class Executor extends ProblemBuilder {
 		}
 		
 		Problem problem = null;
+		Problem undistributedProblem = null;
 		Algorithm algorithm = null;
 		ExecutorService executor = null;
+		ExecutorService distributor = null;
 		
 		try {
 			problem = getProblemInstance();
+			undistributedProblem = problem;
 			
 			try {
 				if (executorService != null) {
-					problem = new DistributedProblem(problem, executorService);
+					distributor = executorService;
 				} else if (numberOfThreads > 1) {
 					executor = Executors.newFixedThreadPool(numberOfThreads);
-					problem = new DistributedProblem(problem, executor);
+					distributor = executor;
+				}
+				
+				if (distributor != null) {
+					problem = new DistributedProblem(problem, distributor);
 				}
 				
 				NondominatedPopulation result = newArchive();
@@ -678,6 +910,17 @@ public class Executor extends ProblemBuilder {
 								properties.getProperties(), 
 								problem);
 					}
+					
+					if (asynchronous && (distributor != null) &&
+							(algorithm instanceof SteadyStateAlgorithm)) {
+						int threads = (executorService == null) ?
+								numberOfThreads :
+								Runtime.getRuntime().availableProcessors();
+						
+						algorithm = new AsynchronousAlgorithm(
+								(SteadyStateAlgorithm)algorithm,
+								undistributedProblem, distributor, 2 * threads);
+					}
 
 					if (checkpointFile != null) {
 						algorithm = new Checkpoints(
@@ -698,7 +941,8 @@ public class Executor extends ProblemBuilder {
 						}
 						
 						algorithm.step();
-						progress.setCurrentNFE(algorithm.getNumberOfEvaluations());
+						updateProgress(seed,
+								algorithm.getNumberOfEvaluations());
 					}
 
 					result.addAll(algorithm.getResult());
@@ -721,4 +965,73 @@ public class Executor extends ProblemBuilder {
 		}
 	}
 
+	/**
+	 * Runs a single seed in parallel with other seeds, using its own source
+	 * of randomness.
+	 */
+	private class SeedRunner implements Callable<NondominatedPopulation> {
+		
+		/**
+		 * The seed being run, such that {@code 1 <= seed <= numberOfSeeds}.
+		 */
+		private final int seed;
+		
+		/**
+		 * The total number of seeds being run.
+		 */
+		private final int numberOfSeeds;
+		
+		/**
+		 * The maximum number of objective function evaluations per seed.
+		 */
+		private final int maxEvaluations;
+		
+		/**
+		 * The source of randomness used by this seed.
+		 */
+		private final Random random;
+		
+		/**
+		 * Constructs a new runner for a single seed.
+		 * 
+		 * @param seed the seed being run, such that
+		 *        {@code 1 <= seed <= numberOfSeeds}
+		 * @param numberOfSeeds the total number of seeds being run
+		 * @param maxEvaluations the maximum number of objective function
+		 *        evaluations per seed
+		 * @param random the source of randomness used by this seed
+		 */
+		public SeedRunner(int seed, int numberOfSeeds, int maxEvaluations,
+				Random random) {
+			super();
+			this.seed = seed;
+			this.numberOfSeeds = numberOfSeeds;
+			this.maxEvaluations = maxEvaluations;
+			this.random = random;
+		}
+
+		@Override
+		public NondominatedPopulation call() throws Exception {
+			if (isCanceled.get()) {
+				return null;
+			}
+			
+			PRNG.setThreadRandom(random);
+			
+			try {
+				NondominatedPopulation result = runSingleSeed(seed,
+						numberOfSeeds, maxEvaluations);
+				
+				if (result != null) {
+					finishParallelSeed(seed);
+				}
+				
+				return result;
+			} finally {
+				PRNG.setThreadRandom(null);
+			}
+		}
+		
+	}
+
 }
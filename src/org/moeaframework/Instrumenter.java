@@ -34,11 +34,12 @@ import org.moeaframework.analysis.collector.ApproximationSetCollector;
 import org.moeaframework.analysis.collector.Collector;
 import org.moeaframework.analysis.collector.ElapsedTimeCollector;
 import org.moeaframework.analysis.collector.EpsilonProgressCollector;
-import org.moeaframework.analysis.collector.IndicatorCollector;
+import org.moeaframework.analysis.collector.IndicatorGroupCollector;
 import org.moeaframework.analysis.collector.InstrumentedAlgorithm;
 import org.moeaframework.analysis.collector.PopulationSizeCollector;
 import org.moeaframework.core.Algorithm;
 import org.moeaframework.core.EpsilonBoxDominanceArchive;
+import org.moeaframework.core.Indicator;
 import org.moeaframework.core.NondominatedPopulation;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.indicator.AdditiveEpsilonIndicator;
@@ -170,6 +171,12 @@ public class Instrumenter extends ProblemBuilder {
 	 */
 	private int frequency;
 	
+	/**
+	 * {@code true} if the performance indicators are evaluated on a background
+	 * thread; {@code false} otherwise.
+	 */
+	private boolean backgroundIndicators;
+	
 	/**
 	 * The collection of custom collectors added through the 
 	 * {@link #attach(Collector)} method.  This does not include built-in
@@ -263,6 +270,25 @@ public class Instrumenter extends ProblemBuilder {
 		return this;
 	}
 	
+	/**
+	 * Sets whether the performance indicators are evaluated on a background
+	 * thread.  When enabled, the algorithm continues running while the
+	 * indicators are computed on a copy of the approximation set.  The
+	 * recorded values are identical, but are only guaranteed to be available
+	 * in the accumulator after the algorithm is terminated or the accumulator
+	 * is retrieved from the {@link InstrumentedAlgorithm}.
+	 * 
+	 * @param backgroundIndicators {@code true} if the performance indicators
+	 *        are evaluated on a background thread; {@code false} otherwise
+	 * @return a reference to this instrumenter
+	 */
+	public Instrumenter withBackgroundIndicators(
+			boolean backgroundIndicators) {
+		this.backgroundIndicators = backgroundIndicators;
+		
+		return this;
+	}
+	
 	/**
 	 * Includes the specified collector when instrumenting algorithms.
 	 * 
@@ -653,7 +679,8 @@ public class Instrumenter extends ProblemBuilder {
 	 * @throws IllegalArgumentException if no reference set is available or
 	 *         could not be loaded
 	 */
-	public InstrumentedAlgorithm instrument(Algorithm algorithm) {
+	public synchronized InstrumentedAlgorithm instrument(
+			Algorithm algorithm) {
 		List<Collector> collectors = new ArrayList<Collector>();
 		
 		if (includeHypervolume || includeGenerationalDistance || 
@@ -668,64 +695,59 @@ public class Instrumenter extends ProblemBuilder {
 				archive = (EpsilonBoxDominanceArchive)newArchive();
 			}
 			
+			List<Indicator> indicators = new ArrayList<Indicator>();
+			
 			if (includeHypervolume) {
-				collectors.add(new IndicatorCollector(
-						new Hypervolume(problem, referenceSet), archive));
+				indicators.add(new Hypervolume(problem, referenceSet));
 			}
 			
 			if (includeGenerationalDistance) {
-				collectors.add(new IndicatorCollector(
-						new GenerationalDistance(problem, referenceSet), 
-						archive));
+				indicators.add(new GenerationalDistance(problem, referenceSet));
 			}
 			
 			if (includeInvertedGenerationalDistance) {
-				collectors.add(new IndicatorCollector(
-						new InvertedGenerationalDistance(problem, 
-								referenceSet), archive));
+				indicators.add(new InvertedGenerationalDistance(problem, 
+						referenceSet));
 			}
 			
 			if (includeSpacing) {
-				collectors.add(new IndicatorCollector(new Spacing(problem), 
-						archive));
+				indicators.add(new Spacing(problem));
 			}
 			
 			if (includeAdditiveEpsilonIndicator) {
-				collectors.add(new IndicatorCollector(
-						new AdditiveEpsilonIndicator(problem, referenceSet),
-						archive));
+				indicators.add(new AdditiveEpsilonIndicator(problem,
+						referenceSet));
 			}
 			
 			if (includeContribution) {
-				collectors.add(new IndicatorCollector(
-						archive == null ? new Contribution(referenceSet) :
-						new Contribution(referenceSet, archive.getComparator()),
-						archive));
+				indicators.add(archive == null ? 
+						new Contribution(referenceSet) :
+						new Contribution(referenceSet, archive.getComparator()));
 			}
 			
 			if (includeR1) {
-				collectors.add(new IndicatorCollector(new R1Indicator(
+				indicators.add(new R1Indicator(
 						problem,
 						R1Indicator.getDefaultSubdivisions(problem),
-						referenceSet),
-						archive));
+						referenceSet));
 			}
 			
 			if (includeR2) {
-				collectors.add(new IndicatorCollector(new R2Indicator(
+				indicators.add(new R2Indicator(
 						problem,
 						R2Indicator.getDefaultSubdivisions(problem),
-						referenceSet),
-						archive));
+						referenceSet));
 			}
 			
 			if (includeR3) {
-				collectors.add(new IndicatorCollector(new R3Indicator(
+				indicators.add(new R3Indicator(
 						problem,
 						R3Indicator.getDefaultSubdivisions(problem),
-						referenceSet),
-						archive));
+						referenceSet));
 			}
+			
+			collectors.add(new IndicatorGroupCollector(indicators, archive,
+					backgroundIndicators));
 		}
 		
 		if (includeEpsilonProgress) {
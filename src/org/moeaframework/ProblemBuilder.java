@@ -22,8 +22,9 @@ import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 
 import org.apache.commons.lang3.reflect.ConstructorUtils;
-import org.moeaframework.core.EpsilonBoxDominanceArchive;
 import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.HashedEpsilonBoxDominanceArchive;
+import org.moeaframework.core.NDTreeArchive;
 import org.moeaframework.core.NondominatedPopulation;
 import org.moeaframework.core.PopulationIO;
 import org.moeaframework.core.Problem;
@@ -66,6 +67,12 @@ class ProblemBuilder {
 	 */
 	double[] epsilon;
 	
+	/**
+	 * {@code true} if {@link #newArchive()} returns an {@link NDTreeArchive}
+	 * when no &epsilon; values are set; {@code false} otherwise.
+	 */
+	boolean indexedArchive;
+	
 	/**
 	 * The file containing the reference set to be used by this builder; or
 	 * {@code null} if the reference set should be aggregated from all
@@ -94,6 +101,7 @@ class ProblemBuilder {
 		this.problemArguments = builder.problemArguments;
 		this.problemFactory = builder.problemFactory;
 		this.epsilon = builder.epsilon;
+		this.indexedArchive = builder.indexedArchive;
 		this.referenceSetFile = builder.referenceSetFile;
 		
 		return this;
@@ -182,6 +190,22 @@ class ProblemBuilder {
 		return this;
 	}
 	
+	/**
+	 * Sets whether the archive returned by {@link #newArchive()} is indexed
+	 * by an {@link NDTreeArchive} when no &epsilon; values are set.  The
+	 * indexed archive produces the same results but is faster for large
+	 * approximation sets.
+	 * 
+	 * @param indexedArchive {@code true} if an indexed archive is used;
+	 *        {@code false} otherwise
+	 * @return a reference to this builder
+	 */
+	ProblemBuilder withIndexedArchive(boolean indexedArchive) {
+		this.indexedArchive = indexedArchive;
+		
+		return this;
+	}
+	
 	/**
 	 * Sets the file containing the reference set to be used by this builder.
 	 * If not specified, the reference set should be aggregated from all
@@ -199,16 +223,24 @@ class ProblemBuilder {
 	/**
 	 * Returns an empty non-dominated population or &epsilon;-box dominance
 	 * archive, depending on whether the {@code epsilon} field is set.  This is
-	 * the archive used to store the reference set.
+	 * the archive used to store the reference set.  If the
+	 * {@code indexedArchive} field is set, the non-dominated population is an
+	 * {@link NDTreeArchive}.  The &epsilon;-box dominance archive is always a
+	 * {@link HashedEpsilonBoxDominanceArchive}.
 	 * 
 	 * @return an empty non-dominated population or &epsilon;-box dominance
 	 *         archive, depending on whether the {@code epsilon} field is set.
 	 */
 	NondominatedPopulation newArchive() {
 		if (epsilon == null) {
-			return new NondominatedPopulation(new ParetoDominanceComparator());
+			if (indexedArchive) {
+				return new NDTreeArchive();
+			} else {
+				return new NondominatedPopulation(
+						new ParetoDominanceComparator());
+			}
 		} else {
-			return new EpsilonBoxDominanceArchive(epsilon);
+			return new HashedEpsilonBoxDominanceArchive(epsilon);
 		}
 	}
 	
@@ -19,9 +19,12 @@ package org.moeaframework.algorithm;
 
 import java.io.NotSerializableException;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import org.moeaframework.core.Algorithm;
+import org.moeaframework.core.BatchProblem;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
 
@@ -70,16 +73,32 @@ public abstract class AbstractAlgorithm implements Algorithm {
 	}
 
 	/**
-	 * Evaluates the specified solutions. This method calls
-	 * {@link #evaluate(Solution)} on each of the solutions. Subclasses should
-	 * prefer calling this method over {@code evaluate} whenever possible,
-	 * as this ensures the solutions can be evaluated in parallel.
+	 * Evaluates the specified solutions. If the problem is a
+	 * {@link BatchProblem}, the solutions are passed to the problem as a
+	 * single batch; otherwise, this method calls {@link #evaluate(Solution)}
+	 * on each of the solutions. Subclasses should prefer calling this method
+	 * over {@code evaluate} whenever possible, as this ensures the solutions
+	 * can be evaluated in parallel.
 	 * 
 	 * @param solutions the solutions to evaluate
 	 */
 	public void evaluateAll(Iterable<Solution> solutions) {
-		for (Solution solution : solutions) {
-			evaluate(solution);
+		if (problem instanceof BatchProblem) {
+			List<Solution> batch = new ArrayList<Solution>();
+			
+			for (Solution solution : solutions) {
+				batch.add(solution);
+			}
+			
+			if (!batch.isEmpty()) {
+				((BatchProblem)problem).evaluateAll(
+						batch.toArray(new Solution[batch.size()]));
+				numberOfEvaluations += batch.size();
+			}
+		} else {
+			for (Solution solution : solutions) {
+				evaluate(solution);
+			}
 		}
 	}
 	
@@ -90,7 +109,14 @@ public abstract class AbstractAlgorithm implements Algorithm {
 	 * @param solutions the solutions to evaluate
 	 */
 	public void evaluateAll(Solution[] solutions) {
-		evaluateAll(Arrays.asList(solutions));
+		if (problem instanceof BatchProblem) {
+			if (solutions.length > 0) {
+				((BatchProblem)problem).evaluateAll(solutions);
+				numberOfEvaluations += solutions.length;
+			}
+		} else {
+			evaluateAll(Arrays.asList(solutions));
+		}
 	}
 
 	@Override
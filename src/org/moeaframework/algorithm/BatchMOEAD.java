@@ -0,0 +1,117 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.algorithm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.moeaframework.core.Initialization;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.Variation;
+import org.moeaframework.util.weights.WeightGenerator;
+
+/**
+ * Batched variant of {@link MOEAD}.  Each generation first generates the
+ * offspring for all selected subproblems, then evaluates these offspring
+ * together using {@link #evaluateAll(Solution[])}, and finally updates the
+ * ideal point and the neighborhoods with each offspring in the order they
+ * were generated.  This allows a
+ * {@link org.moeaframework.core.BatchProblem} or a
+ * {@link org.moeaframework.util.distributed.DistributedProblem} to evaluate
+ * an entire generation concurrently.
+ * <p>
+ * Unlike {@code MOEAD}, where each offspring is inserted before the next
+ * subproblem is searched, all parents in a generation are selected from the
+ * population at the start of that generation.
+ */
+public class BatchMOEAD extends MOEAD {
+
+	/**
+	 * Constructs the batched MOEA/D algorithm with the specified components.
+	 * This version of MOEA/D uses utility-based search.
+	 * 
+	 * @param problem the problem being solved
+	 * @param neighborhoodSize the size of the neighborhood used for mating,
+	 *        which must be at least {@code variation.getArity()-1}.
+	 * @param initialization the initialization method
+	 * @param variation the variation operator
+	 * @param delta the probability of mating with a solution in the
+	 *        neighborhood rather than the entire population
+	 * @param eta the maximum number of population slots a solution can replace
+	 * @param updateUtility the frequency, in generations, in which utility
+	 *        values are updated; set to {@code -1} to disable utility-based
+	 *        search
+	 */
+	public BatchMOEAD(Problem problem, int neighborhoodSize,
+			Initialization initialization, Variation variation, double delta,
+			double eta, int updateUtility) {
+		super(problem, neighborhoodSize, initialization, variation, delta, eta,
+				updateUtility);
+	}
+
+	/**
+	 * Constructs the batched MOEA/D algorithm with the specified components.
+	 * This version of MOEA/D uses utility-based search.
+	 * 
+	 * @param problem the problem being solved
+	 * @param neighborhoodSize the size of the neighborhood used for mating,
+	 *        which must be at least {@code variation.getArity()-1}.
+	 * @param weightGenerator the weight generator
+	 * @param initialization the initialization method, which must generate the
+	 *        same number of solutions as weights
+	 * @param variation the variation operator
+	 * @param delta the probability of mating with a solution in the
+	 *        neighborhood rather than the entire population
+	 * @param eta the maximum number of population slots a solution can replace
+	 * @param updateUtility the frequency, in generations, in which utility
+	 *        values are updated; set to {@code -1} to disable utility-based
+	 *        search
+	 */
+	public BatchMOEAD(Problem problem, int neighborhoodSize,
+			WeightGenerator weightGenerator, Initialization initialization,
+			Variation variation, double delta, double eta, int updateUtility) {
+		super(problem, neighborhoodSize, weightGenerator, initialization,
+				variation, delta, eta, updateUtility);
+	}
+
+	@Override
+	public void iterate() {
+		List<Solution> offspring = new ArrayList<Solution>();
+		List<List<Integer>> offspringMatingIndices =
+				new ArrayList<List<Integer>>();
+
+		for (Integer index : getSubproblemsToSearch()) {
+			List<Integer> matingIndices = getMatingIndices(index);
+
+			for (Solution child : generate(index, matingIndices)) {
+				offspring.add(child);
+				offspringMatingIndices.add(matingIndices);
+			}
+		}
+
+		evaluateAll(offspring.toArray(new Solution[offspring.size()]));
+
+		for (int i = 0; i < offspring.size(); i++) {
+			insert(offspring.get(i), offspringMatingIndices.get(i));
+		}
+
+		endGeneration();
+	}
+
+}
@@ -46,7 +46,7 @@ import org.moeaframework.core.comparator.ParetoDominanceComparator;
  * </ol>
  */
 public class EpsilonMOEA extends AbstractEvolutionaryAlgorithm implements
-		EpsilonBoxEvolutionaryAlgorithm {
+		EpsilonBoxEvolutionaryAlgorithm, SteadyStateAlgorithm {
 
 	/**
 	 * The dominance comparator used for updating the population.
@@ -104,6 +104,16 @@ public class EpsilonMOEA extends AbstractEvolutionaryAlgorithm implements
 
 	@Override
 	public void iterate() {
+		Solution[] children = generate();
+
+		for (Solution child : children) {
+			evaluate(child);
+			insert(child);
+		}
+	}
+	
+	@Override
+	public Solution[] generate() {
 		Solution[] parents = null;
 		
 		if (archive.size() <= 1) {
@@ -116,13 +126,13 @@ public class EpsilonMOEA extends AbstractEvolutionaryAlgorithm implements
 		
 		PRNG.shuffle(parents);
 
-		Solution[] children = variation.evolve(parents);
-
-		for (Solution child : children) {
-			evaluate(child);
-			addToPopulation(child);
-			archive.add(child);
-		}
+		return variation.evolve(parents);
+	}
+	
+	@Override
+	public void insert(Solution solution) {
+		addToPopulation(solution);
+		archive.add(solution);
 	}
 
 	/**
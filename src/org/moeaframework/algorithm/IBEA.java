@@ -123,16 +123,7 @@ public class IBEA extends AbstractEvolutionaryAlgorithm {
 	 * @return the index of the solution with the worst fitness value
 	 */
 	private int findWorstIndex() {
-		int worstIndex = 0;
-		
-		for (int i = 1; i < population.size(); i++) {
-			if (fitnessComparator.compare(population.get(worstIndex),
-					population.get(i)) == -1) {
-				worstIndex = i;
-			}
-		}
-		
-		return worstIndex;
+		return fitnessEvaluator.findWorstIndex();
 	}
 
 }
\ No newline at end of file
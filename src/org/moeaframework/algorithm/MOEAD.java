@@ -21,11 +21,14 @@ import java.io.NotSerializableException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.RecursiveAction;
 
-import org.apache.commons.math3.util.MathArrays;
 import org.moeaframework.core.FrameworkException;
 import org.moeaframework.core.Initialization;
 import org.moeaframework.core.NondominatedPopulation;
@@ -33,6 +36,7 @@ import org.moeaframework.core.PRNG;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
 import org.moeaframework.core.Variation;
+import org.moeaframework.util.SharedForkJoinPool;
 import org.moeaframework.util.weights.RandomGenerator;
 import org.moeaframework.util.weights.WeightGenerator;
 
@@ -52,7 +56,12 @@ import org.moeaframework.util.weights.WeightGenerator;
  * Computation, 2009.
  * </ol>
  */
-public class MOEAD extends AbstractAlgorithm {
+public class MOEAD extends AbstractAlgorithm implements SteadyStateAlgorithm {
+
+	/**
+	 * The minimum number of neighborhoods constructed by a single thread.
+	 */
+	private static final int PARALLEL_GRAIN = 256;
 
 	/**
 	 * Represents an individual (population slot) in the MOEA/D algorithm.
@@ -187,42 +196,15 @@ public class MOEAD extends AbstractAlgorithm {
 	}
 
 	/**
-	 * Compares individuals based on their distance from a specified individual.
+	 * The current population.
 	 */
-	private static class WeightSorter implements Comparator<Individual> {
-
-		/**
-		 * The individual from which weight distances are computed.
-		 */
-		private final Individual individual;
-
-		/**
-		 * Constructs a comparator for comparing individuals based on their 
-		 * distance from the specified individual.
-		 * 
-		 * @param individual the individual from which weight distances are
-		 *        computed
-		 */
-		public WeightSorter(Individual individual) {
-			this.individual = individual;
-		}
-
-		@Override
-		public int compare(Individual o1, Individual o2) {
-			double d1 = MathArrays.distance(
-					individual.getWeights(), o1.getWeights());
-			double d2 = MathArrays.distance(
-					individual.getWeights(), o2.getWeights());
-
-			return Double.compare(d1, d2);
-		}
-
-	}
+	private List<Individual> population;
 
 	/**
-	 * The current population.
+	 * The population indices of the neighborhood of each individual, ordered
+	 * by increasing distance between weights.
 	 */
-	private List<Individual> population;
+	private int[][] neighborhoods;
 
 	/**
 	 * The ideal point; each index stores the best observed value for each
@@ -273,6 +255,19 @@ public class MOEAD extends AbstractAlgorithm {
 	 */
 	private int generation;
 	
+	/**
+	 * The subproblems remaining to be searched in the current generation by
+	 * {@link #generate()}; or {@code null} if {@code generate} has not yet
+	 * been invoked.
+	 */
+	private Queue<Integer> remainingSubproblems;
+	
+	/**
+	 * The mating indices of the offspring created by {@link #generate()} that
+	 * have not yet been inserted.
+	 */
+	private final Map<Solution, List<Integer>> pendingOffspring;
+	
 	/**
 	 * Constructs the MOEA/D algorithm with the specified components.  This
 	 * version of MOEA/D uses utility-based search as described in [2].
@@ -346,6 +341,8 @@ public class MOEAD extends AbstractAlgorithm {
 		this.delta = delta;
 		this.eta = eta;
 		this.updateUtility = updateUtility;
+		
+		pendingOffspring = new IdentityHashMap<Solution, List<Integer>>();
 	}
 	
 	/**
@@ -427,21 +424,207 @@ public class MOEAD extends AbstractAlgorithm {
 
 	/**
 	 * Constructs the neighborhoods for all individuals in the population based
-	 * on the distances between weights.
+	 * on the distances between weights.  Rather than sorting the population
+	 * for each individual, the nearest weights are selected using a bounded
+	 * heap, and large populations are split across threads.
 	 */
 	private void initializeNeighborhoods() {
-		List<Individual> sortedPopulation = new ArrayList<Individual>(
-				population);
+		double[][] weights = new double[population.size()][];
 
-		for (Individual individual : population) {
-			Collections.sort(sortedPopulation, new WeightSorter(individual));
+		for (int i = 0; i < population.size(); i++) {
+			weights[i] = population.get(i).getWeights();
+		}
+
+		neighborhoods = new int[population.size()][];
+		NeighborhoodTask task = new NeighborhoodTask(weights, 0,
+				population.size());
+
+		if (population.size() > PARALLEL_GRAIN) {
+			SharedForkJoinPool.getInstance().invoke(task);
+		} else {
+			task.compute();
+		}
 
-			for (int i = 0; i < neighborhoodSize; i++) {
-				individual.addNeighbor(sortedPopulation.get(i));
+		for (int i = 0; i < population.size(); i++) {
+			Individual individual = population.get(i);
+
+			for (int neighbor : neighborhoods[i]) {
+				individual.addNeighbor(population.get(neighbor));
 			}
 		}
 	}
 
+	/**
+	 * Restores the population indices of the neighborhoods from the
+	 * neighbors stored in each individual.
+	 */
+	private void restoreNeighborhoods() {
+		Map<Individual, Integer> indices =
+				new IdentityHashMap<Individual, Integer>();
+
+		for (int i = 0; i < population.size(); i++) {
+			indices.put(population.get(i), i);
+		}
+
+		neighborhoods = new int[population.size()][];
+
+		for (int i = 0; i < population.size(); i++) {
+			List<Individual> neighbors = population.get(i).getNeighbors();
+			neighborhoods[i] = new int[neighbors.size()];
+
+			for (int j = 0; j < neighbors.size(); j++) {
+				neighborhoods[i][j] = indices.get(neighbors.get(j));
+			}
+		}
+	}
+
+	/**
+	 * Returns the indices of the {@code neighborhoodSize} weights nearest to
+	 * the weights at the given index, including itself, ordered by increasing
+	 * Euclidean distance.  Ties are broken by the smaller index.
+	 * 
+	 * @param weights the weights of all individuals
+	 * @param index the index of the weights whose neighborhood is returned
+	 * @return the indices of the nearest weights
+	 */
+	private int[] findNearestWeights(double[][] weights, int index) {
+		int size = Math.min(neighborhoodSize, weights.length);
+		double[] heapDistances = new double[size];
+		int[] heapIndices = new int[size];
+		int heapSize = 0;
+
+		// max-heap of the nearest weights found so far
+		for (int i = 0; i < weights.length; i++) {
+			double distance = squaredDistance(weights[index], weights[i]);
+			int position;
+
+			if (heapSize < size) {
+				position = heapSize++;
+
+				while (position > 0) {
+					int parent = (position - 1) / 2;
+
+					if (!isFarther(distance, i, heapDistances[parent],
+							heapIndices[parent])) {
+						break;
+					}
+
+					heapDistances[position] = heapDistances[parent];
+					heapIndices[position] = heapIndices[parent];
+					position = parent;
+				}
+			} else if (isFarther(heapDistances[0], heapIndices[0], distance,
+					i)) {
+				position = 0;
+
+				while (true) {
+					int child = 2*position + 1;
+
+					if (child >= heapSize) {
+						break;
+					}
+
+					if ((child + 1 < heapSize) && isFarther(
+							heapDistances[child + 1], heapIndices[child + 1],
+							heapDistances[child], heapIndices[child])) {
+						child++;
+					}
+
+					if (!isFarther(heapDistances[child], heapIndices[child],
+							distance, i)) {
+						break;
+					}
+
+					heapDistances[position] = heapDistances[child];
+					heapIndices[position] = heapIndices[child];
+					position = child;
+				}
+			} else {
+				continue;
+			}
+
+			heapDistances[position] = distance;
+			heapIndices[position] = i;
+		}
+
+		// order the neighbors by increasing distance
+		Integer[] order = new Integer[size];
+
+		for (int i = 0; i < size; i++) {
+			order[i] = i;
+		}
+
+		final double[] distances = heapDistances;
+		final int[] indices = heapIndices;
+
+		Arrays.sort(order, new Comparator<Integer>() {
+
+			@Override
+			public int compare(Integer i, Integer j) {
+				if (isFarther(distances[i], indices[i], distances[j],
+						indices[j])) {
+					return 1;
+				} else if (isFarther(distances[j], indices[j], distances[i],
+						indices[i])) {
+					return -1;
+				} else {
+					return 0;
+				}
+			}
+
+		});
+
+		int[] result = new int[size];
+
+		for (int i = 0; i < size; i++) {
+			result[i] = indices[order[i]];
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns {@code true} if the first weights are farther than the second
+	 * weights, or equally far but with a larger index; {@code false}
+	 * otherwise.
+	 * 
+	 * @param distance1 the distance to the first weights
+	 * @param index1 the index of the first weights
+	 * @param distance2 the distance to the second weights
+	 * @param index2 the index of the second weights
+	 * @return {@code true} if the first weights are farther than the second
+	 *         weights; {@code false} otherwise
+	 */
+	private static boolean isFarther(double distance1, int index1,
+			double distance2, int index2) {
+		int comparison = Double.compare(distance1, distance2);
+
+		if (comparison == 0) {
+			return index1 > index2;
+		} else {
+			return comparison > 0;
+		}
+	}
+
+	/**
+	 * Returns the squared Euclidean distance between two weight vectors.
+	 * 
+	 * @param weights1 the first weight vector
+	 * @param weights2 the second weight vector
+	 * @return the squared Euclidean distance between the two weight vectors
+	 */
+	private static double squaredDistance(double[] weights1,
+			double[] weights2) {
+		double sum = 0.0;
+
+		for (int i = 0; i < weights1.length; i++) {
+			double difference = weights1[i] - weights2[i];
+			sum += difference * difference;
+		}
+
+		return sum;
+	}
+
 	/**
 	 * Initializes the ideal point.
 	 */
@@ -483,7 +666,7 @@ public class MOEAD extends AbstractAlgorithm {
 	 * @return the population indices to be operated on in the current
 	 *         generation
 	 */
-	private List<Integer> getSubproblemsToSearch() {
+	protected List<Integer> getSubproblemsToSearch() {
 		List<Integer> indices = new ArrayList<Integer>();
 		
 		if (updateUtility < 0) {
@@ -526,12 +709,12 @@ public class MOEAD extends AbstractAlgorithm {
 	 * @param index the index of the first parent
 	 * @return the population indices to be considered during mating
 	 */
-	private List<Integer> getMatingIndices(int index) {
+	protected List<Integer> getMatingIndices(int index) {
 		List<Integer> matingIndices = new ArrayList<Integer>();
 
 		if (PRNG.nextDouble() <= delta) {
-			for (Individual individual : population.get(index).getNeighbors()) {
-				matingIndices.add(population.indexOf(individual));
+			for (int neighbor : neighborhoods[index]) {
+				matingIndices.add(neighbor);
 			}
 		} else {
 			for (int i = 0; i < population.size(); i++) {
@@ -622,37 +805,66 @@ public class MOEAD extends AbstractAlgorithm {
 
 		for (Integer index : indices) {
 			List<Integer> matingIndices = getMatingIndices(index);
-
-			Solution[] parents = new Solution[variation.getArity()];
-			parents[0] = population.get(index).getSolution();
-			
-			if (variation.getArity() > 2) {
-				// mimic MOEA/D parent selection for differential evolution
-				PRNG.shuffle(matingIndices);
-				
-				for (int i = 1; i < variation.getArity()-1; i++) {
-					parents[i] = population.get(
-							matingIndices.get(i-1)).getSolution();
-				}
-				
-				parents[variation.getArity()-1] = 
-						population.get(index).getSolution();
-			} else {
-				for (int i = 1; i < variation.getArity(); i++) {
-					parents[i] = population.get(
-							PRNG.nextItem(matingIndices)).getSolution();
-				}
-			}
-
-			Solution[] offspring = variation.evolve(parents);
+			Solution[] offspring = generate(index, matingIndices);
 
 			for (Solution child : offspring) {
 				evaluate(child);
-				updateIdealPoint(child);
-				updateSolution(child, matingIndices);
+				insert(child, matingIndices);
+			}
+		}
+
+		endGeneration();
+	}
+	
+	/**
+	 * Generates offspring for the specified subproblem.
+	 * 
+	 * @param index the index of the subproblem
+	 * @param matingIndices the population indices considered during mating
+	 * @return the offspring
+	 */
+	protected Solution[] generate(int index, List<Integer> matingIndices) {
+		Solution[] parents = new Solution[variation.getArity()];
+		parents[0] = population.get(index).getSolution();
+		
+		if (variation.getArity() > 2) {
+			// mimic MOEA/D parent selection for differential evolution
+			PRNG.shuffle(matingIndices);
+			
+			for (int i = 1; i < variation.getArity()-1; i++) {
+				parents[i] = population.get(
+						matingIndices.get(i-1)).getSolution();
+			}
+			
+			parents[variation.getArity()-1] = 
+					population.get(index).getSolution();
+		} else {
+			for (int i = 1; i < variation.getArity(); i++) {
+				parents[i] = population.get(
+						PRNG.nextItem(matingIndices)).getSolution();
 			}
 		}
 
+		return variation.evolve(parents);
+	}
+	
+	/**
+	 * Updates the ideal point and population with the evaluated offspring.
+	 * 
+	 * @param solution the evaluated offspring
+	 * @param matingIndices the population indices that are available for
+	 *        updating
+	 */
+	protected void insert(Solution solution, List<Integer> matingIndices) {
+		updateIdealPoint(solution);
+		updateSolution(solution, matingIndices);
+	}
+	
+	/**
+	 * Advances the generation count, updating the utility of each individual
+	 * if required.
+	 */
+	protected void endGeneration() {
 		generation++;
 
 		if ((updateUtility >= 0) && (generation % updateUtility == 0)) {
@@ -660,6 +872,107 @@ public class MOEAD extends AbstractAlgorithm {
 		}
 	}
 	
+	/**
+	 * Generates offspring for the next subproblem to be searched.  Once all
+	 * subproblems selected for the current generation have been searched, the
+	 * generation ends and the subproblems for the next generation are
+	 * selected.
+	 */
+	@Override
+	public Solution[] generate() {
+		if ((remainingSubproblems == null) || remainingSubproblems.isEmpty()) {
+			if (remainingSubproblems != null) {
+				endGeneration();
+			}
+			
+			remainingSubproblems = new LinkedList<Integer>(
+					getSubproblemsToSearch());
+		}
+		
+		int index = remainingSubproblems.remove();
+		List<Integer> matingIndices = getMatingIndices(index);
+		Solution[] offspring = generate(index, matingIndices);
+		
+		for (Solution child : offspring) {
+			pendingOffspring.put(child, matingIndices);
+		}
+		
+		return offspring;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * 
+	 * @throws IllegalArgumentException if the solution was not created by
+	 *         {@link #generate()} or was already inserted
+	 */
+	@Override
+	public void insert(Solution solution) {
+		List<Integer> matingIndices = pendingOffspring.remove(solution);
+		
+		if (matingIndices == null) {
+			throw new IllegalArgumentException(
+					"solution was not generated by this algorithm");
+		}
+		
+		insert(solution, matingIndices);
+	}
+	
+	/**
+	 * Constructs the neighborhoods for a range of individuals, splitting the
+	 * range in half until it contains at most
+	 * {@value MOEAD#PARALLEL_GRAIN} individuals.
+	 */
+	private class NeighborhoodTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 6186541434245513474L;
+
+		/**
+		 * The weights of all individuals.
+		 */
+		private final double[][] weights;
+
+		/**
+		 * The first individual, inclusive.
+		 */
+		private final int from;
+
+		/**
+		 * The last individual, exclusive.
+		 */
+		private final int to;
+
+		/**
+		 * Constructs a task constructing the neighborhoods of the individuals
+		 * in the range {@code [from, to)}.
+		 * 
+		 * @param weights the weights of all individuals
+		 * @param from the first individual, inclusive
+		 * @param to the last individual, exclusive
+		 */
+		public NeighborhoodTask(double[][] weights, int from, int to) {
+			super();
+			this.weights = weights;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > PARALLEL_GRAIN) {
+				int mid = (from + to) >>> 1;
+
+				invokeAll(new NeighborhoodTask(weights, from, mid),
+						new NeighborhoodTask(weights, mid, to));
+			} else {
+				for (int i = from; i < to; i++) {
+					neighborhoods[i] = findNearestWeights(weights, i);
+				}
+			}
+		}
+
+	}
+
 	/**
 	 * Proxy for serializing and deserializing the state of a
 	 * {@code MOEAD} instance. This proxy supports saving
@@ -772,6 +1085,8 @@ public class MOEAD extends AbstractAlgorithm {
 		idealPoint = state.getIdealPoint();
 		numberOfEvaluations = state.getNumberOfEvaluations();
 		generation = state.getGeneration();
+		
+		restoreNeighborhoods();
 	}
 	
 }
@@ -108,8 +108,8 @@ public class PAES extends AbstractEvolutionaryAlgorithm {
 	 */
 	public Solution test(Solution parent, Solution offspring) {
 		AdaptiveGridArchive archive = getArchive();
-		int parentIndex = archive.findIndex(parent);
-		int offspringIndex = archive.findIndex(offspring);
+		long parentIndex = archive.findIndex(parent);
+		long offspringIndex = archive.findIndex(offspring);
 		
 		if (parentIndex == -1) {
 			// the parent is no longer in the archive
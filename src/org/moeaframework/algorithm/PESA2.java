@@ -19,11 +19,9 @@ package org.moeaframework.algorithm;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.NoSuchElementException;
 
 import org.moeaframework.core.AdaptiveGridArchive;
 import org.moeaframework.core.Initialization;
@@ -64,7 +62,7 @@ public class PESA2 extends AbstractEvolutionaryAlgorithm {
 	 * A mapping from grid index to the solutions occupying that grid index.
 	 * This enables PESA2's region-based selection.
 	 */
-	protected Map<Integer, List<Solution>> gridMap;
+	protected Map<Long, List<Solution>> gridMap;
 
 	public PESA2(Problem problem, Variation variation,
 			Initialization initialization, int bisections, int archiveSize) {
@@ -111,12 +109,12 @@ public class PESA2 extends AbstractEvolutionaryAlgorithm {
 	 * @return a mapping from grid index to the solutions occupying that grid
 	 *         index
 	 */
-	protected Map<Integer, List<Solution>> createGridMap() {
+	protected Map<Long, List<Solution>> createGridMap() {
 		AdaptiveGridArchive archive = getArchive();
-		Map<Integer, List<Solution>> result = new HashMap<Integer, List<Solution>>();
+		Map<Long, List<Solution>> result = new HashMap<Long, List<Solution>>();
 		
 		for (Solution solution : archive) {
-			int index = archive.findIndex(solution);
+			long index = archive.findIndex(solution);
 			List<Solution> solutions = result.get(index);
 			
 			if (solutions == null) {
@@ -138,6 +136,18 @@ public class PESA2 extends AbstractEvolutionaryAlgorithm {
 	 */
 	public class RegionBasedSelection implements Selection {
 		
+		/**
+		 * The grid map from which {@link #entries} was created; or
+		 * {@code null} if no entries have been created.
+		 */
+		private Map<Long, List<Solution>> entriesMap;
+		
+		/**
+		 * The entries of the grid map, in iteration order, allowing random
+		 * entries to be drawn in constant time.
+		 */
+		private List<Entry<Long, List<Solution>>> entries;
+		
 		/**
 		 * Constructs a new region-based selection instance.
 		 */
@@ -161,21 +171,14 @@ public class PESA2 extends AbstractEvolutionaryAlgorithm {
 		 * 
 		 * @return the randomly selected map entry
 		 */
-		protected Entry<Integer, List<Solution>> draw() {
-			int index = PRNG.nextInt(gridMap.size());
-			Iterator<Entry<Integer, List<Solution>>> iterator = gridMap.entrySet().iterator();
-			
-			while (iterator.hasNext()) {
-				Entry<Integer, List<Solution>> entry = iterator.next();
-				
-				if (index == 0) {
-					return entry;
-				} else {
-					index--;
-				}
+		protected Entry<Long, List<Solution>> draw() {
+			if (gridMap != entriesMap) {
+				entries = new ArrayList<Entry<Long, List<Solution>>>(
+						gridMap.entrySet());
+				entriesMap = gridMap;
 			}
 			
-			throw new NoSuchElementException();
+			return entries.get(PRNG.nextInt(entries.size()));
 		}
 		
 		/**
@@ -185,9 +188,9 @@ public class PESA2 extends AbstractEvolutionaryAlgorithm {
 		 */
 		protected Solution select() {
 			AdaptiveGridArchive archive = getArchive();
-			Entry<Integer, List<Solution>> entry1 = draw();
-			Entry<Integer, List<Solution>> entry2 = draw();
-			Entry<Integer, List<Solution>> selection = entry1;
+			Entry<Long, List<Solution>> entry1 = draw();
+			Entry<Long, List<Solution>> entry2 = draw();
+			Entry<Long, List<Solution>> selection = entry1;
 			
 			// pick the grid index with smaller density
 			if (entry1 != entry2) {
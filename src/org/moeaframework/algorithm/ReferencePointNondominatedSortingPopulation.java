@@ -19,12 +19,10 @@ package org.moeaframework.algorithm;
 
 import static org.moeaframework.core.FastNondominatedSorting.RANK_ATTRIBUTE;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
+import java.util.concurrent.RecursiveAction;
 
 import org.moeaframework.core.FrameworkException;
 import org.moeaframework.core.NondominatedSortingPopulation;
@@ -34,6 +32,7 @@ import org.moeaframework.core.Settings;
 import org.moeaframework.core.Solution;
 import org.moeaframework.core.comparator.DominanceComparator;
 import org.moeaframework.core.comparator.RankComparator;
+import org.moeaframework.util.SharedForkJoinPool;
 import org.moeaframework.util.Vector;
 import org.moeaframework.util.weights.NormalBoundaryIntersectionGenerator;
 
@@ -70,9 +69,10 @@ import org.moeaframework.util.weights.NormalBoundaryIntersectionGenerator;
 public class ReferencePointNondominatedSortingPopulation extends NondominatedSortingPopulation {
 
 	/**
-	 * The name of the attribute for storing the normalized objectives.
+	 * The number of solutions above which solutions are associated to
+	 * reference points in parallel.
 	 */
-	private static final String NORMALIZED_OBJECTIVES = "Normalized Objectives";
+	private static final int PARALLEL_GRAIN = 64;
 
 	/**
 	 * The number of objectives.
@@ -96,9 +96,40 @@ public class ReferencePointNondominatedSortingPopulation extends NondominatedSor
 	private double[] idealPoint;
 
 	/**
-	 * The list of reference points, or weights.
+	 * The number of reference points.
 	 */
-	private List<double[]> weights;
+	private int numberOfReferencePoints;
+
+	/**
+	 * The reference points, or weights, stored contiguously so the
+	 * {@code i}-th reference point starts at index
+	 * {@code i*numberOfObjectives}.
+	 */
+	private double[] referencePoints;
+
+	/**
+	 * The squared magnitude of each reference point.
+	 */
+	private double[] squaredMagnitudes;
+
+	/**
+	 * The normalized objectives of the solutions in this population, stored
+	 * contiguously so the {@code i}-th solution starts at index
+	 * {@code i*numberOfObjectives}.  This array is reused between truncations
+	 * and may be longer than needed.
+	 */
+	private double[] normalizedObjectives;
+
+	/**
+	 * The index of the reference point associated with each solution.
+	 */
+	private int[] associations;
+
+	/**
+	 * The perpendicular distance between each solution and its associated
+	 * reference point.
+	 */
+	private double[] distances;
 
 	/**
 	 * Constructs an empty population that maintains the {@code rank}
@@ -263,8 +294,25 @@ public class ReferencePointNondominatedSortingPopulation extends NondominatedSor
 		idealPoint = new double[numberOfObjectives];
 		Arrays.fill(idealPoint, Double.POSITIVE_INFINITY);
 		
-		weights = new NormalBoundaryIntersectionGenerator(numberOfObjectives,
-				divisionsOuter, divisionsInner).generate();
+		List<double[]> weights = new NormalBoundaryIntersectionGenerator(
+				numberOfObjectives, divisionsOuter, divisionsInner).generate();
+		
+		numberOfReferencePoints = weights.size();
+		referencePoints = new double[numberOfReferencePoints *
+				numberOfObjectives];
+		squaredMagnitudes = new double[numberOfReferencePoints];
+		
+		for (int i = 0; i < numberOfReferencePoints; i++) {
+			double[] weight = weights.get(i);
+			
+			System.arraycopy(weight, 0, referencePoints,
+					i * numberOfObjectives, numberOfObjectives);
+			squaredMagnitudes[i] = Vector.dot(weight, weight);
+		}
+		
+		normalizedObjectives = new double[0];
+		associations = new int[0];
+		distances = new double[0];
 	}
 
 	/**
@@ -284,34 +332,40 @@ public class ReferencePointNondominatedSortingPopulation extends NondominatedSor
 
 	/**
 	 * Offsets the solutions in this population by the ideal point.  This
-	 * method does not modify the objective values, it creates a new attribute
-	 * with the name {@value NORMALIZED_OBJECTIVES}.
+	 * method does not modify the objective values, it stores the offset
+	 * values in {@link #normalizedObjectives}.
 	 */
 	private void translateByIdealPoint() {
-		for (Solution solution : this) {
-			double[] objectives = solution.getObjectives();
+		if (associations.length < size()) {
+			normalizedObjectives = new double[size() * numberOfObjectives];
+			associations = new int[size()];
+			distances = new double[size()];
+		}
+		
+		for (int i = 0; i < size(); i++) {
+			Solution solution = get(i);
+			int offset = i * numberOfObjectives;
 
-			for (int i = 0; i < numberOfObjectives; i++) {
-				objectives[i] -= idealPoint[i];
+			for (int j = 0; j < numberOfObjectives; j++) {
+				normalizedObjectives[offset + j] = solution.getObjective(j) -
+						idealPoint[j];
 			}
-
-			solution.setAttribute(NORMALIZED_OBJECTIVES, objectives);
 		}
 	}
 
 	/**
 	 * Normalizes the solutions in this population by the given intercepts
 	 * (or scaling factors).  This method does not modify the objective values,
-	 * it modifies the {@value NORMALIZED_OBJECTIVES} attribute.
+	 * it modifies the values in {@link #normalizedObjectives}.
 	 * 
 	 * @param intercepts the intercepts used for scaling
 	 */
 	private void normalizeByIntercepts(double[] intercepts) {
-		for (Solution solution : this) {
-			double[] objectives = (double[])solution.getAttribute(NORMALIZED_OBJECTIVES);
-
-			for (int i = 0; i < solution.getNumberOfObjectives(); i++) {
-				objectives[i] /= intercepts[i];
+		for (int i = 0; i < size(); i++) {
+			int offset = i * numberOfObjectives;
+			
+			for (int j = 0; j < numberOfObjectives; j++) {
+				normalizedObjectives[offset + j] /= intercepts[j];
 			}
 		}
 	}
@@ -319,25 +373,26 @@ public class ReferencePointNondominatedSortingPopulation extends NondominatedSor
 	/**
 	 * The Chebyshev achievement scalarizing function.
 	 * 
-	 * @param solution the normalized solution
+	 * @param objectives the array storing the normalized objectives
+	 * @param offset the index of the first normalized objective
 	 * @param weights the reference point (weight vector)
 	 * @return the value of the scalarizing function
 	 */
-	protected static double achievementScalarizingFunction(Solution solution, double[] weights) {
+	protected static double achievementScalarizingFunction(double[] objectives,
+			int offset, double[] weights) {
 		double max = Double.NEGATIVE_INFINITY;
-		double[] objectives = (double[])solution.getAttribute(NORMALIZED_OBJECTIVES);
 
-		for (int i = 0; i < solution.getNumberOfObjectives(); i++) {
-			max = Math.max(max, objectives[i]/weights[i]);
+		for (int i = 0; i < weights.length; i++) {
+			max = Math.max(max, objectives[offset + i]/weights[i]);
 		}
 
 		return max;
 	}
 
 	/**
-	 * Returns the extreme point in the given objective.  The extreme point is
-	 * the point that minimizes the achievement scalarizing function using a
-	 * reference point near the given objective.
+	 * Returns the index of the extreme point in the given objective.  The
+	 * extreme point is the point that minimizes the achievement scalarizing
+	 * function using a reference point near the given objective.
 	 * 
 	 * The NSGA-III paper (1) does not provide any details on the scalarizing
 	 * function, but an earlier paper by the authors (2) where some precursor
@@ -345,9 +400,10 @@ public class ReferencePointNondominatedSortingPopulation extends NondominatedSor
 	 * below.
 	 * 
 	 * @param objective the objective index
-	 * @return the extreme point in the given objective
+	 * @return the index of the extreme point in the given objective, or
+	 *         {@code -1} if no extreme point was found
 	 */
-	private Solution findExtremePoint(int objective) {
+	private int findExtremePoint(int objective) {
 		double eps = 0.000001;
 		double[] weights = new double[numberOfObjectives];
 
@@ -359,15 +415,15 @@ public class ReferencePointNondominatedSortingPopulation extends NondominatedSor
 			}
 		}
 
-		Solution result = null;
+		int result = -1;
 		double resultASF = Double.POSITIVE_INFINITY;
 
 		for (int i = 0; i < size(); i++) {
-			Solution solution = get(i);
-			double solutionASF = achievementScalarizingFunction(solution, weights);
+			double solutionASF = achievementScalarizingFunction(
+					normalizedObjectives, i * numberOfObjectives, weights);
 
 			if (solutionASF < resultASF) {
-				result = solution;
+				result = i;
 				resultASF = solutionASF;
 			}
 		}
@@ -376,13 +432,13 @@ public class ReferencePointNondominatedSortingPopulation extends NondominatedSor
 	}
 
 	/**
-	 * Returns the extreme points for all objectives.
+	 * Returns the indices of the extreme points for all objectives.
 	 * 
-	 * @return an array of extreme points, each index corresponds to each
-	 *         objective
+	 * @return an array of the indices of the extreme points, each index
+	 *         corresponds to each objective
 	 */
-	private Solution[] extremePoints() {
-		Solution[] result = new Solution[numberOfObjectives];
+	private int[] extremePoints() {
+		int[] result = new int[numberOfObjectives];
 
 		for (int i = 0; i < numberOfObjectives; i++) {
 			result[i] = findExtremePoint(i);
@@ -400,31 +456,37 @@ public class ReferencePointNondominatedSortingPopulation extends NondominatedSor
 	 * @return an array of the intercept points for each objective
 	 */
 	private double[] calculateIntercepts() {
-		Solution[] extremePoints = extremePoints();
+		int[] extremePoints = extremePoints();
 		boolean degenerate = false;
 		double[] intercepts = new double[numberOfObjectives];
 
-		try {
-			double[] b = new double[numberOfObjectives];
-			double[][] A = new double[numberOfObjectives][numberOfObjectives];
-			
-			for (int i = 0; i < numberOfObjectives; i++) {
-				double[] objectives = (double[])extremePoints[i].getAttribute(NORMALIZED_OBJECTIVES);
-
-				b[i] = 1.0;
-
-				for (int j = 0; j < numberOfObjectives; j++) {
-					A[i][j] = objectives[j];
-				}
+		for (int i = 0; i < numberOfObjectives; i++) {
+			if (extremePoints[i] < 0) {
+				degenerate = true;
+				break;
 			}
+		}
 
-			double[] result = lsolve(A, b);
-
-			for (int i = 0; i < numberOfObjectives; i++) {
-				intercepts[i] = 1.0 / result[i];
+		if (!degenerate) {
+			try {
+				double[] b = new double[numberOfObjectives];
+				double[][] A = new double[numberOfObjectives][numberOfObjectives];
+				
+				for (int i = 0; i < numberOfObjectives; i++) {
+					b[i] = 1.0;
+					System.arraycopy(normalizedObjectives,
+							extremePoints[i] * numberOfObjectives, A[i], 0,
+							numberOfObjectives);
+				}
+	
+				double[] result = lsolve(A, b);
+	
+				for (int i = 0; i < numberOfObjectives; i++) {
+					intercepts[i] = 1.0 / result[i];
+				}
+			} catch (RuntimeException e) {
+				degenerate = true;
 			}
-		} catch (RuntimeException e) {
-			degenerate = true;
 		}
 
 		if (!degenerate) {
@@ -513,77 +575,80 @@ public class ReferencePointNondominatedSortingPopulation extends NondominatedSor
 	}
 
 	/**
-	 * Returns the minimum perpendicular distance between a point and a line.
-	 * 
-	 * @param line the line originating from the origin
-	 * @param point the point
-	 * @return the minimum distance
-	 */
-	private static double pointLineDistance(double[] line, double[] point) {
-		return Vector.magnitude(Vector.subtract(Vector.multiply(
-				Vector.dot(line, point) / Vector.dot(line, line),
-				line), point));
-	}
-
-	/**
-	 * Associates each solution to the nearest reference point, returning a
-	 * list-of-lists.  The outer list maps to each reference point using their
-	 * index.  The inner list is an unordered collection of the solutions
-	 * associated with the reference point.
+	 * Returns the squared minimum perpendicular distance between a solution
+	 * and the line from the origin through a reference point.  The
+	 * arithmetic matches computing the projection of the point onto the
+	 * line and taking the magnitude of the difference.
 	 * 
-	 * @param population the population of solutions
-	 * @return the association of solutions to reference points
+	 * @param referencePoint the index of the reference point
+	 * @param offset the index of the solution's first normalized objective
+	 * @return the squared minimum distance
 	 */
-	private List<List<Solution>> associateToReferencePoint(Population population) {
-		List<List<Solution>> result = new ArrayList<List<Solution>>();
+	private double squaredPointLineDistance(int referencePoint, int offset) {
+		int weightOffset = referencePoint * numberOfObjectives;
+		double dot = 0.0;
 
-		for (int i = 0; i < weights.size(); i++) {
-			result.add(new ArrayList<Solution>());
+		for (int i = 0; i < numberOfObjectives; i++) {
+			dot += referencePoints[weightOffset + i] *
+					normalizedObjectives[offset + i];
 		}
 
-		for (Solution solution : population) {
-			double[] objectives = (double[])solution.getAttribute(NORMALIZED_OBJECTIVES);
-			double minDistance = Double.POSITIVE_INFINITY;
-			int minIndex = -1;
+		double scale = dot / squaredMagnitudes[referencePoint];
+		double sum = 0.0;
 
-			for (int i = 0; i < weights.size(); i++) {
-				double distance = pointLineDistance(weights.get(i), objectives);
-
-				if (distance < minDistance) {
-					minDistance = distance;
-					minIndex = i;
-				}
-			}
-
-			result.get(minIndex).add(solution);
+		for (int i = 0; i < numberOfObjectives; i++) {
+			double difference = scale * referencePoints[weightOffset + i] -
+					normalizedObjectives[offset + i];
+			sum += difference * difference;
 		}
 
-		return result;
+		return sum;
 	}
 
 	/**
-	 * Returns the solution with the minimum perpendicular distance to the
-	 * given reference point.
+	 * Associates the solution at the given index to the nearest reference
+	 * point, storing the index of the reference point in
+	 * {@link #associations} and the perpendicular distance in
+	 * {@link #distances}.
 	 * 
-	 * @param solutions the list of solutions being considered
-	 * @param weight the reference point
-	 * @return the solution nearest to the reference point
+	 * @param index the index of the solution
 	 */
-	private Solution findSolutionWithMinimumDistance(List<Solution> solutions, double[] weight) {
+	private void associate(int index) {
+		int offset = index * numberOfObjectives;
+		double minSquaredDistance = Double.POSITIVE_INFINITY;
 		double minDistance = Double.POSITIVE_INFINITY;
-		Solution minSolution = null;
-
-		for (int i = 0; i < solutions.size(); i++) {
-			double[] objectives = (double[])solutions.get(i).getAttribute(NORMALIZED_OBJECTIVES);
-			double distance = pointLineDistance(weight, objectives);
-
-			if (distance < minDistance) {
-				minDistance = distance;
-				minSolution = solutions.get(i);
+		int minIndex = -1;
+
+		for (int i = 0; i < numberOfReferencePoints; i++) {
+			double squaredDistance = squaredPointLineDistance(i, offset);
+
+			// compare the distances, not the squared distances, so ties are
+			// broken the same way, but only take the square root when the
+			// squared distance is smaller
+			if ((squaredDistance < minSquaredDistance) &&
+					(Math.sqrt(squaredDistance) < minDistance)) {
+				minSquaredDistance = squaredDistance;
+				minDistance = Math.sqrt(squaredDistance);
+				minIndex = i;
 			}
 		}
 
-		return minSolution;
+		associations[index] = minIndex;
+		distances[index] = minDistance;
+	}
+
+	/**
+	 * Associates each solution in this population to the nearest reference
+	 * point.  Large populations are split across threads.
+	 */
+	private void associateToReferencePoints() {
+		AssociationTask task = new AssociationTask(0, size());
+
+		if (size() > PARALLEL_GRAIN) {
+			SharedForkJoinPool.getInstance().invoke(task);
+		} else {
+			task.compute();
+		}
 	}
 
 	/**
@@ -619,7 +684,13 @@ public class ReferencePointNondominatedSortingPopulation extends NondominatedSor
 			// by the extreme points, and compute the intercepts
 			normalizeByIntercepts(calculateIntercepts());
 
-			// get the solutions in the last front
+			// associate each solution to a reference point
+			associateToReferencePoints();
+
+			// count the members associated with each reference point and get
+			// the solutions in the last front (the potential members)
+			int[] memberCounts = new int[numberOfReferencePoints];
+			int[] potentialCounts = new int[numberOfReferencePoints];
 			front = new Population();
 
 			for (int i = 0; i < size(); i++) {
@@ -627,54 +698,103 @@ public class ReferencePointNondominatedSortingPopulation extends NondominatedSor
 
 				if (rank == maxRank) {
 					front.add(get(i));
+					potentialCounts[associations[i]]++;
+				} else {
+					memberCounts[associations[i]]++;
+				}
+			}
+
+			// group the potential members by reference point, preserving
+			// their order within each group
+			int[] offsets = new int[numberOfReferencePoints];
+			int[] positions = new int[numberOfReferencePoints];
+			Solution[] potentialMembers = new Solution[front.size()];
+			double[] potentialDistances = new double[front.size()];
+
+			for (int i = 1; i < numberOfReferencePoints; i++) {
+				offsets[i] = offsets[i-1] + potentialCounts[i-1];
+			}
+
+			System.arraycopy(offsets, 0, positions, 0,
+					numberOfReferencePoints);
+
+			for (int i = 0; i < size(); i++) {
+				Solution solution = get(i);
+				int rank = (Integer)solution.getAttribute(RANK_ATTRIBUTE);
+
+				if (rank == maxRank) {
+					int position = positions[associations[i]]++;
+					potentialMembers[position] = solution;
+					potentialDistances[position] = distances[i];
 				}
 			}
 
 			removeAll(front);
 
-			// associate each solution to a reference point
-			List<List<Solution>> members = associateToReferencePoint(this);
-			List<List<Solution>> potentialMembers = associateToReferencePoint(front);
-			Set<Integer> excluded = new HashSet<Integer>();
+			// the reference points with the fewest associated members, in
+			// order; only rebuilt once all have been used or excluded since
+			// the counts of the others do not change in the meantime
+			boolean[] excluded = new boolean[numberOfReferencePoints];
+			int[] minIndices = new int[numberOfReferencePoints];
+			int minIndicesSize = 0;
+			int minCount = 0;
 
 			// loop over niche-preservation operation until population is full
 			while (size() < size) {
 				// identify reference point with the fewest associated members
-				List<Integer> minIndices = new ArrayList<Integer>();
-				int minCount = Integer.MAX_VALUE;
-
-				for (int i = 0; i < members.size(); i++) {
-					if (!excluded.contains(i) && (members.get(i).size() <= minCount)) {
-						if (members.get(i).size() < minCount) {
-							minIndices.clear();
-							minCount = members.get(i).size();
+				if (minIndicesSize == 0) {
+					minCount = Integer.MAX_VALUE;
+
+					for (int i = 0; i < numberOfReferencePoints; i++) {
+						if (!excluded[i] && (memberCounts[i] <= minCount)) {
+							if (memberCounts[i] < minCount) {
+								minIndicesSize = 0;
+								minCount = memberCounts[i];
+							}
+
+							minIndices[minIndicesSize++] = i;
 						}
-						
-						minIndices.add(i);
 					}
 				}
-				
-				int minIndex = PRNG.nextItem(minIndices);
+
+				int minPosition = PRNG.nextInt(minIndicesSize);
+				int minIndex = minIndices[minPosition];
+
+				System.arraycopy(minIndices, minPosition + 1, minIndices,
+						minPosition, minIndicesSize - minPosition - 1);
+				minIndicesSize--;
 
 				// add associated solution
-				if (minCount == 0) {
-					if (potentialMembers.get(minIndex).isEmpty()) {
-						excluded.add(minIndex);
-					} else {
-						Solution minSolution = findSolutionWithMinimumDistance(potentialMembers.get(minIndex), weights.get(minIndex));
-						add(minSolution);
-						members.get(minIndex).add(minSolution);
-						potentialMembers.get(minIndex).remove(minSolution);
-					}
+				if (potentialCounts[minIndex] == 0) {
+					excluded[minIndex] = true;
 				} else {
-					if (potentialMembers.get(minIndex).isEmpty()) {
-						excluded.add(minIndex);
+					int offset = offsets[minIndex];
+					int count = potentialCounts[minIndex];
+					int selected = -1;
+
+					if (minCount == 0) {
+						double minDistance = Double.POSITIVE_INFINITY;
+
+						for (int i = 0; i < count; i++) {
+							if (potentialDistances[offset + i] < minDistance) {
+								minDistance = potentialDistances[offset + i];
+								selected = i;
+							}
+						}
 					} else {
-						Solution randSolution = PRNG.nextItem(potentialMembers.get(minIndex));
-						add(randSolution);
-						members.get(minIndex).add(randSolution);
-						potentialMembers.get(minIndex).remove(randSolution);
+						selected = PRNG.nextInt(count);
 					}
+
+					add(potentialMembers[offset + selected]);
+					memberCounts[minIndex]++;
+
+					System.arraycopy(potentialMembers, offset + selected + 1,
+							potentialMembers, offset + selected,
+							count - selected - 1);
+					System.arraycopy(potentialDistances, offset + selected + 1,
+							potentialDistances, offset + selected,
+							count - selected - 1);
+					potentialCounts[minIndex]--;
 				}
 			}
 		}
@@ -688,5 +808,54 @@ public class ReferencePointNondominatedSortingPopulation extends NondominatedSor
 	public void truncate(int size) {
 		truncate(size, new RankComparator());
 	}
+
+	/**
+	 * Associates a range of solutions to their nearest reference points,
+	 * splitting the range in half until it contains at most
+	 * {@value ReferencePointNondominatedSortingPopulation#PARALLEL_GRAIN}
+	 * solutions.
+	 */
+	private class AssociationTask extends RecursiveAction {
+
+		private static final long serialVersionUID = -2415498312720393137L;
+
+		/**
+		 * The first solution, inclusive.
+		 */
+		private final int from;
+
+		/**
+		 * The last solution, exclusive.
+		 */
+		private final int to;
+
+		/**
+		 * Constructs a task associating the solutions in the range
+		 * {@code [from, to)} to their nearest reference points.
+		 * 
+		 * @param from the first solution, inclusive
+		 * @param to the last solution, exclusive
+		 */
+		public AssociationTask(int from, int to) {
+			super();
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > PARALLEL_GRAIN) {
+				int mid = (from + to) >>> 1;
+
+				invokeAll(new AssociationTask(from, mid),
+						new AssociationTask(mid, to));
+			} else {
+				for (int i = from; i < to; i++) {
+					associate(i);
+				}
+			}
+		}
+
+	}
 	
 }
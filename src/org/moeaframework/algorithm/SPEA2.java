@@ -17,15 +17,10 @@
  */
 package org.moeaframework.algorithm;
 
-import java.util.Collections;
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.ListIterator;
 
 import org.apache.commons.math3.util.KthSelector;
-import org.apache.commons.math3.util.Pair;
 import org.moeaframework.core.FitnessEvaluator;
 import org.moeaframework.core.Initialization;
 import org.moeaframework.core.Population;
@@ -170,9 +165,8 @@ public class SPEA2 extends AbstractEvolutionaryAlgorithm {
 			// fill remaining spaces with dominated solutions
 			offspring.sort(fitnessComparator);
 			
-			while (survivors.size() < size) {
-				survivors.add(offspring.get(0));
-				offspring.remove(0);
+			for (int i = 0; survivors.size() < size; i++) {
+				survivors.add(offspring.get(i));
 			}
 		} else if (survivors.size() > size) {
 			// some of the survivors must be truncated
@@ -215,13 +209,71 @@ public class SPEA2 extends AbstractEvolutionaryAlgorithm {
 	/**
 	 * Mapping of pair-wise distances between points.  This mapping is mutable,
 	 * allowing points to be removed.
+	 * <p>
+	 * The distances are stored in a flat matrix and the neighbors of each
+	 * point are sorted once by their distance.  Removed points are deleted
+	 * lazily, being skipped the next time a row is read.  The points are kept
+	 * in a binary heap ordered by the distance to their nearest neighbor, so
+	 * only the points tied for the smallest distance are compared by their
+	 * next nearest neighbors.
 	 */
 	public static class MutableDistanceMap {
 		
 		/**
-		 * The internal mapping of distances.
+		 * The number of points originally in this mapping.
 		 */
-		private List<List<Pair<Integer, Double>>> distanceMatrix;
+		private int size;
+		
+		/**
+		 * The distance between points {@code i} and {@code j}, stored at
+		 * index {@code i*size + j}.
+		 */
+		private double[] distances;
+		
+		/**
+		 * The neighbors of each point sorted by distance, with the neighbors
+		 * of point {@code i} stored starting at index {@code i*(size-1)}.
+		 */
+		private int[] neighbors;
+		
+		/**
+		 * The position in each row of {@code neighbors} before which all
+		 * neighbors have been removed.
+		 */
+		private int[] cursors;
+		
+		/**
+		 * {@code true} if the point has been removed; {@code false}
+		 * otherwise.
+		 */
+		private boolean[] removed;
+		
+		/**
+		 * The original indices of the remaining points, in order.
+		 */
+		private int[] indices;
+		
+		/**
+		 * The number of remaining points.
+		 */
+		private int remaining;
+		
+		/**
+		 * The distance to the nearest neighbor of each point in the heap,
+		 * which may be smaller than the current distance if the nearest
+		 * neighbor was since removed.
+		 */
+		private double[] heapDistances;
+		
+		/**
+		 * The original indices of the points in the heap.
+		 */
+		private int[] heapPoints;
+		
+		/**
+		 * The number of points in the heap.
+		 */
+		private int heapSize;
 		
 		/**
 		 * Constructs a new mapping of pair-wise distances between points.
@@ -239,28 +291,149 @@ public class SPEA2 extends AbstractEvolutionaryAlgorithm {
 		 * @param rawDistanceMatrix the distance matrix
 		 */
 		protected void initialize(double[][] rawDistanceMatrix) {
-			distanceMatrix = new LinkedList<List<Pair<Integer, Double>>>();
+			size = rawDistanceMatrix.length;
+			distances = new double[size*size];
+			neighbors = new int[size*Math.max(size-1, 0)];
+			cursors = new int[size];
+			removed = new boolean[size];
+			indices = new int[size];
+			remaining = size;
+			heapDistances = new double[size];
+			heapPoints = new int[size];
+			heapSize = 0;
 			
-			for (int i = 0; i < rawDistanceMatrix.length; i++) {
-				List<Pair<Integer, Double>> distances = new LinkedList<Pair<Integer, Double>>();
+			int[] buffer = new int[Math.max(size-1, 0)];
+			
+			for (int i = 0; i < size; i++) {
+				System.arraycopy(rawDistanceMatrix[i], 0, distances, i*size,
+						size);
+				
+				int offset = i*(size-1);
+				int count = 0;
 				
-				for (int j = 0; j < rawDistanceMatrix[i].length; j++) {
+				for (int j = 0; j < size; j++) {
 					if (i != j) {
-						distances.add(new Pair<Integer, Double>(j, rawDistanceMatrix[i][j]));
+						neighbors[offset + count++] = j;
 					}
 				}
 				
-				Collections.sort(distances, new Comparator<Pair<Integer, Double>>() {
-
-					@Override
-					public int compare(Pair<Integer, Double> o1,
-							Pair<Integer, Double> o2) {
-						return Double.compare(o1.getSecond(), o2.getSecond());
+				sort(neighbors, offset, size-1, i*size, buffer);
+				
+				indices[i] = i;
+				push(nearestDistance(i), i);
+			}
+		}
+		
+		/**
+		 * Sorts a row of neighbors by their distance using a stable merge
+		 * sort.
+		 * 
+		 * @param array the array containing the row of neighbors
+		 * @param offset the index of the first neighbor in the row
+		 * @param length the number of neighbors in the row
+		 * @param distanceOffset the index in {@code distances} of the row of
+		 *        distances
+		 * @param buffer a temporary array with at least {@code length}
+		 *        elements
+		 */
+		private void sort(int[] array, int offset, int length,
+				int distanceOffset, int[] buffer) {
+			for (int width = 1; width < length; width *= 2) {
+				for (int start = 0; start < length - width; start += 2*width) {
+					int middle = start + width;
+					int end = Math.min(start + 2*width, length);
+					int left = start;
+					int right = middle;
+					int index = start;
+					
+					while ((left < middle) && (right < end)) {
+						if (distances[distanceOffset + array[offset + right]] <
+								distances[distanceOffset + array[offset + left]]) {
+							buffer[index++] = array[offset + right++];
+						} else {
+							buffer[index++] = array[offset + left++];
+						}
+					}
+					
+					while (left < middle) {
+						buffer[index++] = array[offset + left++];
 					}
 					
-				});
+					while (right < end) {
+						buffer[index++] = array[offset + right++];
+					}
+					
+					System.arraycopy(buffer, start, array, offset + start,
+							end - start);
+				}
+			}
+		}
+		
+		/**
+		 * Returns the distance from a point to its nearest remaining
+		 * neighbor, skipping past any removed neighbors.
+		 * 
+		 * @param point the original index of the point
+		 * @return the distance from the point to its nearest remaining
+		 *         neighbor
+		 */
+		private double nearestDistance(int point) {
+			int offset = point*(size-1);
+			
+			while ((cursors[point] < size-1) &&
+					removed[neighbors[offset + cursors[point]]]) {
+				cursors[point]++;
+			}
+			
+			if (cursors[point] < size-1) {
+				return distances[point*size +
+						neighbors[offset + cursors[point]]];
+			} else {
+				return Double.POSITIVE_INFINITY;
+			}
+		}
+		
+		/**
+		 * Compares the sorted distances from two points to their remaining
+		 * neighbors.
+		 * 
+		 * @param point1 the original index of the first point
+		 * @param point2 the original index of the second point
+		 * @return a negative number if the distances of the first point are
+		 *         lexicographically smaller, a positive number if they are
+		 *         larger, or {@code 0} if the distances are equal
+		 */
+		private int compareDistances(int point1, int point2) {
+			int offset1 = point1*(size-1);
+			int offset2 = point2*(size-1);
+			int position1 = cursors[point1];
+			int position2 = cursors[point2];
+			
+			while (true) {
+				while ((position1 < size-1) &&
+						removed[neighbors[offset1 + position1]]) {
+					position1++;
+				}
+				
+				while ((position2 < size-1) &&
+						removed[neighbors[offset2 + position2]]) {
+					position2++;
+				}
+				
+				if ((position1 >= size-1) || (position2 >= size-1)) {
+					return 0;
+				}
 				
-				distanceMatrix.add(distances);
+				double kdist1 = distances[point1*size +
+						neighbors[offset1 + position1++]];
+				double kdist2 = distances[point2*size +
+						neighbors[offset2 + position2++]];
+				
+				if (kdist1 < kdist2) {
+					return -1;
+				} else if (kdist2 < kdist1) {
+					return 1;
+				}
 			}
 		}
 		
@@ -268,37 +441,63 @@ public class SPEA2 extends AbstractEvolutionaryAlgorithm {
 		 * Returns the most crowded point according to SPEA2's truncation
 		 * strategy.  The most crowded point is the point with the smallest
 		 * distance to its nearest neighbor.  Ties are broken by looking at
-		 * the next nearest neighbor repeatedly until a difference is found.
+		 * the next nearest neighbor repeatedly until a difference is found,
+		 * and then by the lowest index.
 		 * 
 		 * @return the index of the most crowded point
 		 */
 		public int findMostCrowdedPoint() {
-			double minimumDistance = Double.POSITIVE_INFINITY;
-			int minimumIndex = -1;
+			int[] candidates = new int[heapSize];
+			int numberOfCandidates = 0;
+			double minimumDistance = Double.NaN;
 			
-			for (int i = 0; i < distanceMatrix.size(); i++) {
-				List<Pair<Integer, Double>> distances = distanceMatrix.get(i);
-				Pair<Integer, Double> point = distances.get(0);
+			// collect the points tied for the smallest nearest distance,
+			// updating the stale entries along the way
+			while (heapSize > 0) {
+				if ((numberOfCandidates > 0) &&
+						(heapDistances[0] > minimumDistance)) {
+					break;
+				}
 				
-				if (point.getSecond() < minimumDistance) {
-					minimumDistance = point.getSecond();
-					minimumIndex = i;
-				} else if (point.getSecond() == minimumDistance) {
-					for (int k = 0; k < distances.size(); k++) {
-						double kdist1 = distances.get(k).getSecond();
-						double kdist2 = distanceMatrix.get(minimumIndex).get(k).getSecond();
-
-						if (kdist1 < kdist2) {
-							minimumIndex = i;
-							break;
-						} else if (kdist2 < kdist1) {
-							break;
-						}
+				double distance = heapDistances[0];
+				int point = pop();
+				
+				if (removed[point]) {
+					continue;
+				}
+				
+				double currentDistance = nearestDistance(point);
+				
+				if (currentDistance != distance) {
+					push(currentDistance, point);
+				} else {
+					minimumDistance = distance;
+					candidates[numberOfCandidates++] = point;
+				}
+			}
+			
+			if (numberOfCandidates == 0) {
+				return -1;
+			}
+			
+			int minimumPoint = candidates[0];
+			
+			for (int i = 0; i < numberOfCandidates; i++) {
+				int point = candidates[i];
+				
+				if (i > 0) {
+					int comparison = compareDistances(point, minimumPoint);
+					
+					if ((comparison < 0) ||
+							((comparison == 0) && (point < minimumPoint))) {
+						minimumPoint = point;
 					}
 				}
+				
+				push(minimumDistance, point);
 			}
 			
-			return minimumIndex;
+			return Arrays.binarySearch(indices, 0, remaining, minimumPoint);
 		}
 		
 		/**
@@ -307,24 +506,97 @@ public class SPEA2 extends AbstractEvolutionaryAlgorithm {
 		 * @param index the index to remove
 		 */
 		public void removePoint(int index) {
-			distanceMatrix.remove(index);
+			removed[indices[index]] = true;
+			System.arraycopy(indices, index+1, indices, index,
+					remaining-index-1);
+			remaining--;
+		}
+		
+		/**
+		 * Returns {@code true} if the first heap entry precedes the second;
+		 * {@code false} otherwise.
+		 * 
+		 * @param i the position of the first heap entry
+		 * @param j the position of the second heap entry
+		 * @return {@code true} if the first heap entry precedes the second;
+		 *         {@code false} otherwise
+		 */
+		private boolean precedes(int i, int j) {
+			return (heapDistances[i] < heapDistances[j]) ||
+					((heapDistances[i] == heapDistances[j]) &&
+							(heapPoints[i] < heapPoints[j]));
+		}
+		
+		/**
+		 * Swaps two heap entries.
+		 * 
+		 * @param i the position of the first heap entry
+		 * @param j the position of the second heap entry
+		 */
+		private void swap(int i, int j) {
+			double distance = heapDistances[i];
+			int point = heapPoints[i];
 			
-			for (List<Pair<Integer, Double>> distances : distanceMatrix) {
-				ListIterator<Pair<Integer, Double>> iterator = distances.listIterator();
+			heapDistances[i] = heapDistances[j];
+			heapPoints[i] = heapPoints[j];
+			heapDistances[j] = distance;
+			heapPoints[j] = point;
+		}
+		
+		/**
+		 * Adds a point to the heap.
+		 * 
+		 * @param distance the distance to the point's nearest neighbor
+		 * @param point the original index of the point
+		 */
+		private void push(double distance, int point) {
+			int i = heapSize++;
+			
+			heapDistances[i] = distance;
+			heapPoints[i] = point;
+			
+			while ((i > 0) && precedes(i, (i-1)/2)) {
+				swap(i, (i-1)/2);
+				i = (i-1)/2;
+			}
+		}
+		
+		/**
+		 * Removes and returns the first point in the heap.
+		 * 
+		 * @return the original index of the first point in the heap
+		 */
+		private int pop() {
+			int point = heapPoints[0];
+			
+			heapSize--;
+			heapDistances[0] = heapDistances[heapSize];
+			heapPoints[0] = heapPoints[heapSize];
+			
+			int i = 0;
+			
+			while (true) {
+				int left = 2*i + 1;
+				int right = left + 1;
+				int smallest = i;
 				
-				while (iterator.hasNext()) {
-					Pair<Integer, Double> point = iterator.next();
-					
-					if (point.getFirst() == index) {
-						iterator.remove();
-					} else if (point.getFirst() > index) {
-						// decrement the index so it stays aligned with the
-						// index in distanceMatrix
-						iterator.set(new Pair<Integer, Double>(
-								point.getFirst()-1, point.getSecond()));
-					}
+				if ((left < heapSize) && precedes(left, smallest)) {
+					smallest = left;
+				}
+				
+				if ((right < heapSize) && precedes(right, smallest)) {
+					smallest = right;
+				}
+				
+				if (smallest == i) {
+					break;
 				}
+				
+				swap(i, smallest);
+				i = smallest;
 			}
+			
+			return point;
 		}
 		
 	}
@@ -334,6 +606,13 @@ public class SPEA2 extends AbstractEvolutionaryAlgorithm {
 	 */
 	public class StrengthFitnessEvaluator implements FitnessEvaluator {
 		
+		/**
+		 * The largest number of pairwise comparisons remembered between the
+		 * two passes over the population, limiting the remembered outcomes to
+		 * 64 MB.  Larger populations compare each pair twice.
+		 */
+		private static final int MAX_COMPARISONS = 1 << 26;
+		
 		/**
 		 * Crowding is based on the distance to the {@code k}-th nearest
 		 * neighbor.
@@ -345,6 +624,12 @@ public class SPEA2 extends AbstractEvolutionaryAlgorithm {
 		 */
 		private final DominanceComparator comparator;
 		
+		/**
+		 * The outcome of each pairwise comparison, reused across evaluations;
+		 * or {@code null} if no outcomes have been remembered.
+		 */
+		private byte[] comparisons;
+		
 		/**
 		 * Constructs a new fitness evaluator for computing the strength
 		 * measure with crowding-based niching.
@@ -361,12 +646,22 @@ public class SPEA2 extends AbstractEvolutionaryAlgorithm {
 
 		@Override
 		public void evaluate(Population population) {
-			int[] strength = new int[population.size()];
-			double[] fitness = new double[population.size()];
+			int n = population.size();
+			int[] strength = new int[n];
+			double[] fitness = new double[n];
+			long size = (long)n*(n-1)/2;
+			boolean remember = (size <= MAX_COMPARISONS);
+			int index = 0;
+			
+			if (remember && ((comparisons == null) ||
+					(comparisons.length < size))) {
+				comparisons = new byte[(int)size];
+			}
 			
-			// count the number of individuals each solution dominates
-			for (int i = 0; i < population.size()-1; i++) {
-				for (int j = i+1; j < population.size(); j++) {
+			// count the number of individuals each solution dominates,
+			// remembering the outcome of each comparison if possible
+			for (int i = 0; i < n-1; i++) {
+				for (int j = i+1; j < n; j++) {
 					int comparison = comparator.compare(population.get(i),
 							population.get(j));
 					
@@ -375,15 +670,23 @@ public class SPEA2 extends AbstractEvolutionaryAlgorithm {
 					} else if (comparison > 0) {
 						strength[j]++;
 					}
+					
+					if (remember) {
+						comparisons[index++] = (byte)Integer.signum(
+								comparison);
+					}
 				}
 			}
 			
 			// the raw fitness is the sum of the dominance counts (strength)
 			// of all dominated solutions
-			for (int i = 0; i < population.size()-1; i++) {
-				for (int j = i+1; j < population.size(); j++) {
-					int comparison = comparator.compare(population.get(i),
-							population.get(j));
+			index = 0;
+			
+			for (int i = 0; i < n-1; i++) {
+				for (int j = i+1; j < n; j++) {
+					int comparison = remember ? comparisons[index++] :
+							comparator.compare(population.get(i),
+									population.get(j));
 					
 					if (comparison < 0) {
 						fitness[j] += strength[i];
@@ -27,6 +27,7 @@ import org.moeaframework.core.Algorithm;
 import org.moeaframework.core.EpsilonBoxDominanceArchive;
 import org.moeaframework.core.FitnessEvaluator;
 import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.HashedEpsilonBoxDominanceArchive;
 import org.moeaframework.core.Initialization;
 import org.moeaframework.core.NondominatedPopulation;
 import org.moeaframework.core.NondominatedSortingPopulation;
@@ -114,7 +115,7 @@ import org.moeaframework.util.TypedProperties;
  *     <td>Real</td>
  *     <td>{@code populationSize, de.crossoverRate, de.stepSize, pm.rate,
  *         pm.distributionIndex, neighborhoodSize, delta, eta, 
- *         updateUtility}</td>
+ *         updateUtility, batch}</td>
  *   </tr>
  *   <tr>
  *     <td>NSGAII</td>
@@ -286,7 +287,8 @@ public class StandardAlgorithms extends AlgorithmProvider {
 
 		DominanceComparator comparator = new ParetoDominanceComparator();
 
-		EpsilonBoxDominanceArchive archive = new EpsilonBoxDominanceArchive(
+		EpsilonBoxDominanceArchive archive =
+				new HashedEpsilonBoxDominanceArchive(
 				properties.getDoubleArray("epsilon", 
 						new double[] { EpsilonHelper.getEpsilon(problem) }));
 
@@ -424,6 +426,8 @@ public class StandardAlgorithms extends AlgorithmProvider {
 
 	/**
 	 * Returns a new {@link MOEAD} instance.  Only real encodings are supported.
+	 * If the {@code batch} property is {@code true}, a {@link BatchMOEAD}
+	 * instance evaluating each generation as one batch is returned instead.
 	 * 
 	 * @param properties the properties for customizing the new {@code MOEAD}
 	 *        instance
@@ -464,14 +468,27 @@ public class StandardAlgorithms extends AlgorithmProvider {
 					* populationSize));
 		}
 
-		MOEAD algorithm = new MOEAD(
-				problem,
-				neighborhoodSize,
-				initialization,
-				variation,
-				properties.getDouble("delta", 0.9),
-				eta,
-				(int)properties.getDouble("updateUtility", -1));
+		MOEAD algorithm = null;
+		
+		if (properties.getBoolean("batch", false)) {
+			algorithm = new BatchMOEAD(
+					problem,
+					neighborhoodSize,
+					initialization,
+					variation,
+					properties.getDouble("delta", 0.9),
+					eta,
+					(int)properties.getDouble("updateUtility", -1));
+		} else {
+			algorithm = new MOEAD(
+					problem,
+					neighborhoodSize,
+					initialization,
+					variation,
+					properties.getDouble("delta", 0.9),
+					eta,
+					(int)properties.getDouble("updateUtility", -1));
+		}
 
 		return algorithm;
 	}
@@ -528,7 +545,8 @@ public class StandardAlgorithms extends AlgorithmProvider {
 				new NondominatedSortingPopulation(
 						new ParetoDominanceComparator());
 
-		EpsilonBoxDominanceArchive archive = new EpsilonBoxDominanceArchive(
+		EpsilonBoxDominanceArchive archive =
+				new HashedEpsilonBoxDominanceArchive(
 				properties.getDoubleArray("epsilon", 
 						new double[] { EpsilonHelper.getEpsilon(problem) }));
 
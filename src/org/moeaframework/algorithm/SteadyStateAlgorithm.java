@@ -0,0 +1,62 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.algorithm;
+
+import org.moeaframework.core.Algorithm;
+import org.moeaframework.core.Solution;
+import org.moeaframework.util.distributed.AsynchronousAlgorithm;
+
+/**
+ * Interface for steady-state algorithms whose offspring can be generated and
+ * incorporated independently.  Separating the generation of offspring from
+ * their insertion allows the offspring to be evaluated asynchronously, such
+ * as by {@link AsynchronousAlgorithm}, with each evaluated offspring inserted
+ * as soon as its evaluation completes.
+ * <p>
+ * The algorithm must be initialized, such as by calling {@link #step()},
+ * before invoking {@link #generate()}.  Offspring may be inserted in any
+ * order, and other offspring may be generated while earlier offspring are
+ * still being evaluated.
+ */
+public interface SteadyStateAlgorithm extends Algorithm {
+	
+	/**
+	 * Returns {@code true} if this algorithm has been initialized;
+	 * {@code false} otherwise.
+	 * 
+	 * @return {@code true} if this algorithm has been initialized;
+	 *         {@code false} otherwise
+	 */
+	public boolean isInitialized();
+
+	/**
+	 * Generates and returns new offspring without evaluating them.
+	 * 
+	 * @return the new offspring
+	 */
+	public Solution[] generate();
+	
+	/**
+	 * Incorporates an evaluated offspring previously returned by
+	 * {@link #generate()} into this algorithm.
+	 * 
+	 * @param solution the evaluated offspring
+	 */
+	public void insert(Solution solution);
+
+}
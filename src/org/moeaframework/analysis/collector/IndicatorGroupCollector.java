@@ -0,0 +1,274 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.collector;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import org.moeaframework.core.Algorithm;
+import org.moeaframework.core.EpsilonBoxDominanceArchive;
+import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.Indicator;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.indicator.IndicatorGroup;
+
+/**
+ * Collects the values of several performance indicators from an
+ * {@link Algorithm}.  Unlike attaching one {@link IndicatorCollector} per
+ * indicator, the approximation set is pruned by the &epsilon;-box dominance
+ * archive and normalized only once per collection, and all indicators are
+ * evaluated on this shared snapshot.  The values are recorded under the same
+ * keys as {@code IndicatorCollector}, the simple class name of each indicator.
+ * <p>
+ * When running in the background, the snapshot is copied and the indicators
+ * are evaluated on a separate thread so that {@code collect} returns without
+ * waiting for the evaluation.  Completed values are recorded in order on
+ * subsequent invocations of {@code collect}, and any outstanding values are
+ * recorded by {@link #flush(Accumulator)}.
+ */
+public class IndicatorGroupCollector implements Collector {
+	
+	/**
+	 * The performance indicators used by this collector.
+	 */
+	private final IndicatorGroup group;
+	
+	/**
+	 * The &epsilon;-box dominance archive used to prune the approximation set
+	 * to a desired resolution; or {@code null} if no such pruning is used.
+	 */
+	private final EpsilonBoxDominanceArchive archive;
+	
+	/**
+	 * {@code true} if the indicators are evaluated on a background thread;
+	 * {@code false} otherwise.
+	 */
+	private final boolean background;
+	
+	/**
+	 * The algorithm instance used by this collector; or {@code null} if this 
+	 * collector has not yet been attached.
+	 */
+	private final Algorithm algorithm;
+	
+	/**
+	 * The indicator evaluations submitted to the background thread that have
+	 * not yet been recorded, in the order they were submitted.
+	 */
+	private final Queue<Future<double[]>> pending;
+	
+	/**
+	 * The executor running the background thread; or {@code null} if no
+	 * background thread is running.
+	 */
+	private ExecutorService executor;
+	
+	/**
+	 * Constructs an unattached collector for recording the values of several
+	 * performance indicators from an algorithm.
+	 * 
+	 * @param indicators the performance indicators used by this collector
+	 * @param archive the &epsilon;-box dominance archive used to prune the 
+	 *        approximation set to a desired resolution; or {@code null} if 
+	 *        no such pruning is used
+	 * @param background {@code true} if the indicators are evaluated on a
+	 *        background thread; {@code false} otherwise
+	 */
+	public IndicatorGroupCollector(List<? extends Indicator> indicators,
+			EpsilonBoxDominanceArchive archive, boolean background) {
+		this(new IndicatorGroup(indicators), archive, background, null);
+	}
+	
+	/**
+	 * Constructs a collector for recording the values of several performance
+	 * indicators from the specified algorithm.
+	 * 
+	 * @param group the performance indicators used by this collector
+	 * @param archive the &epsilon;-box dominance archive used to prune the 
+	 *        approximation set to a desired resolution; or {@code null} if 
+	 *        no such pruning is used
+	 * @param background {@code true} if the indicators are evaluated on a
+	 *        background thread; {@code false} otherwise
+	 * @param algorithm the algorithm this collector records data from
+	 */
+	IndicatorGroupCollector(IndicatorGroup group,
+			EpsilonBoxDominanceArchive archive, boolean background,
+			Algorithm algorithm) {
+		super();
+		this.group = group;
+		this.archive = archive;
+		this.background = background;
+		this.algorithm = algorithm;
+		
+		pending = new LinkedList<Future<double[]>>();
+	}
+
+	@Override
+	public void collect(Accumulator accumulator) {
+		NondominatedPopulation approximationSet = algorithm.getResult();
+		
+		if (archive != null) {
+			archive.clear();
+			archive.addAll(approximationSet);
+			approximationSet = archive;
+		}
+		
+		if (background) {
+			while (!pending.isEmpty() && pending.peek().isDone()) {
+				record(accumulator, pending.remove());
+			}
+			
+			final NondominatedPopulation snapshot = copy(approximationSet);
+			
+			if (executor == null) {
+				executor = Executors.newSingleThreadExecutor(
+						new DaemonThreadFactory());
+			}
+			
+			pending.add(executor.submit(new Callable<double[]>() {
+
+				@Override
+				public double[] call() {
+					return group.evaluate(snapshot);
+				}
+				
+			}));
+		} else {
+			record(accumulator, group.evaluate(approximationSet));
+		}
+	}
+	
+	/**
+	 * Waits for any indicator evaluations running in the background and
+	 * records their values to the specified accumulator.  The background
+	 * thread is stopped and will be restarted by the next collection.
+	 * 
+	 * @param accumulator the accumulator to which the collected data is stored
+	 * @throws FrameworkException if an indicator could not be evaluated
+	 */
+	public void flush(Accumulator accumulator) {
+		while (!pending.isEmpty()) {
+			record(accumulator, pending.remove());
+		}
+		
+		if (executor != null) {
+			executor.shutdown();
+			executor = null;
+		}
+	}
+	
+	/**
+	 * Waits for the specified indicator evaluation and records its values to
+	 * the accumulator.
+	 * 
+	 * @param accumulator the accumulator to which the collected data is stored
+	 * @param future the pending indicator evaluation
+	 * @throws FrameworkException if an indicator could not be evaluated
+	 */
+	private void record(Accumulator accumulator, Future<double[]> future) {
+		try {
+			record(accumulator, future.get());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new FrameworkException(e);
+		} catch (ExecutionException e) {
+			throw new FrameworkException(e.getCause());
+		}
+	}
+	
+	/**
+	 * Records the indicator values to the accumulator.
+	 * 
+	 * @param accumulator the accumulator to which the collected data is stored
+	 * @param values the indicator values
+	 */
+	private void record(Accumulator accumulator, double[] values) {
+		List<Indicator> indicators = group.getIndicators();
+		
+		for (int i = 0; i < values.length; i++) {
+			accumulator.add(indicators.get(i).getClass().getSimpleName(),
+					values[i]);
+		}
+	}
+	
+	/**
+	 * Returns a copy of the approximation set that is unaffected by the
+	 * algorithm continuing to modify its result.  Since the solutions are
+	 * already non-dominated, they are copied without repeating the
+	 * non-dominance checks.
+	 * 
+	 * @param approximationSet the approximation set
+	 * @return a copy of the approximation set
+	 */
+	private NondominatedPopulation copy(
+			NondominatedPopulation approximationSet) {
+		NondominatedPopulation result = new NondominatedPopulation() {
+
+			/**
+			 * Enables a performance hack to avoid performing non-dominance
+			 * checks on solutions already known to be non-dominated.
+			 */
+			public boolean add(Solution newSolution) {
+				return super.forceAddWithoutCheck(newSolution);
+			}
+
+		};
+		
+		for (Solution solution : approximationSet) {
+			result.add(solution.copy());
+		}
+		
+		return result;
+	}
+
+	@Override
+	public AttachPoint getAttachPoint() {
+		return AttachPoint.isSubclass(Algorithm.class).and(
+				AttachPoint.not(AttachPoint.isNestedIn(Algorithm.class)));
+	}
+
+	@Override
+	public Collector attach(Object object) {
+		return new IndicatorGroupCollector(group, archive, background,
+				(Algorithm)object);
+	}
+	
+	/**
+	 * Creates daemon threads so the background thread does not prevent the
+	 * JVM from exiting.
+	 */
+	private static class DaemonThreadFactory implements ThreadFactory {
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable);
+			thread.setDaemon(true);
+			return thread;
+		}
+		
+	}
+
+}
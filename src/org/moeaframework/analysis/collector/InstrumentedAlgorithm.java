@@ -67,12 +67,33 @@ public class InstrumentedAlgorithm extends PeriodicAction {
 	
 	/**
 	 * Returns the accumulator to which all recorded information is stored.
+	 * Any values still being collected in the background are recorded before
+	 * returning.
 	 * 
 	 * @return the accumulator to which all recorded information is stored
 	 */
 	public Accumulator getAccumulator() {
+		flush();
 		return accumulator;
 	}
+	
+	/**
+	 * Records any values still being collected in the background to the
+	 * accumulator.
+	 */
+	private void flush() {
+		for (Collector collector : collectors) {
+			if (collector instanceof IndicatorGroupCollector) {
+				((IndicatorGroupCollector)collector).flush(accumulator);
+			}
+		}
+	}
+	
+	@Override
+	public void terminate() {
+		flush();
+		super.terminate();
+	}
 
 	@Override
 	public void doAction() {
@@ -143,6 +164,8 @@ public class InstrumentedAlgorithm extends PeriodicAction {
 
 	@Override
 	public Serializable getState() throws NotSerializableException {
+		flush();
+		
 		return new InstrumentedAlgorithmState(super.getState(),
 				accumulator);
 	}
@@ -0,0 +1,702 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.sensitivity;
+
+import static org.moeaframework.analysis.sensitivity.BinaryResultFileWriter.INDEX_MAGIC;
+import static org.moeaframework.analysis.sensitivity.BinaryResultFileWriter.MAGIC;
+import static org.moeaframework.analysis.sensitivity.BinaryResultFileWriter.REAL_COLUMN;
+import static org.moeaframework.analysis.sensitivity.BinaryResultFileWriter.SERIALIZED_COLUMN;
+import static org.moeaframework.analysis.sensitivity.BinaryResultFileWriter.VERSION;
+import static org.moeaframework.analysis.sensitivity.ResultFileWriter.ENCODING_WARNING;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Properties;
+import java.util.zip.CRC32;
+
+import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.Variable;
+import org.moeaframework.core.variable.RealVariable;
+
+/**
+ * Reads binary result files created by {@link BinaryResultFileWriter}.  See
+ * the documentation for {@code BinaryResultFileWriter} for a description of
+ * the file format.  Each entry is read from the file on demand into a
+ * reusable buffer, and the entry index allows entries to be accessed in any
+ * order using {@link #get(int)}.  The file is not memory-mapped, so files of
+ * any size can be read and the file is released as soon as this reader is
+ * closed.
+ * <p>
+ * Like {@link ResultFileReader}, this reader gracefully recovers from
+ * incomplete files.  If the file was not closed cleanly, the entries are
+ * located by checking the length and checksum of each entry, stopping at the
+ * first invalid entry.  The checksum of each entry is verified when it is
+ * read.
+ * <p>
+ * Most code should use {@code ResultFileReader}, which automatically detects
+ * binary result files and delegates to this reader.
+ * 
+ * @see BinaryResultFileWriter
+ */
+public class BinaryResultFileReader implements Closeable,
+Iterator<ResultEntry>, Iterable<ResultEntry> {
+
+	/**
+	 * The problem.
+	 */
+	private final Problem problem;
+
+	/**
+	 * The file being read.
+	 */
+	private final RandomAccessFile file;
+
+	/**
+	 * The channel for reading the file.
+	 */
+	private final FileChannel channel;
+
+	/**
+	 * The buffer storing the most recently read bytes, reused and enlarged as
+	 * needed.
+	 */
+	private ByteBuffer buffer;
+
+	/**
+	 * The layout of the file.
+	 */
+	private final Layout layout;
+
+	/**
+	 * {@code true} if solutions are read with their decision variables;
+	 * {@code false} otherwise.
+	 */
+	private final boolean readVariables;
+
+	/**
+	 * The index of the next entry returned by {@link #next()}.
+	 */
+	private int index;
+
+	/**
+	 * {@code true} if an error occurred decoding an entry; {@code false}
+	 * otherwise.
+	 */
+	private boolean error;
+
+	/**
+	 * {@code true} if the warning for unsupported decision variables was
+	 * displayed; {@code false} otherwise.
+	 */
+	private boolean printedWarning;
+
+	/**
+	 * Constructs a reader for the approximation sets stored in the specified
+	 * binary result file.
+	 * 
+	 * @param problem the problem
+	 * @param file the binary result file
+	 * @throws IOException if an I/O error occurred
+	 * @throws FrameworkException if the file is not a binary result file or
+	 *         stores a different number of objectives than the problem
+	 */
+	public BinaryResultFileReader(Problem problem, File file)
+			throws IOException {
+		super();
+		this.problem = problem;
+		this.file = new RandomAccessFile(file, "r");
+
+		try {
+			channel = this.file.getChannel();
+			Layout layout = Layout.read(channel);
+
+			if (layout == null) {
+				layout = new Layout(problem.getName(), -1,
+						problem.getNumberOfObjectives(), 0, new long[0]);
+			}
+
+			if (layout.getNumberOfObjectives() !=
+					problem.getNumberOfObjectives()) {
+				throw new FrameworkException(
+						"result file does not match the problem");
+			}
+
+			this.layout = layout;
+
+			readVariables = (layout.getNumberOfVariables() ==
+					problem.getNumberOfVariables());
+			buffer = ByteBuffer.allocate(4096);
+		} catch (IOException e) {
+			this.file.close();
+			throw e;
+		} catch (RuntimeException e) {
+			this.file.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns {@code true} if the specified file is a binary result file;
+	 * {@code false} otherwise.
+	 * 
+	 * @param file the file
+	 * @return {@code true} if the specified file is a binary result file;
+	 *         {@code false} otherwise
+	 * @throws IOException if an I/O error occurred
+	 */
+	public static boolean isBinaryResultFile(File file) throws IOException {
+		if (file.length() < 8) {
+			return false;
+		}
+
+		DataInputStream input = new DataInputStream(new FileInputStream(file));
+
+		try {
+			return input.readLong() == MAGIC;
+		} finally {
+			input.close();
+		}
+	}
+
+	/**
+	 * Returns the number of valid entries in the file.
+	 * 
+	 * @return the number of valid entries in the file
+	 */
+	public int getNumberOfEntries() {
+		return layout.getOffsets().length;
+	}
+
+	/**
+	 * Returns the entry at the specified index.
+	 * 
+	 * @param index the index of the entry
+	 * @return the entry at the specified index
+	 * @throws FrameworkException if the entry is corrupted or could not be
+	 *         decoded
+	 */
+	public ResultEntry get(int index) {
+		long offset = layout.getOffsets()[index];
+		int length;
+
+		try {
+			length = read(offset, 4).getInt();
+			read(offset + 4, length + 4);
+		} catch (IOException e) {
+			throw new FrameworkException("unable to read entry", e);
+		}
+
+		CRC32 crc = new CRC32();
+		crc.update(buffer.array(), 0, length);
+
+		if (buffer.getInt(length) != (int)crc.getValue()) {
+			throw new FrameworkException("checksum mismatch");
+		}
+
+		buffer.limit(length);
+
+		try {
+			return readEntry(buffer);
+		} catch (Exception e) {
+			throw new FrameworkException("unable to decode entry", e);
+		}
+	}
+
+	/**
+	 * Reads bytes from the file into the reusable buffer, enlarging the
+	 * buffer if needed.
+	 * 
+	 * @param position the position in the file of the first byte
+	 * @param length the number of bytes to read
+	 * @return the buffer containing the bytes, positioned at the first byte
+	 * @throws IOException if an I/O error occurred or the file ended before
+	 *         all bytes were read
+	 */
+	private ByteBuffer read(long position, int length) throws IOException {
+		if (buffer.capacity() < length) {
+			buffer = ByteBuffer.allocate(Math.max(length,
+					2 * buffer.capacity()));
+		}
+
+		buffer.clear();
+		buffer.limit(length);
+
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0) {
+				throw new IOException("unexpected end of file");
+			}
+		}
+
+		buffer.flip();
+		return buffer;
+	}
+
+	/**
+	 * Decodes the entry starting at the current position of the buffer.
+	 * 
+	 * @param entry the buffer positioned at the start of the entry body
+	 * @return the decoded entry
+	 * @throws IOException if an error occurred decoding the properties
+	 * @throws ClassNotFoundException if the class of a serialized variable
+	 *         could not be found
+	 */
+	private ResultEntry readEntry(ByteBuffer entry) throws IOException,
+	ClassNotFoundException {
+		int numberOfObjectives = layout.getNumberOfObjectives();
+		int n = entry.getInt();
+		Solution[] solutions = new Solution[n];
+		double[][] objectives = new double[n][numberOfObjectives];
+
+		for (int i = 0; i < numberOfObjectives; i++) {
+			for (int j = 0; j < n; j++) {
+				objectives[j][i] = entry.getDouble();
+			}
+		}
+
+		int numberOfVariables = entry.getInt();
+		boolean hasVariables = readVariables &&
+				(numberOfVariables == problem.getNumberOfVariables());
+
+		for (int j = 0; j < n; j++) {
+			if (hasVariables) {
+				solutions[j] = problem.newSolution();
+			} else {
+				solutions[j] = new Solution(0, numberOfObjectives);
+			}
+
+			solutions[j].setObjectives(objectives[j]);
+		}
+
+		for (int i = 0; i < numberOfVariables; i++) {
+			byte type = entry.get();
+
+			for (int j = 0; j < n; j++) {
+				if (type == REAL_COLUMN) {
+					double value = entry.getDouble();
+
+					if (hasVariables) {
+						Variable variable = solutions[j].getVariable(i);
+
+						if (!(variable instanceof RealVariable)) {
+							throw new FrameworkException(
+									"expected a real-valued variable");
+						}
+
+						((RealVariable)variable).setValue(value);
+					}
+				} else if (type == SERIALIZED_COLUMN) {
+					int length = entry.getInt();
+
+					if (length < 0) {
+						if (!printedWarning) {
+							System.err.println(ENCODING_WARNING);
+							printedWarning = true;
+						}
+					} else {
+						byte[] bytes = new byte[length];
+						entry.get(bytes);
+
+						if (hasVariables) {
+							solutions[j].setVariable(i, deserialize(bytes));
+						}
+					}
+				} else {
+					throw new FrameworkException("invalid column type");
+				}
+			}
+		}
+
+		Properties properties = new Properties();
+		int length = entry.getInt();
+
+		if (length > 0) {
+			byte[] bytes = new byte[length];
+			entry.get(bytes);
+			properties.load(new ByteArrayInputStream(bytes));
+		}
+
+		NondominatedPopulation population = new NondominatedPopulation();
+
+		for (Solution solution : solutions) {
+			population.add(solution);
+		}
+
+		return new ResultEntry(population, properties);
+	}
+
+	/**
+	 * Returns the variable stored in serialized form.
+	 * 
+	 * @param bytes the serialized form of the variable
+	 * @return the variable stored in serialized form
+	 * @throws IOException if the variable could not be deserialized
+	 * @throws ClassNotFoundException if the class of the deserialized variable
+	 *         could not be found
+	 */
+	private Variable deserialize(byte[] bytes) throws IOException,
+	ClassNotFoundException {
+		ObjectInputStream ois = new ObjectInputStream(
+				new ByteArrayInputStream(bytes));
+
+		try {
+			return (Variable)ois.readObject();
+		} finally {
+			ois.close();
+		}
+	}
+
+	/**
+	 * Advances past the next entry without decoding it or verifying its
+	 * checksum.
+	 * 
+	 * @return {@code true} if an entry was skipped; {@code false} if no
+	 *         entries remain
+	 */
+	public boolean skip() {
+		if (!hasNext()) {
+			return false;
+		}
+
+		index++;
+		return true;
+	}
+
+	@Override
+	public boolean hasNext() {
+		return !error && (index < getNumberOfEntries());
+	}
+
+	@Override
+	public ResultEntry next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		try {
+			return get(index++);
+		} catch (FrameworkException e) {
+			error = true;
+			throw e;
+		}
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public Iterator<ResultEntry> iterator() {
+		return this;
+	}
+
+	@Override
+	public void close() throws IOException {
+		file.close();
+	}
+
+	/**
+	 * The header information and entry offsets of a binary result file.
+	 */
+	static class Layout {
+
+		/**
+		 * The name of the problem.
+		 */
+		private final String problemName;
+
+		/**
+		 * The number of decision variables; or {@code -1} if the variables
+		 * are excluded.
+		 */
+		private final int numberOfVariables;
+
+		/**
+		 * The number of objectives.
+		 */
+		private final int numberOfObjectives;
+
+		/**
+		 * The end of the last valid entry, or the end of the header if the
+		 * file contains no entries.
+		 */
+		private final long end;
+
+		/**
+		 * The offset of each valid entry.
+		 */
+		private final long[] offsets;
+
+		/**
+		 * Constructs a new file layout.
+		 * 
+		 * @param problemName the name of the problem
+		 * @param numberOfVariables the number of decision variables; or
+		 *        {@code -1} if the variables are excluded
+		 * @param numberOfObjectives the number of objectives
+		 * @param end the end of the last valid entry
+		 * @param offsets the offset of each valid entry
+		 */
+		public Layout(String problemName, int numberOfVariables,
+				int numberOfObjectives, long end, long[] offsets) {
+			super();
+			this.problemName = problemName;
+			this.numberOfVariables = numberOfVariables;
+			this.numberOfObjectives = numberOfObjectives;
+			this.end = end;
+			this.offsets = offsets;
+		}
+
+		/**
+		 * Returns the name of the problem.
+		 * 
+		 * @return the name of the problem
+		 */
+		public String getProblemName() {
+			return problemName;
+		}
+
+		/**
+		 * Returns the number of decision variables; or {@code -1} if the
+		 * variables are excluded.
+		 * 
+		 * @return the number of decision variables; or {@code -1} if the
+		 *         variables are excluded
+		 */
+		public int getNumberOfVariables() {
+			return numberOfVariables;
+		}
+
+		/**
+		 * Returns the number of objectives.
+		 * 
+		 * @return the number of objectives
+		 */
+		public int getNumberOfObjectives() {
+			return numberOfObjectives;
+		}
+
+		/**
+		 * Returns the end of the last valid entry, or the end of the header
+		 * if the file contains no entries.
+		 * 
+		 * @return the end of the last valid entry
+		 */
+		public long getEnd() {
+			return end;
+		}
+
+		/**
+		 * Returns the offset of each valid entry.
+		 * 
+		 * @return the offset of each valid entry
+		 */
+		public long[] getOffsets() {
+			return offsets;
+		}
+
+		/**
+		 * Reads the layout of a binary result file.  The entries are located
+		 * using the index if present and consistent; otherwise, by checking
+		 * the length and checksum of each entry.
+		 * 
+		 * @param channel the channel for reading the file
+		 * @return the layout of the file; or {@code null} if the file does
+		 *         not contain a complete header
+		 * @throws IOException if an I/O error occurred
+		 * @throws FrameworkException if the file is not a binary result file
+		 */
+		static Layout read(FileChannel channel) throws IOException {
+			long size = channel.size();
+			ByteBuffer prefix = read(channel, 0, (int)Math.min(size, 14));
+
+			if (prefix.remaining() < 8) {
+				return null;
+			} else if (prefix.getLong() != MAGIC) {
+				throw new FrameworkException("not a binary result file");
+			} else if (prefix.remaining() < 6) {
+				return null;
+			} else if (prefix.getInt() != VERSION) {
+				throw new FrameworkException(
+						"unsupported binary result file version");
+			}
+
+			int headerLength = 14 + prefix.getShort() + 8;
+
+			if (size < headerLength) {
+				return null;
+			}
+
+			DataInputStream header = new DataInputStream(
+					new ByteArrayInputStream(read(channel, 0, headerLength)
+							.array()));
+			header.skipBytes(12);
+
+			String problemName = header.readUTF();
+			int numberOfVariables = header.readInt();
+			int numberOfObjectives = header.readInt();
+
+			long[] offsets = readIndex(channel, headerLength);
+
+			if (offsets == null) {
+				offsets = scan(channel, headerLength);
+			}
+
+			long end = headerLength;
+
+			if (offsets.length > 0) {
+				long last = offsets[offsets.length - 1];
+				end = last + 8 + read(channel, last, 4).getInt();
+			}
+
+			return new Layout(problemName, numberOfVariables,
+					numberOfObjectives, end, offsets);
+		}
+
+		/**
+		 * Returns the entry offsets stored in the index; or {@code null} if
+		 * the index is missing or inconsistent.
+		 * 
+		 * @param channel the channel for reading the file
+		 * @param headerLength the length of the header
+		 * @return the entry offsets stored in the index; or {@code null} if
+		 *         the index is missing or inconsistent
+		 * @throws IOException if an I/O error occurred
+		 */
+		private static long[] readIndex(FileChannel channel,
+				long headerLength) throws IOException {
+			long size = channel.size();
+
+			if (size < headerLength + 12) {
+				return null;
+			}
+
+			ByteBuffer trailer = read(channel, size - 12, 12);
+			int count = trailer.getInt();
+
+			if ((trailer.getLong() != INDEX_MAGIC) || (count < 0) ||
+					(size - 12 - 8L * count < headerLength)) {
+				return null;
+			}
+
+			long indexStart = size - 12 - 8L * count;
+			ByteBuffer index = read(channel, indexStart, 8 * count);
+			long[] offsets = new long[count];
+			long expected = headerLength;
+
+			for (int i = 0; i < count; i++) {
+				offsets[i] = index.getLong();
+
+				if ((offsets[i] != expected) ||
+						(offsets[i] + 8 > indexStart)) {
+					return null;
+				}
+
+				expected = offsets[i] + 8 +
+						read(channel, offsets[i], 4).getInt();
+			}
+
+			return (expected == indexStart) ? offsets : null;
+		}
+
+		/**
+		 * Returns the offsets of the valid entries by checking the length and
+		 * checksum of each entry, stopping at the first invalid entry.
+		 * 
+		 * @param channel the channel for reading the file
+		 * @param headerLength the length of the header
+		 * @return the offsets of the valid entries
+		 * @throws IOException if an I/O error occurred
+		 */
+		private static long[] scan(FileChannel channel, long headerLength)
+				throws IOException {
+			long size = channel.size();
+			long offset = headerLength;
+			List<Long> offsets = new ArrayList<Long>();
+
+			while (offset + 8 <= size) {
+				int length = read(channel, offset, 4).getInt();
+
+				if ((length < 0) || (offset + 8 + length > size)) {
+					break;
+				}
+
+				ByteBuffer body = read(channel, offset + 4, length + 4);
+				CRC32 crc = new CRC32();
+				crc.update(body.array(), 0, length);
+				body.position(length);
+
+				if (body.getInt() != (int)crc.getValue()) {
+					break;
+				}
+
+				offsets.add(offset);
+				offset += 8 + length;
+			}
+
+			long[] result = new long[offsets.size()];
+
+			for (int i = 0; i < result.length; i++) {
+				result[i] = offsets.get(i);
+			}
+
+			return result;
+		}
+
+		/**
+		 * Reads bytes from the channel at the given position.
+		 * 
+		 * @param channel the channel for reading the file
+		 * @param position the position of the first byte
+		 * @param length the number of bytes to read
+		 * @return a buffer containing the bytes read, which may be fewer than
+		 *         requested if the end of the file is reached
+		 * @throws IOException if an I/O error occurred
+		 */
+		private static ByteBuffer read(FileChannel channel, long position,
+				int length) throws IOException {
+			ByteBuffer buffer = ByteBuffer.allocate(length);
+
+			while (buffer.hasRemaining()) {
+				if (channel.read(buffer, position + buffer.position()) < 0) {
+					break;
+				}
+			}
+
+			buffer.flip();
+			return buffer;
+		}
+
+	}
+
+}
@@ -0,0 +1,399 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.sensitivity;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.zip.CRC32;
+
+import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Settings;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.Variable;
+import org.moeaframework.core.variable.RealVariable;
+
+/**
+ * Writes result files in a compact binary format.  Like a
+ * {@link ResultFileWriter}, a binary result file contains a sequence of
+ * entries, each consisting of a non-dominated population and optional
+ * properties.  The binary format stores objectives and real-valued decision
+ * variables as fixed-width doubles, one column at a time, so readers can
+ * access values without any parsing.
+ * <p>
+ * The file consists of:
+ * <ol>
+ *   <li>a header with the magic number, format version, problem name, number
+ *       of decision variables (or {@code -1} if variables are excluded) and
+ *       number of objectives;
+ *   <li>the entries, each stored as the length of its body, the body, and the
+ *       CRC-32 checksum of the body.  The body contains the number of
+ *       solutions, one column of doubles per objective, one column per
+ *       decision variable, and the stored properties.  Variable columns hold
+ *       either doubles for real-valued variables or length-prefixed
+ *       serialized variables; and
+ *   <li>an index, written when the file is closed, containing the offset of
+ *       each entry, the number of entries, and a terminating magic number.
+ * </ol>
+ * <p>
+ * If the file already exists, this writer resumes after the last valid entry.
+ * The entries are located using the index, or by checking the length and
+ * checksum of each entry if the file was not closed cleanly; any trailing
+ * data is truncated.  Unlike {@code ResultFileWriter}, the existing entries
+ * are not rewritten.  Entries are flushed once complete and, if
+ * {@link Settings#isResultFileSync()} is enabled, synchronized with the
+ * storage device.
+ * 
+ * @see BinaryResultFileReader
+ */
+public class BinaryResultFileWriter implements OutputWriter {
+
+	/**
+	 * The magic number identifying binary result files.
+	 */
+	static final long MAGIC = 0x4D4F454142524631L;
+
+	/**
+	 * The magic number terminating the entry index.
+	 */
+	static final long INDEX_MAGIC = 0x4D4F454149445831L;
+
+	/**
+	 * The version of the binary format.
+	 */
+	static final int VERSION = 1;
+
+	/**
+	 * The column type for real-valued decision variables stored as doubles.
+	 */
+	static final byte REAL_COLUMN = 'R';
+
+	/**
+	 * The column type for serialized decision variables.
+	 */
+	static final byte SERIALIZED_COLUMN = 'S';
+
+	/**
+	 * The underlying file stream, used to synchronize the file with the
+	 * storage device.
+	 */
+	private final FileOutputStream stream;
+
+	/**
+	 * The stream for appending data to the file.
+	 */
+	private final DataOutputStream output;
+
+	/**
+	 * {@code true} if this writer should save the decision variables;
+	 * {@code false} otherwise.
+	 */
+	private final boolean includeVariables;
+
+	/**
+	 * {@code true} if the file is synchronized with the storage device after
+	 * each entry; {@code false} otherwise.
+	 */
+	private final boolean sync;
+
+	/**
+	 * The offset of each entry in the file.
+	 */
+	private final List<Long> offsets;
+
+	/**
+	 * The current length of the file.
+	 */
+	private long position;
+
+	/**
+	 * {@code true} if the warning for unserializable decision variables was
+	 * displayed; {@code false} otherwise.
+	 */
+	private boolean printedWarning;
+
+	/**
+	 * Equivalent to {@code BinaryResultFileWriter(problem, file, true)}.
+	 * 
+	 * @param problem the problem
+	 * @param file the file to which the results are stored
+	 * @throws IOException if an I/O error occurred
+	 */
+	public BinaryResultFileWriter(Problem problem, File file)
+			throws IOException {
+		this(problem, file, true);
+	}
+
+	/**
+	 * Constructs an output writer for writing the decision variables and
+	 * objectives of a sequence of non-dominated populations to a binary
+	 * result file.  If the file already exists, any valid entries are
+	 * retained and {@code getNumberOfEntries()} returns the number of valid
+	 * entries.
+	 * 
+	 * @param problem the problem
+	 * @param file the file to which the results are stored
+	 * @param includeVariables {@code true} if this writer should save the
+	 *        decision variables; {@code false} otherwise
+	 * @throws IOException if an I/O error occurred
+	 * @throws FrameworkException if the existing file is not a binary result
+	 *         file or was created for a different problem
+	 */
+	public BinaryResultFileWriter(Problem problem, File file,
+			boolean includeVariables) throws IOException {
+		super();
+		this.includeVariables = includeVariables;
+
+		if (!includeVariables) {
+			System.err.println(ResultFileWriter.NO_VARIABLES_WARNING);
+		}
+
+		sync = Settings.isResultFileSync();
+		offsets = new ArrayList<Long>();
+
+		BinaryResultFileReader.Layout layout = null;
+
+		if (file.exists()) {
+			RandomAccessFile existingFile = new RandomAccessFile(file, "rw");
+
+			try {
+				layout = BinaryResultFileReader.Layout.read(
+						existingFile.getChannel());
+
+				if (layout != null) {
+					if ((layout.getNumberOfObjectives() !=
+							problem.getNumberOfObjectives()) ||
+							(layout.getNumberOfVariables() !=
+							getNumberOfVariables(problem))) {
+						throw new FrameworkException(
+								"result file does not match the problem");
+					}
+
+					// discard the index and any incomplete entries
+					existingFile.setLength(layout.getEnd());
+
+					for (long offset : layout.getOffsets()) {
+						offsets.add(offset);
+					}
+				}
+			} finally {
+				existingFile.close();
+			}
+		}
+
+		if (layout == null) {
+			stream = new FileOutputStream(file);
+			output = new DataOutputStream(new BufferedOutputStream(stream));
+
+			output.writeLong(MAGIC);
+			output.writeInt(VERSION);
+			output.writeUTF(problem.getName());
+			output.writeInt(getNumberOfVariables(problem));
+			output.writeInt(problem.getNumberOfObjectives());
+			output.flush();
+
+			position = output.size();
+		} else {
+			stream = new FileOutputStream(file, true);
+			output = new DataOutputStream(new BufferedOutputStream(stream));
+			position = layout.getEnd();
+		}
+	}
+
+	/**
+	 * Returns the number of decision variables recorded in the header, or
+	 * {@code -1} if the variables are excluded.
+	 * 
+	 * @param problem the problem
+	 * @return the number of decision variables recorded in the header
+	 */
+	private int getNumberOfVariables(Problem problem) {
+		return includeVariables ? problem.getNumberOfVariables() : -1;
+	}
+
+	@Override
+	public int getNumberOfEntries() {
+		return offsets.size();
+	}
+
+	/**
+	 * Appends the decision variables, objectives and optional properties to
+	 * the output file.  Constraint violating solutions are not recorded.
+	 * 
+	 * @param entry the entry to write
+	 * @throws IOException if an I/O error occurred
+	 */
+	@Override
+	public void append(ResultEntry entry) throws IOException {
+		List<Solution> feasibleSolutions = new ArrayList<Solution>();
+
+		for (Solution solution : entry.getPopulation()) {
+			if (!solution.violatesConstraints()) {
+				feasibleSolutions.add(solution);
+			}
+		}
+
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		DataOutputStream body = new DataOutputStream(buffer);
+		int n = feasibleSolutions.size();
+		int numberOfVariables = 0;
+
+		if (includeVariables && (n > 0)) {
+			numberOfVariables = feasibleSolutions.get(0).getNumberOfVariables();
+		}
+
+		body.writeInt(n);
+
+		// objectives
+		if (n > 0) {
+			for (int i = 0; i < feasibleSolutions.get(0)
+					.getNumberOfObjectives(); i++) {
+				for (Solution solution : feasibleSolutions) {
+					body.writeDouble(solution.getObjective(i));
+				}
+			}
+		}
+
+		// decision variables
+		body.writeInt(numberOfVariables);
+
+		for (int i = 0; i < numberOfVariables; i++) {
+			boolean isReal = true;
+
+			for (Solution solution : feasibleSolutions) {
+				if (!(solution.getVariable(i) instanceof RealVariable)) {
+					isReal = false;
+					break;
+				}
+			}
+
+			if (isReal) {
+				body.writeByte(REAL_COLUMN);
+
+				for (Solution solution : feasibleSolutions) {
+					body.writeDouble(((RealVariable)solution.getVariable(i))
+							.getValue());
+				}
+			} else {
+				body.writeByte(SERIALIZED_COLUMN);
+
+				for (Solution solution : feasibleSolutions) {
+					byte[] bytes = serialize(solution.getVariable(i));
+
+					if (bytes == null) {
+						body.writeInt(-1);
+					} else {
+						body.writeInt(bytes.length);
+						body.write(bytes);
+					}
+				}
+			}
+		}
+
+		// properties
+		Properties properties = entry.getProperties();
+
+		if ((properties == null) || properties.isEmpty()) {
+			body.writeInt(0);
+		} else {
+			ByteArrayOutputStream propertiesBuffer =
+					new ByteArrayOutputStream();
+			properties.store(propertiesBuffer, null);
+			body.writeInt(propertiesBuffer.size());
+			propertiesBuffer.writeTo(body);
+		}
+
+		body.flush();
+
+		CRC32 crc = new CRC32();
+		crc.update(buffer.toByteArray());
+
+		output.writeInt(buffer.size());
+		buffer.writeTo(output);
+		output.writeInt((int)crc.getValue());
+		output.flush();
+
+		if (sync) {
+			stream.getFD().sync();
+		}
+
+		offsets.add(position);
+		position += buffer.size() + 8;
+	}
+
+	/**
+	 * Returns the serialized form of the decision variable; or {@code null}
+	 * if the variable could not be serialized.
+	 * 
+	 * @param variable the decision variable
+	 * @return the serialized form of the decision variable; or {@code null}
+	 *         if the variable could not be serialized
+	 */
+	private byte[] serialize(Variable variable) {
+		ObjectOutputStream oos = null;
+
+		try {
+			ByteArrayOutputStream baos = new ByteArrayOutputStream();
+			oos = new ObjectOutputStream(baos);
+			oos.writeObject(variable);
+			oos.close();
+			return baos.toByteArray();
+		} catch (IOException e) {
+			if (!printedWarning) {
+				System.err.println(ResultFileWriter.ENCODING_WARNING);
+				printedWarning = true;
+			}
+
+			return null;
+		}
+	}
+
+	/**
+	 * Writes the index of entry offsets and closes the file.
+	 * 
+	 * @throws IOException if an I/O error occurred
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			for (long offset : offsets) {
+				output.writeLong(offset);
+			}
+
+			output.writeInt(offsets.size());
+			output.writeLong(INDEX_MAGIC);
+			output.flush();
+
+			if (sync) {
+				stream.getFD().sync();
+			}
+		} finally {
+			output.close();
+		}
+	}
+
+}
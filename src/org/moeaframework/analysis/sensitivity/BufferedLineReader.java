@@ -0,0 +1,444 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.sensitivity;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+/**
+ * Reads the lines of a text file without copying them.  The current line is
+ * accessed by index, split into whitespace-separated tokens and parsed in
+ * place; only lines or tokens explicitly requested as strings are decoded.
+ * Lines are terminated by {@code \n}, {@code \r\n} or {@code \r}, as with
+ * {@link java.io.BufferedReader#readLine()}.
+ * <p>
+ * The file is read sequentially into a reusable window of
+ * {@value #WINDOW_SIZE} bytes.  Whenever a line extends past the end of the
+ * window, the line is moved to the start of the window and the window is
+ * refilled, doubling its size if the line fills the entire window.  The file
+ * is released as soon as this reader is closed.
+ */
+class BufferedLineReader implements Closeable {
+
+	/**
+	 * The default size, in bytes, of the window.
+	 */
+	static final int WINDOW_SIZE = 64*1024;
+
+	/**
+	 * The largest size, in bytes, of the window.
+	 */
+	private static final int MAX_WINDOW_SIZE = Integer.MAX_VALUE - 8;
+
+	/**
+	 * The exactly representable powers of ten.
+	 */
+	private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4,
+		1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+		1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+	/**
+	 * The largest mantissa that is exactly representable as a {@code double}.
+	 */
+	private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+	/**
+	 * The charset used to decode strings, matching
+	 * {@link java.io.FileReader}.
+	 */
+	private static final Charset CHARSET = Charset.defaultCharset();
+
+	/**
+	 * The stream of the file being read.
+	 */
+	private final InputStream stream;
+
+	/**
+	 * The window holding the current line and the bytes read after it.
+	 */
+	private byte[] window;
+
+	/**
+	 * The number of bytes in the window.
+	 */
+	private int windowLength;
+
+	/**
+	 * The position in the window of the next unread byte.
+	 */
+	private int position;
+
+	/**
+	 * The position in the window of the start of the current line.
+	 */
+	private int lineStart;
+
+	/**
+	 * The length of the current line, excluding the line terminator.
+	 */
+	private int lineLength;
+
+	/**
+	 * Constructs a reader for the lines of the specified text file.
+	 *
+	 * @param file the text file
+	 * @throws IOException if an I/O error occurred
+	 */
+	public BufferedLineReader(File file) throws IOException {
+		this(file, WINDOW_SIZE);
+	}
+
+	/**
+	 * Constructs a reader for the lines of the specified text file, starting
+	 * with a window of the specified size.
+	 *
+	 * @param file the text file
+	 * @param windowSize the initial size, in bytes, of the window
+	 * @throws IOException if an I/O error occurred
+	 */
+	BufferedLineReader(File file, int windowSize) throws IOException {
+		super();
+		
+		stream = new FileInputStream(file);
+		window = new byte[windowSize];
+	}
+
+	/**
+	 * Advances to the next line in the file.
+	 *
+	 * @return {@code true} if the next line was read; {@code false} if the
+	 *         end of the file was reached
+	 * @throws IOException if an I/O error occurred
+	 */
+	public boolean readLine() throws IOException {
+		lineStart = position;
+
+		while (true) {
+			if ((position >= windowLength) && !fill()) {
+				// the last line is not terminated, or no line remains
+				lineLength = position - lineStart;
+				return lineLength > 0;
+			}
+
+			byte b = window[position++];
+
+			if (b == '\n') {
+				lineLength = position - 1 - lineStart;
+				return true;
+			} else if (b == '\r') {
+				lineLength = position - 1 - lineStart;
+
+				// consume the \n of a \r\n terminator
+				if (((position < windowLength) || fill()) &&
+						(window[position] == '\n')) {
+					position++;
+				}
+
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Moves the current line to the start of the window, growing the window
+	 * if the line fills it, and reads the bytes following the end of the
+	 * window.
+	 *
+	 * @return {@code true} if any bytes were read; {@code false} if the end of
+	 *         the file was reached
+	 * @throws IOException if an I/O error occurred
+	 */
+	private boolean fill() throws IOException {
+		int retained = windowLength - lineStart;
+
+		if (retained == window.length) {
+			if (window.length >= MAX_WINDOW_SIZE) {
+				throw new IOException("line exceeds 2 GB");
+			}
+
+			byte[] grown = new byte[(int)Math.min(2L*window.length,
+					MAX_WINDOW_SIZE)];
+			System.arraycopy(window, lineStart, grown, 0, retained);
+			window = grown;
+		} else if (lineStart > 0) {
+			System.arraycopy(window, lineStart, window, 0, retained);
+		}
+
+		position -= lineStart;
+		lineStart = 0;
+		windowLength = retained;
+
+		int count = stream.read(window, windowLength,
+				window.length - windowLength);
+
+		if (count < 0) {
+			return false;
+		}
+
+		windowLength += count;
+		return true;
+	}
+
+	/**
+	 * Returns the length of the current line, excluding the line terminator.
+	 *
+	 * @return the length of the current line
+	 */
+	public int length() {
+		return lineLength;
+	}
+
+	/**
+	 * Returns the byte at the specified index in the current line.
+	 *
+	 * @param index the index in the current line
+	 * @return the byte at the specified index in the current line
+	 */
+	public byte byteAt(int index) {
+		return window[lineStart + index];
+	}
+
+	/**
+	 * Returns {@code true} if the current line starts with the specified
+	 * ASCII prefix; {@code false} otherwise.
+	 *
+	 * @param prefix the ASCII prefix
+	 * @return {@code true} if the current line starts with the specified
+	 *         ASCII prefix; {@code false} otherwise
+	 */
+	public boolean startsWith(String prefix) {
+		if (prefix.length() > lineLength) {
+			return false;
+		}
+
+		for (int i = 0; i < prefix.length(); i++) {
+			if (byteAt(i) != prefix.charAt(i)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns the specified portion of the current line as a string.
+	 *
+	 * @param start the index of the first byte, inclusive
+	 * @param end the index of the last byte, exclusive
+	 * @return the specified portion of the current line as a string
+	 */
+	public String substring(int start, int end) {
+		byte[] bytes = new byte[end - start];
+
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = byteAt(start + i);
+		}
+
+		return new String(bytes, CHARSET);
+	}
+
+	/**
+	 * Returns {@code true} if the byte is whitespace separating tokens;
+	 * {@code false} otherwise.
+	 *
+	 * @param b the byte
+	 * @return {@code true} if the byte is whitespace separating tokens;
+	 *         {@code false} otherwise
+	 */
+	private static boolean isWhitespace(byte b) {
+		return (b == ' ') || (b == '\t') || (b == '\f') || (b == 0x0B) ||
+				(b == '\r') || (b == '\n');
+	}
+
+	/**
+	 * Splits the current line into whitespace-separated tokens, storing the
+	 * start and end index of each token.  If the arrays are too small, only
+	 * the leading tokens are stored, but all tokens are counted.
+	 *
+	 * @param starts the array storing the start index of each token
+	 * @param ends the array storing the end index, exclusive, of each token
+	 * @return the number of tokens in the current line
+	 */
+	public int tokenize(int[] starts, int[] ends) {
+		int count = 0;
+		int index = 0;
+
+		while (true) {
+			while ((index < lineLength) && isWhitespace(byteAt(index))) {
+				index++;
+			}
+
+			if (index >= lineLength) {
+				return count;
+			}
+
+			int start = index;
+
+			while ((index < lineLength) && !isWhitespace(byteAt(index))) {
+				index++;
+			}
+
+			if (count < starts.length) {
+				starts[count] = start;
+				ends[count] = index;
+			}
+
+			count++;
+		}
+	}
+
+	/**
+	 * Parses the specified portion of the current line as a {@code double}
+	 * value, producing the same result as {@link Double#parseDouble(String)}.
+	 * Decimal values with at most 15 significant digits and a small exponent
+	 * are converted directly using a single, correctly-rounded floating-point
+	 * operation; all other values are delegated to
+	 * {@code Double.parseDouble}.
+	 *
+	 * @param start the index of the first byte, inclusive
+	 * @param end the index of the last byte, exclusive
+	 * @return the parsed value
+	 * @throws NumberFormatException if the value could not be parsed
+	 */
+	public double parseDouble(int start, int end) {
+		int index = start;
+		boolean negative = false;
+
+		if ((index < end) && ((byteAt(index) == '-') ||
+				(byteAt(index) == '+'))) {
+			negative = (byteAt(index) == '-');
+			index++;
+		}
+
+		long mantissa = 0;
+		int exponent = 0;
+		int digits = 0;
+		boolean truncated = false;
+		boolean hasDigits = false;
+
+		// read the integer part
+		while ((index < end) && isDigit(byteAt(index))) {
+			if (digits < 18) {
+				mantissa = 10*mantissa + (byteAt(index) - '0');
+
+				if (mantissa > 0) {
+					digits++;
+				}
+			} else {
+				truncated = true;
+				exponent++;
+			}
+
+			hasDigits = true;
+			index++;
+		}
+
+		// read the fractional part
+		if ((index < end) && (byteAt(index) == '.')) {
+			index++;
+
+			while ((index < end) && isDigit(byteAt(index))) {
+				if (digits < 18) {
+					mantissa = 10*mantissa + (byteAt(index) - '0');
+					exponent--;
+
+					if (mantissa > 0) {
+						digits++;
+					}
+				} else {
+					truncated = true;
+				}
+
+				hasDigits = true;
+				index++;
+			}
+		}
+
+		// read the exponent
+		if (hasDigits && (index < end) &&
+				((byteAt(index) == 'e') || (byteAt(index) == 'E'))) {
+			index++;
+
+			boolean negativeExponent = false;
+			int value = 0;
+			boolean hasExponentDigits = false;
+
+			if ((index < end) && ((byteAt(index) == '-') ||
+					(byteAt(index) == '+'))) {
+				negativeExponent = (byteAt(index) == '-');
+				index++;
+			}
+
+			while ((index < end) && isDigit(byteAt(index))) {
+				if (value < 10000) {
+					value = 10*value + (byteAt(index) - '0');
+				}
+
+				hasExponentDigits = true;
+				index++;
+			}
+
+			if (!hasExponentDigits) {
+				hasDigits = false;
+			}
+
+			exponent += negativeExponent ? -value : value;
+		}
+
+		if (hasDigits && (index == end) && !truncated) {
+			if (mantissa == 0) {
+				return negative ? -0.0 : 0.0;
+			} else if ((mantissa <= MAX_EXACT_MANTISSA) &&
+					(exponent >= -22) && (exponent <= 22)) {
+				double value = (double)mantissa;
+
+				if (exponent < 0) {
+					value /= POWERS_OF_TEN[-exponent];
+				} else {
+					value *= POWERS_OF_TEN[exponent];
+				}
+
+				return negative ? -value : value;
+			}
+		}
+
+		return Double.parseDouble(substring(start, end));
+	}
+
+	/**
+	 * Returns {@code true} if the byte is an ASCII digit; {@code false}
+	 * otherwise.
+	 *
+	 * @param b the byte
+	 * @return {@code true} if the byte is an ASCII digit; {@code false}
+	 *         otherwise
+	 */
+	private static boolean isDigit(byte b) {
+		return (b >= '0') && (b <= '9');
+	}
+
+	@Override
+	public void close() throws IOException {
+		stream.close();
+	}
+
+}
@@ -20,7 +20,18 @@ package org.moeaframework.analysis.sensitivity;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.OptionBuilder;
@@ -37,10 +48,19 @@ import org.moeaframework.core.spi.ProblemFactory;
 import org.moeaframework.problem.TimingProblem;
 import org.moeaframework.util.CommandLineUtility;
 import org.moeaframework.util.TypedProperties;
+import org.moeaframework.util.random.RandomStreams;
 
 /**
  * Command line utility for evaluating an algorithm using many 
  * parameterizations.
+ * <p>
+ * With the {@code --threads} option, multiple parameter samples are evaluated
+ * concurrently, each worker thread using its own problem instance.  The
+ * results are still written in the order of the input samples.  Each sample
+ * draws from its own random stream (see {@link RandomStreams}) indexed by the
+ * sample's position in the input file, so the output is reproducible for a
+ * given seed regardless of the number of threads and when resuming a partially
+ * completed output file.
  */
 public class Evaluator extends CommandLineUtility {
 
@@ -129,9 +149,17 @@ public class Evaluator extends CommandLineUtility {
 		options.addOption(OptionBuilder
 				.withLongOpt("novariables")
 				.create('n'));
+		options.addOption(OptionBuilder
+				.withLongOpt("binary")
+				.create());
 		options.addOption(OptionBuilder
 				.withLongOpt("force")
 				.create('f'));
+		options.addOption(OptionBuilder
+				.withLongOpt("threads")
+				.hasArg()
+				.withArgName("value")
+				.create('t'));
 
 		return options;
 	}
@@ -186,13 +214,19 @@ public class Evaluator extends CommandLineUtility {
 								problem, referenceSet);
 
 						output = new MetricFileWriter(indicator, outputFile);
+					} else if (commandLine.hasOption("binary")) {
+						output = new BinaryResultFileWriter(problem,
+								outputFile,
+								!commandLine.hasOption("novariables"));
 					} else {
 						output = new ResultFileWriter(problem, outputFile,
 								!commandLine.hasOption("novariables"));
 					}
 
 					// resume at the last good output
-					for (int i = 0; i < output.getNumberOfEntries(); i++) {
+					int numberOfEntries = output.getNumberOfEntries();
+
+					for (int i = 0; i < numberOfEntries; i++) {
 						if (input.hasNext()) {
 							input.next();
 						} else {
@@ -231,12 +265,30 @@ public class Evaluator extends CommandLineUtility {
 					}
 
 					// process the remaining runs
-					while (input.hasNext()) {
-						Properties properties = input.next();
-						properties.putAll(defaultProperties);
+					if (commandLine.hasOption("threads")) {
+						int numberOfThreads = Integer.parseInt(commandLine
+								.getOptionValue("threads"));
 
-						process(commandLine.getOptionValue("algorithm"),
-								properties);
+						if (numberOfThreads <= 0) {
+							throw new FrameworkException(
+									"invalid number of threads");
+						}
+
+						processInParallel(
+								commandLine.getOptionValue("problem"),
+								commandLine.getOptionValue("algorithm"),
+								defaultProperties,
+								new RandomStreams(PRNG.getRandom().nextLong()),
+								numberOfEntries,
+								numberOfThreads);
+					} else {
+						while (input.hasNext()) {
+							Properties properties = input.next();
+							properties.putAll(defaultProperties);
+
+							process(commandLine.getOptionValue("algorithm"),
+									properties);
+						}
 					}
 				} finally {
 					if (output != null) {
@@ -257,13 +309,122 @@ public class Evaluator extends CommandLineUtility {
 
 	/**
 	 * Performs a single run of the specified algorithm using the parameters.
+	 * If the calling thread is interrupted, the run stops early and nothing
+	 * is written to the output.
 	 * 
 	 * @param algorithmName the algorithm name
 	 * @param properties the parameters stored in a properties object
 	 * @throws IOException if an I/O error occurred
+	 * @throws FrameworkException if the calling thread was interrupted
 	 */
 	protected void process(String algorithmName, Properties properties)
 			throws IOException {
+		ResultEntry entry = evaluate(problem, algorithmName, properties);
+		
+		if (entry == null) {
+			throw new FrameworkException(new InterruptedException());
+		}
+		
+		output.append(entry);
+	}
+
+	/**
+	 * Evaluates the remaining parameter samples using up to
+	 * {@code numberOfThreads} concurrent runs, appending the results to the
+	 * output in the order of the input samples.  Each worker thread creates
+	 * its own instance of the problem, and each sample draws from the random
+	 * stream whose index is the sample's position in the input file.  If a run
+	 * fails, the results of all preceding samples are written before the
+	 * exception is rethrown, so the output can be resumed.
+	 * 
+	 * @param problemName the problem name
+	 * @param algorithmName the algorithm name
+	 * @param defaultProperties the default parameters applied to each sample
+	 * @param streams the random streams assigned to the samples
+	 * @param firstIndex the position in the input file of the next sample
+	 * @param numberOfThreads the maximum number of concurrent runs
+	 * @throws IOException if an I/O error occurred
+	 */
+	protected void processInParallel(final String problemName,
+			String algorithmName, Properties defaultProperties,
+			RandomStreams streams, int firstIndex, int numberOfThreads)
+			throws IOException {
+		final List<Problem> problems = Collections.synchronizedList(
+				new ArrayList<Problem>());
+		
+		// each worker thread evaluates samples on its own problem instance
+		ThreadLocal<Problem> threadProblem = new ThreadLocal<Problem>() {
+
+			@Override
+			protected Problem initialValue() {
+				Problem problem = ProblemFactory.getInstance().getProblem(
+						problemName);
+				problems.add(problem);
+				return problem;
+			}
+
+		};
+		
+		// bound the number of pending samples so the input is read lazily
+		Deque<Future<ResultEntry>> pending =
+				new ArrayDeque<Future<ResultEntry>>();
+		ExecutorService executor = Executors.newFixedThreadPool(
+				numberOfThreads);
+		int index = firstIndex;
+		
+		try {
+			while (input.hasNext() || !pending.isEmpty()) {
+				if (input.hasNext() && (pending.size() < 2*numberOfThreads)) {
+					Properties properties = input.next();
+					properties.putAll(defaultProperties);
+					
+					pending.add(executor.submit(new SampleRunner(threadProblem,
+							algorithmName, properties, streams, index)));
+					index++;
+				} else {
+					output.append(pending.removeFirst().get());
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new FrameworkException(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException)e.getCause();
+			} else {
+				throw new FrameworkException(e.getCause());
+			}
+		} finally {
+			executor.shutdownNow();
+			
+			try {
+				executor.awaitTermination(Long.MAX_VALUE, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			
+			synchronized (problems) {
+				for (Problem problem : problems) {
+					problem.close();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Performs a single run of the specified algorithm using the parameters,
+	 * returning the result without writing it to the output.  The run stops
+	 * early if the calling thread is interrupted, in which case {@code null}
+	 * is returned.
+	 * 
+	 * @param problem the problem being evaluated
+	 * @param algorithmName the algorithm name
+	 * @param properties the parameters stored in a properties object
+	 * @return the end-of-run result and timing data; or {@code null} if the
+	 *         calling thread was interrupted
+	 */
+	protected ResultEntry evaluate(Problem problem, String algorithmName,
+			Properties properties) {
 		// instrument the problem to record timing information
 		TimingProblem timingProblem = new TimingProblem(problem);
 
@@ -282,6 +443,11 @@ public class Evaluator extends CommandLineUtility {
 		long startTime = System.nanoTime();
 		while (!algorithm.isTerminated()
 				&& (algorithm.getNumberOfEvaluations() < maxEvaluations)) {
+			if (Thread.currentThread().isInterrupted()) {
+				algorithm.terminate();
+				return null;
+			}
+			
 			algorithm.step();
 		}
 		long endTime = System.nanoTime();
@@ -305,8 +471,7 @@ public class Evaluator extends CommandLineUtility {
 		timingData.setProperty("TotalTime",
 				Double.toString((endTime - startTime) / 1e9));
 
-		// write result to output
-		output.append(new ResultEntry(result, timingData));
+		return new ResultEntry(result, timingData);
 	}
 
 	/**
@@ -320,4 +485,75 @@ public class Evaluator extends CommandLineUtility {
 		new Evaluator().start(args);
 	}
 
+	/**
+	 * Evaluates a single parameter sample on a worker thread using the
+	 * sample's own random stream.
+	 */
+	private class SampleRunner implements Callable<ResultEntry> {
+
+		/**
+		 * The problem instance of the worker thread.
+		 */
+		private final ThreadLocal<Problem> threadProblem;
+
+		/**
+		 * The algorithm name.
+		 */
+		private final String algorithmName;
+
+		/**
+		 * The parameters of this sample.
+		 */
+		private final Properties properties;
+
+		/**
+		 * The random streams assigned to the samples.
+		 */
+		private final RandomStreams streams;
+
+		/**
+		 * The position of this sample in the input file.
+		 */
+		private final int index;
+
+		/**
+		 * Constructs a new runner for a single parameter sample.
+		 * 
+		 * @param threadProblem the problem instance of the worker thread
+		 * @param algorithmName the algorithm name
+		 * @param properties the parameters of this sample
+		 * @param streams the random streams assigned to the samples
+		 * @param index the position of this sample in the input file
+		 */
+		public SampleRunner(ThreadLocal<Problem> threadProblem,
+				String algorithmName, Properties properties,
+				RandomStreams streams, int index) {
+			super();
+			this.threadProblem = threadProblem;
+			this.algorithmName = algorithmName;
+			this.properties = properties;
+			this.streams = streams;
+			this.index = index;
+		}
+
+		@Override
+		public ResultEntry call() throws Exception {
+			PRNG.setThreadRandom(streams.getStream(index));
+			
+			try {
+				ResultEntry entry = evaluate(threadProblem.get(),
+						algorithmName, properties);
+				
+				if (entry == null) {
+					throw new InterruptedException();
+				}
+				
+				return entry;
+			} finally {
+				PRNG.setThreadRandom(null);
+			}
+		}
+
+	}
+
 }
@@ -31,6 +31,7 @@ import org.moeaframework.core.Indicator;
 import org.moeaframework.core.NondominatedPopulation;
 import org.moeaframework.core.PopulationIO;
 import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
 import org.moeaframework.core.indicator.AdditiveEpsilonIndicator;
 import org.moeaframework.core.indicator.Contribution;
 import org.moeaframework.core.indicator.GenerationalDistance;
@@ -181,10 +182,10 @@ public class ExtractData extends CommandLineUtility {
 						output.println();
 					}
 
-					// process entries
-					while (input.hasNext()) {
-						ResultEntry entry = input.next();
-						Properties properties = entry.getProperties();
+					// process entries, only decoding the objectives
+					while (input.nextObjectives()) {
+						Properties properties = input.getProperties();
+						ResultEntry entry = null;
 
 						for (int i = 0; i < fields.length; i++) {
 							if (i > 0) {
@@ -194,6 +195,10 @@ public class ExtractData extends CommandLineUtility {
 							if (properties.containsKey(fields[i])) {
 								output.print(properties.getProperty(fields[i]));
 							} else if (fields[i].startsWith("+")) {
+								if (entry == null) {
+									entry = createEntry(input);
+								}
+								
 								output.print(evaluate(fields[i].substring(1),
 										entry, commandLine));
 							} else {
@@ -220,6 +225,25 @@ public class ExtractData extends CommandLineUtility {
 		}
 	}
 	
+	/**
+	 * Creates the entry read by the last call to
+	 * {@link ResultFileReader#nextObjectives()}.  The solutions in the entry
+	 * only store their objectives.
+	 * 
+	 * @param input the result file reader
+	 * @return the entry read by the last call to {@code nextObjectives()}
+	 */
+	private ResultEntry createEntry(ResultFileReader input) {
+		NondominatedPopulation population = new NondominatedPopulation();
+		double[][] objectives = input.getObjectives();
+		
+		for (int i = 0; i < input.getNumberOfSolutions(); i++) {
+			population.add(new Solution(objectives[i]));
+		}
+		
+		return new ResultEntry(population, input.getProperties());
+	}
+	
 	/**
 	 * Evaluates the special commands.  The {@code +} prefix should be removed
 	 * prior to calling this method.  An {@link OptionCompleter} is used to
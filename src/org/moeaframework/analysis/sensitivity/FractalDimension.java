@@ -19,9 +19,19 @@ package org.moeaframework.analysis.sensitivity;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+import org.moeaframework.util.SharedForkJoinPool;
 
 /**
- * Computes the fractal dimension for a set of points.  
+ * Computes the fractal dimension for a set of points.
+ * <p>
+ * The correlation integral is computed for all radii in one sweep.  Only pairs
+ * of points within the maximum radius contribute to any correlation sum, so
+ * these pairs are enumerated using a KD-tree whose nodes store their bounding
+ * boxes.  Each pair is added to a histogram indexed by the smallest radius
+ * covering it, and the correlation sum for each radius is the cumulative sum
+ * of the histogram.  Large point sets are processed in parallel.
  */
 class FractalDimension {
 
@@ -36,49 +46,318 @@ class FractalDimension {
 	private static final double R_MIN = 0.0005;
 	
 	/**
-	 * Private constructor to prevent instantiation.
+	 * Ranges containing at most this many points are scanned linearly.
+	 */
+	private static final int LEAF_SIZE = 8;
+	
+	/**
+	 * The number of points processed by each parallel task.
+	 */
+	private static final int PARALLEL_GRAIN = 1024;
+	
+	/**
+	 * The number of dimensions of each point.
+	 */
+	private final int dimensions;
+	
+	/**
+	 * The number of points.
+	 */
+	private final int size;
+	
+	/**
+	 * The coordinates of all points in tree order, stored row-wise.
+	 */
+	private final double[] points;
+	
+	/**
+	 * The lower corner of the bounding box of the node whose splitting point
+	 * is stored at each position.
+	 */
+	private final double[] lowerBounds;
+	
+	/**
+	 * The upper corner of the bounding box of the node whose splitting point
+	 * is stored at each position.
+	 */
+	private final double[] upperBounds;
+	
+	/**
+	 * The radii, in decreasing order.
+	 */
+	private final double[] radii;
+	
+	/**
+	 * Constructs the KD-tree over the specified points.
+	 * 
+	 * @param parameters the points
+	 * @param radii the radii, in decreasing order
 	 */
-	private FractalDimension() {
+	private FractalDimension(double[][] parameters, double[] radii) {
 		super();
+		this.radii = radii;
+		
+		size = parameters.length;
+		dimensions = parameters[0].length;
+		points = new double[size * dimensions];
+		lowerBounds = new double[size * dimensions];
+		upperBounds = new double[size * dimensions];
+		
+		int[] index = new int[size];
+		
+		for (int i=0; i<size; i++) {
+			index[i] = i;
+		}
+		
+		build(parameters, index, 0, size);
+		
+		for (int i=0; i<size; i++) {
+			System.arraycopy(parameters[index[i]], 0, points, i*dimensions,
+					dimensions);
+		}
 	}
 	
 	/**
-	 * Returns the correlation sum for the specified points using the specified
-	 * radius.
+	 * Recursively builds the tree over the index range {@code [lo, hi)},
+	 * reordering {@code index} into tree order.
 	 * 
-	 * @param points the points
-	 * @param r the radius
-	 * @return the correlation sum for the specified points using the specified
-	 *         radius
+	 * @param parameters the points
+	 * @param index the indices of the points in tree order
+	 * @param lo the start of the range, inclusive
+	 * @param hi the end of the range, exclusive
 	 */
-	private static double computeCorrelationSum(double[][] points, double r) {
-		double sum = 0.0;
-		int n = points.length;
+	private void build(double[][] parameters, int[] index, int lo, int hi) {
+		if (hi - lo <= LEAF_SIZE) {
+			return;
+		}
+		
+		int mid = (lo + hi) >>> 1;
+		int coordinate = 0;
+		double maxSpread = -1.0;
+		
+		for (int j=0; j<dimensions; j++) {
+			double min = Double.POSITIVE_INFINITY;
+			double max = Double.NEGATIVE_INFINITY;
+			
+			for (int i=lo; i<hi; i++) {
+				min = Math.min(min, parameters[index[i]][j]);
+				max = Math.max(max, parameters[index[i]][j]);
+			}
+			
+			lowerBounds[mid*dimensions + j] = min;
+			upperBounds[mid*dimensions + j] = max;
+			
+			if (max - min > maxSpread) {
+				maxSpread = max - min;
+				coordinate = j;
+			}
+		}
 		
-		for (int i=0; i<=n-2; i++) {
-			for (int j=i+1; j<=n-1; j++) {
-				if ((r - distance(points[i], points[j])) >= 0) {
-					sum += 1.0;
+		select(parameters, index, lo, hi-1, mid, coordinate);
+		build(parameters, index, lo, mid);
+		build(parameters, index, mid+1, hi);
+	}
+	
+	/**
+	 * Partially sorts the index range {@code [left, right]} so that position
+	 * {@code k} holds the point with the {@code k}-th smallest value in the
+	 * given coordinate.
+	 * 
+	 * @param parameters the points
+	 * @param index the indices of the points
+	 * @param left the start of the range, inclusive
+	 * @param right the end of the range, inclusive
+	 * @param k the position to select
+	 * @param coordinate the coordinate
+	 */
+	private static void select(double[][] parameters, int[] index, int left,
+			int right, int k, int coordinate) {
+		while (right > left) {
+			double pivot = parameters[index[(left + right) >>> 1]][coordinate];
+			int i = left;
+			int j = right;
+			
+			while (i <= j) {
+				while (parameters[index[i]][coordinate] < pivot) {
+					i++;
+				}
+				
+				while (parameters[index[j]][coordinate] > pivot) {
+					j--;
 				}
+				
+				if (i <= j) {
+					int temp = index[i];
+					index[i] = index[j];
+					index[j] = temp;
+					i++;
+					j--;
+				}
+			}
+			
+			if (k <= j) {
+				right = j;
+			} else if (k >= i) {
+				left = i;
+			} else {
+				return;
+			}
+		}
+	}
+	
+	/**
+	 * Counts the pairs of points within each radius, where the first point of
+	 * each pair is in the range {@code [from, to)} and the second point
+	 * follows it in tree order.  Element {@code k} of the histogram counts the
+	 * pairs whose smallest covering radius is {@code radii[k]}.
+	 * 
+	 * @param from the first point, inclusive
+	 * @param to the last point, exclusive
+	 * @return the histogram of pairs by their smallest covering radius
+	 */
+	private long[] countPairs(int from, int to) {
+		long[] histogram = new long[radii.length];
+		
+		for (int i=from; i<to; i++) {
+			countPairs(i, 0, size, histogram);
+		}
+		
+		return histogram;
+	}
+	
+	/**
+	 * Counts the pairs formed by point {@code i} and the points in the range
+	 * {@code [lo, hi)} following it in tree order.
+	 * 
+	 * @param i the first point of each pair
+	 * @param lo the start of the range, inclusive
+	 * @param hi the end of the range, exclusive
+	 * @param histogram the histogram of pairs by their smallest covering
+	 *        radius
+	 */
+	private void countPairs(int i, int lo, int hi, long[] histogram) {
+		if (hi <= i+1) {
+			return;
+		}
+		
+		if (hi - lo <= LEAF_SIZE) {
+			for (int j=Math.max(lo, i+1); j<hi; j++) {
+				count(distance(i, j), histogram);
 			}
+			
+			return;
+		}
+		
+		int mid = (lo + hi) >>> 1;
+		
+		if (boxDistance(i, mid) > R_MAX) {
+			return;
+		}
+		
+		if (mid > i) {
+			count(distance(i, mid), histogram);
+		}
+		
+		countPairs(i, lo, mid, histogram);
+		countPairs(i, mid+1, hi, histogram);
+	}
+	
+	/**
+	 * Adds a pair of points at the specified distance to the histogram if it
+	 * is within the largest radius.
+	 * 
+	 * @param distance the distance between the pair of points
+	 * @param histogram the histogram of pairs by their smallest covering
+	 *        radius
+	 */
+	private void count(double distance, long[] histogram) {
+		if ((radii.length == 0) || (radii[0] - distance < 0)) {
+			return;
+		}
+		
+		//find the last radius r in decreasing order with r - distance >= 0,
+		//starting from its position if the radii were evenly spaced
+		int k = (int)((radii[0] - distance) / R_MIN);
+		
+		if (k >= radii.length) {
+			k = radii.length - 1;
+		}
+		
+		while (radii[k] - distance < 0) {
+			k--;
+		}
+		
+		while ((k+1 < radii.length) && (radii[k+1] - distance >= 0)) {
+			k++;
 		}
 		
-		return sum / (n*(n-1)/2.0);
+		histogram[k]++;
 	}
 	
 	/**
 	 * Returns the Euclidean distance between two points.
 	 */
-	private static double distance(double[] p1, double[] p2) {
+	private double distance(int i, int j) {
 		double sum = 0.0;
 		
-		for (int i=0; i<p1.length; i++) {
-			sum += Math.pow(p2[i] - p1[i], 2.0);
+		for (int k=0; k<dimensions; k++) {
+			double difference = points[j*dimensions + k] - 
+					points[i*dimensions + k];
+			sum += difference * difference;
 		}
 		
 		return Math.sqrt(sum);
 	}
 	
+	/**
+	 * Returns a lower bound on the Euclidean distance between point {@code i}
+	 * and the bounding box stored at position {@code mid}, slightly reduced so
+	 * that rounding never prunes a pair within the maximum radius.
+	 */
+	private double boxDistance(int i, int mid) {
+		double sum = 0.0;
+		
+		for (int k=0; k<dimensions; k++) {
+			double value = points[i*dimensions + k];
+			double difference = 0.0;
+			
+			if (value < lowerBounds[mid*dimensions + k]) {
+				difference = lowerBounds[mid*dimensions + k] - value;
+			} else if (value > upperBounds[mid*dimensions + k]) {
+				difference = value - upperBounds[mid*dimensions + k];
+			}
+			
+			sum += difference * difference;
+		}
+		
+		return Math.sqrt(sum) * (1.0 - 1e-9);
+	}
+	
+	/**
+	 * Returns the number of pairs of points within each radius.
+	 * 
+	 * @return the number of pairs of points within each radius, in the same
+	 *         order as the radii
+	 */
+	private long[] computeCorrelationCounts() {
+		long[] histogram;
+		
+		if (size > PARALLEL_GRAIN) {
+			histogram = SharedForkJoinPool.getInstance().invoke(
+					new CountTask(0, size));
+		} else {
+			histogram = countPairs(0, size);
+		}
+		
+		//the pairs within radius k are those whose smallest covering radius
+		//is radius k or any smaller radius
+		for (int k=radii.length-2; k>=0; k--) {
+			histogram[k] += histogram[k+1];
+		}
+		
+		return histogram;
+	}
+	
 	/**
 	 * Identifies the "plateau region" --- the region where the slope is a
 	 * constant.  For different values of i, this method removes the first and
@@ -129,12 +408,28 @@ class FractalDimension {
 			return 0.0;
 		}
 		
+		List<Double> radii = new ArrayList<Double>();
+		
+		for (double r=R_MAX; r>= R_MIN; r-= R_MIN) {
+			radii.add(r);
+		}
+		
+		double[] r = new double[radii.size()];
+		
+		for (int k=0; k<r.length; k++) {
+			r[k] = radii.get(k);
+		}
+		
+		long[] counts = new FractalDimension(parameters, r)
+				.computeCorrelationCounts();
+		double pairs = parameters.length * (parameters.length - 1.0) / 2.0;
+		
 		List<Double> X = new ArrayList<Double>();
 		List<Double> Y = new ArrayList<Double>();
 
-		for (double r=R_MAX; r>= R_MIN; r-= R_MIN) {
-			double lr = Math.log(r);
-			double lc = Math.log(computeCorrelationSum(parameters, r));
+		for (int k=0; k<r.length; k++) {
+			double lr = Math.log(r[k]);
+			double lc = Math.log(counts[k] / pairs);
 			
 			if (lc == Double.NEGATIVE_INFINITY) {
 				break;
@@ -166,6 +461,60 @@ class FractalDimension {
 		
 		return (sumX*sumY - n*sumXY) / (sumX*sumX - n*sumXX);
 	}
+	
+	/**
+	 * Counts the pairs of points for a range of first points, splitting the
+	 * range in half until it contains at most
+	 * {@value FractalDimension#PARALLEL_GRAIN} points.
+	 */
+	private class CountTask extends RecursiveTask<long[]> {
+
+		private static final long serialVersionUID = 3305478620218400478L;
+
+		/**
+		 * The first point, inclusive.
+		 */
+		private final int from;
+		
+		/**
+		 * The last point, exclusive.
+		 */
+		private final int to;
+		
+		/**
+		 * Constructs a task counting the pairs whose first point is in the
+		 * range {@code [from, to)}.
+		 * 
+		 * @param from the first point, inclusive
+		 * @param to the last point, exclusive
+		 */
+		public CountTask(int from, int to) {
+			super();
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected long[] compute() {
+			if (to - from <= PARALLEL_GRAIN) {
+				return countPairs(from, to);
+			}
+			
+			int mid = (from + to) >>> 1;
+			CountTask left = new CountTask(from, mid);
+			CountTask right = new CountTask(mid, to);
+			
+			left.fork();
+			long[] histogram = right.compute();
+			long[] other = left.join();
+			
+			for (int k=0; k<histogram.length; k++) {
+				histogram[k] += other[k];
+			}
+			
+			return histogram;
+		}
+		
+	}
 
 }
-
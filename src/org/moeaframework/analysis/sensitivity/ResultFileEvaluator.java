@@ -18,6 +18,14 @@
 package org.moeaframework.analysis.sensitivity;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.OptionBuilder;
@@ -34,6 +42,13 @@ import org.moeaframework.util.CommandLineUtility;
 /**
  * Command line utility for evaluating the approximation sets stored in a
  * result file and computing its metric file.
+ * <p>
+ * Instead of a single input and output file, a list of result files can be
+ * given as arguments.  The metric file of each result file is written
+ * alongside it, named by appending the extension given by
+ * {@code --extension} (defaults to {@code .metrics}).  The reference set is
+ * loaded and normalized once, and with the {@code --threads} option several
+ * result files are evaluated concurrently.
  */
 public class ResultFileEvaluator extends CommandLineUtility {
 	
@@ -68,13 +83,11 @@ public class ResultFileEvaluator extends CommandLineUtility {
 				.withLongOpt("input")
 				.hasArg()
 				.withArgName("file")
-				.isRequired()
 				.create('i'));
 		options.addOption(OptionBuilder
 				.withLongOpt("output")
 				.hasArg()
 				.withArgName("file")
-				.isRequired()
 				.create('o'));
 		options.addOption(OptionBuilder
 				.withLongOpt("reference")
@@ -84,26 +97,79 @@ public class ResultFileEvaluator extends CommandLineUtility {
 		options.addOption(OptionBuilder
 				.withLongOpt("force")
 				.create('f'));
+		options.addOption(OptionBuilder
+				.withLongOpt("extension")
+				.hasArg()
+				.withArgName("ext")
+				.create('e'));
+		options.addOption(OptionBuilder
+				.withLongOpt("threads")
+				.hasArg()
+				.withArgName("value")
+				.create('t'));
 		
 		return options;
 	}
 
 	@Override
 	public void run(CommandLine commandLine) throws Exception {
-		ResultFileReader reader = null;
-		MetricFileWriter writer = null;
 		Problem problem = null;
 		NondominatedPopulation referenceSet = null;
+		List<File> inputFiles = new ArrayList<File>();
+		List<File> outputFiles = new ArrayList<File>();
 
-		File inputFile = new File(commandLine.getOptionValue("input"));
-		File outputFile = new File(commandLine.getOptionValue("output"));
+		// determine the result files and the corresponding metric files
+		if (commandLine.hasOption("input")) {
+			if (!commandLine.hasOption("output") ||
+					(commandLine.getArgs().length > 0)) {
+				throw new FrameworkException(
+						"specify either an input and output file or a list " +
+						"of result files");
+			}
+
+			inputFiles.add(new File(commandLine.getOptionValue("input")));
+			outputFiles.add(new File(commandLine.getOptionValue("output")));
+		} else {
+			if (commandLine.hasOption("output") ||
+					(commandLine.getArgs().length == 0)) {
+				throw new FrameworkException(
+						"specify either an input and output file or a list " +
+						"of result files");
+			}
+
+			String extension = commandLine.getOptionValue("extension",
+					".metrics");
+
+			for (String filename : commandLine.getArgs()) {
+				inputFiles.add(new File(filename));
+				outputFiles.add(new File(filename + extension));
+			}
+		}
+
+		int numberOfThreads = 1;
+
+		if (commandLine.hasOption("threads")) {
+			numberOfThreads = Integer.parseInt(commandLine.getOptionValue(
+					"threads"));
+
+			if (numberOfThreads <= 0) {
+				throw new FrameworkException("invalid number of threads");
+			}
+		}
 
 		// sanity check to ensure input hasn't been modified after the output
-		if (!commandLine.hasOption("force") &&
-				(outputFile.lastModified() > 0L) && 
-				(inputFile.lastModified() > outputFile.lastModified())) {
-			throw new FrameworkException(
-					"input appears to be newer than output");
+		if (!commandLine.hasOption("force")) {
+			for (int i = 0; i < inputFiles.size(); i++) {
+				File inputFile = inputFiles.get(i);
+				File outputFile = outputFiles.get(i);
+
+				if ((outputFile.lastModified() > 0L) && 
+						(inputFile.lastModified() > 
+						outputFile.lastModified())) {
+					throw new FrameworkException(
+							"input appears to be newer than output");
+				}
+			}
 		}
 
 		// load reference set and create the quality indicator
@@ -131,42 +197,128 @@ public class ResultFileEvaluator extends CommandLineUtility {
 						.getOptionValue("dimension")));
 			}
 
+			// the normalized reference set is prepared once and shared
 			QualityIndicator indicator = new QualityIndicator(problem,
 					referenceSet);
 
-			try {
-				reader = new ResultFileReader(problem, inputFile);
+			if (inputFiles.size() == 1) {
+				evaluate(problem, indicator, inputFiles.get(0),
+						outputFiles.get(0));
+			} else {
+				evaluateInParallel(problem, indicator, inputFiles,
+						outputFiles, numberOfThreads);
+			}
+		} finally {
+			if (problem != null) {
+				problem.close();
+			}
+		}
+	}
 
-				try {
-					writer = new MetricFileWriter(indicator, outputFile);
-
-					// resume at the last good output
-					for (int i = 0; i < writer.getNumberOfEntries(); i++) {
-						if (reader.hasNext()) {
-							reader.next();
-						} else {
-							throw new FrameworkException(
-									"output has more entries than input");
-						}
+	/**
+	 * Evaluates the result files using up to {@code numberOfThreads}
+	 * concurrent threads, each file being read and evaluated by a single
+	 * thread.  Each thread calculates the metrics with its own copy of the
+	 * quality indicator sharing the prepared reference set.  If the
+	 * evaluation of any file fails, the remaining files are still evaluated
+	 * before the first exception is rethrown.
+	 * 
+	 * @param problem the problem
+	 * @param indicator the quality indicator
+	 * @param inputFiles the result files
+	 * @param outputFiles the metric files corresponding to each result file
+	 * @param numberOfThreads the maximum number of concurrent threads
+	 * @throws Exception if an error occurred
+	 */
+	private void evaluateInParallel(final Problem problem,
+			final QualityIndicator indicator, List<File> inputFiles,
+			List<File> outputFiles, int numberOfThreads) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(
+				Math.min(numberOfThreads, inputFiles.size()));
+		List<Future<Void>> futures = new ArrayList<Future<Void>>();
+		Exception exception = null;
+
+		try {
+			for (int i = 0; i < inputFiles.size(); i++) {
+				final File inputFile = inputFiles.get(i);
+				final File outputFile = outputFiles.get(i);
+
+				futures.add(executor.submit(new Callable<Void>() {
+
+					@Override
+					public Void call() throws Exception {
+						evaluate(problem, new QualityIndicator(indicator),
+								inputFile, outputFile);
+						return null;
 					}
 
-					// evaluate the remaining entries
-					while (reader.hasNext()) {
-						writer.append(reader.next());
+				}));
+			}
+
+			for (Future<Void> future : futures) {
+				try {
+					future.get();
+				} catch (ExecutionException e) {
+					if ((exception == null) &&
+							(e.getCause() instanceof Exception)) {
+						exception = (Exception)e.getCause();
+					} else if (exception == null) {
+						exception = new FrameworkException(e.getCause());
 					}
-				} finally {
-					if (writer != null) {
-						writer.close();
+				}
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		if (exception != null) {
+			throw exception;
+		}
+	}
+
+	/**
+	 * Evaluates the approximation sets stored in a result file, appending the
+	 * metrics to the metric file.  If the metric file already exists,
+	 * evaluation resumes after the last complete entry.
+	 * 
+	 * @param problem the problem
+	 * @param indicator the quality indicator used exclusively by the calling
+	 *        thread
+	 * @param inputFile the result file
+	 * @param outputFile the metric file
+	 * @throws IOException if an I/O error occurred
+	 */
+	private void evaluate(Problem problem, QualityIndicator indicator,
+			File inputFile, File outputFile) throws IOException {
+		ResultFileReader reader = null;
+		MetricFileWriter writer = null;
+
+		try {
+			reader = new ResultFileReader(problem, inputFile);
+
+			try {
+				writer = new MetricFileWriter(indicator, outputFile);
+
+				// resume at the last good output
+				for (int i = 0; i < writer.getNumberOfEntries(); i++) {
+					if (!reader.skip()) {
+						throw new FrameworkException(
+								"output has more entries than input");
 					}
 				}
+
+				// evaluate the remaining entries
+				while (reader.hasNext()) {
+					writer.append(reader.next());
+				}
 			} finally {
-				if (reader != null) {
-					reader.close();
+				if (writer != null) {
+					writer.close();
 				}
 			}
 		} finally {
-			if (problem != null) {
-				problem.close();
+			if (reader != null) {
+				reader.close();
 			}
 		}
 	}
@@ -101,8 +101,7 @@ public class ResultFileInfo extends CommandLineUtility {
 						reader = new ResultFileReader(problem, new File(
 								filename));
 
-						while (reader.hasNext()) {
-							reader.next();
+						while (reader.skip()) {
 							count++;
 						}
 
@@ -27,6 +27,7 @@ import org.moeaframework.core.EpsilonBoxDominanceArchive;
 import org.moeaframework.core.NondominatedPopulation;
 import org.moeaframework.core.PopulationIO;
 import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
 import org.moeaframework.core.spi.ProblemFactory;
 import org.moeaframework.util.CommandLineUtility;
 import org.moeaframework.util.TypedProperties;
@@ -109,13 +110,27 @@ public class ResultFileMerger extends CommandLineUtility {
 						.getOptionValue("dimension")));
 			}
 
-			// read in result files
+			// read in result files, only decoding the objectives unless the
+			// decision variables are written to the output
+			boolean readObjectives = !commandLine.hasOption("resultFile");
+			
 			for (String filename : commandLine.getArgs()) {
 				try {
 					reader = new ResultFileReader(problem, new File(filename));
 
-					while (reader.hasNext()) {
-						mergedSet.addAll(reader.next().getPopulation());
+					if (readObjectives) {
+						while (reader.nextObjectives()) {
+							double[][] objectives = reader.getObjectives();
+							
+							for (int i = 0; i < reader.getNumberOfSolutions();
+									i++) {
+								mergedSet.add(new Solution(objectives[i]));
+							}
+						}
+					} else {
+						while (reader.hasNext()) {
+							mergedSet.addAll(reader.next().getPopulation());
+						}
 					}
 				} finally {
 					if (reader != null) {
@@ -19,15 +19,13 @@ package org.moeaframework.analysis.sensitivity;
 
 import static org.moeaframework.analysis.sensitivity.ResultFileWriter.ENCODING_WARNING;
 
-import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.StringReader;
-import java.io.StringWriter;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Properties;
@@ -50,6 +48,17 @@ import org.moeaframework.core.variable.RealVariable;
  * formatted files. Unless a serious I/O error occurred, this reader will
  * attempt to load the file to the last valid entry. This requirement enables a
  * {@code ResultWriter} to resume processing at a valid state.
+ * <p>
+ * The file is read into a reusable buffer and parsed in place, decoding only
+ * the tokens that are needed.  Besides iterating over complete entries, callers only
+ * interested in the objective values can use {@link #nextObjectives()}, which
+ * fills a reusable buffer without creating any solutions or decoding any
+ * decision variables, and {@link #skip()}, which advances past an entry
+ * without parsing its contents.  These methods can be freely mixed with
+ * {@link #hasNext()} and {@link #next()}.
+ * <p>
+ * Binary result files created by {@link BinaryResultFileWriter} are detected
+ * automatically and read using a {@link BinaryResultFileReader}.
  * 
  * @see ResultFileWriter
  */
@@ -57,14 +66,38 @@ public class ResultFileReader implements Closeable, Iterator<ResultEntry>,
 Iterable<ResultEntry> {
 
 	/**
-	 * The internal stream for reading data from the file.
+	 * Reads the next entry as a {@link ResultEntry}.
+	 */
+	private static final int READ_ENTRY = 0;
+
+	/**
+	 * Reads the objectives and properties of the next entry into the
+	 * objectives buffer.
 	 */
-	private final BufferedReader reader;
+	private static final int READ_OBJECTIVES = 1;
 
 	/**
-	 * The last line read from the internal stream.
+	 * Advances past the next entry, only checking that it is complete.
 	 */
-	private String line;
+	private static final int SKIP_ENTRY = 2;
+
+	/**
+	 * The lines of the file; or {@code null} if reading a binary result
+	 * file.
+	 */
+	private final BufferedLineReader reader;
+
+	/**
+	 * The reader for binary result files; or {@code null} if reading a text
+	 * result file.
+	 */
+	private final BinaryResultFileReader binaryReader;
+
+	/**
+	 * {@code true} if {@link #reader} is positioned at a line that has not yet
+	 * been processed; {@code false} if the end of the file was reached.
+	 */
+	private boolean hasLine;
 
 	/**
 	 * The problem.
@@ -77,6 +110,32 @@ Iterable<ResultEntry> {
 	 */
 	private ResultEntry nextEntry;
 
+	/**
+	 * The objectives of the entry read by {@link #nextObjectives()}.  Only
+	 * the first {@link #numberOfSolutions} rows are valid.
+	 */
+	private double[][] objectives;
+
+	/**
+	 * The number of solutions in the entry read by {@link #nextObjectives()}.
+	 */
+	private int numberOfSolutions;
+
+	/**
+	 * The properties of the entry read by {@link #nextObjectives()}.
+	 */
+	private Properties properties;
+
+	/**
+	 * The start index of each token in the line being parsed.
+	 */
+	private int[] tokenStarts;
+
+	/**
+	 * The end index, exclusive, of each token in the line being parsed.
+	 */
+	private int[] tokenEnds;
+
 	/**
 	 * {@code true} if an error occurred parsing the result file; {@code false}
 	 * otherwise.
@@ -101,15 +160,36 @@ Iterable<ResultEntry> {
 		super();
 		this.problem = problem;
 		
-		reader = new BufferedReader(new FileReader(file));
-
-		// prime the reader by reading the first line
-		line = reader.readLine();
+		objectives = new double[0][];
+		properties = new Properties();
+		tokenStarts = new int[problem.getNumberOfVariables() +
+				problem.getNumberOfObjectives()];
+		tokenEnds = new int[tokenStarts.length];
+		
+		if (BinaryResultFileReader.isBinaryResultFile(file)) {
+			reader = null;
+			binaryReader = new BinaryResultFileReader(problem, file);
+		} else {
+			reader = new BufferedLineReader(file);
+			binaryReader = null;
+			
+			// prime the reader by reading the first line
+			try {
+				hasLine = reader.readLine();
+			} catch (IOException e) {
+				reader.close();
+				throw e;
+			}
+		}
 	}
 
 	@Override
 	public void close() throws IOException {
-		reader.close();
+		if (binaryReader == null) {
+			reader.close();
+		} else {
+			binaryReader.close();
+		}
 	}
 
 	@Override
@@ -129,98 +209,285 @@ Iterable<ResultEntry> {
 	}
 
 	/**
-	 * Returns the next population in the file; or {@code null} if the end of
-	 * the file is reached. If the last entry in the file is incomplete,
-	 * {@code null} is returned.
+	 * Reads the objective values and properties of the next entry into a
+	 * reusable buffer, without creating any solutions or decoding any decision
+	 * variables.  The objectives are returned by {@link #getObjectives()} in
+	 * the order stored in the file, and the properties by
+	 * {@link #getProperties()}.  Both are overwritten by the next call to this
+	 * method.
+	 * 
+	 * @return {@code true} if the next entry was read; {@code false} if no
+	 *         entries remain
+	 */
+	public boolean nextObjectives() {
+		numberOfSolutions = 0;
+		properties = new Properties();
+		
+		if (nextEntry != null) {
+			for (Solution solution : nextEntry.getPopulation()) {
+				addObjectives(solution.getObjectives());
+			}
+			
+			properties = nextEntry.getProperties();
+			nextEntry = null;
+			return true;
+		}
+		
+		if (binaryReader != null) {
+			if (!hasNext()) {
+				return false;
+			}
+			
+			return nextObjectives();
+		}
+		
+		try {
+			return !error && readNextEntry(READ_OBJECTIVES);
+		} catch (IOException e) {
+			throw new FrameworkException(e);
+		}
+	}
+
+	/**
+	 * Returns the buffer containing the objective values of the entry read by
+	 * the last call to {@link #nextObjectives()}.  Only the first
+	 * {@link #getNumberOfSolutions()} rows are valid.  The buffer is reused,
+	 * so its contents are overwritten by the next call to
+	 * {@code nextObjectives()}.
 	 * 
-	 * @return the next population in the file; or {@code null} if the end of
-	 *         the file is reached
-	 * @throws NumberFormatException if an error occurred parsing the objectives
+	 * @return the buffer containing the objective values
+	 */
+	public double[][] getObjectives() {
+		return objectives;
+	}
+
+	/**
+	 * Returns the number of solutions in the entry read by the last call to
+	 * {@link #nextObjectives()}.
+	 * 
+	 * @return the number of solutions in the entry
+	 */
+	public int getNumberOfSolutions() {
+		return numberOfSolutions;
+	}
+
+	/**
+	 * Returns the properties of the entry read by the last call to
+	 * {@link #nextObjectives()}.
+	 * 
+	 * @return the properties of the entry
+	 */
+	public Properties getProperties() {
+		return properties;
+	}
+
+	/**
+	 * Advances past the next entry without parsing its contents.  Only the
+	 * structure of the entry is checked; invalid values are detected only if
+	 * the entry is read.
+	 * 
+	 * @return {@code true} if an entry was skipped; {@code false} if no
+	 *         entries remain
+	 */
+	public boolean skip() {
+		if (nextEntry != null) {
+			nextEntry = null;
+			return true;
+		}
+		
+		if (binaryReader != null) {
+			return binaryReader.skip();
+		}
+		
+		try {
+			return !error && readNextEntry(SKIP_ENTRY);
+		} catch (IOException e) {
+			throw new FrameworkException(e);
+		}
+	}
+
+	/**
+	 * Appends the objective values of a solution to the objectives buffer.
+	 * 
+	 * @param values the objective values
+	 */
+	private void addObjectives(double[] values) {
+		ensureCapacity();
+		System.arraycopy(values, 0, objectives[numberOfSolutions], 0,
+				values.length);
+		numberOfSolutions++;
+	}
+	
+	/**
+	 * Grows the objectives buffer, if necessary, so that it can store at
+	 * least one more solution.
+	 */
+	private void ensureCapacity() {
+		if (numberOfSolutions == objectives.length) {
+			int capacity = Math.max(16, 2*objectives.length);
+			int start = objectives.length;
+			
+			objectives = Arrays.copyOf(objectives, capacity);
+			
+			for (int i = start; i < capacity; i++) {
+				objectives[i] = new double[problem.getNumberOfObjectives()];
+			}
+		}
+	}
+
+	/**
+	 * Reads the next entry in the file.  Depending on the mode, the entry is
+	 * stored in {@link #nextEntry}, its objectives and properties are stored
+	 * in the objectives buffer, or it is skipped.  If the last entry in the
+	 * file is incomplete, {@code false} is returned.
+	 * 
+	 * @param mode the mode, either {@link #READ_ENTRY},
+	 *        {@link #READ_OBJECTIVES} or {@link #SKIP_ENTRY}
+	 * @return {@code true} if the next entry was read; {@code false} if the
+	 *         end of the file was reached or an error occurred
 	 * @throws IOException if an I/O error occurred
 	 */
-	private ResultEntry readNextEntry() throws NumberFormatException, 
-	IOException {
-		NondominatedPopulation population = new NondominatedPopulation();
-		StringWriter stringBuffer = new StringWriter();
+	private boolean readNextEntry(int mode) throws IOException {
+		if (binaryReader != null) {
+			try {
+				nextEntry = binaryReader.hasNext() ? binaryReader.next() : null;
+				return nextEntry != null;
+			} catch (FrameworkException e) {
+				System.err.println("unable to decode entry, ignoring remaining entries in the file");
+				error = true;
+				return false;
+			}
+		}
+		
+		NondominatedPopulation population = null;
+		StringBuilder stringBuffer = null;
+		
+		if (mode == READ_ENTRY) {
+			population = new NondominatedPopulation();
+		}
+		
+		if (mode != SKIP_ENTRY) {
+			stringBuffer = new StringBuilder();
+		}
 
 		// ignore any comment lines separating entries
-		while ((line != null) && line.startsWith("#")) {
-			line = reader.readLine();
+		while (hasLine && reader.startsWith("#")) {
+			hasLine = reader.readLine();
 		}
 
 		// read next entry, terminated by #
-		while ((line != null) && !line.startsWith("#")) {
-			if (line.startsWith("//")) {
-				stringBuffer.write(line.substring(2));
-				stringBuffer.write('\n');
-			} else {
-				Solution solution = parseSolution(line);
-				
-				if (solution == null) {
-					System.err.println("unable to parse solution, ignoring remaining entries in the file");
-					return null;
-				} else {
-					population.add(solution);
+		while (hasLine && !reader.startsWith("#")) {
+			if (reader.startsWith("//")) {
+				if (stringBuffer != null) {
+					stringBuffer.append(reader.substring(2, reader.length()));
+					stringBuffer.append('\n');
 				}
+			} else if (!parseSolution(mode, population)) {
+				System.err.println("unable to parse solution, ignoring remaining entries in the file");
+				return false;
 			}
 
-			line = reader.readLine();
+			hasLine = reader.readLine();
 		}
-		
-		Properties properties = new Properties();
-		properties.load(new StringReader(stringBuffer.toString()));
 
 		// return population only if non-empty and terminated by a #
-		if ((line == null) || !line.startsWith("#")) {
-			return null;
-		} else {
-			return new ResultEntry(population, properties);
+		if (!hasLine) {
+			return false;
+		}
+		
+		if (stringBuffer != null) {
+			Properties properties = new Properties();
+			properties.load(new StringReader(stringBuffer.toString()));
+			
+			if (mode == READ_ENTRY) {
+				nextEntry = new ResultEntry(population, properties);
+			} else {
+				this.properties = properties;
+			}
 		}
+		
+		return true;
 	}
 	
 	/**
-	 * Parses the solution encoded in the specified line from the result file.
+	 * Parses the solution encoded in the current line from the result file.
+	 * Depending on the mode, the solution is added to the population, its
+	 * objectives are added to the objectives buffer, or only the number of
+	 * values is checked.
 	 * 
-	 * @param line the line containing the encoded solution
-	 * @return the solution
+	 * @param mode the mode, either {@link #READ_ENTRY},
+	 *        {@link #READ_OBJECTIVES} or {@link #SKIP_ENTRY}
+	 * @param population the population to which the solution is added when
+	 *        reading entries
+	 * @return {@code true} if the solution was parsed successfully;
+	 *         {@code false} otherwise
 	 */
-	private Solution parseSolution(String line) {
-		String[] entries = line.trim().split("\\s+");
-		Solution solution = null;
+	private boolean parseSolution(int mode, NondominatedPopulation population) {
+		int numberOfObjectives = problem.getNumberOfObjectives();
+		int numberOfVariables = problem.getNumberOfVariables();
+		int numberOfTokens = reader.tokenize(tokenStarts, tokenEnds);
 
-		if (entries.length < problem.getNumberOfObjectives()) {
+		if (numberOfTokens < numberOfObjectives) {
 			error = true;
-			return null;
+			return false;
 		}
+		
+		if (mode == SKIP_ENTRY) {
+			return true;
+		}
+		
+		if (numberOfTokens > tokenStarts.length) {
+			tokenStarts = new int[numberOfTokens];
+			tokenEnds = new int[numberOfTokens];
+			reader.tokenize(tokenStarts, tokenEnds);
+		}
+		
+		int offset = numberOfTokens - numberOfObjectives;
 
 		try {
-			
-			if (entries.length == (problem.getNumberOfVariables() + 
-					problem.getNumberOfObjectives())) {
-				solution = problem.newSolution();
+			if (mode == READ_OBJECTIVES) {
+				ensureCapacity();
 				
-				// read decision variables
-				for (int i = 0; i < problem.getNumberOfVariables(); i++) {
-					solution.setVariable(i, decode(solution.getVariable(i),
-							entries[i]));
+				double[] values = objectives[numberOfSolutions];
+				
+				for (int i = 0; i < numberOfObjectives; i++) {
+					values[i] = reader.parseDouble(tokenStarts[offset + i],
+							tokenEnds[offset + i]);
 				}
+				
+				numberOfSolutions++;
 			} else {
-				solution = new Solution(0, problem.getNumberOfObjectives());
-			}
-
-			// read objectives
-			for (int i = 0; i < problem.getNumberOfObjectives(); i++) {
-				solution.setObjective(i, Double.parseDouble(
-						entries[entries.length - 
-						        problem.getNumberOfObjectives() + i]));
+				Solution solution = null;
+				
+				if (numberOfTokens == (numberOfVariables + 
+						numberOfObjectives)) {
+					solution = problem.newSolution();
+					
+					// read decision variables
+					for (int i = 0; i < numberOfVariables; i++) {
+						solution.setVariable(i, decode(solution.getVariable(i),
+								reader.substring(tokenStarts[i],
+										tokenEnds[i])));
+					}
+				} else {
+					solution = new Solution(0, numberOfObjectives);
+				}
+	
+				// read objectives
+				for (int i = 0; i < numberOfObjectives; i++) {
+					solution.setObjective(i, reader.parseDouble(
+							tokenStarts[offset + i], tokenEnds[offset + i]));
+				}
+				
+				population.add(solution);
 			}
 		} catch (Exception e) {
 			e.printStackTrace();
 			error = true;
-			return null;
+			return false;
 		}
 
-		return solution;
+		return true;
 	}
 
 	@Override
@@ -231,7 +498,7 @@ Iterable<ResultEntry> {
 			}
 
 			if (nextEntry == null) {
-				nextEntry = readNextEntry();
+				readNextEntry(READ_ENTRY);
 			}
 
 			return nextEntry != null;
@@ -21,9 +21,10 @@ import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.StringReader;
 import java.io.StringWriter;
@@ -67,6 +68,11 @@ import org.moeaframework.util.io.FileUtils;
  * being appending after the last valid entry. Query the
  * {@link #getNumberOfEntries()} method to determine how many valid entries are
  * contained in the file.
+ * <p>
+ * Output is buffered and flushed once each entry is complete.  If
+ * {@link Settings#isResultFileSync()} is enabled, the file is also
+ * synchronized with the storage device after each entry.  See
+ * {@link BinaryResultFileWriter} for a more compact binary format.
  * 
  * @see ResultFileReader
  */
@@ -93,10 +99,22 @@ public class ResultFileWriter implements OutputWriter {
 			"an unclean version of the file exists from a previous run, " +
 			"requires manual intervention";
 
+	/**
+	 * The underlying file stream, used to synchronize the file with the
+	 * storage device.
+	 */
+	private final FileOutputStream stream;
+
 	/**
 	 * The stream for appending data to the file.
 	 */
 	private final PrintWriter writer;
+
+	/**
+	 * {@code true} if the file is synchronized with the storage device after
+	 * each entry; {@code false} otherwise.
+	 */
+	private final boolean sync;
 	
 	/**
 	 * {@code true} if this writer should save the decision variables;
@@ -176,8 +194,10 @@ public class ResultFileWriter implements OutputWriter {
 
 		// prepare this class for writing
 		numberOfEntries = 0;
-		writer = new PrintWriter(new BufferedWriter(new FileWriter(file)), 
-				true);
+		sync = Settings.isResultFileSync();
+		stream = new FileOutputStream(file);
+		writer = new PrintWriter(new BufferedWriter(new OutputStreamWriter(
+				stream)));
 		
 		// print header information
 		writer.print("# Problem = ");
@@ -262,6 +282,17 @@ public class ResultFileWriter implements OutputWriter {
 		}
 
 		writer.println('#');
+		
+		//the entry is complete, make it durable
+		writer.flush();
+		
+		if (writer.checkError()) {
+			throw new IOException("failed to write result file");
+		}
+		
+		if (sync) {
+			stream.getFD().sync();
+		}
 	}
 	
 	/**
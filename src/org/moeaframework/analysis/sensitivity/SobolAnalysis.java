@@ -24,7 +24,6 @@ import java.io.PrintStream;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.OptionBuilder;
 import org.apache.commons.cli.Options;
-import org.apache.commons.math3.stat.StatUtils;
 import org.moeaframework.core.PRNG;
 import org.moeaframework.util.CommandLineUtility;
 
@@ -51,6 +50,11 @@ public class SobolAnalysis extends CommandLineUtility {
 	 * Number of resamples used to bootstrap the 50% confidence intervals.
 	 */
 	private int resamples = 1000;
+	
+	/**
+	 * Number of threads used to bootstrap the confidence intervals.
+	 */
+	private int threads = Runtime.getRuntime().availableProcessors();
 
 	/**
 	 * Parameters being analyzed.
@@ -147,6 +151,9 @@ public class SobolAnalysis extends CommandLineUtility {
 	 * @param output the output stream
 	 */
 	private void display(PrintStream output) {
+		SobolBootstrap bootstrap = new SobolBootstrap(A, B, C_A, C_B);
+		bootstrap.run(resamples, PRNG.getRandom().nextLong(), threads);
+		
 		output.println("Parameter	Sensitivity [Confidence]");
 
 		output.println("First-Order Effects");
@@ -166,7 +173,7 @@ public class SobolAnalysis extends CommandLineUtility {
 			output.print(' ');
 			output.print(computeFirstOrder(a0, a1, a2, N));
 			output.print(" [");
-			output.print(computeFirstOrderConfidence(a0, a1, a2, N, resamples));
+			output.print(bootstrap.getFirstOrderConfidence(j));
 			output.println(']');
 		}
 
@@ -187,7 +194,7 @@ public class SobolAnalysis extends CommandLineUtility {
 			output.print(' ');
 			output.print(computeTotalOrder(a0, a1, a2, N));
 			output.print(" [");
-			output.print(computeTotalOrderConfidence(a0, a1, a2, N, resamples));
+			output.print(bootstrap.getTotalOrderConfidence(j));
 			output.println(']');
 		}
 
@@ -215,8 +222,7 @@ public class SobolAnalysis extends CommandLineUtility {
 				output.print(' ');
 				output.print(computeSecondOrder(a0, a1, a2, a3, a4, N));
 				output.print(" [");
-				output.print(computeSecondOrderConfidence(a0, a1, a2, a3, a4, N,
-								resamples));
+				output.print(bootstrap.getSecondOrderConfidence(j, k));
 				output.println(']');
 			}
 		}
@@ -273,50 +279,6 @@ public class SobolAnalysis extends CommandLineUtility {
 		output.println();
 	}
 
-	/**
-	 * Returns the first-order confidence interval of the i-th parameter.  The
-	 * arguments to this method mirror the arguments to
-	 * {@link #computeFirstOrder}.
-	 * 
-	 * @param a0 the output from the first independent samples
-	 * @param a1 the output from the samples produced by swapping the i-th
-	 *        parameter in the first independent samples with the i-th parameter
-	 *        from the second independent samples
-	 * @param a2 the output from the second independent samples
-	 * @param nsample the number of samples
-	 * @param nresample the number of resamples used when calculating the
-	 *        confidence interval
-	 * @return the first-order confidence interval of the i-th parameter
-	 */
-	private static double computeFirstOrderConfidence(double[] a0, double[] a1,
-			double[] a2, int nsample, int nresample) {
-		double[] b0 = new double[nsample];
-		double[] b1 = new double[nsample];
-		double[] b2 = new double[nsample];
-		double[] s = new double[nresample];
-
-		for (int i = 0; i < nresample; i++) {
-			for (int j = 0; j < nsample; j++) {
-				int index = PRNG.nextInt(nsample);
-
-				b0[j] = a0[index];
-				b1[j] = a1[index];
-				b2[j] = a2[index];
-			}
-
-			s[i] = computeFirstOrder(b0, b1, b2, nsample);
-		}
-
-		double ss = StatUtils.sum(s) / nresample;
-		double sss = 0.0;
-		
-		for (int i = 0; i < nresample; i++) {
-			sss += Math.pow(s[i] - ss, 2.0);
-		}
-
-		return 1.96 * Math.sqrt(sss / (nresample - 1));
-	}
-
 	/**
 	 * Returns the first-order sensitivity of the i-th parameter.  Note how
 	 * the contents of the array {@code a1} specify the parameter being
@@ -330,7 +292,7 @@ public class SobolAnalysis extends CommandLineUtility {
 	 * @param nsample the number of samples
 	 * @return the first-order sensitivity of the i-th parameter
 	 */
-	private static double computeFirstOrder(double[] a0, double[] a1,
+	static double computeFirstOrder(double[] a0, double[] a1,
 			double[] a2, int nsample) {
 		double c = 0.0;
 		for (int i = 0; i < nsample; i++) {
@@ -371,7 +333,7 @@ public class SobolAnalysis extends CommandLineUtility {
 	 * @param nsample the number of samples
 	 * @return the total-order sensitivity of the i-th parameter
 	 */
-	private static double computeTotalOrder(double[] a0, double[] a1,
+	static double computeTotalOrder(double[] a0, double[] a1,
 			double[] a2, int nsample) {
 		double c = 0.0;
 		
@@ -398,50 +360,6 @@ public class SobolAnalysis extends CommandLineUtility {
 		return 1.0 - ((U - EY2) / V);
 	}
 
-	/**
-	 * Returns the total-order confidence interval of the i-th parameter.  The
-	 * arguments to this method mirror the arguments to
-	 * {@link #computeTotalOrder}.
-	 * 
-	 * @param a0 the output from the first independent samples
-	 * @param a1 the output from the samples produced by swapping the i-th
-	 *        parameter in the first independent samples with the i-th parameter
-	 *        from the second independent samples
-	 * @param a2 the output from the second independent samples
-	 * @param nsample the number of samples
-	 * @param nresample the number of resamples used when calculating the
-	 *        confidence interval
-	 * @return the total-order confidence interval of the i-th parameter
-	 */
-	private static double computeTotalOrderConfidence(double[] a0, double[] a1,
-			double[] a2, int nsample, int nresample) {
-		double[] b0 = new double[nsample];
-		double[] b1 = new double[nsample];
-		double[] b2 = new double[nsample];
-		double[] s = new double[nresample];
-
-		for (int i = 0; i < nresample; i++) {
-			for (int j = 0; j < nsample; j++) {
-				int index = PRNG.nextInt(nsample);
-
-				b0[j] = a0[index];
-				b1[j] = a1[index];
-				b2[j] = a2[index];
-			}
-
-			s[i] = computeTotalOrder(b0, b1, b2, nsample);
-		}
-
-		double ss = StatUtils.sum(s) / nresample;
-		double sss = 0.0;
-		
-		for (int i = 0; i < nresample; i++) {
-			sss += Math.pow(s[i] - ss, 2.0);
-		}
-
-		return 1.96 * Math.sqrt(sss / (nresample - 1));
-	}
-
 	/**
 	 * Returns the second-order sensitivity of the i-th and j-th parameters.  
 	 * Note how the contents of the arrays {@code a1}, {@code a2}, and
@@ -463,7 +381,7 @@ public class SobolAnalysis extends CommandLineUtility {
 	 *        confidence interval
 	 * @return the second-order sensitivity of the i-th and j-th parameters
 	 */
-	private static double computeSecondOrder(double[] a0, double[] a1,
+	static double computeSecondOrder(double[] a0, double[] a1,
 			double[] a2, double[] a3, double[] a4, int nsample) {
 		double c = 0.0;
 		
@@ -502,60 +420,6 @@ public class SobolAnalysis extends CommandLineUtility {
 		return (Vij - Vi - Vj) / V;
 	}
 
-	/**
-	 * Returns the second-order confidence interval of the i-th and j-th
-	 * parameters.  The arguments to this method mirror the arguments to
-	 * {@link #computeSecondOrder}.
-	 * 
-	 * @param a0 the output from the first independent samples
-	 * @param a1 the output from the samples produced by swapping the i-th
-	 *        parameter in the second independent samples with the i-th
-	 *        parameter from the first independent samples
-	 * @param a2 the output from the samples produced by swapping the j-th
-	 *        parameter in the first independent samples with the j-th parameter
-	 *        from the second independent samples
-	 * @param a3 the output from the samples produced by swapping the i-th
-	 *        parameter in the first independent samples with the i-th parameter
-	 *        from the second independent samples
-	 * @param a4 the output from the second independent samples
-	 * @param nsample the number of samples
-	 * @return the second-order confidence interval of the i-th and j-th
-	 *         parameters
-	 */
-	private static double computeSecondOrderConfidence(double[] a0,
-			double[] a1, double[] a2, double[] a3, double[] a4, int nsample,
-			int nresample) {
-		double[] b0 = new double[nsample];
-		double[] b1 = new double[nsample];
-		double[] b2 = new double[nsample];
-		double[] b3 = new double[nsample];
-		double[] b4 = new double[nsample];
-		double[] s = new double[nresample];
-
-		for (int i = 0; i < nresample; i++) {
-			for (int j = 0; j < nsample; j++) {
-				int index = PRNG.nextInt(nsample);
-
-				b0[j] = a0[index];
-				b1[j] = a1[index];
-				b2[j] = a2[index];
-				b3[j] = a3[index];
-				b4[j] = a4[index];
-			}
-
-			s[i] = computeSecondOrder(b0, b1, b2, b3, b4, nsample);
-		}
-
-		double ss = StatUtils.sum(s) / nresample;
-		double sss = 0.0;
-		
-		for (int i = 0; i < nresample; i++) {
-			sss += Math.pow(s[i] - ss, 2.0);
-		}
-
-		return 1.96 * Math.sqrt(sss / (nresample - 1));
-	}
-
 	/**
 	 * Ensures the model output file contains N*(2P+2) lines and returns N, the
 	 * number of samples.
@@ -627,6 +491,16 @@ public class SobolAnalysis extends CommandLineUtility {
 				.hasArg()
 				.withArgName("number")
 				.create('r'));
+		options.addOption(OptionBuilder
+				.withLongOpt("seed")
+				.hasArg()
+				.withArgName("value")
+				.create('e'));
+		options.addOption(OptionBuilder
+				.withLongOpt("threads")
+				.hasArg()
+				.withArgName("number")
+				.create('t'));
 
 		return options;
 	}
@@ -645,6 +519,14 @@ public class SobolAnalysis extends CommandLineUtility {
 			resamples = Integer.parseInt(commandLine.getOptionValue(
 					"resamples"));
 		}
+		
+		if (commandLine.hasOption("threads")) {
+			threads = Integer.parseInt(commandLine.getOptionValue("threads"));
+		}
+		
+		if (commandLine.hasOption("seed")) {
+			PRNG.setSeed(Long.parseLong(commandLine.getOptionValue("seed")));
+		}
 
 		//load and validate the model output file
 		File input = new File(commandLine.getOptionValue("input"));
@@ -0,0 +1,369 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.sensitivity;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.apache.commons.math3.stat.StatUtils;
+import org.moeaframework.util.random.RandomStreams;
+
+/**
+ * Computes the bootstrap confidence intervals of all first-, total- and
+ * second-order Sobol' sensitivities used by {@link SobolAnalysis}.
+ * <p>
+ * Each resample draws one set of sample indices and evaluates every
+ * sensitivity on it in a single pass over {@code A}, {@code B}, {@code C_A}
+ * and {@code C_B}, accumulating the sums shared between the sensitivities
+ * into primitive buffers instead of copying the resampled outputs.  The
+ * indices of the {@code r}-th resample are drawn from the {@code r}-th stream
+ * of a {@link RandomStreams}, so the confidence intervals depend only on the
+ * seed and not on the number of threads.
+ */
+class SobolBootstrap {
+
+	/**
+	 * The number of resamples evaluated by each parallel task.
+	 */
+	private static final int PARALLEL_GRAIN = 8;
+
+	/**
+	 * Output from the original parameters.
+	 */
+	private final double[] A;
+
+	/**
+	 * Output from the resampled parameters.
+	 */
+	private final double[] B;
+
+	/**
+	 * Output from the original samples where the j-th parameter is replaced by
+	 * the corresponding resampled parameter.
+	 */
+	private final double[][] C_A;
+
+	/**
+	 * Output from the resampled samples where the j-th parameter is replaced by
+	 * the corresponding original parameter.
+	 */
+	private final double[][] C_B;
+
+	/**
+	 * Number of parameters.
+	 */
+	private final int P;
+
+	/**
+	 * Number of samples.
+	 */
+	private final int N;
+
+	/**
+	 * The first-order sensitivity of each parameter in each resample.
+	 */
+	private double[][] firstOrder;
+
+	/**
+	 * The total-order sensitivity of each parameter in each resample.
+	 */
+	private double[][] totalOrder;
+
+	/**
+	 * The second-order sensitivity of each pair of parameters in each
+	 * resample, stored in the upper triangle.
+	 */
+	private double[][][] secondOrder;
+
+	/**
+	 * Constructs the bootstrap for the specified model outputs.
+	 *
+	 * @param A output from the original parameters
+	 * @param B output from the resampled parameters
+	 * @param C_A output from the original samples where the j-th parameter is
+	 *        replaced by the corresponding resampled parameter
+	 * @param C_B output from the resampled samples where the j-th parameter is
+	 *        replaced by the corresponding original parameter
+	 */
+	public SobolBootstrap(double[] A, double[] B, double[][] C_A,
+			double[][] C_B) {
+		super();
+		this.A = A;
+		this.B = B;
+		this.C_A = C_A;
+		this.C_B = C_B;
+
+		N = A.length;
+		P = N == 0 ? 0 : C_A[0].length;
+	}
+
+	/**
+	 * Evaluates all sensitivities on the specified number of resamples.
+	 *
+	 * @param resamples the number of resamples
+	 * @param seed the seed from which the stream of each resample is derived
+	 * @param numberOfThreads the number of threads
+	 */
+	public void run(int resamples, long seed, int numberOfThreads) {
+		RandomStreams streams = new RandomStreams(seed);
+
+		firstOrder = new double[P][resamples];
+		totalOrder = new double[P][resamples];
+		secondOrder = new double[P][P][];
+
+		for (int j = 0; j < P; j++) {
+			for (int k = j + 1; k < P; k++) {
+				secondOrder[j][k] = new double[resamples];
+			}
+		}
+
+		if (numberOfThreads > 1) {
+			ForkJoinPool pool = new ForkJoinPool(numberOfThreads);
+
+			try {
+				pool.invoke(new ResampleTask(streams, 0, resamples));
+			} finally {
+				pool.shutdown();
+			}
+		} else {
+			resample(streams, 0, resamples);
+		}
+	}
+
+	/**
+	 * Returns the first-order confidence interval of the j-th parameter.
+	 *
+	 * @param j the parameter
+	 * @return the first-order confidence interval of the j-th parameter
+	 */
+	public double getFirstOrderConfidence(int j) {
+		return computeConfidence(firstOrder[j]);
+	}
+
+	/**
+	 * Returns the total-order confidence interval of the j-th parameter.
+	 *
+	 * @param j the parameter
+	 * @return the total-order confidence interval of the j-th parameter
+	 */
+	public double getTotalOrderConfidence(int j) {
+		return computeConfidence(totalOrder[j]);
+	}
+
+	/**
+	 * Returns the second-order confidence interval of the j-th and k-th
+	 * parameters, where {@code j < k}.
+	 *
+	 * @param j the first parameter
+	 * @param k the second parameter
+	 * @return the second-order confidence interval of the j-th and k-th
+	 *         parameters
+	 */
+	public double getSecondOrderConfidence(int j, int k) {
+		return computeConfidence(secondOrder[j][k]);
+	}
+
+	/**
+	 * Returns the 50% confidence interval of the sensitivities observed in
+	 * each resample.
+	 *
+	 * @param s the sensitivity observed in each resample
+	 * @return the 50% confidence interval
+	 */
+	private static double computeConfidence(double[] s) {
+		int nresample = s.length;
+		double ss = StatUtils.sum(s) / nresample;
+		double sss = 0.0;
+
+		for (int i = 0; i < nresample; i++) {
+			sss += Math.pow(s[i] - ss, 2.0);
+		}
+
+		return 1.96 * Math.sqrt(sss / (nresample - 1));
+	}
+
+	/**
+	 * Evaluates all sensitivities on the resamples in the range
+	 * {@code [from, to)}, reusing the same buffers for each resample.
+	 *
+	 * @param streams the source of the stream of each resample
+	 * @param from the first resample, inclusive
+	 * @param to the last resample, exclusive
+	 */
+	private void resample(RandomStreams streams, int from, int to) {
+		int[] index = new int[N];
+		double[] sCAB = new double[P];
+		double[] sACA = new double[P];
+		double[] sCB = new double[P];
+		double[] sCBCB = new double[P];
+		double[] sCBCA = new double[P];
+		double[][] sCBCA2 = new double[P][P];
+		double[] ca = new double[P];
+		double[] cb = new double[P];
+
+		for (int r = from; r < to; r++) {
+			Random random = streams.getStream(r);
+			double c = 0.0;
+
+			for (int i = 0; i < N; i++) {
+				index[i] = random.nextInt(N);
+				c += A[index[i]];
+			}
+
+			c /= N;
+
+			double sA = 0.0;
+			double sAA = 0.0;
+			double sB = 0.0;
+			double sBB = 0.0;
+			double sAB = 0.0;
+
+			for (int j = 0; j < P; j++) {
+				sCAB[j] = 0.0;
+				sACA[j] = 0.0;
+				sCB[j] = 0.0;
+				sCBCB[j] = 0.0;
+				sCBCA[j] = 0.0;
+
+				for (int k = j + 1; k < P; k++) {
+					sCBCA2[j][k] = 0.0;
+				}
+			}
+
+			for (int i = 0; i < N; i++) {
+				int sample = index[i];
+				double a = A[sample] - c;
+				double b = B[sample] - c;
+				double[] rowA = C_A[sample];
+				double[] rowB = C_B[sample];
+
+				sA += a;
+				sAA += a * a;
+				sB += b;
+				sBB += b * b;
+				sAB += a * b;
+
+				for (int j = 0; j < P; j++) {
+					ca[j] = rowA[j] - c;
+					cb[j] = rowB[j] - c;
+				}
+
+				for (int j = 0; j < P; j++) {
+					double caj = ca[j];
+					double cbj = cb[j];
+					double[] cross = sCBCA2[j];
+
+					sCAB[j] += caj * b;
+					sACA[j] += a * caj;
+					sCB[j] += cbj;
+					sCBCB[j] += cbj * cbj;
+					sCBCA[j] += cbj * caj;
+
+					for (int k = j + 1; k < P; k++) {
+						cross[k] += cbj * ca[k];
+					}
+				}
+			}
+
+			//first-order sensitivities, see computeFirstOrder
+			double EY = sAB / N;
+			double V = (sBB / (N - 1)) - Math.pow(sB / N, 2.0);
+
+			for (int j = 0; j < P; j++) {
+				double U = sCAB[j] / (N - 1);
+				firstOrder[j][r] = (U - EY) / V;
+			}
+
+			//total-order sensitivities, see computeTotalOrder
+			double EY2 = Math.pow(sA / N, 2.0);
+			V = (sAA / (N - 1)) - EY2;
+
+			for (int j = 0; j < P; j++) {
+				double U = sACA[j] / (N - 1);
+				totalOrder[j][r] = 1.0 - ((U - EY2) / V);
+			}
+
+			//second-order sensitivities, see computeSecondOrder
+			for (int j = 0; j < P; j++) {
+				EY2 = sCBCA[j] / N;
+				V = (sCBCB[j] / (N - 1)) - Math.pow(sCB[j] / N, 2.0);
+				double Vj = (sCAB[j] / (N - 1)) - EY2;
+
+				for (int k = j + 1; k < P; k++) {
+					double Vij = (sCBCA2[j][k] / (N - 1)) - EY2;
+					double Vi = (sCAB[k] / (N - 1)) - EY;
+					secondOrder[j][k][r] = (Vij - Vi - Vj) / V;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Evaluates a range of resamples, splitting the range in half until it
+	 * contains at most {@value SobolBootstrap#PARALLEL_GRAIN} resamples.
+	 */
+	private class ResampleTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 2546409582870128447L;
+
+		/**
+		 * The source of the stream of each resample.
+		 */
+		private final RandomStreams streams;
+
+		/**
+		 * The first resample, inclusive.
+		 */
+		private final int from;
+
+		/**
+		 * The last resample, exclusive.
+		 */
+		private final int to;
+
+		/**
+		 * Constructs a task evaluating the resamples in the range
+		 * {@code [from, to)}.
+		 *
+		 * @param streams the source of the stream of each resample
+		 * @param from the first resample, inclusive
+		 * @param to the last resample, exclusive
+		 */
+		public ResampleTask(RandomStreams streams, int from, int to) {
+			super();
+			this.streams = streams;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= PARALLEL_GRAIN) {
+				resample(streams, from, to);
+			} else {
+				int mid = (from + to) >>> 1;
+
+				invokeAll(new ResampleTask(streams, from, mid),
+						new ResampleTask(streams, mid, to));
+			}
+		}
+
+	}
+
+}
@@ -17,7 +17,13 @@
  */
 package org.moeaframework.core;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Adaptive grid archive. Divides objective space into a number of grid cells,
@@ -25,6 +31,14 @@ import java.util.Arrays;
  * the size of the archive exceeds a specified capacity, a solution from the
  * most crowded grid cell is selected and removed from the archive.
  * <p>
+ * Only the occupied grid cells are stored, in a map from the grid index to the
+ * solutions in that cell, and each solution caches its grid index.  Grid
+ * indices are {@code long} values, so the grid may contain up to
+ * {@code Long.MAX_VALUE} cells.  The
+ * occupied cells are kept in a heap ordered by density, so the most crowded
+ * cell is found in logarithmic time.  When the bounds of the grid change, the
+ * solutions are re-binned lazily the next time a density is required.
+ * <p>
  * References:
  * <ol>
  * <li>Knowles, J.D. and Corne, D.W., "Approximating the Nondominated Front
@@ -63,9 +77,32 @@ public class AdaptiveGridArchive extends NondominatedPopulation {
 	protected double[] maximum;
 
 	/**
-	 * The number of solutions in each grid cell.
+	 * The occupied grid cells, keyed by their grid index.
+	 */
+	private final Map<Long, Cell> cells;
+
+	/**
+	 * The grid cell and insertion order of each solution in this archive.
+	 */
+	private final Map<Solution, Member> members;
+
+	/**
+	 * The occupied grid cells, arranged as a binary heap with the most
+	 * crowded cell first.
+	 */
+	private final List<Cell> heap;
+
+	/**
+	 * The sequence number assigned to the next solution binned into a grid
+	 * cell.  Sequence numbers follow the order of solutions in this archive.
 	 */
-	protected int[] density;
+	private long nextSequence;
+
+	/**
+	 * {@code true} if the grid cells reflect the current bounds and contents
+	 * of this archive; {@code false} if the solutions must be re-binned.
+	 */
+	private boolean binned;
 
 	/**
 	 * Constructs an adaptive grid archive with the specified capacity with the
@@ -75,6 +112,8 @@ public class AdaptiveGridArchive extends NondominatedPopulation {
 	 * @param problem the problem for which this archive is used
 	 * @param numberOfDivisions the number of divisions this archive uses to
 	 *        split each objective
+	 * @throws IllegalArgumentException if the grid contains more than
+	 *         {@code Long.MAX_VALUE} cells
 	 */
 	public AdaptiveGridArchive(int capacity, Problem problem,
 			int numberOfDivisions) {
@@ -82,10 +121,22 @@ public class AdaptiveGridArchive extends NondominatedPopulation {
 		this.problem = problem;
 		this.numberOfDivisions = numberOfDivisions;
 
+		long numberOfCells = 1;
+
+		for (int i = 0; i < problem.getNumberOfObjectives(); i++) {
+			if (numberOfCells > Long.MAX_VALUE / numberOfDivisions) {
+				throw new IllegalArgumentException(
+						"grid contains too many cells");
+			}
+
+			numberOfCells *= numberOfDivisions;
+		}
+
 		minimum = new double[problem.getNumberOfObjectives()];
 		maximum = new double[problem.getNumberOfObjectives()];
-		density = new int[(int)Math.pow(numberOfDivisions,
-				problem.getNumberOfObjectives())];
+		cells = new HashMap<Long, Cell>();
+		members = new IdentityHashMap<Solution, Member>();
+		heap = new ArrayList<Cell>();
 
 		adaptGrid();
 	}
@@ -126,12 +177,12 @@ public class AdaptiveGridArchive extends NondominatedPopulation {
 			return false;
 		}
 
-		int index = findIndex(solution);
+		long index = computeIndex(solution);
 
 		if (index < 0) {
 			adaptGrid();
-		} else {
-			density[index]++;
+		} else if (binned) {
+			bin(solution, index);
 		}
 
 		if (size() > capacity) {
@@ -143,11 +194,11 @@ public class AdaptiveGridArchive extends NondominatedPopulation {
 
 	@Override
 	public void remove(int index) {
-		int gridIndex = findIndex(get(index));
+		Solution solution = get(index);
 
 		super.remove(index);
 
-		density[gridIndex]--;
+		unbin(solution);
 	}
 
 	@Override
@@ -155,12 +206,35 @@ public class AdaptiveGridArchive extends NondominatedPopulation {
 		boolean removed = super.remove(solution);
 
 		if (removed) {
-			density[findIndex(solution)]--;
+			unbin(solution);
 		}
 
 		return removed;
 	}
 
+	@Override
+	public void replace(int index, Solution solution) {
+		super.replace(index, solution);
+		binned = false;
+	}
+
+	@Override
+	public void sort(Comparator<? super Solution> comparator) {
+		super.sort(comparator);
+
+		// the sequence numbers no longer follow the order of solutions
+		binned = false;
+	}
+
+	@Override
+	public void truncate(int size, Comparator<? super Solution> comparator) {
+		sort(comparator);
+
+		while (size() > size) {
+			remove(size() - 1);
+		}
+	}
+
 	@Override
 	public void clear() {
 		super.clear();
@@ -174,29 +248,23 @@ public class AdaptiveGridArchive extends NondominatedPopulation {
 	 * @return the index of the solution residing in the densest grid cell
 	 */
 	protected int findDensestIndex() {
-		int index = -1;
-		int value = -1;
-
-		for (int i = 0; i < size(); i++) {
-			int tempValue = density[findIndex(get(i))];
+		ensureBinned();
 
-			if (tempValue > value) {
-				index = i;
-				value = tempValue;
-			}
+		if (heap.isEmpty()) {
+			return -1;
 		}
 
-		return index;
+		// the densest cell whose first solution appears earliest
+		return indexOf(heap.get(0).members.get(0).solution);
 	}
 
 	/**
-	 * Computes new lower and upper bounds and recalculates the densities of
-	 * each grid cell.
+	 * Computes new lower and upper bounds.  The densities of each grid cell
+	 * are recalculated the next time they are required.
 	 */
 	protected void adaptGrid() {
 		Arrays.fill(minimum, Double.POSITIVE_INFINITY);
 		Arrays.fill(maximum, Double.NEGATIVE_INFINITY);
-		Arrays.fill(density, 0);
 
 		for (Solution solution : this) {
 			for (int i = 0; i < problem.getNumberOfObjectives(); i++) {
@@ -205,14 +273,230 @@ public class AdaptiveGridArchive extends NondominatedPopulation {
 			}
 		}
 
+		cells.clear();
+		members.clear();
+		heap.clear();
+		binned = false;
+	}
+
+	/**
+	 * Bins every solution into its grid cell, if the grid cells are not
+	 * current.
+	 */
+	private void ensureBinned() {
+		if (binned) {
+			return;
+		}
+
+		if (!binAll()) {
+			// a solution was placed outside the bounds by replace
+			adaptGrid();
+
+			if (!binAll()) {
+				throw new FrameworkException(
+						"solution outside the bounds of the adapted grid");
+			}
+		}
+
+		binned = true;
+	}
+
+	/**
+	 * Clears the grid cells and bins every solution into its grid cell.
+	 * 
+	 * @return {@code true} if every solution was binned; {@code false} if a
+	 *         solution is outside the current lower and upper bounds
+	 */
+	private boolean binAll() {
+		cells.clear();
+		members.clear();
+		heap.clear();
+		nextSequence = 0;
+
 		for (Solution solution : this) {
-			density[findIndex(solution)]++;
+			long index = computeIndex(solution);
+
+			if (index < 0) {
+				return false;
+			}
+
+			bin(solution, index);
+		}
+
+		return true;
+	}
+
+	/**
+	 * Adds a solution to the specified grid cell.  The solution must be the
+	 * last solution in this archive.
+	 * 
+	 * @param solution the solution
+	 * @param index the grid index of the solution
+	 */
+	private void bin(Solution solution, long index) {
+		Cell cell = cells.get(index);
+
+		if (cell == null) {
+			cell = new Cell(index);
+			cells.put(index, cell);
+			cell.position = heap.size();
+			heap.add(cell);
+		}
+
+		Member member = new Member(solution, cell, nextSequence++);
+		cell.members.add(member);
+		members.put(solution, member);
+		siftUp(cell.position);
+	}
+
+	/**
+	 * Removes a solution from its grid cell, if the grid cells are current.
+	 * 
+	 * @param solution the solution
+	 */
+	private void unbin(Solution solution) {
+		if (!binned) {
+			return;
+		}
+
+		Member member = members.remove(solution);
+
+		if (member == null) {
+			return;
+		}
+
+		Cell cell = member.cell;
+		cell.members.remove(member);
+
+		if (cell.members.isEmpty()) {
+			cells.remove(cell.index);
+
+			Cell last = heap.remove(heap.size() - 1);
+
+			if (last != cell) {
+				last.position = cell.position;
+				heap.set(cell.position, last);
+				siftUp(last.position);
+				siftDown(last.position);
+			}
+		} else {
+			siftDown(cell.position);
 		}
 	}
 
+	/**
+	 * Returns {@code true} if the first cell is more crowded than the second
+	 * cell, or equally crowded but contains a solution appearing earlier in
+	 * this archive; {@code false} otherwise.
+	 * 
+	 * @param cell1 the first cell
+	 * @param cell2 the second cell
+	 * @return {@code true} if the first cell precedes the second cell in the
+	 *         heap; {@code false} otherwise
+	 */
+	private boolean precedes(Cell cell1, Cell cell2) {
+		int size1 = cell1.members.size();
+		int size2 = cell2.members.size();
+
+		if (size1 != size2) {
+			return size1 > size2;
+		} else {
+			return cell1.members.get(0).sequence <
+					cell2.members.get(0).sequence;
+		}
+	}
+
+	/**
+	 * Moves the cell at the given heap position up until the heap is ordered.
+	 * 
+	 * @param position the heap position
+	 */
+	private void siftUp(int position) {
+		Cell cell = heap.get(position);
+
+		while (position > 0) {
+			int parent = (position - 1) / 2;
+
+			if (!precedes(cell, heap.get(parent))) {
+				break;
+			}
+
+			move(heap.get(parent), position);
+			position = parent;
+		}
+
+		move(cell, position);
+	}
+
+	/**
+	 * Moves the cell at the given heap position down until the heap is
+	 * ordered.
+	 * 
+	 * @param position the heap position
+	 */
+	private void siftDown(int position) {
+		Cell cell = heap.get(position);
+
+		while (true) {
+			int child = 2*position + 1;
+
+			if (child >= heap.size()) {
+				break;
+			}
+
+			if ((child + 1 < heap.size()) &&
+					precedes(heap.get(child + 1), heap.get(child))) {
+				child++;
+			}
+
+			if (!precedes(heap.get(child), cell)) {
+				break;
+			}
+
+			move(heap.get(child), position);
+			position = child;
+		}
+
+		move(cell, position);
+	}
+
+	/**
+	 * Places a cell at the given heap position.
+	 * 
+	 * @param cell the cell
+	 * @param position the heap position
+	 */
+	private void move(Cell cell, int position) {
+		heap.set(position, cell);
+		cell.position = position;
+	}
+
 	/**
 	 * Returns the index of the specified solution in this adaptive grid
 	 * archive, or {@code -1} if the solution is not within the current lower
+	 * and upper bounds.  The cached index is returned for solutions in this
+	 * archive.
+	 * 
+	 * @param solution the specified solution
+	 * @return the index of the specified solution in this adaptive grid
+	 *         archive, or {@code -1} if the solution is not within the current
+	 *         lower and upper bounds
+	 */
+	public long findIndex(Solution solution) {
+		if (binned) {
+			Member member = members.get(solution);
+
+			if (member != null) {
+				return member.cell.index;
+			}
+		}
+
+		return computeIndex(solution);
+	}
+
+	/**
+	 * Computes the index of the specified solution in this adaptive grid
+	 * archive, or {@code -1} if the solution is not within the current lower
 	 * and upper bounds.
 	 * 
 	 * @param solution the specified solution
@@ -220,8 +504,9 @@ public class AdaptiveGridArchive extends NondominatedPopulation {
 	 *         archive, or {@code -1} if the solution is not within the current
 	 *         lower and upper bounds
 	 */
-	public int findIndex(Solution solution) {
-		int index = 0;
+	private long computeIndex(Solution solution) {
+		long index = 0;
+		long stride = 1;
 
 		for (int i = 0; i < problem.getNumberOfObjectives(); i++) {
 			double value = solution.getObjective(i);
@@ -237,7 +522,8 @@ public class AdaptiveGridArchive extends NondominatedPopulation {
 					tempIndex--;
 				}
 
-				index += tempIndex * (int)Math.pow(numberOfDivisions, i);
+				index += tempIndex * stride;
+				stride *= numberOfDivisions;
 			}
 		}
 
@@ -245,13 +531,89 @@ public class AdaptiveGridArchive extends NondominatedPopulation {
 	}
 	
 	/**
-	 * Returns the density of the solution at the given index.
+	 * Returns the density of the grid cell with the given index.
 	 * 
-	 * @param index the solution index
-	 * @return the density of the solution at the given index
+	 * @param index the grid index
+	 * @return the density of the grid cell with the given index
+	 */
+	public int getDensity(long index) {
+		ensureBinned();
+
+		Cell cell = cells.get(index);
+		return cell == null ? 0 : cell.members.size();
+	}
+
+	/**
+	 * An occupied grid cell.
 	 */
-	public int getDensity(int index) {
-		return density[index];
+	private static class Cell {
+
+		/**
+		 * The grid index of this cell.
+		 */
+		private final long index;
+
+		/**
+		 * The solutions in this cell, in the order they appear in the
+		 * archive.
+		 */
+		private final List<Member> members;
+
+		/**
+		 * The position of this cell in the heap.
+		 */
+		private int position;
+
+		/**
+		 * Constructs a new, empty grid cell.
+		 * 
+		 * @param index the grid index of this cell
+		 */
+		public Cell(long index) {
+			super();
+			this.index = index;
+
+			members = new ArrayList<Member>();
+		}
+
+	}
+
+	/**
+	 * A solution binned into a grid cell.
+	 */
+	private static class Member {
+
+		/**
+		 * The solution.
+		 */
+		private final Solution solution;
+
+		/**
+		 * The grid cell containing the solution.
+		 */
+		private final Cell cell;
+
+		/**
+		 * The sequence number following the order of solutions in the
+		 * archive.
+		 */
+		private final long sequence;
+
+		/**
+		 * Constructs a new solution binned into a grid cell.
+		 * 
+		 * @param solution the solution
+		 * @param cell the grid cell containing the solution
+		 * @param sequence the sequence number following the order of
+		 *        solutions in the archive
+		 */
+		public Member(Solution solution, Cell cell, long sequence) {
+			super();
+			this.solution = solution;
+			this.cell = cell;
+			this.sequence = sequence;
+		}
+
 	}
 
 }
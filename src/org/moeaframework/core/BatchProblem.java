@@ -0,0 +1,38 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core;
+
+/**
+ * Interface for problems that can evaluate many solutions at once more
+ * efficiently than evaluating each solution individually, such as problems
+ * that vectorize their computations or communicate with external simulators.
+ * Algorithms extending {@code AbstractAlgorithm} automatically use
+ * {@link #evaluateAll(Solution[])} when evaluating a population.
+ */
+public interface BatchProblem extends Problem {
+
+	/**
+	 * Evaluates the solutions, updating each solution's objectives and
+	 * constraints in place.  The result must be equivalent to calling
+	 * {@link #evaluate(Solution)} on each solution.
+	 * 
+	 * @param solutions the solutions to be evaluated
+	 */
+	public void evaluateAll(Solution[] solutions);
+
+}
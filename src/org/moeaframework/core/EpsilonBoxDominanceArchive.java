@@ -151,16 +151,28 @@ public class EpsilonBoxDominanceArchive extends NondominatedPopulation {
 		}
 
 		if (!same) {
-			numberOfImprovements++;
-
-			if (dominates) {
-				numberOfDominatingImprovements++;
-			}
+			recordImprovement(dominates);
 		}
 
 		return forceAddWithoutCheck(newSolution);
 	}
 
+	/**
+	 * Records an &epsilon;-box improvement, which occurs whenever a solution
+	 * is added to a previously unoccupied &epsilon;-box.  This method should
+	 * only be used by subclasses overriding {@link #add(Solution)}.
+	 * 
+	 * @param dominates {@code true} if the improvement dominated an existing
+	 *        solution; {@code false} otherwise
+	 */
+	protected void recordImprovement(boolean dominates) {
+		numberOfImprovements++;
+
+		if (dominates) {
+			numberOfDominatingImprovements++;
+		}
+	}
+
 	/**
 	 * Returns the &epsilon;-box dominance comparator used by this archive.
 	 * 
@@ -20,6 +20,7 @@ package org.moeaframework.core;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.moeaframework.core.comparator.AggregateConstraintComparator;
 import org.moeaframework.core.comparator.DominanceComparator;
 import org.moeaframework.core.comparator.ObjectiveComparator;
 import org.moeaframework.core.comparator.ParetoDominanceComparator;
@@ -29,6 +30,12 @@ import org.moeaframework.core.comparator.ParetoDominanceComparator;
  * {@code rank} and {@code crowdingDistance} attributes to solutions. Solutions
  * of rank 0 belong to the Pareto non-dominated front.
  * <p>
+ * When using the {@link ParetoDominanceComparator}, the ranks are computed on
+ * primitive objective arrays by one of the {@link NondominatedSorter}
+ * algorithms, which by default is selected by
+ * {@link Settings#getNondominatedSorter()}.  Other dominance comparators use
+ * the generic sorting routine based on {@link NondominatedPopulation}.
+ * <p>
  * References:
  * <ol>
  * <li>Deb et al (2002). "A Fast and Elitist Multiobjective Genetic Algorithm:
@@ -52,6 +59,12 @@ public class FastNondominatedSorting {
 	 */
 	private final DominanceComparator comparator;
 
+	/**
+	 * The non-dominated sorting algorithm used when the comparator is the
+	 * {@link ParetoDominanceComparator}.
+	 */
+	private final NondominatedSorter sorter;
+
 	/**
 	 * Constructs a fast non-dominated sorting operator using Pareto dominance.
 	 */
@@ -59,6 +72,16 @@ public class FastNondominatedSorting {
 		this(new ParetoDominanceComparator());
 	}
 
+	/**
+	 * Constructs a fast non-dominated sorting operator using Pareto dominance
+	 * and the specified non-dominated sorting algorithm.
+	 * 
+	 * @param sorter the non-dominated sorting algorithm
+	 */
+	public FastNondominatedSorting(NondominatedSorter sorter) {
+		this(new ParetoDominanceComparator(), sorter);
+	}
+
 	/**
 	 * Returns the dominance comparator used by this fast non-dominated sorting
 	 * routine.
@@ -77,8 +100,34 @@ public class FastNondominatedSorting {
 	 * @param comparator the dominance comparator
 	 */
 	public FastNondominatedSorting(DominanceComparator comparator) {
+		this(comparator, NondominatedSorter.valueOf(
+				Settings.getNondominatedSorter().toUpperCase()));
+	}
+
+	/**
+	 * Constructs a fast non-dominated sorting operator using the specified
+	 * dominance comparator and non-dominated sorting algorithm.  The sorting
+	 * algorithm is only used if the comparator is the
+	 * {@link ParetoDominanceComparator}.
+	 * 
+	 * @param comparator the dominance comparator
+	 * @param sorter the non-dominated sorting algorithm
+	 */
+	public FastNondominatedSorting(DominanceComparator comparator,
+			NondominatedSorter sorter) {
 		super();
 		this.comparator = comparator;
+		this.sorter = sorter;
+	}
+
+	/**
+	 * Returns the non-dominated sorting algorithm used when the comparator is
+	 * the {@link ParetoDominanceComparator}.
+	 * 
+	 * @return the non-dominated sorting algorithm
+	 */
+	public NondominatedSorter getSorter() {
+		return sorter;
 	}
 
 	/**
@@ -89,6 +138,87 @@ public class FastNondominatedSorting {
 	 * @param population the population whose solutions are to be evaluated
 	 */
 	public void evaluate(Population population) {
+		if (comparator.getClass() == ParetoDominanceComparator.class) {
+			evaluatePareto(population);
+		} else {
+			evaluateGeneric(population);
+		}
+	}
+
+	/**
+	 * Performs non-dominated sorting with the {@link NondominatedSorter},
+	 * operating on a primitive copy of the objectives and aggregate constraint
+	 * violations.  The solutions in each front are kept in population order
+	 * when computing the crowding distance, producing the same attributes as
+	 * {@link #evaluateGeneric(Population)}.
+	 * 
+	 * @param population the population whose solutions are to be evaluated
+	 */
+	private void evaluatePareto(Population population) {
+		int n = population.size();
+		double[][] objectives = new double[n][];
+		double[] constraints = null;
+
+		for (int i = 0; i < n; i++) {
+			Solution solution = population.get(i);
+			objectives[i] = solution.getObjectives();
+
+			if (solution.violatesConstraints()) {
+				if (constraints == null) {
+					constraints = new double[n];
+				}
+
+				constraints[i] = AggregateConstraintComparator
+						.getConstraintViolation(solution);
+			}
+		}
+
+		int[] ranks = sorter.sort(objectives, constraints);
+		int numberOfFronts = 0;
+
+		for (int i = 0; i < n; i++) {
+			numberOfFronts = Math.max(numberOfFronts, ranks[i] + 1);
+		}
+
+		// group the solutions by front using a counting sort
+		int[] frontSizes = new int[numberOfFronts + 1];
+
+		for (int i = 0; i < n; i++) {
+			frontSizes[ranks[i] + 1]++;
+		}
+
+		for (int i = 1; i <= numberOfFronts; i++) {
+			frontSizes[i] += frontSizes[i - 1];
+		}
+
+		int[] members = new int[n];
+		int[] offsets = frontSizes.clone();
+
+		for (int i = 0; i < n; i++) {
+			members[offsets[ranks[i]]++] = i;
+		}
+
+		double[] crowding = new double[n];
+
+		for (int i = 0; i < numberOfFronts; i++) {
+			int[] front = new int[frontSizes[i + 1] - frontSizes[i]];
+			System.arraycopy(members, frontSizes[i], front, 0, front.length);
+			NondominatedSorter.crowdingDistance(objectives, front, crowding);
+		}
+
+		for (int i = 0; i < n; i++) {
+			Solution solution = population.get(i);
+			solution.setAttribute(RANK_ATTRIBUTE, ranks[i]);
+			solution.setAttribute(CROWDING_ATTRIBUTE, crowding[i]);
+		}
+	}
+
+	/**
+	 * Performs fast non-dominated sorting using the dominance comparator.
+	 * 
+	 * @param population the population whose solutions are to be evaluated
+	 */
+	private void evaluateGeneric(Population population) {
 		List<Solution> remaining = new ArrayList<Solution>();
 
 		for (Solution solution : population) {
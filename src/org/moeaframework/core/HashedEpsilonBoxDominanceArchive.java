@@ -0,0 +1,932 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.moeaframework.core.comparator.AggregateConstraintComparator;
+import org.moeaframework.core.comparator.EpsilonBoxDominanceComparator;
+
+/**
+ * An &epsilon;-box dominance archive that indexes its members by their integer
+ * &epsilon;-box coordinates.  A new solution landing in an occupied box is
+ * compared only against the box's occupant, found in constant time through an
+ * open-addressing hash table.  Otherwise, the new solution's box is compared
+ * against the box coordinates of the members, stored as primitive
+ * {@code long} values.  Members are grouped into small blocks of nearby boxes
+ * bounded by their ideal and nadir box coordinates, so blocks that can neither
+ * dominate nor be dominated by the new box are skipped entirely.  The member
+ * whose box last rejected a new solution is checked first, since successive
+ * solutions tend to be dominated by the same nearby box.
+ * <p>
+ * This archive produces the same contents and counts the same
+ * &epsilon;-box improvements as an {@link EpsilonBoxDominanceArchive}.  Since
+ * all members share the same aggregate constraint violation, constraints are
+ * handled by comparing the new solution's constraint violation against that
+ * of the archive before consulting the index.  If the archive uses a subclass
+ * of {@link EpsilonBoxDominanceComparator}, or a box coordinate is not finite
+ * or exceeds the range of a {@code long}, the archive reverts to the linear
+ * scan of its superclass.
+ */
+public class HashedEpsilonBoxDominanceArchive extends
+EpsilonBoxDominanceArchive {
+
+	/**
+	 * The maximum number of members stored in a block before the block is
+	 * split.
+	 */
+	private static final int BLOCK_SIZE = 32;
+
+	/**
+	 * The largest magnitude of a box coordinate stored in the index.
+	 */
+	private static final double MAXIMUM_COORDINATE = (double)(1L << 62);
+
+	/**
+	 * {@code true} if the index reflects the current members of this
+	 * archive; {@code false} if the index must be rebuilt.
+	 */
+	private boolean indexed;
+
+	/**
+	 * The number of objectives of the indexed solutions.
+	 */
+	private int numberOfObjectives;
+
+	/**
+	 * The aggregate constraint violation shared by all solutions in this
+	 * archive.
+	 */
+	private double constraintViolation;
+
+	/**
+	 * The indexed solution stored in each slot; or {@code null} if the slot
+	 * is free.
+	 */
+	private Solution[] solutions;
+
+	/**
+	 * The box coordinates of the solution in slot {@code i}, stored starting
+	 * at index {@code i*numberOfObjectives}.
+	 */
+	private long[] boxes;
+
+	/**
+	 * The block containing the solution in each slot.
+	 */
+	private int[] blockOf;
+
+	/**
+	 * The position within its block of the solution in each slot.
+	 */
+	private int[] positions;
+
+	/**
+	 * The number of slots that have ever been used.
+	 */
+	private int numberOfSlots;
+
+	/**
+	 * The stack of free slots below {@code numberOfSlots}.
+	 */
+	private int[] freeSlots;
+
+	/**
+	 * The number of free slots on the stack.
+	 */
+	private int numberOfFreeSlots;
+
+	/**
+	 * The number of indexed solutions.
+	 */
+	private int count;
+
+	/**
+	 * The open-addressing hash table mapping box coordinates to slots, where
+	 * each entry stores the slot plus one and {@code 0} marks an empty entry.
+	 */
+	private int[] table;
+
+	/**
+	 * The slots of the members of block {@code b}, stored starting at index
+	 * {@code b*BLOCK_SIZE}.
+	 */
+	private int[] blockMembers;
+
+	/**
+	 * The number of members in each block.
+	 */
+	private int[] blockSizes;
+
+	/**
+	 * The smallest box coordinates of the members of block {@code b}, stored
+	 * starting at index {@code b*numberOfObjectives}.
+	 */
+	private long[] ideals;
+
+	/**
+	 * The largest box coordinates of the members of block {@code b}, stored
+	 * starting at index {@code b*numberOfObjectives}.
+	 */
+	private long[] nadirs;
+
+	/**
+	 * The number of blocks.
+	 */
+	private int numberOfBlocks;
+
+	/**
+	 * The box coordinates of the solution being added.
+	 */
+	private long[] box;
+
+	/**
+	 * The slot of the member that last dominated a new solution; or
+	 * {@code -1} if no such member is known.
+	 */
+	private int lastDominator;
+
+	/**
+	 * Constructs an empty hashed &epsilon;-box dominance archive using an
+	 * additive &epsilon;-box dominance comparator with the specified
+	 * &epsilon;.
+	 *
+	 * @param epsilon the &epsilon; value used by the additive &epsilon;-box
+	 *        dominance comparator
+	 */
+	public HashedEpsilonBoxDominanceArchive(double epsilon) {
+		this(new EpsilonBoxDominanceComparator(epsilon));
+	}
+
+	/**
+	 * Constructs an empty hashed &epsilon;-box dominance archive using an
+	 * additive &epsilon;-box dominance comparator with the specified
+	 * &epsilon; values.
+	 *
+	 * @param epsilon the &epsilon; values used by the additive &epsilon;-box
+	 *        dominance comparator
+	 */
+	public HashedEpsilonBoxDominanceArchive(double[] epsilon) {
+		this(new EpsilonBoxDominanceComparator(epsilon));
+	}
+
+	/**
+	 * Constructs a hashed &epsilon;-box dominance archive using an additive
+	 * &epsilon;-box dominance comparator with the specified &epsilon; values
+	 * and initialized with the specified solutions.
+	 *
+	 * @param epsilon the &epsilon; values used by the additive &epsilon;-box
+	 *        dominance comparator
+	 * @param iterable the solutions used to initialize this archive
+	 */
+	public HashedEpsilonBoxDominanceArchive(double[] epsilon,
+			Iterable<? extends Solution> iterable) {
+		this(epsilon);
+		addAll(iterable);
+	}
+
+	/**
+	 * Constructs an empty hashed &epsilon;-box dominance archive using the
+	 * specified &epsilon;-box dominance comparator.
+	 *
+	 * @param comparator the &epsilon;-box dominance comparator used by this
+	 *        archive
+	 */
+	public HashedEpsilonBoxDominanceArchive(
+			EpsilonBoxDominanceComparator comparator) {
+		super(comparator);
+		reset();
+	}
+
+	@Override
+	public boolean add(Solution newSolution) {
+		if ((getComparator().getClass() != EpsilonBoxDominanceComparator.class)
+				|| (!indexed && !rebuild())
+				|| !computeBox(newSolution, isEmpty())) {
+			indexed = false;
+			return super.add(newSolution);
+		}
+
+		double violation = AggregateConstraintComparator
+				.getConstraintViolation(newSolution);
+
+		if (!isEmpty()) {
+			int flag = AggregateConstraintComparator.compare(violation,
+					constraintViolation);
+
+			if (flag > 0) {
+				return false;
+			} else if (flag < 0) {
+				// the new solution dominates every member
+				clear();
+				recordImprovement(true);
+				return forceAddWithoutCheck(newSolution);
+			}
+		}
+
+		if (isEmpty()) {
+			recordImprovement(false);
+			return forceAddWithoutCheck(newSolution);
+		}
+
+		int slot = find();
+
+		if (slot >= 0) {
+			// only the occupant of the same box can be compared
+			Solution occupant = solutions[slot];
+
+			if (getComparator().compare(newSolution, occupant) > 0) {
+				return false;
+			}
+
+			super.remove(occupant);
+			removeSlot(slot);
+			return forceAddWithoutCheck(newSolution);
+		}
+
+		if ((lastDominator >= 0) && (solutions[lastDominator] != null) &&
+				(compareBoxes(lastDominator) > 0)) {
+			return false;
+		}
+
+		List<Integer> dominated = new ArrayList<Integer>();
+
+		for (int b = 0; b < numberOfBlocks; b++) {
+			if (!isBlockComparable(b)) {
+				continue;
+			}
+
+			for (int i = 0; i < blockSizes[b]; i++) {
+				int member = blockMembers[b*BLOCK_SIZE + i];
+				int flag = compareBoxes(member);
+
+				if (flag > 0) {
+					lastDominator = member;
+					return false;
+				} else if (flag < 0) {
+					dominated.add(member);
+				}
+			}
+		}
+
+		for (int member : dominated) {
+			super.remove(solutions[member]);
+			removeSlot(member);
+		}
+
+		recordImprovement(!dominated.isEmpty());
+		return forceAddWithoutCheck(newSolution);
+	}
+
+	@Override
+	public void replace(int index, Solution newSolution) {
+		indexed = false;
+		super.replace(index, newSolution);
+	}
+
+	@Override
+	protected boolean forceAddWithoutCheck(Solution newSolution) {
+		if (indexed) {
+			if (isEmpty()) {
+				constraintViolation = AggregateConstraintComparator
+						.getConstraintViolation(newSolution);
+			}
+
+			if (computeBox(newSolution, isEmpty())) {
+				insert(newSolution);
+			} else {
+				indexed = false;
+			}
+		}
+
+		return super.forceAddWithoutCheck(newSolution);
+	}
+
+	@Override
+	protected void forceReplaceWithoutCheck(int index, Solution newSolution) {
+		indexed = false;
+		super.forceReplaceWithoutCheck(index, newSolution);
+	}
+
+	@Override
+	public void remove(int index) {
+		Solution solution = get(index);
+		super.remove(index);
+		removeFromIndex(solution);
+	}
+
+	@Override
+	public boolean remove(Solution solution) {
+		if (super.remove(solution)) {
+			removeFromIndex(solution);
+			return true;
+		} else {
+			return false;
+		}
+	}
+
+	@Override
+	public void clear() {
+		super.clear();
+		reset();
+	}
+
+	@Override
+	public void truncate(int size, Comparator<? super Solution> comparator) {
+		sort(comparator);
+
+		while (size() > size) {
+			remove(size() - 1);
+		}
+	}
+
+	/**
+	 * Empties the index.
+	 */
+	private void reset() {
+		indexed = true;
+		numberOfObjectives = 0;
+		solutions = new Solution[16];
+		boxes = new long[0];
+		blockOf = new int[16];
+		positions = new int[16];
+		numberOfSlots = 0;
+		freeSlots = new int[16];
+		numberOfFreeSlots = 0;
+		count = 0;
+		table = new int[32];
+		blockMembers = new int[4*BLOCK_SIZE];
+		blockSizes = new int[4];
+		ideals = new long[0];
+		nadirs = new long[0];
+		numberOfBlocks = 0;
+		box = new long[0];
+		lastDominator = -1;
+	}
+
+	/**
+	 * Rebuilds the index from the current members of this archive.
+	 *
+	 * @return {@code true} if the index was rebuilt; {@code false} if a
+	 *         member could not be indexed
+	 */
+	private boolean rebuild() {
+		reset();
+
+		for (Solution solution : this) {
+			if (count == 0) {
+				constraintViolation = AggregateConstraintComparator
+						.getConstraintViolation(solution);
+			}
+
+			if (!computeBox(solution, count == 0)) {
+				indexed = false;
+				return false;
+			}
+
+			insert(solution);
+		}
+
+		return true;
+	}
+
+	/**
+	 * Computes the box coordinates of a solution, storing them in
+	 * {@code box}.
+	 *
+	 * @param solution the solution
+	 * @param first {@code true} if the solution determines the number of
+	 *        objectives of the index; {@code false} otherwise
+	 * @return {@code true} if the box coordinates can be indexed;
+	 *         {@code false} otherwise
+	 */
+	private boolean computeBox(Solution solution, boolean first) {
+		if (first) {
+			numberOfObjectives = solution.getNumberOfObjectives();
+			boxes = new long[solutions.length*numberOfObjectives];
+			ideals = new long[blockSizes.length*numberOfObjectives];
+			nadirs = new long[blockSizes.length*numberOfObjectives];
+			box = new long[numberOfObjectives];
+		} else if (solution.getNumberOfObjectives() != numberOfObjectives) {
+			return false;
+		}
+
+		for (int i = 0; i < numberOfObjectives; i++) {
+			// same as the box index computed by the comparator
+			double index = Math.floor(solution.getObjective(i) /
+					getComparator().getEpsilon(i));
+
+			if (!(Math.abs(index) < MAXIMUM_COORDINATE)) {
+				return false;
+			}
+
+			box[i] = (long)index;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Compares the box of a member against {@code box}.
+	 *
+	 * @param slot the slot of the member
+	 * @return {@code 1} if the member's box dominates {@code box}, {@code -1}
+	 *         if {@code box} dominates the member's box, or {@code 0} if the
+	 *         boxes are non-dominated or identical
+	 */
+	private int compareBoxes(int slot) {
+		int offset = slot*numberOfObjectives;
+		boolean dominate1 = false;
+		boolean dominate2 = false;
+
+		for (int i = 0; i < numberOfObjectives; i++) {
+			long coordinate = boxes[offset + i];
+
+			if (coordinate < box[i]) {
+				dominate1 = true;
+
+				if (dominate2) {
+					return 0;
+				}
+			} else if (coordinate > box[i]) {
+				dominate2 = true;
+
+				if (dominate1) {
+					return 0;
+				}
+			}
+		}
+
+		if (dominate1) {
+			return 1;
+		} else if (dominate2) {
+			return -1;
+		} else {
+			return 0;
+		}
+	}
+
+	/**
+	 * Returns {@code true} if a member of the block may dominate or be
+	 * dominated by {@code box}; {@code false} otherwise.  A member can only
+	 * dominate {@code box} if the block's ideal point weakly dominates it,
+	 * and can only be dominated if {@code box} weakly dominates the block's
+	 * nadir point.
+	 *
+	 * @param block the block
+	 * @return {@code true} if a member of the block may dominate or be
+	 *         dominated by {@code box}; {@code false} otherwise
+	 */
+	private boolean isBlockComparable(int block) {
+		int offset = block*numberOfObjectives;
+		boolean mayDominate = true;
+		boolean mayBeDominated = true;
+
+		for (int i = 0; i < numberOfObjectives; i++) {
+			if (ideals[offset + i] > box[i]) {
+				mayDominate = false;
+
+				if (!mayBeDominated) {
+					return false;
+				}
+			}
+
+			if (nadirs[offset + i] < box[i]) {
+				mayBeDominated = false;
+
+				if (!mayDominate) {
+					return false;
+				}
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns the hash code of box coordinates.
+	 *
+	 * @param array the array containing the box coordinates
+	 * @param offset the index of the first coordinate
+	 * @return the hash code of the box coordinates
+	 */
+	private int hash(long[] array, int offset) {
+		long hash = 0;
+
+		for (int i = 0; i < numberOfObjectives; i++) {
+			hash = 31*hash + array[offset + i];
+		}
+
+		// spread the bits since the table size is a power of two
+		hash *= 0x9E3779B97F4A7C15L;
+		return (int)(hash ^ (hash >>> 32));
+	}
+
+	/**
+	 * Returns the slot of the member occupying {@code box}.
+	 *
+	 * @return the slot of the member occupying {@code box}; or {@code -1} if
+	 *         the box is unoccupied
+	 */
+	private int find() {
+		int mask = table.length - 1;
+		int position = hash(box, 0) & mask;
+
+		while (table[position] != 0) {
+			int slot = table[position] - 1;
+			int offset = slot*numberOfObjectives;
+			boolean same = true;
+
+			for (int i = 0; i < numberOfObjectives; i++) {
+				if (boxes[offset + i] != box[i]) {
+					same = false;
+					break;
+				}
+			}
+
+			if (same) {
+				return slot;
+			}
+
+			position = (position + 1) & mask;
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Adds the slot to the hash table.
+	 *
+	 * @param slot the slot
+	 */
+	private void addToTable(int slot) {
+		int mask = table.length - 1;
+		int position = hash(boxes, slot*numberOfObjectives) & mask;
+
+		while (table[position] != 0) {
+			position = (position + 1) & mask;
+		}
+
+		table[position] = slot + 1;
+	}
+
+	/**
+	 * Removes the slot from the hash table, shifting back any later entries
+	 * in its cluster.
+	 *
+	 * @param slot the slot
+	 */
+	private void removeFromTable(int slot) {
+		int mask = table.length - 1;
+		int position = hash(boxes, slot*numberOfObjectives) & mask;
+
+		while (table[position] != slot + 1) {
+			position = (position + 1) & mask;
+		}
+
+		int next = (position + 1) & mask;
+		table[position] = 0;
+
+		while (table[next] != 0) {
+			int entry = table[next];
+			int home = hash(boxes, (entry - 1)*numberOfObjectives) & mask;
+
+			if (((next - home) & mask) >= ((next - position) & mask)) {
+				table[position] = entry;
+				table[next] = 0;
+				position = next;
+			}
+
+			next = (next + 1) & mask;
+		}
+	}
+
+	/**
+	 * Inserts a solution into the index using the box coordinates stored in
+	 * {@code box}.
+	 *
+	 * @param solution the solution
+	 */
+	private void insert(Solution solution) {
+		int slot;
+
+		if (numberOfFreeSlots > 0) {
+			slot = freeSlots[--numberOfFreeSlots];
+		} else {
+			if (numberOfSlots == solutions.length) {
+				int capacity = 2*solutions.length;
+				Solution[] newSolutions = new Solution[capacity];
+				long[] newBoxes = new long[capacity*numberOfObjectives];
+				int[] newBlockOf = new int[capacity];
+				int[] newPositions = new int[capacity];
+
+				System.arraycopy(solutions, 0, newSolutions, 0,
+						numberOfSlots);
+				System.arraycopy(boxes, 0, newBoxes, 0,
+						numberOfSlots*numberOfObjectives);
+				System.arraycopy(blockOf, 0, newBlockOf, 0, numberOfSlots);
+				System.arraycopy(positions, 0, newPositions, 0,
+						numberOfSlots);
+				solutions = newSolutions;
+				boxes = newBoxes;
+				blockOf = newBlockOf;
+				positions = newPositions;
+				freeSlots = new int[capacity];
+			}
+
+			slot = numberOfSlots++;
+		}
+
+		solutions[slot] = solution;
+		System.arraycopy(box, 0, boxes, slot*numberOfObjectives,
+				numberOfObjectives);
+		count++;
+
+		if (2*count > table.length) {
+			// keep the load factor at or below one half
+			table = new int[2*table.length];
+
+			for (int i = 0; i < numberOfSlots; i++) {
+				if (solutions[i] != null) {
+					addToTable(i);
+				}
+			}
+		} else {
+			addToTable(slot);
+		}
+
+		addToBlock(slot);
+	}
+
+	/**
+	 * Removes a solution from the index.
+	 *
+	 * @param solution the solution
+	 */
+	private void removeFromIndex(Solution solution) {
+		if (!indexed) {
+			return;
+		}
+
+		for (int i = 0; i < numberOfSlots; i++) {
+			if (solutions[i] == solution) {
+				removeSlot(i);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Removes the solution in the slot from the index, freeing the slot.
+	 *
+	 * @param slot the slot
+	 */
+	private void removeSlot(int slot) {
+		removeFromTable(slot);
+		removeFromBlock(slot);
+
+		solutions[slot] = null;
+		freeSlots[numberOfFreeSlots++] = slot;
+		count--;
+	}
+
+	/**
+	 * Returns the amount the bounds of the block must grow to contain the box
+	 * of the slot.
+	 *
+	 * @param block the block
+	 * @param slot the slot
+	 * @return the amount the bounds of the block must grow to contain the box
+	 *         of the slot
+	 */
+	private double getEnlargement(int block, int slot) {
+		int offset = block*numberOfObjectives;
+		int slotOffset = slot*numberOfObjectives;
+		double enlargement = 0.0;
+
+		for (int i = 0; i < numberOfObjectives; i++) {
+			long coordinate = boxes[slotOffset + i];
+
+			if (coordinate < ideals[offset + i]) {
+				enlargement += (double)ideals[offset + i] - coordinate;
+			} else if (coordinate > nadirs[offset + i]) {
+				enlargement += (double)coordinate - nadirs[offset + i];
+			}
+		}
+
+		return enlargement;
+	}
+
+	/**
+	 * Adds the slot to the block requiring the least enlargement, splitting
+	 * the block if it is full.
+	 *
+	 * @param slot the slot
+	 */
+	private void addToBlock(int slot) {
+		int block = -1;
+		double minimumEnlargement = Double.POSITIVE_INFINITY;
+
+		for (int b = 0; b < numberOfBlocks; b++) {
+			double enlargement = getEnlargement(b, slot);
+
+			if ((enlargement < minimumEnlargement) ||
+					((enlargement == minimumEnlargement) &&
+							(blockSizes[b] < blockSizes[block]))) {
+				minimumEnlargement = enlargement;
+				block = b;
+			}
+		}
+
+		if (block < 0) {
+			block = createBlock();
+		} else if (blockSizes[block] == BLOCK_SIZE) {
+			int other = splitBlock(block);
+
+			if (getEnlargement(other, slot) < getEnlargement(block, slot)) {
+				block = other;
+			}
+		}
+
+		int position = blockSizes[block]++;
+		int offset = block*numberOfObjectives;
+		int slotOffset = slot*numberOfObjectives;
+
+		blockMembers[block*BLOCK_SIZE + position] = slot;
+		blockOf[slot] = block;
+		positions[slot] = position;
+
+		for (int i = 0; i < numberOfObjectives; i++) {
+			long coordinate = boxes[slotOffset + i];
+
+			if ((position == 0) || (coordinate < ideals[offset + i])) {
+				ideals[offset + i] = coordinate;
+			}
+
+			if ((position == 0) || (coordinate > nadirs[offset + i])) {
+				nadirs[offset + i] = coordinate;
+			}
+		}
+	}
+
+	/**
+	 * Creates a new, empty block.
+	 *
+	 * @return the new block
+	 */
+	private int createBlock() {
+		if (numberOfBlocks == blockSizes.length) {
+			int capacity = 2*blockSizes.length;
+			int[] newBlockMembers = new int[capacity*BLOCK_SIZE];
+			int[] newBlockSizes = new int[capacity];
+			long[] newIdeals = new long[capacity*numberOfObjectives];
+			long[] newNadirs = new long[capacity*numberOfObjectives];
+
+			System.arraycopy(blockMembers, 0, newBlockMembers, 0,
+					numberOfBlocks*BLOCK_SIZE);
+			System.arraycopy(blockSizes, 0, newBlockSizes, 0,
+					numberOfBlocks);
+			System.arraycopy(ideals, 0, newIdeals, 0,
+					numberOfBlocks*numberOfObjectives);
+			System.arraycopy(nadirs, 0, newNadirs, 0,
+					numberOfBlocks*numberOfObjectives);
+			blockMembers = newBlockMembers;
+			blockSizes = newBlockSizes;
+			ideals = newIdeals;
+			nadirs = newNadirs;
+		}
+
+		blockSizes[numberOfBlocks] = 0;
+		return numberOfBlocks++;
+	}
+
+	/**
+	 * Splits a full block in half along the objective with the widest range
+	 * of box coordinates, moving the upper half to a new block.
+	 *
+	 * @param block the full block
+	 * @return the new block
+	 */
+	private int splitBlock(int block) {
+		int other = createBlock();
+		int offset = block*numberOfObjectives;
+		int axis = 0;
+		double maximumRange = -1.0;
+
+		for (int i = 0; i < numberOfObjectives; i++) {
+			double range = (double)nadirs[offset + i] - ideals[offset + i];
+
+			if (range > maximumRange) {
+				maximumRange = range;
+				axis = i;
+			}
+		}
+
+		// insertion sort the members by their coordinate on the axis
+		int start = block*BLOCK_SIZE;
+
+		for (int i = 1; i < BLOCK_SIZE; i++) {
+			int member = blockMembers[start + i];
+			long coordinate = boxes[member*numberOfObjectives + axis];
+			int j = i - 1;
+
+			while ((j >= 0) && (boxes[blockMembers[start + j]*
+					numberOfObjectives + axis] > coordinate)) {
+				blockMembers[start + j + 1] = blockMembers[start + j];
+				j--;
+			}
+
+			blockMembers[start + j + 1] = member;
+		}
+
+		int half = BLOCK_SIZE / 2;
+
+		System.arraycopy(blockMembers, start + half, blockMembers,
+				other*BLOCK_SIZE, BLOCK_SIZE - half);
+		blockSizes[block] = half;
+		blockSizes[other] = BLOCK_SIZE - half;
+
+		updateBlock(block);
+		updateBlock(other);
+		return other;
+	}
+
+	/**
+	 * Removes the slot from its block, deleting the block if it becomes
+	 * empty.
+	 *
+	 * @param slot the slot
+	 */
+	private void removeFromBlock(int slot) {
+		int block = blockOf[slot];
+		int last = --blockSizes[block];
+
+		if (positions[slot] != last) {
+			int moved = blockMembers[block*BLOCK_SIZE + last];
+			blockMembers[block*BLOCK_SIZE + positions[slot]] = moved;
+			positions[moved] = positions[slot];
+		}
+
+		if (blockSizes[block] > 0) {
+			updateBlock(block);
+		} else {
+			// move the last block into the deleted block
+			int lastBlock = --numberOfBlocks;
+
+			if (block != lastBlock) {
+				System.arraycopy(blockMembers, lastBlock*BLOCK_SIZE,
+						blockMembers, block*BLOCK_SIZE, blockSizes[lastBlock]);
+				blockSizes[block] = blockSizes[lastBlock];
+				updateBlock(block);
+			}
+		}
+	}
+
+	/**
+	 * Updates the membership and bounds of a block after its members have
+	 * changed.
+	 *
+	 * @param block the block
+	 */
+	private void updateBlock(int block) {
+		int offset = block*numberOfObjectives;
+
+		for (int j = 0; j < blockSizes[block]; j++) {
+			int member = blockMembers[block*BLOCK_SIZE + j];
+			int memberOffset = member*numberOfObjectives;
+
+			blockOf[member] = block;
+			positions[member] = j;
+
+			for (int i = 0; i < numberOfObjectives; i++) {
+				long coordinate = boxes[memberOffset + i];
+
+				if ((j == 0) || (coordinate < ideals[offset + i])) {
+					ideals[offset + i] = coordinate;
+				}
+
+				if ((j == 0) || (coordinate > nadirs[offset + i])) {
+					nadirs[offset + i] = coordinate;
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,713 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.moeaframework.core.comparator.AggregateConstraintComparator;
+import org.moeaframework.core.comparator.ParetoDominanceComparator;
+
+/**
+ * A non-dominated population using the Pareto dominance relation that is
+ * indexed by an ND-tree [1], allowing large archives to be updated in
+ * sub-linear average time.  The ND-tree recursively partitions the archive
+ * into nodes bounded by their local ideal and nadir points.  A new solution
+ * is only compared against the members of nodes whose bounds indicate the
+ * node may contain a solution dominating, dominated by, or nearly identical
+ * to the new solution; all other nodes are skipped.
+ * <p>
+ * This archive produces the same contents as a {@link NondominatedPopulation}
+ * using a {@link ParetoDominanceComparator}.  Since all members of a
+ * non-dominated population share the same aggregate constraint violation,
+ * constraints are handled by comparing the new solution's constraint violation
+ * against that of the archive before consulting the tree.
+ * <p>
+ * References:
+ * <ol>
+ *   <li>Jaszkiewicz, A. and T. Lust.  "ND-Tree-Based Update: A Fast Algorithm
+ *       for the Dynamic Nondominance Problem."  IEEE Transactions on
+ *       Evolutionary Computation, 22(5):778-791, 2018.
+ * </ol>
+ */
+public class NDTreeArchive extends NondominatedPopulation {
+
+	/**
+	 * The default maximum number of solutions stored in a leaf node.
+	 */
+	public static final int DEFAULT_MAXIMUM_LEAF_SIZE = 20;
+
+	/**
+	 * The maximum number of solutions stored in a leaf node before the leaf
+	 * is split.
+	 */
+	private final int maximumLeafSize;
+
+	/**
+	 * The root node of the ND-tree.
+	 */
+	private Node root;
+
+	/**
+	 * Maps each solution in this archive to its entry in the ND-tree.
+	 */
+	private final Map<Solution, Entry> entries;
+
+	/**
+	 * The aggregate constraint violation shared by all solutions in this
+	 * archive.
+	 */
+	private double constraintViolation;
+
+	/**
+	 * Constructs an empty ND-tree archive.
+	 */
+	public NDTreeArchive() {
+		this(DEFAULT_MAXIMUM_LEAF_SIZE);
+	}
+
+	/**
+	 * Constructs an empty ND-tree archive with the specified maximum number of
+	 * solutions stored in each leaf node.
+	 *
+	 * @param maximumLeafSize the maximum number of solutions stored in a leaf
+	 *        node before the leaf is split
+	 * @throws IllegalArgumentException if {@code maximumLeafSize < 1}
+	 */
+	public NDTreeArchive(int maximumLeafSize) {
+		super(new ParetoDominanceComparator());
+
+		if (maximumLeafSize < 1) {
+			throw new IllegalArgumentException("invalid maximum leaf size");
+		}
+
+		this.maximumLeafSize = maximumLeafSize;
+
+		root = new Node(null);
+		entries = new IdentityHashMap<Solution, Entry>();
+	}
+
+	/**
+	 * Constructs an ND-tree archive initialized with the specified solutions.
+	 *
+	 * @param iterable the solutions used to initialize this archive
+	 */
+	public NDTreeArchive(Iterable<? extends Solution> iterable) {
+		this();
+		addAll(iterable);
+	}
+
+	@Override
+	public boolean add(Solution newSolution) {
+		if (!prepare(newSolution)) {
+			return false;
+		}
+
+		insert(newSolution);
+		return super.forceAddWithoutCheck(newSolution);
+	}
+
+	@Override
+	public void replace(int index, Solution newSolution) {
+		if (!prepare(newSolution)) {
+			return;
+		}
+
+		removeFromTree(get(index));
+		insert(newSolution);
+		forceReplaceWithoutCheck(index, newSolution);
+	}
+
+	@Override
+	protected boolean forceAddWithoutCheck(Solution newSolution) {
+		if (isEmpty()) {
+			constraintViolation = AggregateConstraintComparator
+					.getConstraintViolation(newSolution);
+		}
+
+		insert(newSolution);
+		return super.forceAddWithoutCheck(newSolution);
+	}
+
+	@Override
+	public void remove(int index) {
+		Solution solution = get(index);
+		super.remove(index);
+		removeFromTree(solution);
+	}
+
+	@Override
+	public boolean remove(Solution solution) {
+		if (super.remove(solution)) {
+			removeFromTree(solution);
+			return true;
+		} else {
+			return false;
+		}
+	}
+
+	@Override
+	public void clear() {
+		super.clear();
+		root = new Node(null);
+		entries.clear();
+	}
+
+	@Override
+	public void truncate(int size, Comparator<? super Solution> comparator) {
+		sort(comparator);
+
+		while (size() > size) {
+			remove(size() - 1);
+		}
+	}
+
+	/**
+	 * Determines if the new solution is non-dominated with respect to this
+	 * archive and, if so, removes all solutions dominated by the new solution.
+	 * The new solution is not yet added to the archive.
+	 *
+	 * @param newSolution the new solution
+	 * @return {@code true} if the new solution should be added to this
+	 *         archive; {@code false} otherwise
+	 */
+	private boolean prepare(Solution newSolution) {
+		double violation = AggregateConstraintComparator
+				.getConstraintViolation(newSolution);
+
+		if (!isEmpty()) {
+			int flag = AggregateConstraintComparator.compare(violation,
+					constraintViolation);
+
+			if (flag > 0) {
+				return false;
+			} else if (flag < 0) {
+				clear();
+			}
+		}
+
+		if (isEmpty()) {
+			constraintViolation = violation;
+			return true;
+		}
+
+		double[] objectives = newSolution.getObjectives();
+
+		if (isCovered(root, objectives)) {
+			return false;
+		}
+
+		List<Entry> removed = new ArrayList<Entry>();
+		removeDominated(root, objectives, removed);
+
+		if (!root.isLeaf() && root.children.isEmpty()) {
+			root = new Node(null);
+		}
+
+		for (Entry entry : removed) {
+			entries.remove(entry.solution);
+			super.remove(entry.solution);
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns {@code true} if a solution in the given node weakly dominates
+	 * the point or is non-dominated with and within {@link Settings#EPS} of
+	 * the point; {@code false} otherwise.  These are the conditions under
+	 * which {@link NondominatedPopulation#add(Solution)} rejects a solution.
+	 *
+	 * @param node the node being searched
+	 * @param point the objectives of the new solution
+	 * @return {@code true} if a solution in the given node causes the point
+	 *         to be rejected; {@code false} otherwise
+	 */
+	private boolean isCovered(Node node, double[] point) {
+		if (node.ideal == null) {
+			return false;
+		}
+
+		for (int i = 0; i < point.length; i++) {
+			if (node.ideal[i] > point[i] + Settings.EPS) {
+				return false;
+			}
+		}
+
+		if (weaklyDominates(node.nadir, point)) {
+			return true;
+		}
+
+		if (node.isLeaf()) {
+			for (Entry entry : node.entries) {
+				if (covers(entry.objectives, point)) {
+					return true;
+				}
+			}
+		} else {
+			for (Node child : node.children) {
+				if (isCovered(child, point)) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Removes from the given node all entries dominated by the point.  The
+	 * point must not be covered by any entry in this archive.
+	 *
+	 * @param node the node being searched
+	 * @param point the objectives of the new solution
+	 * @param removed the list collecting the removed entries
+	 */
+	private void removeDominated(Node node, double[] point,
+			List<Entry> removed) {
+		if ((node.ideal == null) || !weaklyDominates(point, node.nadir)) {
+			return;
+		}
+
+		if (weaklyDominates(point, node.ideal)) {
+			// the point dominates every entry in this node
+			collect(node, removed);
+			node.clear();
+			return;
+		}
+
+		if (node.isLeaf()) {
+			Iterator<Entry> iterator = node.entries.iterator();
+
+			while (iterator.hasNext()) {
+				Entry entry = iterator.next();
+
+				if (weaklyDominates(point, entry.objectives)) {
+					iterator.remove();
+					removed.add(entry);
+				}
+			}
+		} else {
+			Iterator<Node> iterator = node.children.iterator();
+
+			while (iterator.hasNext()) {
+				Node child = iterator.next();
+				removeDominated(child, point, removed);
+
+				if (child.ideal == null) {
+					iterator.remove();
+				}
+			}
+		}
+
+		node.updateBounds();
+	}
+
+	/**
+	 * Adds all entries stored in the given node and its descendants to the
+	 * list.
+	 *
+	 * @param node the node
+	 * @param list the list collecting the entries
+	 */
+	private void collect(Node node, List<Entry> list) {
+		if (node.isLeaf()) {
+			list.addAll(node.entries);
+		} else {
+			for (Node child : node.children) {
+				collect(child, list);
+			}
+		}
+	}
+
+	/**
+	 * Inserts the solution into the ND-tree.
+	 *
+	 * @param solution the solution to insert
+	 */
+	private void insert(Solution solution) {
+		Entry entry = new Entry(solution, solution.getObjectives());
+		Node node = root;
+
+		while (!node.isLeaf()) {
+			node.extendBounds(entry.objectives);
+			node = findClosestChild(node, entry.objectives);
+		}
+
+		node.entries.add(entry);
+		node.extendBounds(entry.objectives);
+		entry.leaf = node;
+		entries.put(solution, entry);
+
+		if (node.entries.size() > maximumLeafSize) {
+			split(node);
+		}
+	}
+
+	/**
+	 * Removes the solution from the ND-tree, tightening the bounds of its
+	 * ancestors and removing any nodes left empty.
+	 *
+	 * @param solution the solution to remove
+	 */
+	private void removeFromTree(Solution solution) {
+		Entry entry = entries.remove(solution);
+
+		if (entry == null) {
+			return;
+		}
+
+		Node node = entry.leaf;
+		node.entries.remove(entry);
+
+		while (node != null) {
+			node.updateBounds();
+
+			if ((node.ideal == null) && (node.parent != null)) {
+				node.parent.children.remove(node);
+			}
+
+			node = node.parent;
+		}
+
+		if (!root.isLeaf() && root.children.isEmpty()) {
+			root = new Node(null);
+		}
+	}
+
+	/**
+	 * Splits a leaf node exceeding the maximum leaf size into {@code M+1}
+	 * children, where {@code M} is the number of objectives.  The first child
+	 * is seeded with the entry furthest on average from all other entries, and
+	 * each subsequent child with the entry furthest on average from the
+	 * existing seeds.  The remaining entries are assigned to the closest child.
+	 *
+	 * @param leaf the leaf node to split
+	 */
+	private void split(Node leaf) {
+		List<Entry> remaining = leaf.entries;
+		int numberOfChildren = Math.min(
+				remaining.get(0).objectives.length + 1, remaining.size());
+		List<Entry> seeds = new ArrayList<Entry>(numberOfChildren);
+
+		leaf.entries = null;
+		leaf.children = new ArrayList<Node>(numberOfChildren);
+
+		seeds.add(remaining.remove(findFurthest(remaining, remaining)));
+
+		while (seeds.size() < numberOfChildren) {
+			seeds.add(remaining.remove(findFurthest(remaining, seeds)));
+		}
+
+		for (Entry seed : seeds) {
+			Node child = new Node(leaf);
+			child.entries.add(seed);
+			child.extendBounds(seed.objectives);
+			seed.leaf = child;
+			leaf.children.add(child);
+		}
+
+		for (Entry entry : remaining) {
+			Node child = findClosestChild(leaf, entry.objectives);
+			child.entries.add(entry);
+			child.extendBounds(entry.objectives);
+			entry.leaf = child;
+		}
+	}
+
+	/**
+	 * Returns the index of the candidate with the largest average distance to
+	 * the reference entries.
+	 *
+	 * @param candidates the candidate entries
+	 * @param references the reference entries
+	 * @return the index of the candidate with the largest average distance to
+	 *         the reference entries
+	 */
+	private int findFurthest(List<Entry> candidates, List<Entry> references) {
+		int furthestIndex = 0;
+		double furthestDistance = Double.NEGATIVE_INFINITY;
+
+		for (int i = 0; i < candidates.size(); i++) {
+			double[] point = candidates.get(i).objectives;
+			double distance = 0.0;
+
+			for (Entry reference : references) {
+				distance += Math.sqrt(squaredDistance(point,
+						reference.objectives));
+			}
+
+			if (distance > furthestDistance) {
+				furthestIndex = i;
+				furthestDistance = distance;
+			}
+		}
+
+		return furthestIndex;
+	}
+
+	/**
+	 * Returns the child of the internal node whose midpoint, the point halfway
+	 * between its ideal and nadir points, is closest to the point.
+	 *
+	 * @param node the internal node
+	 * @param point the point
+	 * @return the child whose midpoint is closest to the point
+	 */
+	private Node findClosestChild(Node node, double[] point) {
+		Node closest = null;
+		double closestDistance = Double.POSITIVE_INFINITY;
+
+		for (Node child : node.children) {
+			double distance = 0.0;
+
+			for (int i = 0; i < point.length; i++) {
+				double difference = point[i] -
+						(child.ideal[i] + child.nadir[i]) / 2.0;
+				distance += difference * difference;
+			}
+
+			if (distance < closestDistance) {
+				closest = child;
+				closestDistance = distance;
+			}
+		}
+
+		return closest;
+	}
+
+	/**
+	 * Returns {@code true} if the existing point causes the new point to be
+	 * rejected, either because the existing point weakly dominates the new
+	 * point or because the two points are non-dominated and within
+	 * {@link Settings#EPS} of one another.
+	 *
+	 * @param existing the existing point
+	 * @param point the new point
+	 * @return {@code true} if the existing point causes the new point to be
+	 *         rejected; {@code false} otherwise
+	 */
+	private static boolean covers(double[] existing, double[] point) {
+		boolean existingBetter = false;
+		boolean pointBetter = false;
+
+		for (int i = 0; i < point.length; i++) {
+			if (existing[i] < point[i]) {
+				existingBetter = true;
+			} else if (point[i] < existing[i]) {
+				pointBetter = true;
+			}
+		}
+
+		if (!pointBetter) {
+			return true;
+		} else if (!existingBetter) {
+			return false;
+		} else {
+			return Math.sqrt(squaredDistance(existing, point)) < Settings.EPS;
+		}
+	}
+
+	/**
+	 * Returns {@code true} if every objective of the first point is less than
+	 * or equal to the corresponding objective of the second point.
+	 *
+	 * @param point1 the first point
+	 * @param point2 the second point
+	 * @return {@code true} if the first point weakly dominates the second
+	 *         point; {@code false} otherwise
+	 */
+	private static boolean weaklyDominates(double[] point1, double[] point2) {
+		for (int i = 0; i < point1.length; i++) {
+			if (point1[i] > point2[i]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns the squared Euclidean distance between two points.
+	 *
+	 * @param point1 the first point
+	 * @param point2 the second point
+	 * @return the squared Euclidean distance between two points
+	 */
+	private static double squaredDistance(double[] point1, double[] point2) {
+		double distance = 0.0;
+
+		for (int i = 0; i < point1.length; i++) {
+			double difference = point1[i] - point2[i];
+			distance += difference * difference;
+		}
+
+		return distance;
+	}
+
+	/**
+	 * A solution stored in the ND-tree.
+	 */
+	private static class Entry {
+
+		/**
+		 * The solution.
+		 */
+		private final Solution solution;
+
+		/**
+		 * A copy of the solution's objectives.
+		 */
+		private final double[] objectives;
+
+		/**
+		 * The leaf node containing this entry.
+		 */
+		private Node leaf;
+
+		/**
+		 * Constructs a new entry.
+		 *
+		 * @param solution the solution
+		 * @param objectives a copy of the solution's objectives
+		 */
+		public Entry(Solution solution, double[] objectives) {
+			super();
+			this.solution = solution;
+			this.objectives = objectives;
+		}
+
+	}
+
+	/**
+	 * A node in the ND-tree.  Leaf nodes store entries while internal nodes
+	 * store child nodes.  The bounds of a node enclose all entries stored in
+	 * the node and its descendants, and are {@code null} if the node is empty.
+	 */
+	private static class Node {
+
+		/**
+		 * The parent of this node; or {@code null} if this is the root node.
+		 */
+		private final Node parent;
+
+		/**
+		 * The entries stored in this node; or {@code null} if this is an
+		 * internal node.
+		 */
+		private List<Entry> entries;
+
+		/**
+		 * The children of this node; or {@code null} if this is a leaf node.
+		 */
+		private List<Node> children;
+
+		/**
+		 * The local ideal point; or {@code null} if this node is empty.
+		 */
+		private double[] ideal;
+
+		/**
+		 * The local nadir point; or {@code null} if this node is empty.
+		 */
+		private double[] nadir;
+
+		/**
+		 * Constructs a new, empty leaf node.
+		 *
+		 * @param parent the parent of this node; or {@code null} if this is
+		 *        the root node
+		 */
+		public Node(Node parent) {
+			super();
+			this.parent = parent;
+
+			entries = new ArrayList<Entry>();
+		}
+
+		/**
+		 * Returns {@code true} if this is a leaf node; {@code false}
+		 * otherwise.
+		 *
+		 * @return {@code true} if this is a leaf node; {@code false}
+		 *         otherwise
+		 */
+		public boolean isLeaf() {
+			return children == null;
+		}
+
+		/**
+		 * Removes all entries and children from this node.
+		 */
+		public void clear() {
+			if (isLeaf()) {
+				entries.clear();
+			} else {
+				children.clear();
+			}
+
+			ideal = null;
+			nadir = null;
+		}
+
+		/**
+		 * Extends the bounds of this node to include the point.
+		 *
+		 * @param point the point
+		 */
+		public void extendBounds(double[] point) {
+			if (ideal == null) {
+				ideal = point.clone();
+				nadir = point.clone();
+			} else {
+				for (int i = 0; i < point.length; i++) {
+					ideal[i] = Math.min(ideal[i], point[i]);
+					nadir[i] = Math.max(nadir[i], point[i]);
+				}
+			}
+		}
+
+		/**
+		 * Recomputes the bounds of this node from its entries or the bounds
+		 * of its children.
+		 */
+		public void updateBounds() {
+			ideal = null;
+			nadir = null;
+
+			if (isLeaf()) {
+				for (Entry entry : entries) {
+					extendBounds(entry.objectives);
+				}
+			} else {
+				for (Node child : children) {
+					if (child.ideal != null) {
+						extendBounds(child.ideal);
+						extendBounds(child.nadir);
+					}
+				}
+			}
+		}
+
+	}
+
+}
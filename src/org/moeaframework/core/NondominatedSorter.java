@@ -0,0 +1,558 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core;
+
+import org.moeaframework.core.comparator.AggregateConstraintComparator;
+
+/**
+ * Enumeration of non-dominated sorting algorithms operating on primitive
+ * objective arrays.  Each algorithm assigns the same ranks as
+ * {@link FastNondominatedSorting} does with the
+ * {@link org.moeaframework.core.comparator.ParetoDominanceComparator}:
+ * solutions are first compared by their aggregate constraint violation and
+ * then by Pareto dominance.  As in {@code FastNondominatedSorting}, identical
+ * solutions are not placed in the same front; the first occurrence keeps its
+ * rank and each later copy is ranked as if dominated by the earlier one.
+ * <p>
+ * All algorithms begin by ordering the solutions lexicographically, which
+ * guarantees a solution is only dominated by solutions preceding it.
+ * <p>
+ * References:
+ * <ol>
+ *   <li>Deb, K. et al.  "A Fast and Elitist Multiobjective Genetic Algorithm:
+ *       NSGA-II."  IEEE Transactions on Evolutionary Computation,
+ *       6(2):182-197, 2002.
+ *   <li>Zhang, X. et al.  "An Efficient Approach to Nondominated Sorting for
+ *       Evolutionary Multiobjective Optimization."  IEEE Transactions on
+ *       Evolutionary Computation, 19(2):201-213, 2015.
+ * </ol>
+ */
+public enum NondominatedSorter {
+
+	/**
+	 * The fast non-dominated sorting algorithm of Deb et al. [1], requiring
+	 * {@code O(MN^2)} time and {@code O(N^2)} memory.
+	 */
+	FAST_NONDOMINATED_SORT {
+
+		@Override
+		int rank(double[][] objectives, double[] constraints, int[] order,
+				int[] ranks) {
+			int n = order.length;
+			int[] dominationCount = new int[n];
+			int[][] dominated = new int[n][];
+			int[] dominatedSize = new int[n];
+
+			for (int p = 0; p < n; p++) {
+				for (int q = p + 1; q < n; q++) {
+					if (dominates(objectives, constraints, order[p],
+							order[q])) {
+						dominated[p] = append(dominated[p], dominatedSize[p]++,
+								q);
+						dominationCount[q]++;
+					}
+				}
+			}
+
+			int[] front = new int[n];
+			int frontSize = 0;
+			int[] nextFront = new int[n];
+			int rank = 0;
+
+			for (int p = 0; p < n; p++) {
+				if (dominationCount[p] == 0) {
+					front[frontSize++] = p;
+				}
+			}
+
+			while (frontSize > 0) {
+				int nextFrontSize = 0;
+
+				for (int i = 0; i < frontSize; i++) {
+					int p = front[i];
+					ranks[order[p]] = rank;
+
+					for (int j = 0; j < dominatedSize[p]; j++) {
+						int q = dominated[p][j];
+
+						if (--dominationCount[q] == 0) {
+							nextFront[nextFrontSize++] = q;
+						}
+					}
+				}
+
+				int[] temp = front;
+				front = nextFront;
+				nextFront = temp;
+				frontSize = nextFrontSize;
+				rank++;
+			}
+
+			return rank;
+		}
+
+	},
+
+	/**
+	 * The efficient non-dominated sort using sequential search (ENS-SS) [2].
+	 * Each solution, in lexicographic order, is compared against the existing
+	 * fronts in turn until a front containing no dominating solution is found.
+	 * Requires {@code O(MN^2)} time in the worst case, but is typically much
+	 * faster and requires only {@code O(N)} memory.
+	 */
+	ENS_SS {
+
+		@Override
+		int rank(double[][] objectives, double[] constraints, int[] order,
+				int[] ranks) {
+			Fronts fronts = new Fronts(order.length);
+
+			for (int index : order) {
+				int rank = 0;
+
+				while ((rank < fronts.size()) && fronts.isDominated(
+						objectives, constraints, rank, index)) {
+					rank++;
+				}
+
+				fronts.add(rank, index);
+				ranks[index] = rank;
+			}
+
+			return fronts.size();
+		}
+
+	},
+
+	/**
+	 * The efficient non-dominated sort using binary search (ENS-BS) [2].
+	 * Identical to {@link #ENS_SS} except the front is located by binary
+	 * search, which is faster when the population contains many fronts.
+	 */
+	ENS_BS {
+
+		@Override
+		int rank(double[][] objectives, double[] constraints, int[] order,
+				int[] ranks) {
+			Fronts fronts = new Fronts(order.length);
+
+			for (int index : order) {
+				int low = 0;
+				int high = fronts.size();
+
+				while (low < high) {
+					int middle = (low + high) >>> 1;
+
+					if (fronts.isDominated(objectives, constraints, middle,
+							index)) {
+						low = middle + 1;
+					} else {
+						high = middle;
+					}
+				}
+
+				fronts.add(low, index);
+				ranks[index] = low;
+			}
+
+			return fronts.size();
+		}
+
+	};
+
+	/**
+	 * Assigns the non-domination rank of each solution, where solutions in the
+	 * Pareto non-dominated front have rank 0.
+	 *
+	 * @param objectives the objective values of each solution
+	 * @return the rank of each solution
+	 */
+	public int[] sort(double[][] objectives) {
+		return sort(objectives, null);
+	}
+
+	/**
+	 * Assigns the non-domination rank of each solution, where solutions in the
+	 * Pareto non-dominated front have rank 0.  Solutions are first compared by
+	 * constraint violation using the same ordering as
+	 * {@link AggregateConstraintComparator}.
+	 *
+	 * @param objectives the objective values of each solution
+	 * @param constraints the aggregate constraint violation of each solution,
+	 *        as computed by
+	 *        {@link AggregateConstraintComparator#getConstraintViolation};
+	 *        or {@code null} if all solutions are feasible
+	 * @return the rank of each solution
+	 */
+	public int[] sort(double[][] objectives, double[] constraints) {
+		int[] ranks = new int[objectives.length];
+
+		if (objectives.length > 0) {
+			rank(objectives, constraints,
+					lexicographicOrder(objectives, constraints), ranks);
+		}
+
+		return ranks;
+	}
+
+	/**
+	 * Assigns the non-domination rank of each solution.
+	 *
+	 * @param objectives the objective values of each solution
+	 * @param constraints the aggregate constraint violation of each solution;
+	 *        or {@code null} if all solutions are feasible
+	 * @param order the indices of the solutions in lexicographic order
+	 * @param ranks the array storing the rank of each solution
+	 * @return the number of fronts
+	 */
+	abstract int rank(double[][] objectives, double[] constraints,
+			int[] order, int[] ranks);
+
+	/**
+	 * Computes the crowding distance of the solutions in a front, producing
+	 * the same values as
+	 * {@link FastNondominatedSorting#updateCrowdingDistance(Population)} for
+	 * a population containing the solutions in the given order.
+	 *
+	 * @param objectives the objective values of each solution
+	 * @param front the indices of the solutions in the front
+	 * @param crowding the array storing the crowding distance of each
+	 *        solution, indexed the same as {@code objectives}
+	 */
+	public static void crowdingDistance(final double[][] objectives,
+			int[] front, double[] crowding) {
+		int n = front.length;
+
+		if (n < 3) {
+			for (int index : front) {
+				crowding[index] = Double.POSITIVE_INFINITY;
+			}
+
+			return;
+		}
+
+		int numberOfObjectives = objectives[front[0]].length;
+		int[] sorted = front.clone();
+		int[] buffer = new int[n];
+
+		for (int index : front) {
+			crowding[index] = 0.0;
+		}
+
+		for (int i = 0; i < numberOfObjectives; i++) {
+			final int objective = i;
+
+			// stable sort that continues from the previous objective's order
+			mergeSort(sorted, buffer, 0, n, new IndexComparator() {
+
+				@Override
+				public int compare(int index1, int index2) {
+					return Double.compare(objectives[index1][objective],
+							objectives[index2][objective]);
+				}
+
+			});
+
+			double minObjective = objectives[sorted[0]][i];
+			double maxObjective = objectives[sorted[n - 1]][i];
+
+			crowding[sorted[0]] = Double.POSITIVE_INFINITY;
+			crowding[sorted[n - 1]] = Double.POSITIVE_INFINITY;
+
+			for (int j = 1; j < n - 1; j++) {
+				crowding[sorted[j]] += (objectives[sorted[j + 1]][i] -
+						objectives[sorted[j - 1]][i]) /
+						(maxObjective - minObjective);
+			}
+		}
+	}
+
+	/**
+	 * Returns the indices of the solutions ordered by constraint violation,
+	 * then lexicographically by objectives, and finally by index.
+	 *
+	 * @param objectives the objective values of each solution
+	 * @param constraints the aggregate constraint violation of each solution;
+	 *        or {@code null} if all solutions are feasible
+	 * @return the indices of the solutions in lexicographic order
+	 */
+	private static int[] lexicographicOrder(final double[][] objectives,
+			final double[] constraints) {
+		int n = objectives.length;
+		int[] order = new int[n];
+
+		for (int i = 0; i < n; i++) {
+			order[i] = i;
+		}
+
+		mergeSort(order, new int[n], 0, n, new IndexComparator() {
+
+			@Override
+			public int compare(int index1, int index2) {
+				if (constraints != null) {
+					int flag = AggregateConstraintComparator.compare(
+							constraints[index1], constraints[index2]);
+
+					if (flag != 0) {
+						return flag;
+					}
+				}
+
+				double[] point1 = objectives[index1];
+				double[] point2 = objectives[index2];
+
+				for (int i = 0; i < point1.length; i++) {
+					int flag = Double.compare(point1[i], point2[i]);
+
+					if (flag != 0) {
+						return flag;
+					}
+				}
+
+				return 0;
+			}
+
+		});
+
+		return order;
+	}
+
+	/**
+	 * Returns {@code true} if the first solution dominates the second
+	 * solution, where the first solution precedes the second in lexicographic
+	 * order.  Identical solutions are considered dominated by the preceding
+	 * copy.
+	 *
+	 * @param objectives the objective values of each solution
+	 * @param constraints the aggregate constraint violation of each solution;
+	 *        or {@code null} if all solutions are feasible
+	 * @param index1 the index of the first solution
+	 * @param index2 the index of the second solution
+	 * @return {@code true} if the first solution dominates the second
+	 *         solution; {@code false} otherwise
+	 */
+	static boolean dominates(double[][] objectives, double[] constraints,
+			int index1, int index2) {
+		if (constraints != null) {
+			int flag = AggregateConstraintComparator.compare(
+					constraints[index1], constraints[index2]);
+
+			if (flag != 0) {
+				return flag < 0;
+			}
+		}
+
+		double[] point1 = objectives[index1];
+		double[] point2 = objectives[index2];
+
+		for (int i = 0; i < point1.length; i++) {
+			if (point1[i] > point2[i]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Stores {@code value} at position {@code size} of the array, growing the
+	 * array if necessary.
+	 *
+	 * @param array the array; or {@code null} if no array is allocated
+	 * @param size the current number of values in the array
+	 * @param value the value to store
+	 * @return the array, which may be a new instance
+	 */
+	private static int[] append(int[] array, int size, int value) {
+		if (array == null) {
+			array = new int[4];
+		} else if (size == array.length) {
+			int[] newArray = new int[2 * size];
+			System.arraycopy(array, 0, newArray, 0, size);
+			array = newArray;
+		}
+
+		array[size] = value;
+		return array;
+	}
+
+	/**
+	 * Stable merge sort of {@code array[from, to)} using the given comparator.
+	 *
+	 * @param array the array being sorted
+	 * @param buffer a temporary buffer at least as long as the array
+	 * @param from the first index, inclusive
+	 * @param to the last index, exclusive
+	 * @param comparator the comparator
+	 */
+	private static void mergeSort(int[] array, int[] buffer, int from, int to,
+			IndexComparator comparator) {
+		if (to - from < 8) {
+			// insertion sort for small ranges
+			for (int i = from + 1; i < to; i++) {
+				int value = array[i];
+				int j = i - 1;
+
+				while ((j >= from) && (comparator.compare(array[j], value) > 0)) {
+					array[j + 1] = array[j];
+					j--;
+				}
+
+				array[j + 1] = value;
+			}
+
+			return;
+		}
+
+		int middle = (from + to) >>> 1;
+		mergeSort(array, buffer, from, middle, comparator);
+		mergeSort(array, buffer, middle, to, comparator);
+
+		if (comparator.compare(array[middle - 1], array[middle]) <= 0) {
+			return;
+		}
+
+		System.arraycopy(array, from, buffer, from, to - from);
+
+		int i = from;
+		int j = middle;
+		int k = from;
+
+		while ((i < middle) && (j < to)) {
+			if (comparator.compare(buffer[j], buffer[i]) < 0) {
+				array[k++] = buffer[j++];
+			} else {
+				array[k++] = buffer[i++];
+			}
+		}
+
+		while (i < middle) {
+			array[k++] = buffer[i++];
+		}
+
+		while (j < to) {
+			array[k++] = buffer[j++];
+		}
+	}
+
+	/**
+	 * Compares two solutions identified by their index.
+	 */
+	private interface IndexComparator {
+
+		/**
+		 * Compares the two solutions.
+		 *
+		 * @param index1 the index of the first solution
+		 * @param index2 the index of the second solution
+		 * @return a negative integer, zero, or a positive integer if the
+		 *         first solution is less than, equal to, or greater than the
+		 *         second solution
+		 */
+		public int compare(int index1, int index2);
+
+	}
+
+	/**
+	 * The fronts constructed by the efficient non-dominated sorting
+	 * algorithms, storing the indices of the solutions in each front in the
+	 * order they were added.
+	 */
+	private static class Fronts {
+
+		/**
+		 * The indices of the solutions in each front.
+		 */
+		private final int[][] members;
+
+		/**
+		 * The number of solutions in each front.
+		 */
+		private final int[] sizes;
+
+		/**
+		 * The number of fronts.
+		 */
+		private int size;
+
+		/**
+		 * Constructs a new, empty collection of fronts.
+		 *
+		 * @param capacity the maximum number of fronts
+		 */
+		public Fronts(int capacity) {
+			super();
+
+			members = new int[capacity][];
+			sizes = new int[capacity];
+		}
+
+		/**
+		 * Returns the number of fronts.
+		 *
+		 * @return the number of fronts
+		 */
+		public int size() {
+			return size;
+		}
+
+		/**
+		 * Adds the solution to the specified front, which is either an
+		 * existing front or the next new front.
+		 *
+		 * @param rank the front
+		 * @param index the index of the solution
+		 */
+		public void add(int rank, int index) {
+			if (rank == size) {
+				size++;
+			}
+
+			members[rank] = append(members[rank], sizes[rank]++, index);
+		}
+
+		/**
+		 * Returns {@code true} if any solution in the specified front
+		 * dominates the given solution.  Solutions are checked starting with
+		 * the most recently added, which are the most likely to dominate the
+		 * given solution.
+		 *
+		 * @param objectives the objective values of each solution
+		 * @param constraints the aggregate constraint violation of each
+		 *        solution; or {@code null} if all solutions are feasible
+		 * @param rank the front
+		 * @param index the index of the solution
+		 * @return {@code true} if any solution in the specified front
+		 *         dominates the given solution; {@code false} otherwise
+		 */
+		public boolean isDominated(double[][] objectives,
+				double[] constraints, int rank, int index) {
+			int[] front = members[rank];
+
+			for (int i = sizes[rank] - 1; i >= 0; i--) {
+				if (dominates(objectives, constraints, front[i], index)) {
+					return true;
+				}
+			}
+
+			return false;
+		}
+
+	}
+
+}
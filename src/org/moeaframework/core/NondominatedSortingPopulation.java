@@ -19,6 +19,7 @@ package org.moeaframework.core;
 
 import static org.moeaframework.core.FastNondominatedSorting.RANK_ATTRIBUTE;
 
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Iterator;
 
@@ -179,7 +180,9 @@ public class NondominatedSortingPopulation extends Population {
 	/**
 	 * Prunes the population to the specified size.  This is similar to
 	 * {@link #truncate(int)}, except the crowding distance is recalculated
-	 * each time a solution is removed.
+	 * each time a solution is removed.  Rather than recalculating the
+	 * crowding distance of the entire last front, only the crowding distances
+	 * of the neighbors of each removed solution are updated.
 	 * 
 	 * @param size the target population size after pruning
 	 */
@@ -209,12 +212,26 @@ public class NondominatedSortingPopulation extends Population {
 		}
 		
 		//prune front until correct size
-		while (size() + front.size() > size) {
+		addAll(new FrontPruner(front).prune(size() + front.size() - size));
+	}
+
+	/**
+	 * Prunes the given front by repeatedly updating the crowding distance and
+	 * removing the solution with the smallest crowding distance.
+	 * 
+	 * @param front the front being pruned
+	 * @param count the number of solutions to remove
+	 * @return the pruned front
+	 */
+	private Population truncateFront(Population front, int count) {
+		int size = front.size() - count;
+
+		while (front.size() > size) {
 			fastNondominatedSorting.updateCrowdingDistance(front);
 			front.truncate(front.size()-1, new CrowdingComparator());
 		}
-		
-		addAll(front);
+
+		return front;
 	}
 
 	/**
@@ -230,4 +247,474 @@ public class NondominatedSortingPopulation extends Population {
 		fastNondominatedSorting.evaluate(this);
 	}
 
+	/**
+	 * Removes solutions from a front one at a time, each time removing the
+	 * solution with the smallest crowding distance.  The solutions are linked
+	 * in sorted order by each objective so that removing a solution only
+	 * updates the crowding distance of its neighbors, and the next solution
+	 * to remove is found using a heap whose entries are updated lazily.
+	 * <p>
+	 * The removed solutions and the order of the pruned front are the same as
+	 * {@link NondominatedSortingPopulation#truncateFront(Population, int)}.
+	 * That method stably sorts the front by each objective in turn, so ties
+	 * are broken by the preceding objectives and then by the order from the
+	 * previous removal.  The order from the previous removal is only used
+	 * when the first objective is tied, so fronts with tied values in the
+	 * first objective are pruned by that method instead.  The same holds for
+	 * fronts with non-finite objectives or objectives with a single value,
+	 * and for fronts reduced to fewer than three solutions or to only
+	 * boundary solutions.
+	 */
+	private class FrontPruner {
+
+		/**
+		 * The front being pruned.
+		 */
+		private final Population front;
+
+		/**
+		 * The number of solutions in the front.
+		 */
+		private final int n;
+
+		/**
+		 * The number of objectives.
+		 */
+		private final int numberOfObjectives;
+
+		/**
+		 * The objective values, indexed by objective and then solution.
+		 */
+		private double[][] objectives;
+
+		/**
+		 * The difference between the largest and smallest value of each
+		 * objective.
+		 */
+		private double[] ranges;
+
+		/**
+		 * The previous solution in sorted order by each objective, or
+		 * {@code -1} if the solution is the first.
+		 */
+		private int[][] previous;
+
+		/**
+		 * The next solution in sorted order by each objective, or {@code -1}
+		 * if the solution is the last.
+		 */
+		private int[][] next;
+
+		/**
+		 * The position of each solution in sorted order by the last
+		 * objective, used to break ties between equal crowding distances.
+		 */
+		private int[] ranks;
+
+		/**
+		 * The contribution of each objective to the crowding distance of each
+		 * solution, indexed by objective and then solution.
+		 */
+		private double[][] contributions;
+
+		/**
+		 * The crowding distance of each solution.
+		 */
+		private double[] crowding;
+
+		/**
+		 * {@code true} if the solution was removed; {@code false} otherwise.
+		 */
+		private boolean[] removed;
+
+		/**
+		 * The solutions in the heap.
+		 */
+		private int[] heapIndices;
+
+		/**
+		 * The crowding distance of the solutions in the heap when they were
+		 * inserted.  An entry is stale if the crowding distance has since
+		 * changed.
+		 */
+		private double[] heapCrowding;
+
+		/**
+		 * The number of entries in the heap.
+		 */
+		private int heapSize;
+
+		/**
+		 * Constructs a new pruner for the given front.
+		 * 
+		 * @param front the front being pruned
+		 */
+		public FrontPruner(Population front) {
+			super();
+			this.front = front;
+
+			n = front.size();
+			numberOfObjectives = n == 0 ? 0 :
+				front.get(0).getNumberOfObjectives();
+		}
+
+		/**
+		 * Removes the given number of solutions from the front.
+		 * 
+		 * @param count the number of solutions to remove
+		 * @return the pruned front
+		 */
+		public Population prune(int count) {
+			if (count == 0) {
+				return front;
+			}
+
+			if ((n < 3) || !initialize()) {
+				return truncateFront(front, count);
+			}
+
+			int remaining = n;
+
+			for (int i = 0; i < count; i++) {
+				int victim = poll();
+				removed[victim] = true;
+				remaining--;
+
+				if (i == count - 1) {
+					break;
+				}
+
+				// removing a boundary solution changes the ranges
+				if ((remaining < 3) ||
+						Double.isInfinite(crowding[victim])) {
+					return truncateFront(toPopulation(), count - i - 1);
+				}
+
+				for (int j = 0; j < numberOfObjectives; j++) {
+					int before = previous[j][victim];
+					int after = next[j][victim];
+
+					next[j][before] = after;
+					previous[j][after] = before;
+
+					updateContribution(j, before);
+					updateContribution(j, after);
+				}
+
+				for (int j = 0; j < numberOfObjectives; j++) {
+					updateCrowding(previous[j][victim]);
+					updateCrowding(next[j][victim]);
+				}
+			}
+
+			return toPopulation();
+		}
+
+		/**
+		 * Sorts the solutions by each objective and computes their crowding
+		 * distances.
+		 * 
+		 * @return {@code true} if the crowding distances can be updated
+		 *         incrementally; {@code false} otherwise
+		 */
+		private boolean initialize() {
+			objectives = new double[numberOfObjectives][n];
+
+			for (int i = 0; i < n; i++) {
+				Solution solution = front.get(i);
+
+				for (int j = 0; j < numberOfObjectives; j++) {
+					objectives[j][i] = solution.getObjective(j);
+
+					if (Double.isNaN(objectives[j][i]) ||
+							Double.isInfinite(objectives[j][i])) {
+						return false;
+					}
+				}
+			}
+
+			// stably sort by each objective in turn, as done when updating
+			// the crowding distance
+			Integer[] order = new Integer[n];
+
+			for (int i = 0; i < n; i++) {
+				order[i] = i;
+			}
+
+			ranges = new double[numberOfObjectives];
+			previous = new int[numberOfObjectives][n];
+			next = new int[numberOfObjectives][n];
+
+			for (int i = 0; i < numberOfObjectives; i++) {
+				final double[] values = objectives[i];
+
+				Arrays.sort(order, new Comparator<Integer>() {
+
+					@Override
+					public int compare(Integer i1, Integer i2) {
+						return Double.compare(values[i1], values[i2]);
+					}
+
+				});
+
+				ranges[i] = values[order[n-1]] - values[order[0]];
+
+				if (!(ranges[i] > 0.0) || Double.isInfinite(ranges[i])) {
+					return false;
+				}
+
+				for (int j = 0; j < n; j++) {
+					if ((i == 0) && (j > 0) &&
+							(values[order[j-1]] == values[order[j]])) {
+						return false;
+					}
+
+					previous[i][order[j]] = j == 0 ? -1 : order[j-1];
+					next[i][order[j]] = j == n-1 ? -1 : order[j+1];
+				}
+			}
+
+			ranks = new int[n];
+
+			for (int i = 0; i < n; i++) {
+				ranks[order[i]] = i;
+			}
+
+			contributions = new double[numberOfObjectives][n];
+			crowding = new double[n];
+			removed = new boolean[n];
+			heapIndices = new int[n];
+			heapCrowding = new double[n];
+			heapSize = 0;
+
+			for (int i = 0; i < numberOfObjectives; i++) {
+				for (int j = 0; j < n; j++) {
+					updateContribution(i, j);
+				}
+			}
+
+			for (int i = 0; i < n; i++) {
+				crowding[i] = calculateCrowding(i);
+				push(i);
+			}
+
+			return true;
+		}
+
+		/**
+		 * Updates the contribution of the given objective to the crowding
+		 * distance of a solution.  The contribution of a boundary solution is
+		 * unused.
+		 * 
+		 * @param objective the objective
+		 * @param index the solution
+		 */
+		private void updateContribution(int objective, int index) {
+			int before = previous[objective][index];
+			int after = next[objective][index];
+
+			if ((before >= 0) && (after >= 0)) {
+				contributions[objective][index] =
+						(objectives[objective][after] -
+								objectives[objective][before]) /
+						ranges[objective];
+			}
+		}
+
+		/**
+		 * Returns the crowding distance of a solution, summing the
+		 * contributions in the same order as
+		 * {@link FastNondominatedSorting#updateCrowdingDistance(Population)}.
+		 * 
+		 * @param index the solution
+		 * @return the crowding distance of the solution
+		 */
+		private double calculateCrowding(int index) {
+			double distance = 0.0;
+
+			for (int i = 0; i < numberOfObjectives; i++) {
+				if ((previous[i][index] < 0) || (next[i][index] < 0)) {
+					distance = Double.POSITIVE_INFINITY;
+				} else {
+					distance += contributions[i][index];
+				}
+			}
+
+			return distance;
+		}
+
+		/**
+		 * Recalculates the crowding distance of a solution after one of its
+		 * neighbors was removed, adding a new heap entry if it changed.
+		 * 
+		 * @param index the solution
+		 */
+		private void updateCrowding(int index) {
+			double distance = calculateCrowding(index);
+
+			if (distance != crowding[index]) {
+				crowding[index] = distance;
+				push(index);
+			}
+		}
+
+		/**
+		 * Returns the remaining solutions ordered by decreasing crowding
+		 * distance and then by their order in the last objective, matching
+		 * the order after sorting the front with a {@link CrowdingComparator}.
+		 * 
+		 * @return the remaining solutions
+		 */
+		private Population toPopulation() {
+			Integer[] order = new Integer[n];
+			int size = 0;
+
+			for (int i = 0; i < n; i++) {
+				if (!removed[i]) {
+					order[size++] = i;
+				}
+			}
+
+			Arrays.sort(order, 0, size, new Comparator<Integer>() {
+
+				@Override
+				public int compare(Integer i1, Integer i2) {
+					if (crowding[i1] > crowding[i2]) {
+						return -1;
+					} else if (crowding[i1] < crowding[i2]) {
+						return 1;
+					} else {
+						return ranks[i1] - ranks[i2];
+					}
+				}
+
+			});
+
+			Population result = new Population();
+
+			for (int i = 0; i < size; i++) {
+				result.add(front.get(order[i]));
+			}
+
+			return result;
+		}
+
+		/**
+		 * Removes and returns the solution with the smallest crowding
+		 * distance.  If more than one solution has the smallest crowding
+		 * distance, the last in sorted order by the last objective is
+		 * returned.  Since removing a solution only increases the crowding
+		 * distance of the others, an entry whose crowding distance is current
+		 * is the next solution to remove.
+		 * 
+		 * @return the solution with the smallest crowding distance
+		 */
+		private int poll() {
+			while (true) {
+				int index = heapIndices[0];
+				double distance = heapCrowding[0];
+
+				pop();
+
+				if (!removed[index] && (distance == crowding[index])) {
+					return index;
+				}
+			}
+		}
+
+		/**
+		 * Returns {@code true} if the first heap entry precedes the second
+		 * heap entry, having a smaller crowding distance or, if equal, a
+		 * larger rank; {@code false} otherwise.
+		 * 
+		 * @param i the first heap position
+		 * @param j the second heap position
+		 * @return {@code true} if the first heap entry precedes the second
+		 *         heap entry; {@code false} otherwise
+		 */
+		private boolean precedes(int i, int j) {
+			if (heapCrowding[i] < heapCrowding[j]) {
+				return true;
+			} else if (heapCrowding[i] > heapCrowding[j]) {
+				return false;
+			} else {
+				return ranks[heapIndices[i]] > ranks[heapIndices[j]];
+			}
+		}
+
+		/**
+		 * Swaps two heap entries.
+		 * 
+		 * @param i the first heap position
+		 * @param j the second heap position
+		 */
+		private void swap(int i, int j) {
+			int index = heapIndices[i];
+			double distance = heapCrowding[i];
+
+			heapIndices[i] = heapIndices[j];
+			heapCrowding[i] = heapCrowding[j];
+			heapIndices[j] = index;
+			heapCrowding[j] = distance;
+		}
+
+		/**
+		 * Inserts the solution into the heap using its current crowding
+		 * distance.
+		 * 
+		 * @param index the solution
+		 */
+		private void push(int index) {
+			if (heapSize == heapIndices.length) {
+				heapIndices = Arrays.copyOf(heapIndices, 2*heapSize);
+				heapCrowding = Arrays.copyOf(heapCrowding, 2*heapSize);
+			}
+
+			int position = heapSize++;
+			heapIndices[position] = index;
+			heapCrowding[position] = crowding[index];
+
+			while (position > 0) {
+				int parent = (position - 1) / 2;
+
+				if (!precedes(position, parent)) {
+					break;
+				}
+
+				swap(position, parent);
+				position = parent;
+			}
+		}
+
+		/**
+		 * Removes the first entry from the heap.
+		 */
+		private void pop() {
+			heapSize--;
+			swap(0, heapSize);
+
+			int position = 0;
+
+			while (true) {
+				int child = 2*position + 1;
+
+				if (child >= heapSize) {
+					break;
+				}
+
+				if ((child + 1 < heapSize) && precedes(child + 1, child)) {
+					child++;
+				}
+
+				if (!precedes(child, position)) {
+					break;
+				}
+
+				swap(position, child);
+				position = child;
+			}
+		}
+
+	}
+
 }
@@ -23,6 +23,7 @@ import java.util.Random;
 
 import org.apache.commons.math3.random.MersenneTwister;
 import org.apache.commons.math3.random.RandomAdaptor;
+import org.moeaframework.util.random.RandomStreams;
 
 /**
  * Static methods for generating random or pseudo-random numbers. Any source of
@@ -33,6 +34,14 @@ import org.apache.commons.math3.random.RandomAdaptor;
  * thread safety from the underlying implementation.  Unless the underlying
  * implementation is known to be thread-safe, assume that {@code PRNG} is not
  * thread-safe.
+ * <p>
+ * Independent runs executing concurrently in the same JVM can avoid sharing
+ * the global source of randomness by assigning each thread its own source
+ * through {@link #setThreadRandom(Random)}.  All methods in this class will
+ * then draw from the thread's source instead of the global source.
+ * Alternatively, {@link #setRandomStreams(RandomStreams)} gives every thread
+ * its own stream, split deterministically from a single seed, the first time
+ * the thread requests a random number.
  */
 public class PRNG {
 
@@ -40,6 +49,25 @@ public class PRNG {
 	 * Internal source of randomness.
 	 */
 	private static Random random;
+	
+	/**
+	 * Thread-specific sources of randomness overriding the global source; or
+	 * {@code null} for threads using the global source.
+	 */
+	private static final ThreadLocal<Random> threadRandom =
+			new ThreadLocal<Random>();
+	
+	/**
+	 * The random streams assigned to threads without a thread-specific
+	 * source; or {@code null} if such threads use the global source.
+	 */
+	private static volatile RandomStreams streams;
+	
+	/**
+	 * The stream assigned to each thread from {@link #streams}.
+	 */
+	private static final ThreadLocal<ThreadStream> threadStream =
+			new ThreadLocal<ThreadStream>();
 
 	/**
 	 * Initialize the static variables.
@@ -65,7 +93,7 @@ public class PRNG {
 	 * @param seed the new seed
 	 */
 	public static synchronized void setSeed(long seed) {
-		random.setSeed(seed);
+		getRandom().setSeed(seed);
 	}
 
 	/**
@@ -78,12 +106,81 @@ public class PRNG {
 	}
 
 	/**
-	 * Returns the source of randomness currently used.
+	 * Sets the source of randomness used by the calling thread, overriding the
+	 * global source set by {@link #setRandom(Random)}.  Specifying
+	 * {@code null} restores the global source for the calling thread.
+	 * 
+	 * @param random the source of randomness used by the calling thread; or
+	 *        {@code null} to use the global source
+	 */
+	public static void setThreadRandom(Random random) {
+		if (random == null) {
+			threadRandom.remove();
+		} else {
+			threadRandom.set(random);
+		}
+	}
+
+	/**
+	 * Sets the random streams from which each thread receives its own source
+	 * of randomness.  Each thread is assigned the next unused stream the first
+	 * time it requests a random number; threads with a source assigned by
+	 * {@link #setThreadRandom(Random)} are unaffected.  The streams are
+	 * reproducible provided the threads request their first random number in
+	 * a deterministic order; otherwise, assign streams explicitly with
+	 * {@code setThreadRandom(streams.getStream(index))}.  Specifying
+	 * {@code null} restores the global source for all threads.
+	 * 
+	 * @param streams the random streams assigned to threads; or {@code null}
+	 *        to use the global source
+	 */
+	public static void setRandomStreams(RandomStreams streams) {
+		PRNG.streams = streams;
+	}
+	
+	/**
+	 * Returns the random streams from which each thread receives its own
+	 * source of randomness; or {@code null} if threads use the global source.
+	 * 
+	 * @return the random streams from which each thread receives its own
+	 *         source of randomness; or {@code null} if threads use the global
+	 *         source
+	 */
+	public static RandomStreams getRandomStreams() {
+		return streams;
+	}
+
+	/**
+	 * Returns the source of randomness currently used by the calling thread.
+	 * This is the thread's source if one was assigned with
+	 * {@link #setThreadRandom(Random)}, the thread's stream if random streams
+	 * are enabled with {@link #setRandomStreams(RandomStreams)}, or otherwise
+	 * the global source.
 	 * 
 	 * @return the source of randomness currently used
 	 */
 	public static Random getRandom() {
-		return random;
+		Random local = threadRandom.get();
+		
+		if (local != null) {
+			return local;
+		}
+		
+		RandomStreams currentStreams = streams;
+		
+		if (currentStreams == null) {
+			return random;
+		}
+		
+		ThreadStream stream = threadStream.get();
+		
+		if ((stream == null) || (stream.streams != currentStreams)) {
+			stream = new ThreadStream(currentStreams,
+					currentStreams.newStream());
+			threadStream.set(stream);
+		}
+		
+		return stream.random;
 	}
 
 	/**
@@ -94,7 +191,7 @@ public class PRNG {
 	 *         between 0.0 and 1.0
 	 */
 	public static float nextFloat() {
-		return random.nextFloat();
+		return getRandom().nextFloat();
 	}
 
 	/**
@@ -105,7 +202,7 @@ public class PRNG {
 	 *         between {@code min} and {@code max}
 	 */
 	public static float nextFloat(float min, float max) {
-		return min + random.nextFloat() * (max - min);
+		return min + getRandom().nextFloat() * (max - min);
 	}
 
 	/**
@@ -116,7 +213,7 @@ public class PRNG {
 	 *         between 0.0 and 1.0
 	 */
 	public static double nextDouble() {
-		return random.nextDouble();
+		return getRandom().nextDouble();
 	}
 
 	/**
@@ -127,7 +224,7 @@ public class PRNG {
 	 *         between {@code min} and {@code max}
 	 */
 	public static double nextDouble(double min, double max) {
-		return min + random.nextDouble() * (max - min);
+		return min + getRandom().nextDouble() * (max - min);
 	}
 
 	/**
@@ -138,7 +235,7 @@ public class PRNG {
 	 *         {@code Integer.MIN_VALUE} and {@code Integer.MAX_VALUE}.
 	 */
 	public static int nextInt() {
-		return random.nextInt();
+		return getRandom().nextInt();
 	}
 
 	/**
@@ -149,7 +246,7 @@ public class PRNG {
 	 *         {@code 0} (inclusive) and {@code n} (exclusive).
 	 */
 	public static int nextInt(int n) {
-		return random.nextInt(n);
+		return getRandom().nextInt(n);
 	}
 
 	/**
@@ -160,7 +257,7 @@ public class PRNG {
 	 *         {@code min} and {@code max} (both inclusive).
 	 */
 	public static int nextInt(int min, int max) {
-		return min + random.nextInt(max - min + 1);
+		return min + getRandom().nextInt(max - min + 1);
 	}
 
 	/**
@@ -169,7 +266,7 @@ public class PRNG {
 	 * @return the next random, uniformly distributed {@code boolean} value.
 	 */
 	public static boolean nextBoolean() {
-		return random.nextBoolean();
+		return getRandom().nextBoolean();
 	}
 
 	/**
@@ -180,7 +277,7 @@ public class PRNG {
 	 *         mean {@code 0.0} and standard deviation {@code 1.0}.
 	 */
 	public static double nextGaussian() {
-		return random.nextGaussian();
+		return getRandom().nextGaussian();
 	}
 
 	/**
@@ -191,7 +288,7 @@ public class PRNG {
 	 *         mean {@code mean} and standard deviation {@code stdev}.
 	 */
 	public static double nextGaussian(double mean, double stdev) {
-		return stdev * random.nextGaussian() + mean;
+		return stdev * getRandom().nextGaussian() + mean;
 	}
 
 	/**
@@ -348,7 +445,7 @@ public class PRNG {
 	 * @param list the list to be shuffled
 	 */
 	public static <T> void shuffle(List<T> list) {
-		Collections.shuffle(list, random);
+		Collections.shuffle(list, getRandom());
 	}
 
 	/**
@@ -362,4 +459,35 @@ public class PRNG {
 		return list.get(PRNG.nextInt(list.size()));
 	}
 
+	/**
+	 * The stream assigned to a thread along with the random streams from which
+	 * it was created, allowing the assignment to be discarded when the random
+	 * streams change.
+	 */
+	private static class ThreadStream {
+		
+		/**
+		 * The random streams from which the stream was created.
+		 */
+		private final RandomStreams streams;
+		
+		/**
+		 * The stream assigned to the thread.
+		 */
+		private final Random random;
+		
+		/**
+		 * Constructs a new stream assignment.
+		 * 
+		 * @param streams the random streams from which the stream was created
+		 * @param random the stream assigned to the thread
+		 */
+		public ThreadStream(RandomStreams streams, Random random) {
+			super();
+			this.streams = streams;
+			this.random = random;
+		}
+		
+	}
+
 }
@@ -34,6 +34,7 @@ import org.apache.commons.lang3.text.StrTokenizer;
 import org.moeaframework.util.TypedProperties;
 import org.moeaframework.util.io.FileProtection;
 import org.moeaframework.core.indicator.Hypervolume;
+import org.moeaframework.problem.ExternalProblem;
 
 /**
  * Global settings used by this framework.  The {@code PROPERTIES} object
@@ -102,6 +103,19 @@ public class Settings {
 	public static final String KEY_HYPERVOLUME_ENABLED = KEY_PREFIX +
 			"core.indicator.hypervolume_enabled";
 	
+	/**
+	 * The property key for the in-process hypervolume algorithm.
+	 */
+	public static final String KEY_HYPERVOLUME_ALGORITHM = KEY_PREFIX +
+			"core.indicator.hypervolume_algorithm";
+	
+	/**
+	 * The property key for enabling parallel nearest-neighbor queries in the
+	 * distance-based indicators.
+	 */
+	public static final String KEY_PARALLEL_NEAREST_NEIGHBOR_SEARCH =
+			KEY_PREFIX + "core.indicator.parallel_nearest_neighbor_search";
+	
 	/**
 	 * The prefix for all problem property keys.
 	 */
@@ -166,6 +180,26 @@ public class Settings {
 	public static final String KEY_CLEANUP_STRATEGY = KEY_PREFIX + 
 			"analysis.sensitivity.cleanup";
 	
+	/**
+	 * The property key for flushing result files to the storage device after
+	 * each entry.
+	 */
+	public static final String KEY_RESULT_FILE_SYNC = KEY_PREFIX +
+			"analysis.sensitivity.result_file_sync";
+	
+	/**
+	 * The property key for the non-dominated sorting algorithm.
+	 */
+	public static final String KEY_NONDOMINATED_SORTER = KEY_PREFIX +
+			"core.nondominated_sorter";
+	
+	/**
+	 * The property key for the number of solutions sent to an external
+	 * problem before their responses are read.
+	 */
+	public static final String KEY_EXTERNAL_PROBLEM_WINDOW_SIZE = KEY_PREFIX +
+			"problem.external.window_size";
+	
 	/**
 	 * Loads the properties.
 	 */
@@ -283,6 +317,33 @@ public class Settings {
 		return PROPERTIES.getBoolean(KEY_HYPERVOLUME_INVERTED, false);
 	}
 	
+	/**
+	 * Returns the name of the in-process hypervolume algorithm, used when no
+	 * native hypervolume command is specified.  Possible values are the
+	 * constants defined in
+	 * {@link org.moeaframework.core.indicator.HypervolumeAlgorithm}, such as
+	 * {@code pisa} and {@code wfg}.  The default is {@code wfg}.
+	 * 
+	 * @return the name of the in-process hypervolume algorithm
+	 */
+	public static String getHypervolumeAlgorithm() {
+		return PROPERTIES.getString(KEY_HYPERVOLUME_ALGORITHM, "wfg");
+	}
+	
+	/**
+	 * Returns {@code true} if the nearest-neighbor queries performed by the
+	 * generational distance, inverted generational distance, maximum Pareto
+	 * front error and contribution indicators are answered in parallel;
+	 * {@code false} otherwise.  The default is {@code false}.
+	 * 
+	 * @return {@code true} if nearest-neighbor queries are answered in
+	 *         parallel; {@code false} otherwise
+	 */
+	public static boolean isParallelNearestNeighborSearch() {
+		return PROPERTIES.getBoolean(KEY_PARALLEL_NEAREST_NEIGHBOR_SEARCH,
+				false);
+	}
+	
 	/**
 	 * Returns {@code true} if hypervolume calculation is enabled; {@code false}
 	 * otherwise.  When disabled, the hypervolume should be reported as
@@ -500,6 +561,46 @@ public class Settings {
 		return PROPERTIES.getString(KEY_CLEANUP_STRATEGY, "error");
 	}
 	
+	/**
+	 * Returns {@code true} if result files are synchronized with the storage
+	 * device after each entry is written, guaranteeing the entry survives a
+	 * system crash; {@code false} otherwise.  Entries are always flushed to the
+	 * operating system after being written.  The default is {@code false}.
+	 * 
+	 * @return {@code true} if result files are synchronized with the storage
+	 *         device after each entry is written; {@code false} otherwise
+	 */
+	public static boolean isResultFileSync() {
+		return PROPERTIES.getBoolean(KEY_RESULT_FILE_SYNC, false);
+	}
+	
+	/**
+	 * Returns the name of the non-dominated sorting algorithm used by
+	 * {@link FastNondominatedSorting}.  Possible values are the constants
+	 * defined in {@link NondominatedSorter}, such as
+	 * {@code fast_nondominated_sort}, {@code ens_ss}, and {@code ens_bs}.  The
+	 * default is {@code ens_ss}.
+	 * 
+	 * @return the name of the non-dominated sorting algorithm
+	 */
+	public static String getNondominatedSorter() {
+		return PROPERTIES.getString(KEY_NONDOMINATED_SORTER, "ens_ss");
+	}
+	
+	/**
+	 * Returns the maximum number of solutions sent to each external process
+	 * by {@link ExternalProblem#evaluateAll(Solution[])} before their
+	 * responses are read.  Larger values hide more communication latency, but
+	 * must not exceed the number of requests and responses the operating
+	 * system buffers for the connection.  The default is {@code 16}.
+	 * 
+	 * @return the maximum number of solutions sent to each external process
+	 *         before their responses are read
+	 */
+	public static int getExternalProblemWindowSize() {
+		return PROPERTIES.getInt(KEY_EXTERNAL_PROBLEM_WINDOW_SIZE, 16);
+	}
+	
 	/**
 	 * Returns the MOEA Framework icons of various sizes.
 	 * 
@@ -50,6 +50,20 @@ Comparator<Solution>, Serializable {
 	 *         specified solution
 	 */
 	protected double getConstraints(Solution solution) {
+		return getConstraintViolation(solution);
+	}
+	
+	/**
+	 * Returns the sum of the absolute value of the constraints for the
+	 * specified solution.  Unlike {@link #getConstraints(Solution)}, this
+	 * method can not be overridden and is intended for code that operates on
+	 * precomputed constraint violations.
+	 * 
+	 * @param solution the solution
+	 * @return the sum of the absolute value of the constraints for the
+	 *         specified solution
+	 */
+	public static double getConstraintViolation(Solution solution) {
 		double constraints = 0.0;
 
 		for (int i = 0; i < solution.getNumberOfConstraints(); i++) {
@@ -58,12 +72,20 @@ Comparator<Solution>, Serializable {
 
 		return constraints;
 	}
-
-	@Override
-	public int compare(Solution solution1, Solution solution2) {
-		double constraints1 = getConstraints(solution1);
-		double constraints2 = getConstraints(solution2);
-
+	
+	/**
+	 * Compares two aggregate constraint violations, as returned by
+	 * {@link #getConstraintViolation(Solution)}.  Feasible solutions are
+	 * preferred over infeasible solutions, and infeasible solutions with
+	 * smaller constraint violations are preferred.
+	 * 
+	 * @param constraints1 the constraint violation of the first solution
+	 * @param constraints2 the constraint violation of the second solution
+	 * @return {@code -1}, {@code 0} or {@code 1} if the first solution is
+	 *         preferred, equivalent or not preferred to the second solution
+	 *         with respect to constraints
+	 */
+	public static int compare(double constraints1, double constraints2) {
 		if ((constraints1 != 0.0) || (constraints2 != 0.0)) {
 			if (constraints1 == 0.0) {
 				return -1;
@@ -77,4 +99,9 @@ Comparator<Solution>, Serializable {
 		}
 	}
 
+	@Override
+	public int compare(Solution solution1, Solution solution2) {
+		return compare(getConstraints(solution1), getConstraints(solution2));
+	}
+
 }
@@ -21,10 +21,12 @@ import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
 
 /**
- * Indicator-based fitness using the additive &epsilon;-indicator.
+ * Indicator-based fitness using the additive &epsilon;-indicator.  The
+ * indicator is always computed from packed objective values through
+ * {@link PackedIndicator}, so the method computing it on solutions is final.
  */
 public class AdditiveEpsilonIndicatorFitnessEvaluator extends
-		IndicatorFitnessEvaluator {
+		IndicatorFitnessEvaluator implements PackedIndicator {
 
 	/**
 	 * Constructs an additive &epsilon;-indicator fitness evaluator.
@@ -71,7 +73,7 @@ public class AdditiveEpsilonIndicatorFitnessEvaluator extends
 	 * PROVIDE MAINTENANCE, SUPPORT, UPDATES, ENHANCEMENTS, OR MODIFICATIONS.
 	 */
 	@Override
-	protected double calculateIndicator(Solution solution1, 
+	protected final double calculateIndicator(Solution solution1, 
 			Solution solution2) {
 		double eps = Double.NEGATIVE_INFINITY;
 
@@ -87,6 +89,22 @@ public class AdditiveEpsilonIndicatorFitnessEvaluator extends
 		return eps;
 	}
 
+	@Override
+	public double calculateIndicator(double[] objectives, int offset1,
+			int offset2) {
+		double eps = Double.NEGATIVE_INFINITY;
+
+		for (int i = 0; i < getProblem().getNumberOfObjectives(); i++) {
+			double temp_eps = objectives[offset1 + i] - objectives[offset2 + i];
+
+			if (temp_eps > eps) {
+				eps = temp_eps;
+			}
+		}
+
+		return eps;
+	}
+
 	@Override
 	public boolean areLargerValuesPreferred() {
 		return false;
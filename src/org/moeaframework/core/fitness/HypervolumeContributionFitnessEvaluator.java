@@ -17,30 +17,59 @@
  */
 package org.moeaframework.core.fitness;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
 
 import org.moeaframework.core.FitnessEvaluator;
 import org.moeaframework.core.Population;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
-import org.moeaframework.core.indicator.Hypervolume;
+import org.moeaframework.core.indicator.HypervolumeContributions;
 
+/**
+ * Fitness evaluator assigning each solution its hypervolume contribution, the
+ * volume dominated by the solution but not by any other solution in the
+ * population.  The objectives are normalized by the bounds of the population,
+ * and the reference point is derived from these bounds and the
+ * {@code offset}.  The contributions are maintained by
+ * {@link HypervolumeContributions}, either exactly or by
+ * Monte-Carlo estimation.
+ * <p>
+ * The contributions are rebuilt from scratch on every call to
+ * {@link #evaluate(Population)} and are not reused across evaluations.  The
+ * normalization depends on the bounds of the population, which may change
+ * whenever a solution is replaced, so the normalized points and reference
+ * point of one evaluation are generally not valid for the next.
+ */
 public class HypervolumeContributionFitnessEvaluator implements FitnessEvaluator {
 	
 	private final Problem problem;
 	
 	private final double offset;
 	
+	private final int numberOfSamples;
+	
 	public HypervolumeContributionFitnessEvaluator(Problem problem) {
 		this(problem, 100.0);
 	}
 	
 	public HypervolumeContributionFitnessEvaluator(Problem problem, double offset) {
+		this(problem, offset, 0);
+	}
+	
+	/**
+	 * Constructs a hypervolume contribution fitness evaluator.
+	 * 
+	 * @param problem the problem
+	 * @param offset the offset used when computing the reference point
+	 * @param numberOfSamples the number of Monte-Carlo samples per solution;
+	 *        or {@code 0} to compute the contributions exactly
+	 */
+	public HypervolumeContributionFitnessEvaluator(Problem problem, double offset,
+			int numberOfSamples) {
 		super();
 		this.problem = problem;
 		this.offset = offset;
+		this.numberOfSamples = numberOfSamples;
 	}
 
 	@Override
@@ -50,48 +79,59 @@ public class HypervolumeContributionFitnessEvaluator implements FitnessEvaluator
 				solution.setAttribute(FITNESS_ATTRIBUTE, 0.0);
 			}
 		} else {
-			int numberOfObjectives = problem.getNumberOfObjectives();
-			List<Solution> solutions = normalize(population);
-			List<Solution> solutionsCopy = new ArrayList<Solution>(solutions);
-			double totalVolume = Hypervolume.calculateHypervolume(solutionsCopy, solutionsCopy.size(), numberOfObjectives);
+			HypervolumeContributions contributions = normalize(population);
 			
 			for (int i = 0; i < population.size(); i++) {
-				solutionsCopy = new ArrayList<Solution>(solutions);
-				solutionsCopy.remove(i);
-				
-				double volume = Hypervolume.calculateHypervolume(solutionsCopy, solutionsCopy.size(), numberOfObjectives);
-				population.get(i).setAttribute(FITNESS_ATTRIBUTE, totalVolume - volume);
+				population.get(i).setAttribute(FITNESS_ATTRIBUTE,
+						contributions.getContribution(i));
 			}
 		}
 	}
 	
-	private List<Solution> normalize(Population population) {
-		List<Solution> result = new ArrayList<Solution>();
-		
-		double[] min = new double[problem.getNumberOfObjectives()];
-		double[] max = new double[problem.getNumberOfObjectives()];
+	/**
+	 * Returns the hypervolume contributions of the normalized solutions.  This
+	 * is equivalent to inverting the objectives and measuring the maximized
+	 * hypervolume relative to the origin, as done by the PISA hypervolume
+	 * routine.
+	 * 
+	 * @param population the population
+	 * @return the hypervolume contributions of the normalized solutions
+	 */
+	private HypervolumeContributions normalize(Population population) {
+		int numberOfObjectives = problem.getNumberOfObjectives();
+		double[] min = new double[numberOfObjectives];
+		double[] max = new double[numberOfObjectives];
 		
 		Arrays.fill(min, Double.POSITIVE_INFINITY);
 		Arrays.fill(max, Double.NEGATIVE_INFINITY);
 		
 		for (Solution solution : population) {
-			for (int i = 0; i < problem.getNumberOfObjectives(); i++) {
+			for (int i = 0; i < numberOfObjectives; i++) {
 				min[i] = Math.min(min[i], solution.getObjective(i));
 				max[i] = Math.max(max[i], solution.getObjective(i));
 			}
 		}
 		
+		double[] referencePoint = new double[numberOfObjectives];
+		
+		for (int i = 0; i < numberOfObjectives; i++) {
+			referencePoint[i] = (max[i] + offset) / (max[i] - min[i]);
+		}
+		
+		HypervolumeContributions contributions = new HypervolumeContributions(
+				referencePoint, numberOfSamples);
+		
 		for (Solution solution : population) {
-			Solution newSolution = solution.copy();
+			double[] point = new double[numberOfObjectives];
 			
-			for (int i = 0; i < problem.getNumberOfObjectives(); i++) {
-				newSolution.setObjective(i, (max[i] - (newSolution.getObjective(i) - min[i]) + offset) / (max[i] - min[i]));
+			for (int i = 0; i < numberOfObjectives; i++) {
+				point[i] = (solution.getObjective(i) - min[i]) / (max[i] - min[i]);
 			}
-
-			result.add(newSolution);
+			
+			contributions.add(point);
 		}
 		
-		return result;
+		return contributions;
 	}
 
 	@Override
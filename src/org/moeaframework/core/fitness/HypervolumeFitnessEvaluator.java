@@ -20,11 +20,23 @@ package org.moeaframework.core.fitness;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
 import org.moeaframework.core.comparator.ParetoDominanceComparator;
+import org.moeaframework.core.indicator.HypervolumeAlgorithm;
 
 /**
- * Indicator-based fitness using the hypervolume metric.
+ * Indicator-based fitness using the hypervolume metric.  By default, the
+ * exclusive hypervolume of two solutions is computed with the recursive PISA
+ * routine requiring {@code O(2^M)} time, as in the original IBEA
+ * implementation.  The {@link HypervolumeAlgorithm#WFG} algorithm, which must
+ * be requested explicitly, computes it in closed form in {@code O(M)} time.
+ * The closed form can differ from the PISA routine in the last few bits, so
+ * the two algorithms do not produce identical search results.
+ * <p>
+ * The indicator is always computed from packed objective values through
+ * {@link PackedIndicator}, so the methods computing it on solutions are
+ * final.
  */
-public class HypervolumeFitnessEvaluator extends IndicatorFitnessEvaluator {
+public class HypervolumeFitnessEvaluator extends IndicatorFitnessEvaluator
+		implements PackedIndicator {
 
 	/**
 	 * Determines the reference point for the hypervolume metric.
@@ -40,26 +52,193 @@ public class HypervolumeFitnessEvaluator extends IndicatorFitnessEvaluator {
 			new ParetoDominanceComparator();
 
 	/**
-	 * Constructs a hypervolume fitness evaluator.
+	 * The algorithm used to compute the hypervolume.
+	 */
+	private final HypervolumeAlgorithm algorithm;
+
+	/**
+	 * Constructs a hypervolume fitness evaluator using the recursive PISA
+	 * routine, regardless of the hypervolume algorithm specified by the
+	 * settings.
 	 * 
 	 * @param problem the problem
 	 */
 	public HypervolumeFitnessEvaluator(Problem problem) {
+		this(problem, HypervolumeAlgorithm.PISA);
+	}
+
+	/**
+	 * Constructs a hypervolume fitness evaluator using the given hypervolume
+	 * algorithm.
+	 * 
+	 * @param problem the problem
+	 * @param algorithm the algorithm used to compute the hypervolume
+	 */
+	public HypervolumeFitnessEvaluator(Problem problem,
+			HypervolumeAlgorithm algorithm) {
 		super(problem);
+		this.algorithm = algorithm;
+	}
+
+	/**
+	 * Returns the algorithm used to compute the hypervolume.
+	 * 
+	 * @return the algorithm used to compute the hypervolume
+	 */
+	public HypervolumeAlgorithm getAlgorithm() {
+		return algorithm;
 	}
 
 	@Override
-	protected double calculateIndicator(Solution solution1, 
+	protected final double calculateIndicator(Solution solution1, 
 			Solution solution2) {
 		if (dominanceComparator.compare(solution1, solution2) < 0) {
-			return -calculateHypervolume(solution1, solution2, getProblem()
-					.getNumberOfObjectives());
+			return -calculateExclusiveHypervolume(solution1, solution2);
+		} else {
+			return calculateExclusiveHypervolume(solution2, solution1);
+		}
+	}
+
+	@Override
+	public double calculateIndicator(double[] objectives, int offset1,
+			int offset2) {
+		if (dominates(objectives, offset1, offset2)) {
+			return -calculateExclusiveHypervolume(objectives, offset1,
+					offset2);
+		} else {
+			return calculateExclusiveHypervolume(objectives, offset2, offset1);
+		}
+	}
+
+	/**
+	 * Returns {@code true} if the first packed objective vector Pareto
+	 * dominates the second; {@code false} otherwise.
+	 * 
+	 * @param objectives the packed objective values
+	 * @param offset1 the offset of the first objective vector
+	 * @param offset2 the offset of the second objective vector
+	 * @return {@code true} if the first packed objective vector Pareto
+	 *         dominates the second; {@code false} otherwise
+	 */
+	private boolean dominates(double[] objectives, int offset1, int offset2) {
+		boolean dominates = false;
+
+		for (int i = 0; i < getProblem().getNumberOfObjectives(); i++) {
+			if (objectives[offset1 + i] > objectives[offset2 + i]) {
+				return false;
+			} else if (objectives[offset1 + i] < objectives[offset2 + i]) {
+				dominates = true;
+			}
+		}
+
+		return dominates;
+	}
+
+	/**
+	 * Calculates the hypervolume of the portion of the objective space that is
+	 * dominated by {@code solution1} but not by {@code solution2}, scaled by
+	 * the volume of the reference box.
+	 * 
+	 * @param solution1 the first solution
+	 * @param solution2 the second solution
+	 * @return the hypervolume of the portion of the objective space that is
+	 *         dominated by {@code solution1} but not by {@code solution2}
+	 */
+	private double calculateExclusiveHypervolume(Solution solution1,
+			Solution solution2) {
+		return calculateExclusiveHypervolume(pack(solution1, solution2), 0,
+				getProblem().getNumberOfObjectives());
+	}
+
+	/**
+	 * Calculates the hypervolume of the portion of the objective space that is
+	 * dominated by the first packed objective vector but not by the second,
+	 * scaled by the volume of the reference box.  With the
+	 * {@link HypervolumeAlgorithm#WFG} algorithm, this is the volume dominated
+	 * by the first vector minus the volume dominated by the component-wise
+	 * worst of both vectors.
+	 * 
+	 * @param objectives the packed objective values
+	 * @param offset1 the offset of the first objective vector
+	 * @param offset2 the offset of the second objective vector
+	 * @return the hypervolume of the portion of the objective space that is
+	 *         dominated by the first vector but not by the second
+	 */
+	private double calculateExclusiveHypervolume(double[] objectives,
+			int offset1, int offset2) {
+		int numberOfObjectives = getProblem().getNumberOfObjectives();
+
+		if (algorithm != HypervolumeAlgorithm.WFG) {
+			return calculateHypervolume(objectives, offset1, offset2,
+					numberOfObjectives);
+		}
+
+		double inclusive = 1.0;
+		double limit = 1.0;
+		double scale = 1.0;
+		boolean contributing = true;
+		boolean limitContributing = true;
+
+		for (int i = 0; i < numberOfObjectives; i++) {
+			double value = objectives[offset1 + i];
+			double worst = Math.max(value, objectives[offset2 + i]);
+
+			contributing &= value < rho;
+			limitContributing &= worst < rho;
+			inclusive *= rho - value;
+			limit *= rho - worst;
+			scale *= rho;
+		}
+
+		if (!contributing) {
+			return 0.0;
+		} else if (!limitContributing) {
+			return inclusive / scale;
 		} else {
-			return calculateHypervolume(solution2, solution1, getProblem()
-					.getNumberOfObjectives());
+			return (inclusive - limit) / scale;
 		}
 	}
 
+	/**
+	 * Packs the objective values of two solutions into one array.
+	 * 
+	 * @param solution1 the first solution
+	 * @param solution2 the second solution; or {@code null}
+	 * @return the objective values of the first solution followed by those of
+	 *         the second solution, if any
+	 */
+	private double[] pack(Solution solution1, Solution solution2) {
+		int numberOfObjectives = getProblem().getNumberOfObjectives();
+		double[] objectives = new double[2*numberOfObjectives];
+
+		for (int i = 0; i < numberOfObjectives; i++) {
+			objectives[i] = solution1.getObjective(i);
+
+			if (solution2 != null) {
+				objectives[numberOfObjectives + i] = solution2.getObjective(i);
+			}
+		}
+
+		return objectives;
+	}
+
+	/**
+	 * Calculates the hypervolume of the portion of the objective space that is
+	 * dominated by {@code solution1} but not by {@code solution2}.
+	 * 
+	 * @param solution1 the first solution
+	 * @param solution2 the second solution; or {@code null}
+	 * @param d the current objective
+	 * @return the hypervolume of the portion of the objective space that is
+	 *         dominated by {@code solution1} but not by {@code solution2}.
+	 */
+	protected final double calculateHypervolume(Solution solution1,
+			Solution solution2, int d) {
+		return calculateHypervolume(pack(solution1, solution2), 0,
+				solution2 == null ? -1 : getProblem().getNumberOfObjectives(),
+				d);
+	}
+
 	/*
 	 * The following method is modified from the IBEA implementation for the
 	 * PISA framework, available at <a href="http://www.tik.ee.ethz.ch/pisa/">
@@ -97,22 +276,24 @@ public class HypervolumeFitnessEvaluator extends IndicatorFitnessEvaluator {
 	 */
 	/**
 	 * Calculates the hypervolume of the portion of the objective space that is
-	 * dominated by {@code solution1} but not by {@code solution2}.
+	 * dominated by the first packed objective vector but not by the second.
 	 * 
-	 * @param solution1 the first solution
-	 * @param solution2 the second solution
+	 * @param objectives the packed objective values
+	 * @param offset1 the offset of the first objective vector
+	 * @param offset2 the offset of the second objective vector; or {@code -1}
+	 *        to use the reference point
 	 * @param d the current objective
 	 * @return the hypervolume of the portion of the objective space that is
-	 *         dominated by {@code solution1} but not by {@code solution2}.
+	 *         dominated by the first vector but not by the second
 	 */
-	protected double calculateHypervolume(Solution solution1,
-			Solution solution2, int d) {
+	private double calculateHypervolume(double[] objectives, int offset1,
+			int offset2, int d) {
 		double max = rho;
-		double a = solution1.getObjective(d - 1);
+		double a = objectives[offset1 + d - 1];
 		double b = max;
 
-		if (solution2 != null) {
-			b = solution2.getObjective(d - 1);
+		if (offset2 >= 0) {
+			b = objectives[offset2 + d - 1];
 		}
 
 		double volume = 0.0;
@@ -123,13 +304,13 @@ public class HypervolumeFitnessEvaluator extends IndicatorFitnessEvaluator {
 			}
 		} else {
 			if (a < b) {
-				volume = calculateHypervolume(solution1, null, d - 1) * 
+				volume = calculateHypervolume(objectives, offset1, -1, d - 1) * 
 						(b - a) / rho
-						+ calculateHypervolume(solution1, solution2, d - 1) * 
-						(max - b) / rho;
+						+ calculateHypervolume(objectives, offset1, offset2,
+								d - 1) * (max - b) / rho;
 			} else {
-				volume = calculateHypervolume(solution1, solution2, d - 1) *
-						(max - a) / rho;
+				volume = calculateHypervolume(objectives, offset1, offset2,
+						d - 1) * (max - a) / rho;
 			}
 		}
 
@@ -17,18 +17,35 @@
  */
 package org.moeaframework.core.fitness;
 
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+
 import org.moeaframework.core.FitnessEvaluator;
 import org.moeaframework.core.FrameworkException;
 import org.moeaframework.core.Population;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
 import org.moeaframework.core.indicator.Normalizer;
+import org.moeaframework.util.SharedForkJoinPool;
 
 /**
  * Abstract class for assigning fitnesses based on an indicator.
+ * <p>
+ * Indicators that depend only on the objective values can implement
+ * {@link PackedIndicator}, in which case the indicator matrix is computed from
+ * a packed array of the normalized objectives, with large populations split
+ * across threads by rows.  The fitness of each
+ * solution is cached, allowing {@link #removeAndUpdate(Population, int)} and
+ * {@link #findWorstIndex()} to run without recomputing the matrix.
  */
 public abstract class IndicatorFitnessEvaluator implements FitnessEvaluator {
 
+	/**
+	 * The minimum number of rows of the indicator matrix computed by a single
+	 * thread.
+	 */
+	private static final int PARALLEL_GRAIN = 32;
+
 	/**
 	 * The problem.
 	 */
@@ -47,10 +64,52 @@ public abstract class IndicatorFitnessEvaluator implements FitnessEvaluator {
 	
 	/**
 	 * Record of the fitness components from the last call to
-	 * {@link #evaluate(Population)}.
+	 * {@link #evaluate(Population)}.  Row {@code j}, column {@code i} stores
+	 * the contribution of solution {@code j} to the fitness of solution
+	 * {@code i}, where solutions are identified by their original index.
 	 */
 	private double[][] fitcomp;
 
+	/**
+	 * The fitness of each solution, identified by its original index.
+	 */
+	private double[] fitness;
+
+	/**
+	 * The original index of each solution remaining in the population, in
+	 * ascending order.
+	 */
+	private int[] indices;
+
+	/**
+	 * The number of solutions remaining in the population.
+	 */
+	private int size;
+
+	/**
+	 * {@code true} if the solution with the given original index has been
+	 * removed; {@code false} otherwise.
+	 */
+	private boolean[] removed;
+
+	/**
+	 * The original indices of the solutions in the heap used by
+	 * {@link #findWorstIndex()}.  A solution may appear more than once.
+	 */
+	private int[] heapIndices;
+
+	/**
+	 * The fitness of the solutions in the heap when they were inserted.  The
+	 * fitness of a solution only decreases while removing solutions, so these
+	 * are upper bounds of the current fitness values.
+	 */
+	private double[] heapFitness;
+
+	/**
+	 * The number of entries in the heap.
+	 */
+	private int heapSize;
+
 	/**
 	 * Constructs an indicator-based fitness for the specified problem.
 	 * 
@@ -108,33 +167,107 @@ public abstract class IndicatorFitnessEvaluator implements FitnessEvaluator {
 	public void evaluate(Population population) {
 		Normalizer normalizer = new Normalizer(problem, population);
 		Population normalizedPopulation = normalizer.normalize(population);
+		int n = population.size();
 
 		// compute fitness components
-		fitcomp = new double[population.size()][population.size()];
-		maxAbsIndicatorValue = Double.NEGATIVE_INFINITY;
+		fitcomp = new double[n][];
+
+		if ((this instanceof PackedIndicator) &&
+				!violatesConstraints(normalizedPopulation)) {
+			int numberOfObjectives = problem.getNumberOfObjectives();
+			double[] objectives = new double[n*numberOfObjectives];
 
-		for (int i = 0; i < population.size(); i++) {
-			for (int j = 0; j < population.size(); j++) {
-				fitcomp[i][j] = calculateIndicator(normalizedPopulation.get(i),
-						normalizedPopulation.get(j));
+			for (int i = 0; i < n; i++) {
+				Solution solution = normalizedPopulation.get(i);
 
+				for (int j = 0; j < numberOfObjectives; j++) {
+					objectives[i*numberOfObjectives + j] =
+							solution.getObjective(j);
+				}
+			}
+
+			computeRows(new RowTask(objectives, 0, n));
+		} else {
+			for (int i = 0; i < n; i++) {
+				fitcomp[i] = new double[n];
+
+				for (int j = 0; j < n; j++) {
+					fitcomp[i][j] = calculateIndicator(
+							normalizedPopulation.get(i),
+							normalizedPopulation.get(j));
+				}
+			}
+		}
+
+		maxAbsIndicatorValue = Double.NEGATIVE_INFINITY;
+
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < n; j++) {
 				if (Math.abs(fitcomp[i][j]) > maxAbsIndicatorValue) {
 					maxAbsIndicatorValue = Math.abs(fitcomp[i][j]);
 				}
 			}
 		}
 
-		// calculate fitness from fitness components
-		for (int i = 0; i < population.size(); i++) {
-			double sum = 0.0;
-			
-			for (int j = 0; j < population.size(); j++) {
+		// replace each component by its contribution to the fitness
+		computeRows(new RowTask(null, 0, n));
+
+		// calculate fitness from fitness components, summing the rows to
+		// access the matrix sequentially
+		fitness = new double[n];
+
+		for (int j = 0; j < n; j++) {
+			for (int i = 0; i < n; i++) {
 				if (i != j) {
-					sum += Math.exp((-fitcomp[j][i] / maxAbsIndicatorValue) / kappa);
+					fitness[i] += fitcomp[j][i];
 				}
 			}
-			
-			population.get(i).setAttribute(FitnessEvaluator.FITNESS_ATTRIBUTE, sum);
+		}
+
+		indices = new int[n];
+		removed = new boolean[n];
+		heapIndices = new int[n];
+		heapFitness = new double[n];
+		size = n;
+		heapSize = 0;
+
+		for (int i = 0; i < n; i++) {
+			population.get(i).setAttribute(FitnessEvaluator.FITNESS_ATTRIBUTE,
+					fitness[i]);
+			indices[i] = i;
+			push(i);
+		}
+	}
+
+	/**
+	 * Returns {@code true} if any solution in the population violates its
+	 * constraints; {@code false} otherwise.
+	 * 
+	 * @param population the population
+	 * @return {@code true} if any solution in the population violates its
+	 *         constraints; {@code false} otherwise
+	 */
+	private static boolean violatesConstraints(Population population) {
+		for (Solution solution : population) {
+			if (solution.violatesConstraints()) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Computes the rows of the fitness component matrix, in parallel if there
+	 * are enough rows.
+	 * 
+	 * @param task the task computing all rows
+	 */
+	private void computeRows(RowTask task) {
+		if (task.to - task.from > PARALLEL_GRAIN) {
+			SharedForkJoinPool.getInstance().invoke(task);
+		} else {
+			task.compute();
 		}
 	}
 	
@@ -153,29 +286,186 @@ public abstract class IndicatorFitnessEvaluator implements FitnessEvaluator {
 			throw new FrameworkException("evaluate must be called first");
 		}
 		
-		for (int i = 0; i < population.size(); i++) {
+		double[] contributions = fitcomp[indices[removeIndex]];
+		
+		for (int i = 0; i < size; i++) {
 			if (i != removeIndex) {
-				Solution solution = population.get(i);
-				double fitness = (Double)solution.getAttribute(
-						FitnessEvaluator.FITNESS_ATTRIBUTE);
+				int index = indices[i];
+				double oldFitness = fitness[index];
+				
+				fitness[index] -= contributions[index];
 				
-				fitness -= Math.exp((-fitcomp[removeIndex][i] / maxAbsIndicatorValue) / kappa);
+				population.get(i).setAttribute(FITNESS_ATTRIBUTE,
+						fitness[index]);
 				
-				solution.setAttribute(FITNESS_ATTRIBUTE, fitness);
+				// only reached if a contribution is NaN
+				if (Double.compare(fitness[index], oldFitness) > 0) {
+					push(index);
+				}
 			}
 		}
 		
-		for (int i = 0; i < population.size(); i++) {
-			for (int j = removeIndex+1; j < population.size(); j++) {
-				fitcomp[i][j-1] = fitcomp[i][j];
+		removed[indices[removeIndex]] = true;
+		fitcomp[indices[removeIndex]] = null;
+		System.arraycopy(indices, removeIndex+1, indices, removeIndex,
+				size-removeIndex-1);
+		size--;
+
+		population.remove(removeIndex);
+	}
+
+	/**
+	 * After calling {@link #evaluate(Population)}, returns the index of the
+	 * solution in the population with the worst fitness value.  If more than
+	 * one solution is worst, the first such index is returned.  The same
+	 * restrictions apply as for {@link #removeAndUpdate(Population, int)}.
+	 * <p>
+	 * If smaller fitness values are preferred, the worst solution is found
+	 * using a heap whose entries are updated lazily.  Since removing a
+	 * solution only decreases the fitness of the others, an entry whose
+	 * fitness is current is the worst solution.
+	 * 
+	 * @return the index of the solution with the worst fitness value; or
+	 *         {@code -1} if the population is empty
+	 */
+	public int findWorstIndex() {
+		if (fitcomp == null) {
+			throw new FrameworkException("evaluate must be called first");
+		}
+
+		if (areLargerValuesPreferred()) {
+			int worstIndex = size > 0 ? 0 : -1;
+
+			for (int i = 1; i < size; i++) {
+				if (Double.compare(fitness[indices[i]],
+						fitness[indices[worstIndex]]) < 0) {
+					worstIndex = i;
+				}
+			}
+
+			return worstIndex;
+		}
+
+		while (heapSize > 0) {
+			int index = heapIndices[0];
+			double heapValue = heapFitness[0];
+
+			if (removed[index]) {
+				pop();
+				continue;
+			}
+
+			int comparison = Double.compare(fitness[index], heapValue);
+
+			if (comparison == 0) {
+				return Arrays.binarySearch(indices, 0, size, index);
 			}
-			
-			if (i > removeIndex) {
-				fitcomp[i-1] = fitcomp[i];
+
+			pop();
+
+			// a larger fitness is already in the heap
+			if (comparison < 0) {
+				push(index);
 			}
 		}
 
-		population.remove(removeIndex);
+		return -1;
+	}
+
+	/**
+	 * Returns {@code true} if the first heap entry precedes the second heap
+	 * entry, having a larger fitness or, if equal, a smaller original index;
+	 * {@code false} otherwise.
+	 * 
+	 * @param i the first heap position
+	 * @param j the second heap position
+	 * @return {@code true} if the first heap entry precedes the second heap
+	 *         entry; {@code false} otherwise
+	 */
+	private boolean precedes(int i, int j) {
+		int comparison = Double.compare(heapFitness[i], heapFitness[j]);
+
+		if (comparison == 0) {
+			return heapIndices[i] < heapIndices[j];
+		} else {
+			return comparison > 0;
+		}
+	}
+
+	/**
+	 * Swaps two heap entries.
+	 * 
+	 * @param i the first heap position
+	 * @param j the second heap position
+	 */
+	private void swap(int i, int j) {
+		int index = heapIndices[i];
+		double value = heapFitness[i];
+
+		heapIndices[i] = heapIndices[j];
+		heapFitness[i] = heapFitness[j];
+		heapIndices[j] = index;
+		heapFitness[j] = value;
+	}
+
+	/**
+	 * Inserts the solution with the given original index into the heap using
+	 * its current fitness.
+	 * 
+	 * @param index the original index of the solution
+	 */
+	private void push(int index) {
+		if (heapSize == heapIndices.length) {
+			heapIndices = Arrays.copyOf(heapIndices,
+					Math.max(1, 2*heapSize));
+			heapFitness = Arrays.copyOf(heapFitness,
+					Math.max(1, 2*heapSize));
+		}
+
+		int position = heapSize++;
+		heapIndices[position] = index;
+		heapFitness[position] = fitness[index];
+
+		while (position > 0) {
+			int parent = (position - 1) / 2;
+
+			if (!precedes(position, parent)) {
+				break;
+			}
+
+			swap(position, parent);
+			position = parent;
+		}
+	}
+
+	/**
+	 * Removes the first entry from the heap.
+	 */
+	private void pop() {
+		heapSize--;
+		heapIndices[0] = heapIndices[heapSize];
+		heapFitness[0] = heapFitness[heapSize];
+
+		int position = 0;
+
+		while (true) {
+			int child = 2*position + 1;
+
+			if (child >= heapSize) {
+				break;
+			}
+
+			if ((child + 1 < heapSize) && precedes(child + 1, child)) {
+				child++;
+			}
+
+			if (!precedes(child, position)) {
+				break;
+			}
+
+			swap(position, child);
+			position = child;
+		}
 	}
 
 	/**
@@ -188,4 +478,85 @@ public abstract class IndicatorFitnessEvaluator implements FitnessEvaluator {
 	protected abstract double calculateIndicator(Solution solution1,
 			Solution solution2);
 
+	/**
+	 * Computes a range of rows of the fitness component matrix, splitting the
+	 * range in half until it contains at most
+	 * {@value IndicatorFitnessEvaluator#PARALLEL_GRAIN} rows.  With packed
+	 * objective values, the rows of indicator values are computed; otherwise,
+	 * the existing indicator values are replaced by their contribution to the
+	 * fitness.
+	 */
+	private class RowTask extends RecursiveAction {
+
+		private static final long serialVersionUID = -2305366185838823262L;
+
+		/**
+		 * The packed objective values; or {@code null} if the indicator values
+		 * are replaced by their contribution to the fitness.
+		 */
+		private final double[] objectives;
+
+		/**
+		 * The first row, inclusive.
+		 */
+		private final int from;
+
+		/**
+		 * The last row, exclusive.
+		 */
+		private final int to;
+
+		/**
+		 * Constructs a task computing the rows in the range
+		 * {@code [from, to)}.
+		 * 
+		 * @param objectives the packed objective values; or {@code null} if
+		 *        the indicator values are replaced by their contribution to
+		 *        the fitness
+		 * @param from the first row, inclusive
+		 * @param to the last row, exclusive
+		 */
+		public RowTask(double[] objectives, int from, int to) {
+			super();
+			this.objectives = objectives;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > PARALLEL_GRAIN) {
+				int mid = (from + to) >>> 1;
+
+				invokeAll(new RowTask(objectives, from, mid),
+						new RowTask(objectives, mid, to));
+			} else if (objectives != null) {
+				PackedIndicator indicator =
+						(PackedIndicator)IndicatorFitnessEvaluator.this;
+				int numberOfObjectives = problem.getNumberOfObjectives();
+
+				for (int i = from; i < to; i++) {
+					double[] row = new double[fitcomp.length];
+
+					for (int j = 0; j < row.length; j++) {
+						row[j] = indicator.calculateIndicator(objectives,
+								i*numberOfObjectives, j*numberOfObjectives);
+					}
+
+					fitcomp[i] = row;
+				}
+			} else {
+				for (int i = from; i < to; i++) {
+					double[] row = fitcomp[i];
+
+					for (int j = 0; j < row.length; j++) {
+						row[j] = Math.exp((-row[j] / maxAbsIndicatorValue) /
+								kappa);
+					}
+				}
+			}
+		}
+
+	}
+
 }
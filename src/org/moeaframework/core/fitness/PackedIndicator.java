@@ -0,0 +1,48 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core.fitness;
+
+import org.moeaframework.core.Solution;
+
+/**
+ * Interface for {@link IndicatorFitnessEvaluator}s whose indicator depends
+ * only on the objective values.  The indicator matrix is then computed from a
+ * packed array of the normalized objectives, with large populations split
+ * across threads by rows.  The packed implementation is used whenever no
+ * solution violates its constraints, in which case
+ * {@link IndicatorFitnessEvaluator#calculateIndicator(Solution, Solution)} is
+ * not called, so implementations should make that method final.
+ */
+public interface PackedIndicator {
+
+	/**
+	 * Returns the indicator value relative to two solutions whose normalized
+	 * objective values are stored in a packed array, one solution after
+	 * another.  This must equal the indicator value computed from the
+	 * solutions themselves.  This method may be called concurrently from
+	 * multiple threads.
+	 * 
+	 * @param objectives the packed objective values
+	 * @param offset1 the offset of the first solution's objective values
+	 * @param offset2 the offset of the second solution's objective values
+	 * @return the indicator value relative to the two solutions
+	 */
+	public double calculateIndicator(double[] objectives, int offset1,
+			int offset2);
+
+}
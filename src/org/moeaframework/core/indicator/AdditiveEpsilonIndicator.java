@@ -26,7 +26,8 @@ import org.moeaframework.core.Solution;
  * &epsilon; value for the approximation set to &epsilon;-dominate the reference
  * set.
  */
-public class AdditiveEpsilonIndicator extends NormalizedIndicator {
+public class AdditiveEpsilonIndicator extends NormalizedIndicator
+		implements PreNormalizedIndicator {
 
 	/**
 	 * Constructs an additive &epsilon;-indicator evaluator for the specified 
@@ -42,7 +43,13 @@ public class AdditiveEpsilonIndicator extends NormalizedIndicator {
 
 	@Override
 	public double evaluate(NondominatedPopulation approximationSet) {
-		return evaluate(problem, normalize(approximationSet), 
+		return evaluateNormalized(normalize(approximationSet));
+	}
+	
+	@Override
+	public double evaluateNormalized(
+			NondominatedPopulation normalizedApproximationSet) {
+		return evaluate(problem, normalizedApproximationSet,
 				getNormalizedReferenceSet());
 	}
 
@@ -17,7 +17,6 @@
  */
 package org.moeaframework.core.indicator;
 
-import org.apache.commons.math3.util.MathArrays;
 import org.moeaframework.core.EpsilonBoxDominanceArchive;
 import org.moeaframework.core.Indicator;
 import org.moeaframework.core.NondominatedPopulation;
@@ -111,32 +110,48 @@ public class Contribution implements Indicator {
 
 	@Override
 	public double evaluate(NondominatedPopulation approximationSet) {
+		if (comparator == null) {
+			return evaluateExact(approximationSet);
+		}
+		
 		int count = 0;
 
 		for (Solution solution1 : referenceSet) {
-			boolean match = false;
-			
 			for (Solution solution2 : approximationSet) {
-				if (comparator == null) {
-					double distance = MathArrays.distance(
-							solution1.getObjectives(), 
-							solution2.getObjectives());
-					
-					if (distance < Settings.EPS) {
-						match = true;
-						break;
-					}
-				} else {
-					comparator.compare(solution1, solution2);
-					
-					if (comparator.isSameBox()) {
-						match = true;
-						break;
-					}
+				comparator.compare(solution1, solution2);
+				
+				if (comparator.isSameBox()) {
+					count++;
+					break;
 				}
 			}
-
-			if (match) {
+		}
+		
+		return count / (double)referenceSet.size();
+	}
+	
+	/**
+	 * Evaluates the contribution using exact matching.  A nearest-neighbor
+	 * search is built over the approximation set so each solution in the
+	 * reference set is matched in logarithmic rather than linear time.
+	 * 
+	 * @param approximationSet the approximation set
+	 * @return the contribution of the approximation set
+	 */
+	private double evaluateExact(NondominatedPopulation approximationSet) {
+		if (approximationSet.isEmpty()) {
+			return 0.0;
+		}
+		
+		int numberOfObjectives = 
+				referenceSet.get(0).getNumberOfObjectives();
+		NearestNeighborSearch search = new NearestNeighborSearch(
+				numberOfObjectives, approximationSet);
+		double[] distances = search.squaredDistancesToNearest(referenceSet);
+		int count = 0;
+		
+		for (int i = 0; i < distances.length; i++) {
+			if (Math.sqrt(distances[i]) < Settings.EPS) {
 				count++;
 			}
 		}
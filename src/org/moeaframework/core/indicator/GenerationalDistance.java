@@ -23,8 +23,17 @@ import org.moeaframework.core.Problem;
 /**
  * Generational distance indicator. Represents average distance from solutions
  * in an approximation set to the nearest solution in the reference set.
+ * Nearest solutions are found using a {@link NearestNeighborSearch} built once
+ * over the normalized reference set.
  */
-public class GenerationalDistance extends NormalizedIndicator {
+public class GenerationalDistance extends NormalizedIndicator
+		implements PreNormalizedIndicator {
+	
+	/**
+	 * The nearest-neighbor search over the normalized reference set; or
+	 * {@code null} if not yet built.
+	 */
+	private volatile NearestNeighborSearch referenceSearch;
 
 	/**
 	 * Constructs a generational distance evaluator for the specified problem 
@@ -40,8 +49,32 @@ public class GenerationalDistance extends NormalizedIndicator {
 
 	@Override
 	public double evaluate(NondominatedPopulation approximationSet) {
-		return evaluate(problem, normalize(approximationSet), 
-				getNormalizedReferenceSet());
+		return evaluateNormalized(normalize(approximationSet));
+	}
+	
+	@Override
+	public double evaluateNormalized(
+			NondominatedPopulation normalizedApproximationSet) {
+		return evaluate(normalizedApproximationSet, getReferenceSearch());
+	}
+	
+	/**
+	 * Returns the nearest-neighbor search over the normalized reference set,
+	 * building it on first use.
+	 * 
+	 * @return the nearest-neighbor search over the normalized reference set
+	 */
+	private NearestNeighborSearch getReferenceSearch() {
+		NearestNeighborSearch search = referenceSearch;
+		
+		if (search == null) {
+			search = new NearestNeighborSearch(
+					problem.getNumberOfObjectives(),
+					getNormalizedReferenceSet());
+			referenceSearch = search;
+		}
+		
+		return search;
 	}
 
 	/**
@@ -59,15 +92,34 @@ public class GenerationalDistance extends NormalizedIndicator {
 	static double evaluate(Problem problem,
 			NondominatedPopulation approximationSet,
 			NondominatedPopulation referenceSet) {
+		return evaluate(approximationSet, new NearestNeighborSearch(
+				problem.getNumberOfObjectives(), referenceSet));
+	}
+	
+	/**
+	 * Computes the generational distance given an approximation set and a
+	 * nearest-neighbor search over the reference set.  Returns
+	 * {@code Double.POSITIVE_INFINITY} if the approximation set is empty.
+	 * 
+	 * @param approximationSet an approximation set for the problem
+	 * @param referenceSearch the nearest-neighbor search over the reference
+	 *        set for the problem
+	 * @return the generational distance given an approximation set and
+	 *         reference set
+	 */
+	static double evaluate(NondominatedPopulation approximationSet,
+			NearestNeighborSearch referenceSearch) {
 		double sum = 0.0;
 		
 		if (approximationSet.isEmpty()) {
 			return Double.POSITIVE_INFINITY;
 		}
+		
+		double[] distances = referenceSearch.squaredDistancesToNearest(
+				approximationSet);
 
-		for (int i = 0; i < approximationSet.size(); i++) {
-			sum += Math.pow(IndicatorUtils.distanceToNearestSolution(problem,
-					approximationSet.get(i), referenceSet), 2.0);
+		for (int i = 0; i < distances.length; i++) {
+			sum += distances[i];
 		}
 
 		return Math.sqrt(sum) / approximationSet.size();
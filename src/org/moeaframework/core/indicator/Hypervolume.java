@@ -66,12 +66,21 @@ import org.moeaframework.util.io.RedirectStream;
  * Hypervolume indicator. Represents the volume of objective space dominated by
  * solutions in the approximation set.
  * <p>
- * Due to the computational burden of computing the hypervolume indicator and
- * the various estimation algorithms available, the ability to redirect the
- * hypervolume calculation to an external third-party executable is provided.
- * See {@link #invokeNativeHypervolume} for details.
+ * The hypervolume is computed in-process by one of the
+ * {@link HypervolumeAlgorithm}s, which by default is selected by
+ * {@link Settings#getHypervolumeAlgorithm()}.  Due to the computational
+ * burden of computing the hypervolume indicator and the various estimation
+ * algorithms available, the ability to redirect the hypervolume calculation
+ * to an external third-party executable is also provided.  See
+ * {@link #invokeNativeHypervolume} for details.
  */
-public class Hypervolume extends NormalizedIndicator {
+public class Hypervolume extends NormalizedIndicator
+		implements PreNormalizedIndicator {
+
+	/**
+	 * The algorithm used to compute the hypervolume.
+	 */
+	private final HypervolumeAlgorithm algorithm;
 
 	/**
 	 * Constructs a hypervolume evaluator for the specified problem and 
@@ -81,7 +90,41 @@ public class Hypervolume extends NormalizedIndicator {
 	 * @param referenceSet the reference set
 	 */
 	public Hypervolume(Problem problem, NondominatedPopulation referenceSet) {
+		this(problem, referenceSet, getDefaultAlgorithm());
+	}
+
+	/**
+	 * Constructs a hypervolume evaluator for the specified problem and 
+	 * reference set using the given hypervolume algorithm.
+	 * 
+	 * @param problem the problem
+	 * @param referenceSet the reference set
+	 * @param algorithm the algorithm used to compute the hypervolume
+	 */
+	public Hypervolume(Problem problem, NondominatedPopulation referenceSet,
+			HypervolumeAlgorithm algorithm) {
 		super(problem, referenceSet);
+		this.algorithm = algorithm;
+	}
+
+	/**
+	 * Returns the algorithm used to compute the hypervolume.
+	 * 
+	 * @return the algorithm used to compute the hypervolume
+	 */
+	public HypervolumeAlgorithm getAlgorithm() {
+		return algorithm;
+	}
+
+	/**
+	 * Returns the hypervolume algorithm specified by
+	 * {@link Settings#getHypervolumeAlgorithm()}.
+	 * 
+	 * @return the hypervolume algorithm specified by the settings
+	 */
+	public static HypervolumeAlgorithm getDefaultAlgorithm() {
+		return HypervolumeAlgorithm.valueOf(
+				Settings.getHypervolumeAlgorithm().toUpperCase());
 	}
 
 	/**
@@ -270,11 +313,18 @@ public class Hypervolume extends NormalizedIndicator {
 
 	@Override
 	public double evaluate(NondominatedPopulation approximationSet) {
-		return evaluate(problem, normalize(approximationSet));
+		return evaluateNormalized(normalize(approximationSet));
+	}
+	
+	@Override
+	public double evaluateNormalized(
+			NondominatedPopulation normalizedApproximationSet) {
+		return evaluate(problem, normalizedApproximationSet, algorithm);
 	}
 
 	/**
-	 * Computes the hypervolume of the normalized approximation set.
+	 * Computes the hypervolume of the normalized approximation set using the
+	 * default hypervolume algorithm.
 	 * 
 	 * @param problem the problem
 	 * @param approximationSet the normalized approximation set
@@ -282,14 +332,62 @@ public class Hypervolume extends NormalizedIndicator {
 	 */
 	static double evaluate(Problem problem,
 			NondominatedPopulation approximationSet) {
-		boolean isInverted = true;
+		return evaluate(problem, approximationSet, getDefaultAlgorithm());
+	}
+
+	/**
+	 * Computes the hypervolume of the normalized approximation set.
+	 * Objective values are clamped to the unit hypercube and the hypervolume
+	 * is measured relative to the reference point {@code (1, ..., 1)}.
+	 * 
+	 * @param problem the problem
+	 * @param approximationSet the normalized approximation set
+	 * @param algorithm the algorithm used to compute the hypervolume
+	 * @return the hypervolume of the normalized approximation set
+	 */
+	static double evaluate(Problem problem,
+			NondominatedPopulation approximationSet,
+			HypervolumeAlgorithm algorithm) {
 		boolean isCustomHypervolume = (Settings.getHypervolume() != null) && 
 				(problem.getNumberOfObjectives() > 2) ;
 		
 		if (isCustomHypervolume) {
-			isInverted = Settings.isHypervolumeInverted();
+			return evaluateNative(problem, approximationSet);
+		}
+
+		int numberOfObjectives = problem.getNumberOfObjectives();
+		double[][] points = new double[approximationSet.size()][];
+		double[] referencePoint = new double[numberOfObjectives];
+
+		for (int i = 0; i < points.length; i++) {
+			Solution solution = approximationSet.get(i);
+			points[i] = new double[numberOfObjectives];
+
+			for (int j = 0; j < numberOfObjectives; j++) {
+				points[i][j] = Math.min(Math.max(solution.getObjective(j),
+						0.0), 1.0);
+			}
+		}
+
+		for (int j = 0; j < numberOfObjectives; j++) {
+			referencePoint[j] = 1.0;
 		}
 
+		return algorithm.calculate(points, referencePoint);
+	}
+
+	/**
+	 * Computes the hypervolume of the normalized approximation set using the
+	 * native hypervolume command.
+	 * 
+	 * @param problem the problem
+	 * @param approximationSet the normalized approximation set
+	 * @return the hypervolume of the normalized approximation set
+	 */
+	private static double evaluateNative(Problem problem,
+			NondominatedPopulation approximationSet) {
+		boolean isInverted = Settings.isHypervolumeInverted();
+
 		List<Solution> solutions = new ArrayList<Solution>();
 
 		for (Solution solution : approximationSet) {
@@ -309,12 +407,7 @@ public class Hypervolume extends NormalizedIndicator {
 			solutions.add(clone);
 		}
 
-		if (isCustomHypervolume) {
-			return invokeNativeHypervolume(problem, solutions, isInverted);
-		} else {
-			return calculateHypervolume(solutions, solutions.size(), 
-					problem.getNumberOfObjectives());
-		}
+		return invokeNativeHypervolume(problem, solutions, isInverted);
 	}
 
 	/**
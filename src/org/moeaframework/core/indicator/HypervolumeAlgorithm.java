@@ -0,0 +1,84 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core.indicator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.moeaframework.core.Solution;
+
+/**
+ * Enumeration of the in-process algorithms for computing the exact
+ * hypervolume.  All algorithms operate on minimized objectives relative to a
+ * reference point.
+ */
+public enum HypervolumeAlgorithm {
+
+	/**
+	 * The recursive slicing algorithm derived from the PISA library.  See
+	 * {@link Hypervolume#calculateHypervolume(List, int, int)}.
+	 */
+	PISA {
+
+		@Override
+		public double calculate(double[][] points, double[] referencePoint) {
+			List<Solution> solutions = new ArrayList<Solution>();
+
+			// the PISA algorithm maximizes relative to the origin
+			for (double[] point : points) {
+				double[] objectives = new double[referencePoint.length];
+
+				for (int i = 0; i < referencePoint.length; i++) {
+					objectives[i] = Math.max(0.0, referencePoint[i] - point[i]);
+				}
+
+				solutions.add(new Solution(objectives));
+			}
+
+			return Hypervolume.calculateHypervolume(solutions,
+					solutions.size(), referencePoint.length);
+		}
+
+	},
+
+	/**
+	 * The WFG algorithm with dimension-sweep base cases for two and three
+	 * objectives.  See {@link WFGHypervolume}.
+	 */
+	WFG {
+
+		@Override
+		public double calculate(double[][] points, double[] referencePoint) {
+			return WFGHypervolume.calculate(points, referencePoint);
+		}
+
+	};
+
+	/**
+	 * Returns the hypervolume of the points relative to the reference point.
+	 * Points not strictly better than the reference point in all objectives
+	 * do not contribute to the hypervolume.  The arrays are not modified.
+	 * 
+	 * @param points the objective values of each point
+	 * @param referencePoint the reference point
+	 * @return the hypervolume of the points relative to the reference point
+	 */
+	public abstract double calculate(double[][] points,
+			double[] referencePoint);
+
+}
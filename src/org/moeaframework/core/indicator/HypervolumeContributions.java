@@ -0,0 +1,376 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core.indicator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.moeaframework.core.PRNG;
+
+/**
+ * Maintains the hypervolume contribution of each point in a set as points are
+ * inserted and removed.  The contribution of a point is its exclusive
+ * hypervolume, the volume dominated by the point but not by any other point
+ * in the set.  All objectives are minimized relative to a fixed reference
+ * point.
+ * <p>
+ * Inserting or removing a point {@code p} only changes the contribution of a
+ * point {@code q} by the exclusive hypervolume of the limit of {@code p} and
+ * {@code q}, the point that is the worse of the two in each objective.  Points
+ * whose limit is dominated by any third point are unaffected and are skipped
+ * without any hypervolume calculation.  These updates are exact and computed
+ * by {@link WFGHypervolume}, which solves two and three objectives by a
+ * dimension sweep.
+ * <p>
+ * Since exact contributions become expensive with many objectives, the
+ * contributions may instead be estimated by Monte-Carlo sampling.  Note the
+ * estimates are only useful when the contributions are a reasonable fraction
+ * of the volume between each point and the reference point; with a distant
+ * reference point, most estimates will be zero.  Each point
+ * stores uniform samples drawn from the box between the point and the
+ * reference point, along with the number of other points dominating each
+ * sample.  The estimated contribution is the fraction of samples dominated
+ * by no other point, scaled by the volume of the box.  Inserting or removing
+ * a point only updates these counts, requiring {@code O(nSM)} time for
+ * {@code n} points, {@code S} samples per point and {@code M} objectives.
+ * <p>
+ * This class is not thread-safe.
+ */
+public class HypervolumeContributions {
+
+	/**
+	 * The reference point.
+	 */
+	private final double[] referencePoint;
+
+	/**
+	 * The number of Monte-Carlo samples per point; or {@code 0} if the
+	 * contributions are computed exactly.
+	 */
+	private final int numberOfSamples;
+
+	/**
+	 * The points in this set.
+	 */
+	private final List<Entry> entries;
+
+	/**
+	 * Constructs an empty set of points measured relative to the given
+	 * reference point, computing the contributions exactly.
+	 * 
+	 * @param referencePoint the reference point
+	 */
+	public HypervolumeContributions(double[] referencePoint) {
+		this(referencePoint, 0);
+	}
+
+	/**
+	 * Constructs an empty set of points measured relative to the given
+	 * reference point.
+	 * 
+	 * @param referencePoint the reference point
+	 * @param numberOfSamples the number of Monte-Carlo samples per point; or
+	 *        {@code 0} to compute the contributions exactly
+	 * @throws IllegalArgumentException if the number of samples is negative
+	 */
+	public HypervolumeContributions(double[] referencePoint,
+			int numberOfSamples) {
+		super();
+
+		if (numberOfSamples < 0) {
+			throw new IllegalArgumentException(
+					"number of samples must be non-negative");
+		}
+
+		this.referencePoint = referencePoint.clone();
+		this.numberOfSamples = numberOfSamples;
+
+		entries = new ArrayList<Entry>();
+	}
+
+	/**
+	 * Returns {@code true} if the contributions are computed exactly;
+	 * {@code false} if they are estimated by Monte-Carlo sampling.
+	 * 
+	 * @return {@code true} if the contributions are computed exactly;
+	 *         {@code false} otherwise
+	 */
+	public boolean isExact() {
+		return numberOfSamples == 0;
+	}
+
+	/**
+	 * Returns the number of points in this set.
+	 * 
+	 * @return the number of points in this set
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Returns the point at the specified index.
+	 * 
+	 * @param index the index
+	 * @return the point at the specified index
+	 */
+	public double[] getPoint(int index) {
+		return entries.get(index).point.clone();
+	}
+
+	/**
+	 * Returns the hypervolume contribution of the point at the specified
+	 * index.
+	 * 
+	 * @param index the index
+	 * @return the hypervolume contribution of the point at the specified index
+	 */
+	public double getContribution(int index) {
+		Entry entry = entries.get(index);
+
+		if (isExact()) {
+			return entry.contribution;
+		} else {
+			return entry.volume * entry.uncovered / numberOfSamples;
+		}
+	}
+
+	/**
+	 * Appends a point to this set, updating the contributions of the existing
+	 * points.
+	 * 
+	 * @param point the point
+	 */
+	public void add(double[] point) {
+		Entry entry = new Entry(point.clone());
+
+		if (isExact()) {
+			entry.contribution = WFGHypervolume.calculateExclusive(
+					entry.point, getPoints(null), referencePoint);
+
+			for (Entry other : entries) {
+				other.contribution -= calculateShared(other, entry);
+			}
+		} else {
+			sample(entry);
+
+			for (Entry other : entries) {
+				updateCoverage(other, entry, 1);
+				updateCoverage(entry, other, 1);
+			}
+		}
+
+		entries.add(entry);
+	}
+
+	/**
+	 * Removes the point at the specified index, updating the contributions of
+	 * the remaining points.  Points following the removed point are shifted
+	 * to the left.
+	 * 
+	 * @param index the index
+	 */
+	public void remove(int index) {
+		Entry entry = entries.remove(index);
+
+		for (Entry other : entries) {
+			if (isExact()) {
+				other.contribution += calculateShared(other, entry);
+			} else {
+				updateCoverage(other, entry, -1);
+			}
+		}
+	}
+
+	/**
+	 * Returns the volume dominated by both points but by no other point in
+	 * this set.  This is the amount the contribution of {@code entry} changes
+	 * when {@code other} is inserted or removed.
+	 * 
+	 * @param entry the point whose contribution is changing
+	 * @param other the point being inserted or removed, which must not be
+	 *        contained in this set
+	 * @return the volume dominated by both points but by no other point
+	 */
+	private double calculateShared(Entry entry, Entry other) {
+		double[] limit = new double[referencePoint.length];
+
+		for (int i = 0; i < referencePoint.length; i++) {
+			limit[i] = Math.max(entry.point[i], other.point[i]);
+
+			if (!(limit[i] < referencePoint[i])) {
+				return 0.0;
+			}
+		}
+
+		// quick rejection when a third point covers the shared region
+		for (Entry third : entries) {
+			if ((third != entry) && weaklyDominates(third.point, limit)) {
+				return 0.0;
+			}
+		}
+
+		return WFGHypervolume.calculateExclusive(limit,
+				getPoints(entry), referencePoint);
+	}
+
+	/**
+	 * Returns the points in this set, optionally excluding one point.
+	 * 
+	 * @param excluded the point to exclude; or {@code null}
+	 * @return the points in this set, excluding the specified point
+	 */
+	private double[][] getPoints(Entry excluded) {
+		List<double[]> result = new ArrayList<double[]>(entries.size());
+
+		for (Entry entry : entries) {
+			if (entry != excluded) {
+				result.add(entry.point);
+			}
+		}
+
+		return result.toArray(new double[result.size()][]);
+	}
+
+	/**
+	 * Draws the Monte-Carlo samples for the specified point.
+	 * 
+	 * @param entry the point
+	 */
+	private void sample(Entry entry) {
+		int numberOfObjectives = referencePoint.length;
+
+		entry.volume = 1.0;
+		entry.samples = new double[numberOfSamples][numberOfObjectives];
+		entry.coverage = new int[numberOfSamples];
+		entry.uncovered = numberOfSamples;
+
+		for (int i = 0; i < numberOfObjectives; i++) {
+			entry.volume *= Math.max(0.0,
+					referencePoint[i] - entry.point[i]);
+		}
+
+		if (entry.volume == 0.0) {
+			return;
+		}
+
+		for (int j = 0; j < numberOfSamples; j++) {
+			for (int i = 0; i < numberOfObjectives; i++) {
+				entry.samples[j][i] = PRNG.nextDouble(entry.point[i],
+						referencePoint[i]);
+			}
+		}
+	}
+
+	/**
+	 * Updates the number of points dominating each sample of {@code entry}
+	 * when {@code other} is inserted or removed.
+	 * 
+	 * @param entry the point whose samples are updated
+	 * @param other the point being inserted or removed
+	 * @param delta {@code 1} if the point is inserted; {@code -1} if removed
+	 */
+	private void updateCoverage(Entry entry, Entry other, int delta) {
+		if ((entry.volume == 0.0) || (other.volume == 0.0)) {
+			return;
+		}
+
+		for (int j = 0; j < numberOfSamples; j++) {
+			if (weaklyDominates(other.point, entry.samples[j])) {
+				if ((delta > 0) && (entry.coverage[j] == 0)) {
+					entry.uncovered--;
+				}
+
+				entry.coverage[j] += delta;
+
+				if ((delta < 0) && (entry.coverage[j] == 0)) {
+					entry.uncovered++;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns {@code true} if the first point is no worse than the second
+	 * point in all objectives; {@code false} otherwise.
+	 * 
+	 * @param point1 the first point
+	 * @param point2 the second point
+	 * @return {@code true} if the first point weakly dominates the second
+	 *         point; {@code false} otherwise
+	 */
+	private static boolean weaklyDominates(double[] point1, double[] point2) {
+		for (int i = 0; i < point1.length; i++) {
+			if (point1[i] > point2[i]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * A point stored in this set, along with its exact contribution or the
+	 * state of its Monte-Carlo estimate.
+	 */
+	private static class Entry {
+
+		/**
+		 * The objective values of this point.
+		 */
+		private final double[] point;
+
+		/**
+		 * The exact hypervolume contribution of this point.
+		 */
+		private double contribution;
+
+		/**
+		 * The volume of the box between this point and the reference point.
+		 */
+		private double volume;
+
+		/**
+		 * The samples drawn uniformly from the box between this point and the
+		 * reference point.
+		 */
+		private double[][] samples;
+
+		/**
+		 * The number of other points dominating each sample.
+		 */
+		private int[] coverage;
+
+		/**
+		 * The number of samples not dominated by any other point.
+		 */
+		private int uncovered;
+
+		/**
+		 * Constructs a new entry for the specified point.
+		 * 
+		 * @param point the objective values of the point
+		 */
+		public Entry(double[] point) {
+			super();
+			this.point = point;
+		}
+
+	}
+
+}
@@ -0,0 +1,127 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core.indicator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.moeaframework.core.Indicator;
+import org.moeaframework.core.NondominatedPopulation;
+
+/**
+ * Evaluates several performance indicators on the same approximation set.
+ * Indicators that normalize the approximation set using the same bounds, such
+ * as those constructed with the same problem and reference set, share a single
+ * normalization of the approximation set rather than each normalizing their
+ * own copy.  All other indicators are evaluated independently on the
+ * approximation set.  The resulting indicator values are identical to
+ * evaluating each indicator separately.
+ */
+public class IndicatorGroup {
+	
+	/**
+	 * The indicators in this group.
+	 */
+	private final List<Indicator> indicators;
+	
+	/**
+	 * The normalizer shared by the indicators marked in {@code shared}; or
+	 * {@code null} if no indicators share a normalization.
+	 */
+	private final Normalizer normalizer;
+	
+	/**
+	 * {@code true} for each indicator that is evaluated on the shared
+	 * normalized approximation set; {@code false} otherwise.
+	 */
+	private final boolean[] shared;
+	
+	/**
+	 * Constructs a group for evaluating the specified indicators.
+	 * 
+	 * @param indicators the indicators in this group
+	 */
+	public IndicatorGroup(List<? extends Indicator> indicators) {
+		super();
+		this.indicators = new ArrayList<Indicator>(indicators);
+		
+		Normalizer normalizer = null;
+		shared = new boolean[this.indicators.size()];
+		
+		for (int i = 0; i < this.indicators.size(); i++) {
+			Indicator indicator = this.indicators.get(i);
+			
+			if ((indicator instanceof NormalizedIndicator) &&
+					(indicator instanceof PreNormalizedIndicator)) {
+				NormalizedIndicator normalizedIndicator = 
+						(NormalizedIndicator)indicator;
+				
+				if (normalizer == null) {
+					normalizer = normalizedIndicator.getNormalizer();
+				}
+				
+				shared[i] = normalizer.hasSameBounds(
+						normalizedIndicator.getNormalizer());
+			}
+		}
+		
+		this.normalizer = normalizer;
+	}
+	
+	/**
+	 * Returns the indicators in this group.
+	 * 
+	 * @return the indicators in this group
+	 */
+	public List<Indicator> getIndicators() {
+		return Collections.unmodifiableList(indicators);
+	}
+	
+	/**
+	 * Evaluates each indicator in this group on the specified approximation
+	 * set, normalizing the approximation set at most once.
+	 * 
+	 * @param approximationSet the approximation set to be evaluated
+	 * @return the indicator values, in the order the indicators appear in this
+	 *         group
+	 */
+	public double[] evaluate(NondominatedPopulation approximationSet) {
+		double[] result = new double[indicators.size()];
+		NondominatedPopulation normalizedApproximationSet = null;
+		
+		for (int i = 0; i < indicators.size(); i++) {
+			Indicator indicator = indicators.get(i);
+			
+			if (shared[i]) {
+				if (normalizedApproximationSet == null) {
+					normalizedApproximationSet = 
+							normalizer.normalize(approximationSet);
+				}
+				
+				result[i] = ((PreNormalizedIndicator)indicator)
+						.evaluateNormalized(normalizedApproximationSet);
+			} else {
+				result[i] = indicator.evaluate(approximationSet);
+			}
+		}
+		
+		return result;
+	}
+
+}
@@ -78,16 +78,32 @@ public class IndicatorUtils {
 		double distance = 0.0;
 
 		for (int i = 0; i < problem.getNumberOfObjectives(); i++) {
-			distance += Math.pow(Math.abs(a.getObjective(i) - 
-					b.getObjective(i)), power);
+			double difference = Math.abs(a.getObjective(i) -
+					b.getObjective(i));
+			
+			if (power == 1.0) {
+				distance += difference;
+			} else if (power == 2.0) {
+				distance += difference * difference;
+			} else {
+				distance += Math.pow(difference, power);
+			}
 		}
 
-		return Math.pow(distance, 1.0 / power);
+		if (power == 1.0) {
+			return distance;
+		} else if (power == 2.0) {
+			return Math.sqrt(distance);
+		} else {
+			return Math.pow(distance, 1.0 / power);
+		}
 	}
 
 	/**
 	 * Returns the Euclidean distance in objective space between the specified
-	 * solution and the nearest solution in the population.
+	 * solution and the nearest solution in the population.  This performs a
+	 * linear scan of the population; use {@link NearestNeighborSearch} when
+	 * querying the same population repeatedly.
 	 * 
 	 * @param problem the problem
 	 * @param solution the solution
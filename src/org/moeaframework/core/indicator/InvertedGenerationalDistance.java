@@ -19,13 +19,21 @@ package org.moeaframework.core.indicator;
 
 import org.moeaframework.core.NondominatedPopulation;
 import org.moeaframework.core.Problem;
+import org.moeaframework.core.Settings;
 
 /**
  * Inverted generational distance indicator. Represents average distance from
  * solutions in the reference set to the nearest solution in an approximation
- * set.
+ * set.  Nearest solutions are found by building a {@link NearestNeighborSearch}
+ * over the approximation set and querying it with each reference point.
  */
-public class InvertedGenerationalDistance extends NormalizedIndicator {
+public class InvertedGenerationalDistance extends NormalizedIndicator
+		implements PreNormalizedIndicator {
+	
+	/**
+	 * The objectives of the normalized reference set.
+	 */
+	private final double[][] referencePoints;
 
 	/**
 	 * Constructs an inverted generational distance evaluator for the specified
@@ -37,12 +45,21 @@ public class InvertedGenerationalDistance extends NormalizedIndicator {
 	public InvertedGenerationalDistance(Problem problem,
 			NondominatedPopulation referenceSet) {
 		super(problem, referenceSet);
+		
+		referencePoints = NearestNeighborSearch.toArray(
+				problem.getNumberOfObjectives(), getNormalizedReferenceSet());
 	}
 
 	@Override
 	public double evaluate(NondominatedPopulation approximationSet) {
-		return evaluate(problem, normalize(approximationSet), 
-				getNormalizedReferenceSet());
+		return evaluateNormalized(normalize(approximationSet));
+	}
+	
+	@Override
+	public double evaluateNormalized(
+			NondominatedPopulation normalizedApproximationSet) {
+		return evaluate(problem, normalizedApproximationSet,
+				referencePoints);
 	}
 
 	/**
@@ -60,13 +77,35 @@ public class InvertedGenerationalDistance extends NormalizedIndicator {
 	static double evaluate(Problem problem,
 			NondominatedPopulation approximationSet,
 			NondominatedPopulation referenceSet) {
+		return evaluate(problem, approximationSet,
+				NearestNeighborSearch.toArray(problem.getNumberOfObjectives(),
+						referenceSet));
+	}
+	
+	/**
+	 * Computes the inverted generational distance for the specified problem
+	 * given an approximation set and the objectives of the reference set.
+	 * 
+	 * @param problem the problem
+	 * @param approximationSet an approximation set for the problem
+	 * @param referencePoints the objectives of the reference set for the
+	 *        problem
+	 * @return the inverted generational distance for the specified problem 
+	 *         given an approximation set and reference set
+	 */
+	static double evaluate(Problem problem,
+			NondominatedPopulation approximationSet,
+			double[][] referencePoints) {
 		double sum = 0.0;
+		NearestNeighborSearch search = new NearestNeighborSearch(
+				problem.getNumberOfObjectives(), approximationSet);
+		double[] distances = search.squaredDistancesToNearest(referencePoints,
+				Settings.isParallelNearestNeighborSearch());
 
-		for (int i = 0; i < referenceSet.size(); i++) {
-			sum += Math.pow(IndicatorUtils.distanceToNearestSolution(problem,
-					referenceSet.get(i), approximationSet), 2.0);
+		for (int i = 0; i < distances.length; i++) {
+			sum += distances[i];
 		}
 
-		return Math.sqrt(sum) / referenceSet.size();
+		return Math.sqrt(sum) / referencePoints.length;
 	}
 }
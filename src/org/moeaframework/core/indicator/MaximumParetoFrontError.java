@@ -23,9 +23,17 @@ import org.moeaframework.core.Problem;
 /**
  * Maximum Pareto front error metric. Represents the maximum distance from
  * solutions in an approximation set to the nearest solution in the reference
- * set.
+ * set.  Nearest solutions are found using a {@link NearestNeighborSearch} built
+ * once over the normalized reference set.
  */
-public class MaximumParetoFrontError extends NormalizedIndicator {
+public class MaximumParetoFrontError extends NormalizedIndicator
+		implements PreNormalizedIndicator {
+	
+	/**
+	 * The nearest-neighbor search over the normalized reference set; or
+	 * {@code null} if not yet built.
+	 */
+	private volatile NearestNeighborSearch referenceSearch;
 
 	/**
 	 * Constructs a maximum Pareto front error evaluator for the specified
@@ -41,8 +49,32 @@ public class MaximumParetoFrontError extends NormalizedIndicator {
 
 	@Override
 	public double evaluate(NondominatedPopulation approximationSet) {
-		return evaluate(problem, normalize(approximationSet), 
-				getNormalizedReferenceSet());
+		return evaluateNormalized(normalize(approximationSet));
+	}
+	
+	@Override
+	public double evaluateNormalized(
+			NondominatedPopulation normalizedApproximationSet) {
+		return evaluate(normalizedApproximationSet, getReferenceSearch());
+	}
+	
+	/**
+	 * Returns the nearest-neighbor search over the normalized reference set,
+	 * building it on first use.
+	 * 
+	 * @return the nearest-neighbor search over the normalized reference set
+	 */
+	private NearestNeighborSearch getReferenceSearch() {
+		NearestNeighborSearch search = referenceSearch;
+		
+		if (search == null) {
+			search = new NearestNeighborSearch(
+					problem.getNumberOfObjectives(),
+					getNormalizedReferenceSet());
+			referenceSearch = search;
+		}
+		
+		return search;
 	}
 
 	/**
@@ -60,17 +92,35 @@ public class MaximumParetoFrontError extends NormalizedIndicator {
 	static double evaluate(Problem problem,
 			NondominatedPopulation approximationSet,
 			NondominatedPopulation referenceSet) {
+		return evaluate(approximationSet, new NearestNeighborSearch(
+				problem.getNumberOfObjectives(), referenceSet));
+	}
+	
+	/**
+	 * Computes the maximum Pareto front error given an approximation set and
+	 * a nearest-neighbor search over the reference set.  Returns
+	 * {@code Double.POSITIVE_INFINITY} if the approximation set is empty.
+	 * 
+	 * @param approximationSet an approximation set for the problem
+	 * @param referenceSearch the nearest-neighbor search over the reference
+	 *        set for the problem
+	 * @return the maximum Pareto front error given an approximation set and
+	 *         reference set
+	 */
+	static double evaluate(NondominatedPopulation approximationSet,
+			NearestNeighborSearch referenceSearch) {
 		if (approximationSet.isEmpty()) {
 			return Double.POSITIVE_INFINITY;
 		}
 		
 		double max = 0.0;
+		double[] distances = referenceSearch.squaredDistancesToNearest(
+				approximationSet);
 
-		for (int i = 0; i < approximationSet.size(); i++) {
-			max = Math.max(max, IndicatorUtils.distanceToNearestSolution(
-					problem, approximationSet.get(i), referenceSet));
+		for (int i = 0; i < distances.length; i++) {
+			max = Math.max(max, distances[i]);
 		}
 
-		return max;
+		return Math.sqrt(max);
 	}
 }
@@ -0,0 +1,447 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core.indicator;
+
+import java.util.concurrent.RecursiveAction;
+
+import org.moeaframework.core.Population;
+import org.moeaframework.core.Settings;
+import org.moeaframework.util.SharedForkJoinPool;
+
+/**
+ * Exact Euclidean nearest-neighbor search in objective space using a
+ * KD-tree.  The tree is built once over a fixed set of points, such as the
+ * normalized reference set of an indicator, and then answers any number of
+ * queries in {@code O(log n)} expected time instead of the {@code O(n)} linear
+ * scan performed by
+ * {@link IndicatorUtils#distanceToNearestSolution(org.moeaframework.core.Problem,
+ * org.moeaframework.core.Solution, org.moeaframework.core.NondominatedPopulation)}.
+ * <p>
+ * The tree is balanced by splitting each node at the median of the coordinate
+ * with the largest spread.  It is stored implicitly: the node covering the
+ * index range {@code [lo, hi)} has its splitting point at the middle of that
+ * range, and small ranges are scanned linearly.  Points are copied into a
+ * single contiguous array in tree order.
+ * <p>
+ * Instances are immutable once constructed and are safe for use by multiple
+ * threads.  Batches of queries can optionally be answered in parallel; see
+ * {@link Settings#isParallelNearestNeighborSearch()}.
+ */
+public class NearestNeighborSearch {
+
+	/**
+	 * Ranges containing at most this many points are scanned linearly.
+	 */
+	private static final int LEAF_SIZE = 8;
+
+	/**
+	 * Batches of queries are split into tasks of at most this many queries
+	 * when answered in parallel.
+	 */
+	private static final int PARALLEL_GRAIN = 256;
+
+	/**
+	 * The number of points.
+	 */
+	private final int size;
+
+	/**
+	 * The number of objectives (coordinates) of each point.
+	 */
+	private final int numberOfObjectives;
+
+	/**
+	 * The coordinates of all points in tree order, stored row-wise.
+	 */
+	private final double[] points;
+
+	/**
+	 * The splitting coordinate of the node whose splitting point is stored at
+	 * each position.  Positions within leaves are unused.
+	 */
+	private final int[] splitCoordinate;
+
+	/**
+	 * Constructs a nearest-neighbor search over the objective vectors of the
+	 * solutions in the specified population.
+	 *
+	 * @param numberOfObjectives the number of objectives
+	 * @param population the population
+	 */
+	public NearestNeighborSearch(int numberOfObjectives,
+			Population population) {
+		this(numberOfObjectives, toArray(numberOfObjectives, population));
+	}
+
+	/**
+	 * Constructs a nearest-neighbor search over the specified points.  The
+	 * points are copied; the array is not modified.
+	 *
+	 * @param numberOfObjectives the number of objectives (coordinates) of
+	 *        each point
+	 * @param points the points
+	 */
+	public NearestNeighborSearch(int numberOfObjectives, double[][] points) {
+		super();
+		this.numberOfObjectives = numberOfObjectives;
+
+		size = points.length;
+		splitCoordinate = new int[size];
+
+		int[] index = new int[size];
+
+		for (int i = 0; i < size; i++) {
+			index[i] = i;
+		}
+
+		build(points, index, 0, size);
+
+		this.points = new double[size * numberOfObjectives];
+
+		for (int i = 0; i < size; i++) {
+			System.arraycopy(points[index[i]], 0, this.points,
+					i * numberOfObjectives, numberOfObjectives);
+		}
+	}
+
+	/**
+	 * Copies the objective vectors of the solutions in the population into an
+	 * array.
+	 *
+	 * @param numberOfObjectives the number of objectives
+	 * @param population the population
+	 * @return the objective vectors of the solutions in the population
+	 */
+	static double[][] toArray(int numberOfObjectives, Population population) {
+		double[][] result = new double[population.size()][numberOfObjectives];
+
+		for (int i = 0; i < population.size(); i++) {
+			for (int j = 0; j < numberOfObjectives; j++) {
+				result[i][j] = population.get(i).getObjective(j);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Recursively builds the tree over the index range {@code [lo, hi)},
+	 * reordering {@code index} into tree order.
+	 *
+	 * @param points the points
+	 * @param index the indices of the points in tree order
+	 * @param lo the start of the range, inclusive
+	 * @param hi the end of the range, exclusive
+	 */
+	private void build(double[][] points, int[] index, int lo, int hi) {
+		if (hi - lo <= LEAF_SIZE) {
+			return;
+		}
+
+		int coordinate = 0;
+		double maxSpread = -1.0;
+
+		for (int j = 0; j < numberOfObjectives; j++) {
+			double min = Double.POSITIVE_INFINITY;
+			double max = Double.NEGATIVE_INFINITY;
+
+			for (int i = lo; i < hi; i++) {
+				double value = points[index[i]][j];
+				min = Math.min(min, value);
+				max = Math.max(max, value);
+			}
+
+			if (max - min > maxSpread) {
+				maxSpread = max - min;
+				coordinate = j;
+			}
+		}
+
+		int mid = (lo + hi) >>> 1;
+		select(points, index, lo, hi - 1, mid, coordinate);
+		splitCoordinate[mid] = coordinate;
+
+		build(points, index, lo, mid);
+		build(points, index, mid + 1, hi);
+	}
+
+	/**
+	 * Partially sorts the index range {@code [left, right]} so that position
+	 * {@code k} holds the point with the {@code k}-th smallest value in the
+	 * given coordinate, smaller or equal values precede it and larger or equal
+	 * values follow it.
+	 *
+	 * @param points the points
+	 * @param index the indices of the points
+	 * @param left the start of the range, inclusive
+	 * @param right the end of the range, inclusive
+	 * @param k the position to select
+	 * @param coordinate the coordinate
+	 */
+	private static void select(double[][] points, int[] index, int left,
+			int right, int k, int coordinate) {
+		while (right > left) {
+			double pivot = points[index[(left + right) >>> 1]][coordinate];
+			int i = left;
+			int j = right;
+
+			while (i <= j) {
+				while (points[index[i]][coordinate] < pivot) {
+					i++;
+				}
+
+				while (points[index[j]][coordinate] > pivot) {
+					j--;
+				}
+
+				if (i <= j) {
+					int temp = index[i];
+					index[i] = index[j];
+					index[j] = temp;
+					i++;
+					j--;
+				}
+			}
+
+			if (k <= j) {
+				right = j;
+			} else if (k >= i) {
+				left = i;
+			} else {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of points.
+	 *
+	 * @return the number of points
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of objectives (coordinates) of each point.
+	 *
+	 * @return the number of objectives of each point
+	 */
+	public int getNumberOfObjectives() {
+		return numberOfObjectives;
+	}
+
+	/**
+	 * Returns the Euclidean distance from the query point to the nearest
+	 * point; or {@code Double.POSITIVE_INFINITY} if there are no points.
+	 *
+	 * @param query the query point
+	 * @return the Euclidean distance from the query point to the nearest point
+	 */
+	public double distanceToNearest(double[] query) {
+		return Math.sqrt(squaredDistanceToNearest(query));
+	}
+
+	/**
+	 * Returns the squared Euclidean distance from the query point to the
+	 * nearest point; or {@code Double.POSITIVE_INFINITY} if there are no
+	 * points.
+	 *
+	 * @param query the query point
+	 * @return the squared Euclidean distance from the query point to the
+	 *         nearest point
+	 */
+	public double squaredDistanceToNearest(double[] query) {
+		return search(query, 0, size, Double.POSITIVE_INFINITY);
+	}
+
+	/**
+	 * Returns the squared Euclidean distance from each solution in the
+	 * population to the nearest point.  The queries are answered in parallel
+	 * if {@link Settings#isParallelNearestNeighborSearch()} is enabled.
+	 *
+	 * @param population the population of query solutions
+	 * @return the squared Euclidean distance from each solution in the
+	 *         population to the nearest point
+	 */
+	public double[] squaredDistancesToNearest(Population population) {
+		return squaredDistancesToNearest(
+				toArray(numberOfObjectives, population),
+				Settings.isParallelNearestNeighborSearch());
+	}
+
+	/**
+	 * Returns the squared Euclidean distance from each query point to the
+	 * nearest point.
+	 *
+	 * @param queries the query points
+	 * @param parallel {@code true} if the queries are answered in parallel
+	 *        on a shared fork-join pool; {@code false} if they are answered
+	 *        by the calling thread
+	 * @return the squared Euclidean distance from each query point to the
+	 *         nearest point
+	 */
+	public double[] squaredDistancesToNearest(double[][] queries,
+			boolean parallel) {
+		double[] result = new double[queries.length];
+
+		if (parallel && (queries.length > PARALLEL_GRAIN)) {
+			SharedForkJoinPool.getInstance().invoke(new QueryTask(queries,
+					result, 0, queries.length));
+		} else {
+			for (int i = 0; i < queries.length; i++) {
+				result[i] = squaredDistanceToNearest(queries[i]);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Searches the index range {@code [lo, hi)} for a point closer to the
+	 * query point than the current best.
+	 *
+	 * @param query the query point
+	 * @param lo the start of the range, inclusive
+	 * @param hi the end of the range, exclusive
+	 * @param best the squared distance to the nearest point found so far
+	 * @return the squared distance to the nearest point found so far,
+	 *         including points in this range
+	 */
+	private double search(double[] query, int lo, int hi, double best) {
+		if (hi - lo <= LEAF_SIZE) {
+			for (int i = lo; i < hi; i++) {
+				best = squaredDistance(query, i, best);
+			}
+
+			return best;
+		}
+
+		int mid = (lo + hi) >>> 1;
+		double difference = query[splitCoordinate[mid]] -
+				points[mid * numberOfObjectives + splitCoordinate[mid]];
+
+		best = squaredDistance(query, mid, best);
+
+		if (difference < 0.0) {
+			best = search(query, lo, mid, best);
+
+			if (difference * difference < best) {
+				best = search(query, mid + 1, hi, best);
+			}
+		} else {
+			best = search(query, mid + 1, hi, best);
+
+			if (difference * difference < best) {
+				best = search(query, lo, mid, best);
+			}
+		}
+
+		return best;
+	}
+
+	/**
+	 * Returns the smaller of the squared distance between the query point and
+	 * the point at the given position and the current best.  The computation
+	 * stops early once the partial sum exceeds the current best.
+	 *
+	 * @param query the query point
+	 * @param position the position of the point in tree order
+	 * @param best the squared distance to the nearest point found so far
+	 * @return the smaller of the squared distance to the point and the current
+	 *         best
+	 */
+	private double squaredDistance(double[] query, int position, double best) {
+		int offset = position * numberOfObjectives;
+		double sum = 0.0;
+
+		for (int j = 0; j < numberOfObjectives; j++) {
+			double difference = query[j] - points[offset + j];
+			sum += difference * difference;
+
+			if (sum >= best) {
+				return best;
+			}
+		}
+
+		return sum;
+	}
+
+	/**
+	 * Answers a range of queries, splitting the range in half until it
+	 * contains at most {@value NearestNeighborSearch#PARALLEL_GRAIN} queries.
+	 */
+	private class QueryTask extends RecursiveAction {
+
+		private static final long serialVersionUID = -2389180626367468817L;
+
+		/**
+		 * The query points.
+		 */
+		private final double[][] queries;
+
+		/**
+		 * The array storing the squared distance for each query point.
+		 */
+		private final double[] result;
+
+		/**
+		 * The start of the range of queries answered by this task, inclusive.
+		 */
+		private final int lo;
+
+		/**
+		 * The end of the range of queries answered by this task, exclusive.
+		 */
+		private final int hi;
+
+		/**
+		 * Constructs a task answering the queries in the range
+		 * {@code [lo, hi)}.
+		 *
+		 * @param queries the query points
+		 * @param result the array storing the squared distance for each query
+		 *        point
+		 * @param lo the start of the range, inclusive
+		 * @param hi the end of the range, exclusive
+		 */
+		public QueryTask(double[][] queries, double[] result, int lo, int hi) {
+			super();
+			this.queries = queries;
+			this.result = result;
+			this.lo = lo;
+			this.hi = hi;
+		}
+
+		@Override
+		protected void compute() {
+			if (hi - lo <= PARALLEL_GRAIN) {
+				for (int i = lo; i < hi; i++) {
+					result[i] = squaredDistanceToNearest(queries[i]);
+				}
+			} else {
+				int mid = (lo + hi) >>> 1;
+
+				invokeAll(new QueryTask(queries, result, lo, mid),
+						new QueryTask(queries, result, mid, hi));
+			}
+		}
+
+	}
+
+}
@@ -17,6 +17,8 @@
  */
 package org.moeaframework.core.indicator;
 
+import java.util.Arrays;
+
 import org.moeaframework.core.NondominatedPopulation;
 import org.moeaframework.core.Population;
 import org.moeaframework.core.Problem;
@@ -134,6 +136,21 @@ public class Normalizer {
 		}
 	}
 	
+	/**
+	 * Returns {@code true} if this normalizer uses the same minimum and
+	 * maximum bounds as the specified normalizer, and thus produces identical
+	 * normalized populations; {@code false} otherwise.
+	 * 
+	 * @param normalizer the other normalizer
+	 * @return {@code true} if this normalizer uses the same minimum and
+	 *         maximum bounds as the specified normalizer; {@code false}
+	 *         otherwise
+	 */
+	boolean hasSameBounds(Normalizer normalizer) {
+		return Arrays.equals(minimum, normalizer.minimum) &&
+				Arrays.equals(maximum, normalizer.maximum);
+	}
+	
 	/**
 	 * Returns a new non-dominated population containing the normalized 
 	 * solutions from the specified population.
@@ -0,0 +1,43 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core.indicator;
+
+import org.moeaframework.core.NondominatedPopulation;
+
+/**
+ * Interface for {@link NormalizedIndicator}s that can be evaluated on an
+ * approximation set that was already normalized.  This allows
+ * {@link IndicatorGroup} to share one normalization of the approximation set
+ * among several indicators using the same bounds.
+ */
+public interface PreNormalizedIndicator {
+
+	/**
+	 * Evaluates this indicator on an approximation set that was already
+	 * normalized using a normalizer with the same bounds as this indicator.
+	 * This must equal the value returned by
+	 * {@link NormalizedIndicator#evaluate(NondominatedPopulation)} on the
+	 * original approximation set.
+	 * 
+	 * @param normalizedApproximationSet the normalized approximation set
+	 * @return the indicator value
+	 */
+	public double evaluateNormalized(
+			NondominatedPopulation normalizedApproximationSet);
+
+}
@@ -41,6 +41,16 @@ public class QualityIndicator {
 	 */
 	private final NondominatedPopulation normalizedReferenceSet;
 	
+	/**
+	 * The objectives of the normalized reference set.
+	 */
+	private final double[][] normalizedReferencePoints;
+	
+	/**
+	 * The nearest-neighbor search over the normalized reference set.
+	 */
+	private final NearestNeighborSearch referenceSearch;
+	
 	/**
 	 * The normalizer to normalize populations so that all objectives reside in
 	 * the range {@code [0, 1]}.
@@ -103,6 +113,29 @@ public class QualityIndicator {
 		
 		normalizer = new Normalizer(problem, referenceSet);
 		normalizedReferenceSet = normalizer.normalize(referenceSet);
+		normalizedReferencePoints = NearestNeighborSearch.toArray(
+				problem.getNumberOfObjectives(), normalizedReferenceSet);
+		referenceSearch = new NearestNeighborSearch(
+				problem.getNumberOfObjectives(), normalizedReferencePoints);
+	}
+
+	/**
+	 * Constructs a quality indicator evaluator sharing the normalized
+	 * reference set and nearest-neighbor search of another evaluator.  Since
+	 * this state is never modified, the two evaluators can calculate metrics
+	 * concurrently from different threads without repeating the
+	 * normalization of the reference set.
+	 *
+	 * @param qualityIndicator the evaluator whose reference set state is
+	 *        shared
+	 */
+	public QualityIndicator(QualityIndicator qualityIndicator) {
+		problem = qualityIndicator.problem;
+		referenceSet = qualityIndicator.referenceSet;
+		normalizer = qualityIndicator.normalizer;
+		normalizedReferenceSet = qualityIndicator.normalizedReferenceSet;
+		normalizedReferencePoints = qualityIndicator.normalizedReferencePoints;
+		referenceSearch = qualityIndicator.referenceSearch;
 	}
 
 	/**
@@ -246,14 +279,14 @@ public class QualityIndicator {
 			hypervolume = Double.NaN;
 		}
 		
-		generationalDistance = GenerationalDistance.evaluate(problem,
-				normalizedApproximationSet, normalizedReferenceSet);
+		generationalDistance = GenerationalDistance.evaluate(
+				normalizedApproximationSet, referenceSearch);
 		invertedGenerationalDistance = InvertedGenerationalDistance.evaluate(
-				problem, normalizedApproximationSet, normalizedReferenceSet);
+				problem, normalizedApproximationSet, normalizedReferencePoints);
 		additiveEpsilonIndicator = AdditiveEpsilonIndicator.evaluate(problem,
 				normalizedApproximationSet, normalizedReferenceSet);
-		maximumParetoFrontError = MaximumParetoFrontError.evaluate(problem,
-				normalizedApproximationSet, normalizedReferenceSet);
+		maximumParetoFrontError = MaximumParetoFrontError.evaluate(
+				normalizedApproximationSet, referenceSearch);
 		spacing = Spacing.evaluate(problem, approximationSet);
 	}
 
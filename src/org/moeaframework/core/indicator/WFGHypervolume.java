@@ -0,0 +1,416 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core.indicator;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Exact hypervolume calculation using the WFG algorithm operating on primitive
+ * arrays.  All objectives are minimized and the hypervolume is measured
+ * relative to a reference point, which must be strictly worse than a point
+ * in all objectives for that point to contribute any volume.
+ * <p>
+ * The two and three objective cases are solved directly by a dimension sweep
+ * in {@code O(n log n)} time, the latter maintaining the two-dimensional
+ * staircase in a balanced search tree.  Higher dimensions recursively slice
+ * the front along the last objective, computing the exclusive hypervolume of
+ * each point against the limit set of the points preceding it, until reaching
+ * three objectives.
+ * <p>
+ * This class is thread-safe.
+ * <p>
+ * References:
+ * <ol>
+ *   <li>While, L., L. Bradstreet, and L. Barone.  "A Fast Way of Calculating
+ *       Exact Hypervolumes."  IEEE Transactions on Evolutionary Computation,
+ *       16(1):86-95, 2012.
+ *   <li>Beume, N., C. M. Fonseca, M. Lopez-Ibanez, L. Paquete, and
+ *       J. Vahrenhold.  "On the Complexity of Computing the Hypervolume
+ *       Indicator."  IEEE Transactions on Evolutionary Computation,
+ *       13(5):1075-1082, 2009.
+ * </ol>
+ */
+public class WFGHypervolume {
+
+	/**
+	 * Private constructor to prevent instantiation.
+	 */
+	private WFGHypervolume() {
+		super();
+	}
+
+	/**
+	 * Returns the hypervolume of the points relative to the reference point.
+	 * The points need not be non-dominated, and the arrays are not modified.
+	 * 
+	 * @param points the objective values of each point
+	 * @param referencePoint the reference point
+	 * @return the hypervolume of the points relative to the reference point
+	 */
+	public static double calculate(double[][] points,
+			double[] referencePoint) {
+		int numberOfObjectives = referencePoint.length;
+		double[][] front = new double[points.length][];
+		int n = 0;
+
+		for (double[] point : points) {
+			if (isContributing(point, referencePoint)) {
+				front[n++] = point;
+			}
+		}
+
+		n = filterNondominated(front, n, numberOfObjectives);
+		return calculate(front, n, numberOfObjectives, referencePoint);
+	}
+
+	/**
+	 * Returns the exclusive hypervolume of a point, which is the volume
+	 * dominated by the point but not by any of the other points.  If there
+	 * is only one other point, this requires only {@code O(M)} time.
+	 * 
+	 * @param point the point
+	 * @param others the objective values of the other points
+	 * @param referencePoint the reference point
+	 * @return the exclusive hypervolume of the point
+	 */
+	public static double calculateExclusive(double[] point,
+			double[][] others, double[] referencePoint) {
+		if (!isContributing(point, referencePoint)) {
+			return 0.0;
+		}
+
+		int numberOfObjectives = referencePoint.length;
+		double[][] limitSet = new double[others.length][];
+		int n = 0;
+
+		for (double[] other : others) {
+			double[] limit = limit(point, other, numberOfObjectives);
+
+			if (isContributing(limit, referencePoint)) {
+				limitSet[n++] = limit;
+			}
+		}
+
+		n = filterNondominated(limitSet, n, numberOfObjectives);
+
+		return inclusive(point, numberOfObjectives, referencePoint) -
+				calculate(limitSet, n, numberOfObjectives, referencePoint);
+	}
+
+	/**
+	 * Returns the hypervolume of a non-dominated set of points with respect to
+	 * the first {@code numberOfObjectives} objectives.  The points are
+	 * reordered by this method.
+	 * 
+	 * @param front the non-dominated points, all strictly dominating the
+	 *        reference point
+	 * @param n the number of points
+	 * @param numberOfObjectives the number of objectives
+	 * @param referencePoint the reference point
+	 * @return the hypervolume of the points
+	 */
+	private static double calculate(double[][] front, int n,
+			int numberOfObjectives, double[] referencePoint) {
+		if (n == 0) {
+			return 0.0;
+		} else if (n == 1) {
+			return inclusive(front[0], numberOfObjectives, referencePoint);
+		} else if (numberOfObjectives == 1) {
+			double min = front[0][0];
+
+			for (int i = 1; i < n; i++) {
+				min = Math.min(min, front[i][0]);
+			}
+
+			return referencePoint[0] - min;
+		} else if (numberOfObjectives == 2) {
+			return calculate2D(front, n, referencePoint);
+		} else if (numberOfObjectives == 3) {
+			return calculate3D(front, n, referencePoint);
+		}
+
+		// slice along the last objective; each point contributes the
+		// exclusive volume of its projection against the points preceding it
+		final int objective = numberOfObjectives - 1;
+
+		Arrays.sort(front, 0, n, new ObjectiveComparator(objective));
+
+		double volume = 0.0;
+		double[][] limitSet = new double[n][];
+
+		for (int i = 0; i < n; i++) {
+			double[] point = front[i];
+			double exclusive = inclusive(point, objective, referencePoint);
+
+			if (i > 0) {
+				for (int j = 0; j < i; j++) {
+					limitSet[j] = limit(point, front[j], objective);
+				}
+
+				int m = filterNondominated(limitSet, i, objective);
+				exclusive -= calculate(limitSet, m, objective,
+						referencePoint);
+			}
+
+			volume += exclusive * (referencePoint[objective] -
+					point[objective]);
+		}
+
+		return volume;
+	}
+
+	/**
+	 * Returns the hypervolume of a non-dominated set of points with two
+	 * objectives.
+	 * 
+	 * @param front the non-dominated points
+	 * @param n the number of points
+	 * @param referencePoint the reference point
+	 * @return the hypervolume of the points
+	 */
+	private static double calculate2D(double[][] front, int n,
+			double[] referencePoint) {
+		Arrays.sort(front, 0, n, new ObjectiveComparator(0));
+
+		double volume = 0.0;
+		double bound = referencePoint[1];
+
+		for (int i = 0; i < n; i++) {
+			if (front[i][1] < bound) {
+				volume += (referencePoint[0] - front[i][0]) *
+						(bound - front[i][1]);
+				bound = front[i][1];
+			}
+		}
+
+		return volume;
+	}
+
+	/**
+	 * Returns the hypervolume of a non-dominated set of points with three
+	 * objectives.  The points are processed in order of the third objective
+	 * while maintaining the area dominated in the first two objectives.
+	 * 
+	 * @param front the non-dominated points
+	 * @param n the number of points
+	 * @param referencePoint the reference point
+	 * @return the hypervolume of the points
+	 */
+	private static double calculate3D(double[][] front, int n,
+			double[] referencePoint) {
+		Arrays.sort(front, 0, n, new ObjectiveComparator(2));
+
+		TreeMap<Double, Double> staircase = new TreeMap<Double, Double>();
+		double volume = 0.0;
+		double area = 0.0;
+
+		for (int i = 0; i < n; i++) {
+			double x = front[i][0];
+			double y = front[i][1];
+
+			if (i > 0) {
+				volume += area * (front[i][2] - front[i - 1][2]);
+			}
+
+			Map.Entry<Double, Double> entry = staircase.floorEntry(x);
+
+			if ((entry != null) && (entry.getValue() <= y)) {
+				continue;
+			}
+
+			// the height already covered immediately to the right of x
+			entry = staircase.lowerEntry(x);
+			double bound = (entry == null) ? referencePoint[1] :
+				entry.getValue();
+			double left = x;
+
+			// remove the steps dominated by the new point
+			entry = staircase.ceilingEntry(x);
+
+			while ((entry != null) && (entry.getValue() >= y)) {
+				area += (entry.getKey() - left) * (bound - y);
+				bound = entry.getValue();
+				left = entry.getKey();
+				staircase.remove(entry.getKey());
+				entry = staircase.higherEntry(left);
+			}
+
+			double right = (entry == null) ? referencePoint[0] :
+				entry.getKey();
+			area += (right - left) * (bound - y);
+			staircase.put(x, y);
+		}
+
+		return volume + area * (referencePoint[2] - front[n - 1][2]);
+	}
+
+	/**
+	 * Returns the volume of the box between the point and the reference
+	 * point with respect to the first {@code numberOfObjectives} objectives.
+	 * 
+	 * @param point the point
+	 * @param numberOfObjectives the number of objectives
+	 * @param referencePoint the reference point
+	 * @return the volume of the box between the point and the reference point
+	 */
+	private static double inclusive(double[] point, int numberOfObjectives,
+			double[] referencePoint) {
+		double volume = 1.0;
+
+		for (int i = 0; i < numberOfObjectives; i++) {
+			volume *= referencePoint[i] - point[i];
+		}
+
+		return volume;
+	}
+
+	/**
+	 * Returns the point that is the worst of the two points in each of the
+	 * first {@code numberOfObjectives} objectives.
+	 * 
+	 * @param point1 the first point
+	 * @param point2 the second point
+	 * @param numberOfObjectives the number of objectives
+	 * @return the point that is the worst of the two points in each objective
+	 */
+	private static double[] limit(double[] point1, double[] point2,
+			int numberOfObjectives) {
+		double[] result = new double[numberOfObjectives];
+
+		for (int i = 0; i < numberOfObjectives; i++) {
+			result[i] = Math.max(point1[i], point2[i]);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns {@code true} if the point is strictly better than the reference
+	 * point in all objectives, and thus dominates a non-zero volume;
+	 * {@code false} otherwise.
+	 * 
+	 * @param point the point
+	 * @param referencePoint the reference point
+	 * @return {@code true} if the point dominates a non-zero volume;
+	 *         {@code false} otherwise
+	 */
+	private static boolean isContributing(double[] point,
+			double[] referencePoint) {
+		for (int i = 0; i < referencePoint.length; i++) {
+			if (!(point[i] < referencePoint[i])) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Moves the points that are not weakly dominated by another point with
+	 * respect to the first {@code numberOfObjectives} objectives to the front
+	 * of the array.  Only one copy of duplicate points is retained.
+	 * 
+	 * @param points the points
+	 * @param n the number of points
+	 * @param numberOfObjectives the number of objectives
+	 * @return the number of non-dominated points
+	 */
+	private static int filterNondominated(double[][] points, int n,
+			int numberOfObjectives) {
+		int i = 0;
+
+		while (i < n) {
+			boolean isDominated = false;
+			int j = i + 1;
+
+			while (j < n) {
+				if (weaklyDominates(points[i], points[j],
+						numberOfObjectives)) {
+					points[j] = points[--n];
+				} else if (weaklyDominates(points[j], points[i],
+						numberOfObjectives)) {
+					isDominated = true;
+					break;
+				} else {
+					j++;
+				}
+			}
+
+			if (isDominated) {
+				points[i] = points[--n];
+			} else {
+				i++;
+			}
+		}
+
+		return n;
+	}
+
+	/**
+	 * Returns {@code true} if the first point is no worse than the second
+	 * point in each of the first {@code numberOfObjectives} objectives;
+	 * {@code false} otherwise.
+	 * 
+	 * @param point1 the first point
+	 * @param point2 the second point
+	 * @param numberOfObjectives the number of objectives
+	 * @return {@code true} if the first point weakly dominates the second
+	 *         point; {@code false} otherwise
+	 */
+	private static boolean weaklyDominates(double[] point1, double[] point2,
+			int numberOfObjectives) {
+		for (int i = 0; i < numberOfObjectives; i++) {
+			if (point1[i] > point2[i]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Compares points by the value of a single objective.
+	 */
+	private static class ObjectiveComparator implements Comparator<double[]> {
+
+		/**
+		 * The objective being compared.
+		 */
+		private final int objective;
+
+		/**
+		 * Constructs a comparator for the specified objective.
+		 * 
+		 * @param objective the objective being compared
+		 */
+		public ObjectiveComparator(int objective) {
+			super();
+			this.objective = objective;
+		}
+
+		@Override
+		public int compare(double[] point1, double[] point2) {
+			return Double.compare(point1[objective], point2[objective]);
+		}
+
+	}
+
+}
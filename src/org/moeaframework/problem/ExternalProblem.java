@@ -24,11 +24,20 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 
-import org.moeaframework.core.Problem;
+import org.moeaframework.core.BatchProblem;
+import org.moeaframework.core.Settings;
 import org.moeaframework.core.Solution;
 import org.moeaframework.core.Variable;
 import org.moeaframework.core.variable.BinaryVariable;
@@ -62,6 +71,31 @@ import org.moeaframework.util.io.RedirectStream;
  * {@link #ExternalProblem(String, int)} or
  * {@link #ExternalProblem(InetAddress, int)} constructor.
  * 
+ * <h4>Multiple Processes</h4>
+ * A single instance of this class can distribute evaluations across several
+ * copies of the external process, either by launching multiple processes
+ * with {@link #ExternalProblem(int, String...)} or by connecting to multiple
+ * remote processes with {@link #ExternalProblem(InetSocketAddress...)}.
+ * Concurrent calls to {@link #evaluate(Solution)}, such as those from
+ * {@link org.moeaframework.util.distributed.DistributedProblem}, are each
+ * assigned an idle process.
+ * 
+ * <h4>Batch Evaluation</h4>
+ * The {@link #evaluateAll(Solution[])} method pipelines the evaluation of
+ * many solutions.  Rather than waiting for each response before sending the
+ * next solution, up to {@link Settings#getExternalProblemWindowSize()}
+ * solutions are sent to each process before their responses are read.  The
+ * solutions are spread across all idle processes.  Batch evaluation uses the
+ * same communication protocol described below; since each process responds
+ * to solutions in the order they were received, responses are matched to
+ * solutions by their order on each connection.
+ * <p>
+ * If an error occurs, such as an invalid response, the responses still
+ * outstanding on each connection are read and discarded before the
+ * connection is used again.  A connection that can not be brought back in
+ * sync is closed and no longer used.  Once all connections are closed, any
+ * further evaluations fail with a {@link ProblemException}.
+ * 
  * <h4>C/C++ Interface</h4>
  * A C/C++ interface is provided for implementing problems.  This interface
  * supports both modes of communication, depending on which initialization
@@ -87,7 +121,7 @@ import org.moeaframework.util.io.RedirectStream;
  * <b>It is critical that the {@link #close()} method be invoked to ensure the
  * external process is shutdown cleanly.</b>
  */
-public abstract class ExternalProblem implements Problem {
+public abstract class ExternalProblem implements BatchProblem {
 	
 	/**
 	 * The default port used by the MOEA Framework to connect to remote
@@ -96,14 +130,25 @@ public abstract class ExternalProblem implements Problem {
 	public static final int DEFAULT_PORT = 16801;
 
 	/**
-	 * Reader connected to the process' standard output.
+	 * The connections to the external processes.
 	 */
-	private final BufferedReader reader;
-
+	private final List<Connection> connections;
+	
 	/**
-	 * Writer connected to the process' standard input.
+	 * The connections not currently in use.
 	 */
-	private final BufferedWriter writer;
+	private final BlockingQueue<Connection> idle;
+	
+	/**
+	 * The maximum number of solutions sent to a process before their
+	 * responses are read.
+	 */
+	private final int windowSize;
+	
+	/**
+	 * The number of connections that have not been discarded.
+	 */
+	private int live;
 
 	/**
 	 * Constructs an external problem using {@code new
@@ -120,6 +165,22 @@ public abstract class ExternalProblem implements Problem {
 		this(new ProcessBuilder(command).start());
 	}
 	
+	/**
+	 * Constructs an external problem that launches multiple copies of the
+	 * specified system command, distributing evaluations across the
+	 * processes.
+	 * 
+	 * @param instances the number of processes to launch
+	 * @param command a specified system command
+	 * @throws IOException if an I/O error occurred
+	 * @throws IllegalArgumentException if {@code instances} is less than
+	 *         {@code 1}
+	 */
+	public ExternalProblem(int instances, String... command) 
+	throws IOException {
+		this(start(instances, command));
+	}
+	
 	/**
 	 * Constructs an external problem that connects to a remote process via
 	 * sockets.  The remote process should be instantiated and already
@@ -153,23 +214,35 @@ public abstract class ExternalProblem implements Problem {
 	}
 	
 	/**
-	 * Constructs an external problem using the specified socket.
+	 * Constructs an external problem that connects to multiple remote
+	 * processes via sockets, distributing evaluations across the processes.
+	 * The remote processes should be instantiated and already listening to
+	 * the designated ports prior to invoking this constructor.
 	 * 
-	 * @param socket the socket used to send solutions to be evaluated
+	 * @param addresses the socket addresses of the remote processes
 	 * @throws IOException if an I/O error occurred
 	 */
-	ExternalProblem(Socket socket) throws IOException {
-		this(socket.getInputStream(), socket.getOutputStream());
+	public ExternalProblem(InetSocketAddress... addresses) throws IOException {
+		this(connect(addresses));
+	}
+	
+	/**
+	 * Constructs an external problem using the specified sockets.
+	 * 
+	 * @param sockets the sockets used to send solutions to be evaluated
+	 * @throws IOException if an I/O error occurred
+	 */
+	ExternalProblem(Socket... sockets) throws IOException {
+		this(open(sockets));
 	}
 
 	/**
-	 * Constructs an external problem using the specified process.
+	 * Constructs an external problem using the specified processes.
 	 * 
-	 * @param process the process used to evaluate solutions
+	 * @param processes the processes used to evaluate solutions
 	 */
-	ExternalProblem(Process process) {
-		this(process.getInputStream(), process.getOutputStream());
-		RedirectStream.redirect(process.getErrorStream(), System.err);
+	ExternalProblem(Process... processes) {
+		this(open(processes));
 	}
 	
 	/**
@@ -180,9 +253,127 @@ public abstract class ExternalProblem implements Problem {
 	 * @param output the output stream
 	 */
 	ExternalProblem(InputStream input, OutputStream output) {
+		this(Collections.singletonList(new Connection(input, output)));
+	}
+	
+	/**
+	 * Constructs an external problem using the specified connections.
+	 * 
+	 * @param connections the connections to the external processes
+	 */
+	private ExternalProblem(List<Connection> connections) {
 		super();
-		reader = new BufferedReader(new InputStreamReader(input));
-		writer = new BufferedWriter(new OutputStreamWriter(output));
+		this.connections = connections;
+		
+		idle = new LinkedBlockingQueue<Connection>(connections);
+		live = connections.size();
+		windowSize = Math.max(1, Settings.getExternalProblemWindowSize());
+	}
+	
+	/**
+	 * Launches multiple copies of the specified system command.
+	 * 
+	 * @param instances the number of processes to launch
+	 * @param command a specified system command
+	 * @return the processes
+	 * @throws IOException if an I/O error occurred
+	 */
+	private static Process[] start(int instances, String... command)
+	throws IOException {
+		if (instances < 1) {
+			throw new IllegalArgumentException(
+					"requires at least one instance");
+		}
+		
+		Process[] processes = new Process[instances];
+		
+		try {
+			for (int i = 0; i < instances; i++) {
+				processes[i] = new ProcessBuilder(command).start();
+			}
+		} catch (IOException e) {
+			for (Process process : processes) {
+				if (process != null) {
+					process.destroy();
+				}
+			}
+			
+			throw e;
+		}
+		
+		return processes;
+	}
+	
+	/**
+	 * Connects to the remote processes at the specified socket addresses.
+	 * 
+	 * @param addresses the socket addresses of the remote processes
+	 * @return the sockets connected to the remote processes
+	 * @throws IOException if an I/O error occurred
+	 */
+	private static Socket[] connect(InetSocketAddress... addresses) 
+	throws IOException {
+		if (addresses.length == 0) {
+			throw new IllegalArgumentException(
+					"requires at least one address");
+		}
+		
+		Socket[] sockets = new Socket[addresses.length];
+		
+		try {
+			for (int i = 0; i < addresses.length; i++) {
+				sockets[i] = new Socket();
+				sockets[i].connect(addresses[i]);
+			}
+		} catch (IOException e) {
+			for (Socket socket : sockets) {
+				if (socket != null) {
+					socket.close();
+				}
+			}
+			
+			throw e;
+		}
+		
+		return sockets;
+	}
+	
+	/**
+	 * Returns the connections using the specified sockets.
+	 * 
+	 * @param sockets the sockets
+	 * @return the connections using the specified sockets
+	 * @throws IOException if an I/O error occurred
+	 */
+	private static List<Connection> open(Socket... sockets) 
+	throws IOException {
+		List<Connection> connections = new ArrayList<Connection>();
+		
+		for (Socket socket : sockets) {
+			connections.add(new Connection(socket.getInputStream(),
+					socket.getOutputStream()));
+		}
+		
+		return connections;
+	}
+	
+	/**
+	 * Returns the connections using the specified processes.  The error
+	 * stream of each process is redirected to {@code System.err}.
+	 * 
+	 * @param processes the processes
+	 * @return the connections using the specified processes
+	 */
+	private static List<Connection> open(Process... processes) {
+		List<Connection> connections = new ArrayList<Connection>();
+		
+		for (Process process : processes) {
+			connections.add(new Connection(process.getInputStream(),
+					process.getOutputStream()));
+			RedirectStream.redirect(process.getErrorStream(), System.err);
+		}
+		
+		return connections;
 	}
 
 	/**
@@ -191,49 +382,291 @@ public abstract class ExternalProblem implements Problem {
 	 */
 	@Override
 	public synchronized void close() {
-		try {
-			writer.close();
-		} catch (IOException e) {
-			throw new ProblemException(this, e);
-		} finally {
+		ProblemException exception = null;
+		
+		for (Connection connection : connections) {
 			try {
-				reader.close();
+				connection.close();
 			} catch (IOException e) {
-				throw new ProblemException(this, e);
+				if (exception == null) {
+					exception = new ProblemException(this, e);
+				}
 			}
 		}
+		
+		if (exception != null) {
+			throw exception;
+		}
 	}
 
 	/**
 	 * Evaluates the specified solution using the process defined by this class'
-	 * constructor.
+	 * constructor.  If multiple processes are available, the solution is
+	 * evaluated by an idle process.
 	 * 
 	 * @param solution the solution to evaluate
 	 */
 	@Override
-	public synchronized void evaluate(Solution solution) 
+	public void evaluate(Solution solution) throws ProblemException {
+		Connection connection = acquire();
+		int outstanding = 0;
+		
+		try {
+			send(connection, solution);
+			outstanding++;
+			flush(connection);
+			String line = receive(connection);
+			outstanding--;
+			parse(line, solution);
+		} finally {
+			release(connection, outstanding);
+		}
+	}
+	
+	/**
+	 * Evaluates the specified solutions, pipelining the communication with
+	 * the external processes.  Up to the window size solutions are sent to
+	 * each idle process before their responses are read, and the solutions
+	 * are spread across all idle processes.  This method blocks until all
+	 * solutions are evaluated.
+	 * 
+	 * @param solutions the solutions to evaluate
+	 * @throws ProblemException if an error occurred communicating with the
+	 *         external processes
+	 */
+	@Override
+	public void evaluateAll(Solution[] solutions) throws ProblemException {
+		List<Connection> acquired = new ArrayList<Connection>();
+		acquired.add(acquire());
+		idle.drainTo(acquired);
+		
+		int size = acquired.size();
+		int[] outstanding = new int[size];
+		
+		try {
+			List<Queue<Solution>> pending = new ArrayList<Queue<Solution>>();
+			Queue<Integer> order = new LinkedList<Integer>();
+			boolean[] dirty = new boolean[size];
+			int next = 0;
+			
+			for (int i = 0; i < size; i++) {
+				pending.add(new LinkedList<Solution>());
+			}
+			
+			while ((next < solutions.length) || !order.isEmpty()) {
+				// send solutions to the least busy processes until each
+				// process' window is full
+				while (next < solutions.length) {
+					int index = -1;
+					
+					for (int i = 0; i < size; i++) {
+						int load = pending.get(i).size();
+						
+						if ((load < windowSize) && ((index < 0) ||
+								(load < pending.get(index).size()))) {
+							index = i;
+						}
+					}
+					
+					if (index < 0) {
+						break;
+					}
+					
+					send(acquired.get(index), solutions[next]);
+					outstanding[index]++;
+					pending.get(index).add(solutions[next]);
+					order.add(index);
+					dirty[index] = true;
+					next++;
+				}
+				
+				for (int i = 0; i < size; i++) {
+					if (dirty[i]) {
+						flush(acquired.get(i));
+						dirty[i] = false;
+					}
+				}
+				
+				// receive the response to the oldest outstanding solution
+				int index = order.remove();
+				Solution solution = pending.get(index).remove();
+				String line = receive(acquired.get(index));
+				outstanding[index]--;
+				parse(line, solution);
+			}
+		} finally {
+			for (int i = 0; i < size; i++) {
+				release(acquired.get(i), outstanding[i]);
+			}
+		}
+	}
+	
+	/**
+	 * Returns an idle connection, waiting if all connections are in use.
+	 * 
+	 * @return an idle connection
+	 * @throws ProblemException if the thread was interrupted while waiting
+	 */
+	private Connection acquire() throws ProblemException {
+		Connection connection = null;
+		
+		try {
+			connection = idle.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ProblemException(this, "interrupted while waiting for external process", e);
+		}
+		
+		if (connection.discarded) {
+			// leave the connection for any other waiting threads
+			idle.add(connection);
+			throw new ProblemException(this, "no external process available");
+		}
+		
+		return connection;
+	}
+	
+	/**
+	 * Returns a connection to the idle connections once it is in sync.  If
+	 * responses are still outstanding after an error, they are read and
+	 * discarded so they are not read as the responses to later solutions.
+	 * If this fails, the connection is discarded.
+	 * 
+	 * @param connection the connection to the external process
+	 * @param outstanding the number of solutions sent on the connection
+	 *        whose responses were not read
+	 */
+	private void release(Connection connection, int outstanding) {
+		if ((outstanding == 0) || synchronize(connection, outstanding)) {
+			idle.add(connection);
+		} else {
+			discard(connection);
+		}
+	}
+	
+	/**
+	 * Flushes the connection and reads and discards the specified number of
+	 * responses.
+	 * 
+	 * @param connection the connection to the external process
+	 * @param outstanding the number of responses to discard
+	 * @return {@code true} if the connection is in sync; {@code false} if an
+	 *         I/O error occurred or the end of stream was reached
+	 */
+	private boolean synchronize(Connection connection, int outstanding) {
+		try {
+			connection.writer.flush();
+			
+			for (int i = 0; i < outstanding; i++) {
+				if (connection.reader.readLine() == null) {
+					return false;
+				}
+			}
+			
+			return true;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+	
+	/**
+	 * Closes a connection that is out of sync and stops using it.  Once all
+	 * connections are discarded, the last one is left in the idle
+	 * connections so that waiting threads fail rather than block forever.
+	 * 
+	 * @param connection the connection to the external process
+	 */
+	private synchronized void discard(Connection connection) {
+		connection.discarded = true;
+		live--;
+		
+		try {
+			connection.close();
+		} catch (IOException e) {
+			// the connection is no longer used
+		}
+		
+		if (live == 0) {
+			idle.add(connection);
+		}
+	}
+	
+	/**
+	 * Sends the decision variables of the specified solution to the external
+	 * process.  The data may remain buffered until the connection is flushed.
+	 * 
+	 * @param connection the connection to the external process
+	 * @param solution the solution to send
+	 * @throws ProblemException if an I/O error occurred
+	 */
+	private void send(Connection connection, Solution solution) 
 	throws ProblemException {
-		// send variables to external process
 		try {
-			writer.write(encode(solution.getVariable(0)));
+			BufferedWriter writer = connection.writer;
+			StringBuilder line = new StringBuilder();
+			
+			// encode the entire line first so an unsupported variable does
+			// not leave a partial line on the connection
+			line.append(encode(solution.getVariable(0)));
 			for (int i = 1; i < solution.getNumberOfVariables(); i++) {
-				writer.write(" ");
-				writer.write(encode(solution.getVariable(i)));
+				line.append(" ");
+				line.append(encode(solution.getVariable(i)));
 			}
+			
+			writer.write(line.toString());
 			writer.newLine();
-			writer.flush();
 		} catch (IOException e) {
 			throw new ProblemException(this, "error sending variables to external process", e);
 		}
-
-		// receive objectives from external process
+	}
+	
+	/**
+	 * Flushes any buffered data to the external process.
+	 * 
+	 * @param connection the connection to the external process
+	 * @throws ProblemException if an I/O error occurred
+	 */
+	private void flush(Connection connection) throws ProblemException {
 		try {
-			String line = reader.readLine();
+			connection.writer.flush();
+		} catch (IOException e) {
+			throw new ProblemException(this, "error sending variables to external process", e);
+		}
+	}
+	
+	/**
+	 * Receives the next response from the external process.
+	 * 
+	 * @param connection the connection to the external process
+	 * @return the response
+	 * @throws ProblemException if an I/O error occurred or the end of stream
+	 *         was reached
+	 */
+	private String receive(Connection connection) throws ProblemException {
+		try {
+			String line = connection.reader.readLine();
 
 			if (line == null) {
 				throw new ProblemException(this, "end of stream reached when response expected");
 			}
-
+			
+			return line;
+		} catch (IOException e) {
+			throw new ProblemException(this, "error receiving variables from external process", e);
+		}
+	}
+	
+	/**
+	 * Assigns the objectives and constraints in a response to the specified
+	 * solution.
+	 * 
+	 * @param line the response
+	 * @param solution the solution being evaluated
+	 * @throws ProblemException if the response was invalid
+	 */
+	private void parse(String line, Solution solution) 
+	throws ProblemException {
+		try {
 			String[] tokens = line.split("\\s+");
 
 			if (tokens.length != (solution.getNumberOfObjectives() + 
@@ -252,8 +685,6 @@ public abstract class ExternalProblem implements Problem {
 				solution.setConstraint(i, Double.parseDouble(tokens[index]));
 				index++;
 			}
-		} catch (IOException e) {
-			throw new ProblemException(this, "error receiving variables from external process", e);
 		} catch (NumberFormatException e) {
 			throw new ProblemException(this, "error receiving variables from external process", e);
 		}
@@ -294,5 +725,54 @@ public abstract class ExternalProblem implements Problem {
 		
 		return sb.toString();
 	}
+	
+	/**
+	 * A connection to an external process.
+	 */
+	private static class Connection {
+		
+		/**
+		 * Reader connected to the process' standard output.
+		 */
+		private final BufferedReader reader;
+
+		/**
+		 * Writer connected to the process' standard input.
+		 */
+		private final BufferedWriter writer;
+		
+		/**
+		 * {@code true} if this connection was closed after falling out of
+		 * sync; {@code false} otherwise.
+		 */
+		private boolean discarded;
+		
+		/**
+		 * Constructs a connection using the specified input and output
+		 * streams.
+		 * 
+		 * @param input the input stream
+		 * @param output the output stream
+		 */
+		public Connection(InputStream input, OutputStream output) {
+			super();
+			reader = new BufferedReader(new InputStreamReader(input));
+			writer = new BufferedWriter(new OutputStreamWriter(output));
+		}
+		
+		/**
+		 * Closes this connection.
+		 * 
+		 * @throws IOException if an I/O error occurred
+		 */
+		public void close() throws IOException {
+			try {
+				writer.close();
+			} finally {
+				reader.close();
+			}
+		}
+		
+	}
 
 }
@@ -18,6 +18,7 @@
 package org.moeaframework.problem;
 
 import org.apache.commons.math3.linear.RealMatrix;
+import org.moeaframework.core.BatchProblem;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
 import org.moeaframework.core.variable.EncodingUtils;
@@ -38,7 +39,7 @@ import org.moeaframework.util.Vector;
  * rotations, which ensures the volume of the constraint-violating expanded
  * region is constant across all instances of a problem.
  */
-public class RotatedProblem implements Problem {
+public class RotatedProblem implements BatchProblem {
 	
 	/**
 	 * The original unrotated problem.
@@ -119,7 +120,56 @@ public class RotatedProblem implements Problem {
 	@Override
 	public void evaluate(Solution solution) {
 		Solution temp = problem.newSolution();
+		double boundsViolation = rotate(solution, temp);
 		
+		//evaluate the solution
+		problem.evaluate(temp);
+		
+		extract(temp, solution, boundsViolation);
+	}
+	
+	/**
+	 * Evaluates the solutions.  If the original unrotated problem is a
+	 * {@link BatchProblem}, the rotated solutions are evaluated as a single
+	 * batch.
+	 * 
+	 * @param solutions the solutions to be evaluated
+	 */
+	@Override
+	public void evaluateAll(Solution[] solutions) {
+		Solution[] temps = new Solution[solutions.length];
+		double[] boundsViolations = new double[solutions.length];
+		
+		for (int i = 0; i < solutions.length; i++) {
+			temps[i] = problem.newSolution();
+			boundsViolations[i] = rotate(solutions[i], temps[i]);
+		}
+		
+		//evaluate the solutions
+		if (problem instanceof BatchProblem) {
+			((BatchProblem)problem).evaluateAll(temps);
+		} else {
+			for (Solution temp : temps) {
+				problem.evaluate(temp);
+			}
+		}
+		
+		for (int i = 0; i < solutions.length; i++) {
+			extract(temps[i], solutions[i], boundsViolations[i]);
+		}
+	}
+	
+	/**
+	 * Applies the rotation to the decision variables of the specified
+	 * solution, storing the rotated decision variables in a solution to the
+	 * original unrotated problem.  Rotated variables lying outside the bounds
+	 * of the original problem are clipped to the bounds.
+	 * 
+	 * @param solution the solution to this rotated problem
+	 * @param temp the solution to the original unrotated problem
+	 * @return the bounds violation of the rotated decision variables
+	 */
+	private double rotate(Solution solution, Solution temp) {
 		//apply the rotation
 		double[] x = EncodingUtils.getReal(solution);
 		x = rotation.operate(x);
@@ -142,9 +192,21 @@ public class RotatedProblem implements Problem {
 			}
 		}
 		
-		//evaluate the solution
-		problem.evaluate(temp);
-		
+		return boundsViolation;
+	}
+	
+	/**
+	 * Copies the objectives and constraints of the evaluated solution to the
+	 * original unrotated problem into the solution to this rotated problem,
+	 * and sets the bounds violation constraint.
+	 * 
+	 * @param temp the evaluated solution to the original unrotated problem
+	 * @param solution the solution to this rotated problem
+	 * @param boundsViolation the bounds violation of the rotated decision
+	 *        variables
+	 */
+	private void extract(Solution temp, Solution solution, 
+			double boundsViolation) {
 		//extract the results
 		solution.setObjectives(temp.getObjectives());
 		
@@ -17,6 +17,7 @@
  */
 package org.moeaframework.problem;
 
+import org.moeaframework.core.BatchProblem;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
 
@@ -25,7 +26,7 @@ import org.moeaframework.core.Solution;
  * Precision and accuracy of the timing data is dependent on {@link 
  * System#nanoTime()}.
  */
-public class TimingProblem implements Problem {
+public class TimingProblem implements BatchProblem {
 	
 	/**
 	 * The decorated problem.
@@ -76,6 +77,23 @@ public class TimingProblem implements Problem {
 		
 		time += (end - start) / 1e9;
 	}
+	
+	@Override
+	public void evaluateAll(Solution[] solutions) {
+		long start = System.nanoTime();
+		
+		if (problem instanceof BatchProblem) {
+			((BatchProblem)problem).evaluateAll(solutions);
+		} else {
+			for (Solution solution : solutions) {
+				problem.evaluate(solution);
+			}
+		}
+		
+		long end = System.nanoTime();
+		
+		time += (end - start) / 1e9;
+	}
 
 	@Override
 	public Solution newSolution() {
@@ -0,0 +1,60 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.util;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Provides the fork-join pool used by the parallel computations within this
+ * framework, such as indicator-based fitness evaluation and nearest neighbor
+ * searches.  Using a single pool, sized to the number of available
+ * processors, prevents these computations from oversubscribing the CPU.  The
+ * pool is created lazily on first use.
+ */
+public class SharedForkJoinPool {
+	
+	/**
+	 * Private constructor to prevent instantiation.
+	 */
+	private SharedForkJoinPool() {
+		super();
+	}
+	
+	/**
+	 * Returns the fork-join pool shared by the parallel computations within
+	 * this framework.
+	 * 
+	 * @return the shared fork-join pool
+	 */
+	public static ForkJoinPool getInstance() {
+		return PoolHolder.POOL;
+	}
+	
+	/**
+	 * Lazily creates the shared fork-join pool.
+	 */
+	private static class PoolHolder {
+		
+		/**
+		 * The shared fork-join pool.
+		 */
+		private static final ForkJoinPool POOL = new ForkJoinPool();
+		
+	}
+
+}
@@ -0,0 +1,342 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.util.distributed;
+
+import java.io.NotSerializableException;
+import java.io.Serializable;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.moeaframework.algorithm.AlgorithmException;
+import org.moeaframework.algorithm.SteadyStateAlgorithm;
+import org.moeaframework.core.Algorithm;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+
+/**
+ * Drives a {@link SteadyStateAlgorithm} asynchronously, evaluating offspring
+ * using the provided {@link ExecutorService} and inserting each offspring
+ * into the algorithm as soon as its evaluation completes.  Up to a fixed
+ * number of offspring, the window size, are evaluated concurrently.  Unlike
+ * {@link DistributedProblem}, where generational algorithms wait for the
+ * slowest evaluation in each generation, the executor is kept saturated
+ * even when evaluation times vary.
+ * <p>
+ * The wrapped algorithm is initialized by its own {@code step()} method, so
+ * its initial population is evaluated synchronously.  Construct the wrapped
+ * algorithm with a {@code DistributedProblem} to evaluate the initial
+ * population in parallel.  Each call to {@link #step()} thereafter fills the
+ * window with new offspring, waits for at least one evaluation to complete,
+ * and inserts all completed offspring.  If the algorithm generates no
+ * offspring, the window is left partially filled; if no offspring are being
+ * evaluated, an {@link AlgorithmException} is thrown.
+ * <p>
+ * Since offspring are generated before earlier offspring are inserted, the
+ * search differs from the serial algorithm.  Results are therefore not
+ * reproducible across runs, even with the same random seed.
+ */
+public class AsynchronousAlgorithm implements Algorithm {
+	
+	/**
+	 * The steady-state algorithm being driven.
+	 */
+	private final SteadyStateAlgorithm algorithm;
+	
+	/**
+	 * The problem used to evaluate offspring.
+	 */
+	private final Problem problem;
+	
+	/**
+	 * The completion service for evaluating offspring.
+	 */
+	private final CompletionService<Solution> completionService;
+	
+	/**
+	 * The offspring currently being evaluated.
+	 */
+	private final Map<Future<Solution>, Solution> inFlight;
+	
+	/**
+	 * The maximum number of offspring evaluated concurrently.
+	 */
+	private final int windowSize;
+	
+	/**
+	 * The number of offspring evaluated and inserted by this driver.
+	 */
+	private int numberOfEvaluations;
+	
+	/**
+	 * Constructs a driver for evaluating the offspring of a steady-state
+	 * algorithm asynchronously.
+	 * 
+	 * @param algorithm the steady-state algorithm
+	 * @param problem the problem used to evaluate offspring, which should not
+	 *        be a {@code DistributedProblem}
+	 * @param executor the executor service for evaluating offspring
+	 * @param windowSize the maximum number of offspring evaluated concurrently
+	 * @throws IllegalArgumentException if {@code windowSize} is less than
+	 *         {@code 1}
+	 */
+	public AsynchronousAlgorithm(SteadyStateAlgorithm algorithm, 
+			Problem problem, ExecutorService executor, int windowSize) {
+		super();
+		
+		if (windowSize < 1) {
+			throw new IllegalArgumentException("invalid window size");
+		}
+		
+		this.algorithm = algorithm;
+		this.problem = problem;
+		this.windowSize = windowSize;
+		
+		completionService = new ExecutorCompletionService<Solution>(executor);
+		inFlight = new IdentityHashMap<Future<Solution>, Solution>();
+	}
+	
+	/**
+	 * The {@link Callable} sent to the {@code ExecutorService} for evaluating
+	 * an offspring.  As with {@code DistributedProblem}, the evaluated
+	 * solution may be a serialized copy of the offspring.
+	 */
+	private static class SolutionEvaluator implements Callable<Solution>,
+			Serializable {
+
+		private static final long serialVersionUID = 6217439920585146014L;
+
+		/**
+		 * The problem.
+		 */
+		private final Problem problem;
+
+		/**
+		 * The solution being evaluated.
+		 */
+		private final Solution solution;
+
+		/**
+		 * Constructs a distributed job to evaluate the specified solution.
+		 * 
+		 * @param problem the problem
+		 * @param solution the solution to be evaluated
+		 */
+		public SolutionEvaluator(Problem problem, Solution solution) {
+			super();
+			this.problem = problem;
+			this.solution = solution;
+		}
+
+		@Override
+		public Solution call() throws Exception {
+			problem.evaluate(solution);
+			return solution;
+		}
+
+	}
+
+	@Override
+	public Problem getProblem() {
+		return algorithm.getProblem();
+	}
+
+	@Override
+	public NondominatedPopulation getResult() {
+		return algorithm.getResult();
+	}
+
+	@Override
+	public void step() {
+		if (!algorithm.isInitialized()) {
+			algorithm.step();
+			return;
+		}
+		
+		// fill the window with new offspring, stopping early if the
+		// algorithm generates none
+		while (inFlight.size() < windowSize) {
+			Solution[] offspring = algorithm.generate();
+			
+			if (offspring.length == 0) {
+				break;
+			}
+			
+			for (Solution child : offspring) {
+				inFlight.put(completionService.submit(
+						new SolutionEvaluator(problem, child)), child);
+			}
+		}
+		
+		if (inFlight.isEmpty()) {
+			throw new AlgorithmException(this, 
+					"algorithm generated no offspring");
+		}
+		
+		// wait for at least one evaluation, then insert all completed ones
+		try {
+			Future<Solution> future = completionService.take();
+			
+			while (future != null) {
+				insert(future);
+				future = completionService.poll();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new AlgorithmException(this, e);
+		}
+	}
+	
+	/**
+	 * Inserts the offspring whose evaluation has completed into the
+	 * algorithm.
+	 * 
+	 * @param future the completed evaluation
+	 * @throws InterruptedException if the thread was interrupted
+	 */
+	private void insert(Future<Solution> future) throws InterruptedException {
+		Solution child = inFlight.remove(future);
+		
+		try {
+			Solution result = future.get();
+			
+			if (result != child) {
+				child.setObjectives(result.getObjectives());
+				child.setConstraints(result.getConstraints());
+			}
+		} catch (ExecutionException e) {
+			throw new AlgorithmException(this, e.getCause());
+		}
+		
+		numberOfEvaluations++;
+		algorithm.insert(child);
+	}
+
+	/**
+	 * Evaluation is always asynchronous, so this method evaluates the
+	 * solution using the wrapped algorithm.
+	 */
+	@Override
+	public void evaluate(Solution solution) {
+		algorithm.evaluate(solution);
+	}
+
+	@Override
+	public int getNumberOfEvaluations() {
+		return algorithm.getNumberOfEvaluations() + numberOfEvaluations;
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return algorithm.isTerminated();
+	}
+
+	/**
+	 * Terminates the wrapped algorithm.  Offspring still being evaluated are
+	 * discarded.
+	 */
+	@Override
+	public void terminate() {
+		for (Future<Solution> future : inFlight.keySet()) {
+			future.cancel(true);
+		}
+		
+		inFlight.clear();
+		algorithm.terminate();
+	}
+
+	/**
+	 * Returns the state of the wrapped algorithm and the number of
+	 * evaluations performed by this driver.  Offspring still being evaluated
+	 * are not saved.
+	 */
+	@Override
+	public Serializable getState() throws NotSerializableException {
+		return new AsynchronousAlgorithmState(algorithm.getState(),
+				numberOfEvaluations);
+	}
+
+	@Override
+	public void setState(Object objState) throws NotSerializableException {
+		AsynchronousAlgorithmState state = 
+				(AsynchronousAlgorithmState)objState;
+		
+		algorithm.setState(state.getAlgorithmState());
+		numberOfEvaluations = state.getNumberOfEvaluations();
+	}
+	
+	/**
+	 * Proxy for serializing and deserializing the state of an
+	 * {@code AsynchronousAlgorithm} instance.
+	 */
+	private static class AsynchronousAlgorithmState implements Serializable {
+
+		private static final long serialVersionUID = -3425318232906717458L;
+
+		/**
+		 * The state of the wrapped algorithm.
+		 */
+		private final Serializable algorithmState;
+		
+		/**
+		 * The number of evaluations performed by the driver.
+		 */
+		private final int numberOfEvaluations;
+
+		/**
+		 * Constructs a proxy for serializing and deserializing the state of
+		 * an {@code AsynchronousAlgorithm} instance.
+		 * 
+		 * @param algorithmState the state of the wrapped algorithm
+		 * @param numberOfEvaluations the number of evaluations performed by
+		 *        the driver
+		 */
+		public AsynchronousAlgorithmState(Serializable algorithmState,
+				int numberOfEvaluations) {
+			super();
+			this.algorithmState = algorithmState;
+			this.numberOfEvaluations = numberOfEvaluations;
+		}
+
+		/**
+		 * Returns the state of the wrapped algorithm.
+		 * 
+		 * @return the state of the wrapped algorithm
+		 */
+		public Serializable getAlgorithmState() {
+			return algorithmState;
+		}
+
+		/**
+		 * Returns the number of evaluations performed by the driver.
+		 * 
+		 * @return the number of evaluations performed by the driver
+		 */
+		public int getNumberOfEvaluations() {
+			return numberOfEvaluations;
+		}
+		
+	}
+
+}
@@ -19,9 +19,13 @@ package org.moeaframework.util.distributed;
 
 import java.io.Serializable;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+import org.moeaframework.core.BatchProblem;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
 import org.moeaframework.problem.ProblemException;
@@ -31,8 +35,14 @@ import org.moeaframework.problem.ProblemException;
  * cores or compute nodes using the provided {@link ExecutorService}. The
  * {@code ExecutorService} defines the type and method of distribution. The
  * problem must be {@link Serializable} if executing on remote nodes.
+ * <p>
+ * If the decorated problem is a {@link BatchProblem}, batches passed to
+ * {@link #evaluateAll(Solution[])} are submitted to the
+ * {@code ExecutorService} as a single job, allowing the decorated problem to
+ * evaluate the batch efficiently.  Otherwise, each solution in the batch is
+ * submitted as a separate job.
  */
-public class DistributedProblem implements Problem {
+public class DistributedProblem implements BatchProblem {
 
 	/**
 	 * The {@code ExecutorService} for distributing jobs across multiple
@@ -102,6 +112,103 @@ public class DistributedProblem implements Problem {
 
 	}
 
+	/**
+	 * The {@link Callable} sent to the {@code ExecutorService} for evaluating
+	 * a batch of solutions using a {@link BatchProblem}.
+	 */
+	private static class BatchProblemEvaluator implements 
+			Callable<Solution[]>, Serializable {
+
+		private static final long serialVersionUID = 2203410736419325512L;
+
+		/**
+		 * The problem.
+		 */
+		private final BatchProblem problem;
+
+		/**
+		 * The solutions being evaluated.
+		 */
+		private final Solution[] solutions;
+
+		/**
+		 * Constructs a distributed job to evaluate the specified solutions.
+		 * 
+		 * @param problem the problem
+		 * @param solutions the solutions to be evaluated
+		 */
+		public BatchProblemEvaluator(BatchProblem problem, 
+				Solution[] solutions) {
+			super();
+			this.problem = problem;
+			this.solutions = solutions;
+		}
+
+		@Override
+		public Solution[] call() throws Exception {
+			problem.evaluateAll(solutions);
+			return solutions;
+		}
+
+	}
+	
+	/**
+	 * The {@code Future} for a single solution within a batch evaluated by a
+	 * {@link BatchProblemEvaluator}.
+	 */
+	private static class BatchFuture implements Future<Solution> {
+		
+		/**
+		 * The {@code Future} for the batch.
+		 */
+		private final Future<Solution[]> future;
+		
+		/**
+		 * The index of the solution within the batch.
+		 */
+		private final int index;
+
+		/**
+		 * Constructs the {@code Future} for a single solution within a batch.
+		 * 
+		 * @param future the {@code Future} for the batch
+		 * @param index the index of the solution within the batch
+		 */
+		public BatchFuture(Future<Solution[]> future, int index) {
+			super();
+			this.future = future;
+			this.index = index;
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			return future.cancel(mayInterruptIfRunning);
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return future.isCancelled();
+		}
+
+		@Override
+		public boolean isDone() {
+			return future.isDone();
+		}
+
+		@Override
+		public Solution get() throws InterruptedException, 
+		ExecutionException {
+			return future.get()[index];
+		}
+
+		@Override
+		public Solution get(long timeout, TimeUnit unit) 
+		throws InterruptedException, ExecutionException, TimeoutException {
+			return future.get(timeout, unit)[index];
+		}
+		
+	}
+
 	@Override
 	public void evaluate(Solution solution) {
 		if (solution instanceof FutureSolution) {
@@ -113,6 +220,31 @@ public class DistributedProblem implements Problem {
 			throw new ProblemException(this, "requires FutureSolution");
 		}
 	}
+	
+	@Override
+	public void evaluateAll(Solution[] solutions) {
+		if (innerProblem instanceof BatchProblem) {
+			for (Solution solution : solutions) {
+				if (!(solution instanceof FutureSolution)) {
+					throw new ProblemException(this, 
+							"requires FutureSolution");
+				}
+			}
+			
+			Future<Solution[]> future = executor.submit(
+					new BatchProblemEvaluator((BatchProblem)innerProblem,
+							solutions.clone()));
+			
+			for (int i = 0; i < solutions.length; i++) {
+				((FutureSolution)solutions[i]).setFuture(
+						new BatchFuture(future, i));
+			}
+		} else {
+			for (Solution solution : solutions) {
+				evaluate(solution);
+			}
+		}
+	}
 
 	@Override
 	public String getName() {
@@ -215,8 +215,21 @@ public class ProgressHelper {
 	 * seed completes in order to notify listeners that the seed completed.
 	 */
 	public void nextSeed() {
+		nextSeed(0);
+	}
+	
+	/**
+	 * Increments the current seed and sets the current NFE.  This method will
+	 * generate a progress report.  This variant is intended for executors
+	 * running several seeds concurrently, where {@code currentNFE} is the
+	 * combined NFE of the seeds still running.
+	 * 
+	 * @param currentNFE the current number of objective function evaluations
+	 *        after the seed completed
+	 */
+	public void nextSeed(int currentNFE) {
 		currentSeed++;
-		currentNFE = 0;
+		this.currentNFE = currentNFE;
 		
 		updateStatistics();
 		sendProgressEvent(true);
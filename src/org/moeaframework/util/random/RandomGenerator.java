@@ -0,0 +1,82 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.util.random;
+
+import java.util.Random;
+
+import org.apache.commons.math3.random.MersenneTwister;
+import org.apache.commons.math3.random.RandomAdaptor;
+
+/**
+ * Enumeration of the pseudo-random number generators available for creating
+ * random streams.
+ */
+public enum RandomGenerator {
+
+	/**
+	 * The Mersenne Twister, which is the default generator used by
+	 * {@link org.moeaframework.core.PRNG}.
+	 */
+	MERSENNE_TWISTER {
+
+		@Override
+		public Random newInstance(long seed) {
+			return new RandomAdaptor(new MersenneTwister(seed));
+		}
+
+	},
+
+	/**
+	 * The SplitMix64 generator.
+	 *
+	 * @see SplitMix64Random
+	 */
+	SPLITMIX64 {
+
+		@Override
+		public Random newInstance(long seed) {
+			return new SplitMix64Random(seed);
+		}
+
+	},
+
+	/**
+	 * The xoroshiro128+ generator.
+	 *
+	 * @see Xoroshiro128PlusRandom
+	 */
+	XOROSHIRO128PLUS {
+
+		@Override
+		public Random newInstance(long seed) {
+			return new Xoroshiro128PlusRandom(seed);
+		}
+
+	};
+
+	/**
+	 * Returns a new instance of this generator initialized with the given
+	 * seed.
+	 *
+	 * @param seed the seed
+	 * @return a new instance of this generator initialized with the given
+	 *         seed
+	 */
+	public abstract Random newInstance(long seed);
+
+}
@@ -0,0 +1,118 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.util.random;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Provides independent random streams derived deterministically from a single
+ * seed.  The {@code i}-th stream is seeded by mixing the master seed and
+ * {@code i} through the SplitMix64 output function, so the same master seed
+ * always produces the same streams regardless of the order in which they are
+ * requested.  This allows concurrent runs, such as the seeds of an
+ * {@link org.moeaframework.Executor}, to each use their own generator while
+ * remaining reproducible.
+ * <p>
+ * This class is thread-safe, but the streams it returns are not.
+ */
+public class RandomStreams {
+
+	/**
+	 * The generator used to create each stream.
+	 */
+	private final RandomGenerator generator;
+
+	/**
+	 * The master seed from which the seed of each stream is derived.
+	 */
+	private final long seed;
+
+	/**
+	 * The index of the next stream returned by {@link #newStream()}.
+	 */
+	private final AtomicLong nextIndex;
+
+	/**
+	 * Constructs a new source of random streams using the Mersenne Twister.
+	 *
+	 * @param seed the master seed from which the seed of each stream is
+	 *        derived
+	 */
+	public RandomStreams(long seed) {
+		this(RandomGenerator.MERSENNE_TWISTER, seed);
+	}
+
+	/**
+	 * Constructs a new source of random streams.
+	 *
+	 * @param generator the generator used to create each stream
+	 * @param seed the master seed from which the seed of each stream is
+	 *        derived
+	 */
+	public RandomStreams(RandomGenerator generator, long seed) {
+		super();
+		this.generator = generator;
+		this.seed = seed;
+
+		nextIndex = new AtomicLong();
+	}
+
+	/**
+	 * Returns the generator used to create each stream.
+	 *
+	 * @return the generator used to create each stream
+	 */
+	public RandomGenerator getGenerator() {
+		return generator;
+	}
+
+	/**
+	 * Returns the seed of the stream with the given index.
+	 *
+	 * @param index the index of the stream
+	 * @return the seed of the stream with the given index
+	 */
+	public long getSeed(long index) {
+		return SplitMix64Random.mix(seed +
+				SplitMix64Random.GOLDEN_GAMMA * (index + 1));
+	}
+
+	/**
+	 * Returns a new instance of the stream with the given index.  Calling this
+	 * method twice with the same index returns two generators producing the
+	 * same sequence.
+	 *
+	 * @param index the index of the stream
+	 * @return a new instance of the stream with the given index
+	 */
+	public Random getStream(long index) {
+		return generator.newInstance(getSeed(index));
+	}
+
+	/**
+	 * Returns the next unused stream.  Streams are numbered in the order this
+	 * method is called, starting at index {@code 0}.
+	 *
+	 * @return the next unused stream
+	 */
+	public Random newStream() {
+		return getStream(nextIndex.getAndIncrement());
+	}
+
+}
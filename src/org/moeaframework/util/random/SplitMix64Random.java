@@ -0,0 +1,107 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.util.random;
+
+import java.util.Random;
+
+/**
+ * The SplitMix64 pseudo-random number generator.  SplitMix64 has a 64-bit
+ * state and a period of {@code 2^64}.  It is considerably faster than the
+ * Mersenne Twister and is well suited for deriving seeds for other generators,
+ * which is how it is used by {@link RandomStreams} and
+ * {@link Xoroshiro128PlusRandom}.
+ * <p>
+ * This class is not thread-safe.
+ * <p>
+ * References:
+ * <ol>
+ *   <li>Steele, G. L., D. Lea, and C. H. Flood.  "Fast Splittable
+ *       Pseudorandom Number Generators."  Proceedings of the 2014 ACM
+ *       International Conference on Object Oriented Programming Systems
+ *       Languages &amp; Applications, pp. 453-472, 2014.
+ * </ol>
+ */
+public class SplitMix64Random extends Random {
+
+	private static final long serialVersionUID = -2456180284914587712L;
+
+	/**
+	 * The increment added to the state on each step, the odd integer closest
+	 * to {@code 2^64} divided by the golden ratio.
+	 */
+	static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	/**
+	 * The current state.
+	 */
+	private long state;
+
+	/**
+	 * Constructs a new SplitMix64 generator with a seed based on the current
+	 * time.
+	 */
+	public SplitMix64Random() {
+		this(System.nanoTime());
+	}
+
+	/**
+	 * Constructs a new SplitMix64 generator with the specified seed.
+	 *
+	 * @param seed the seed
+	 */
+	public SplitMix64Random(long seed) {
+		super(seed);
+	}
+
+	/**
+	 * Returns the 64-bit mix of the given value.  This is the output function
+	 * of SplitMix64, which maps nearby inputs to statistically unrelated
+	 * outputs.
+	 *
+	 * @param z the value to mix
+	 * @return the 64-bit mix of the given value
+	 */
+	public static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	@Override
+	public void setSeed(long seed) {
+		super.setSeed(seed);
+		state = seed;
+	}
+
+	@Override
+	public long nextLong() {
+		state += GOLDEN_GAMMA;
+		return mix(state);
+	}
+
+	@Override
+	protected int next(int bits) {
+		return (int)(nextLong() >>> (64 - bits));
+	}
+
+	@Override
+	public double nextDouble() {
+		return (nextLong() >>> 11) * 0x1.0p-53;
+	}
+
+}
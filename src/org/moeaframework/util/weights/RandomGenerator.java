@@ -21,7 +21,6 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.commons.math3.stat.StatUtils;
-import org.apache.commons.math3.util.MathArrays;
 import org.moeaframework.core.PRNG;
 
 /**
@@ -119,32 +118,94 @@ public class RandomGenerator implements WeightGenerator {
 		}
 
 		// fill in remaining weights with the weight vector with the largest
-		// distance from the assigned weights
-		while (weights.size() < numberOfPoints) {
-			double[] weight = null;
-			double distance = Double.NEGATIVE_INFINITY;
+		// distance from the assigned weights, tracking the squared distance
+		// from each candidate to its nearest assigned weight
+		double[] points = new double[candidates.size() * numberOfObjectives];
+		double[] distances = new double[candidates.size()];
+		boolean[] assigned = new boolean[candidates.size()];
+		int index = -1;
+		double distance = Double.NEGATIVE_INFINITY;
+
+		for (int i = 0; i < candidates.size(); i++) {
+			System.arraycopy(candidates.get(i), 0, points,
+					i * numberOfObjectives, numberOfObjectives);
+			distances[i] = Double.POSITIVE_INFINITY;
+
+			for (double[] weight : weights) {
+				distances[i] = Math.min(distances[i],
+						squaredDistance(points, i, weight));
+			}
 
-			for (int i = 0; i < candidates.size(); i++) {
-				double d = Double.POSITIVE_INFINITY;
+			if (isFarther(distances[i], distance)) {
+				index = i;
+				distance = Math.sqrt(distances[i]);
+			}
+		}
 
-				for (int j = 0; j < weights.size(); j++) {
-					d = Math.min(d, MathArrays.distance(candidates.get(i),
-							weights.get(j)));
-				}
+		while (weights.size() < numberOfPoints) {
+			double[] weight = candidates.get(index);
+			weights.add(weight);
+			assigned[index] = true;
+
+			index = -1;
+			distance = Double.NEGATIVE_INFINITY;
 
-				if (d > distance) {
-					weight = candidates.get(i);
-					distance = d;
+			for (int i = 0; i < candidates.size(); i++) {
+				if (!assigned[i]) {
+					distances[i] = Math.min(distances[i],
+							squaredDistance(points, i, weight));
+
+					if (isFarther(distances[i], distance)) {
+						index = i;
+						distance = Math.sqrt(distances[i]);
+					}
 				}
 			}
-
-			weights.add(weight);
-			candidates.remove(weight);
 		}
 		
 		return weights;
 	}
 
+	/**
+	 * Returns {@code true} if the square root of the squared distance is
+	 * larger than the given distance; {@code false} otherwise.  The distances
+	 * rather than the squared distances are compared so that ties are broken
+	 * the same as when comparing distances, but the square root is only
+	 * computed when the squared distance is not smaller.
+	 * 
+	 * @param squaredDistance the squared distance
+	 * @param distance the given distance
+	 * @return {@code true} if the square root of the squared distance is
+	 *         larger than the given distance; {@code false} otherwise
+	 */
+	private static boolean isFarther(double squaredDistance, double distance) {
+		return (distance < 0.0) || ((squaredDistance >= distance * distance) &&
+				(Math.sqrt(squaredDistance) > distance));
+	}
+
+	/**
+	 * Returns the squared Euclidean distance between a candidate weight, stored
+	 * in a packed array, and the specified weight.
+	 * 
+	 * @param points the packed candidate weights
+	 * @param index the index of the candidate weight
+	 * @param weight the specified weight
+	 * @return the squared Euclidean distance between the candidate weight and
+	 *         the specified weight
+	 */
+	private double squaredDistance(double[] points, int index,
+			double[] weight) {
+		int offset = index * numberOfObjectives;
+		double sum = 0.0;
+
+		for (int i = 0; i < numberOfObjectives; i++) {
+			double difference = points[offset + i] - weight[i];
+			sum += difference * difference;
+		}
+
+		return sum;
+	}
+
 	@Override
 	public int size() {
 		return numberOfPoints;
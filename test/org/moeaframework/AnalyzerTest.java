@@ -123,6 +123,79 @@ public class AnalyzerTest {
 				TestUtils.loadFile(actualFile));
 	}
 	
+	@Test
+	public void testParallelAndCached() throws IOException {
+		Analyzer analyzer = generate();
+		
+		ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		analyzer.printAnalysis(new PrintStream(expected));
+		
+		int evaluations = analyzer.numberOfIndicatorEvaluations.get();
+		Assert.assertTrue(evaluations > 0);
+		
+		ByteArrayOutputStream cached = new ByteArrayOutputStream();
+		analyzer.printAnalysis(new PrintStream(cached));
+		
+		Assert.assertArrayEquals(expected.toByteArray(), cached.toByteArray());
+		Assert.assertEquals(evaluations, 
+				analyzer.numberOfIndicatorEvaluations.get());
+		
+		ByteArrayOutputStream parallel = new ByteArrayOutputStream();
+		analyzer.distributeOn(4).withEpsilon(new double[] { 0.01 })
+				.printAnalysis(new PrintStream(parallel));
+		
+		Assert.assertArrayEquals(expected.toByteArray(),
+				parallel.toByteArray());
+		
+		//changing the epsilons invalidates the cached values
+		Assert.assertTrue(analyzer.numberOfIndicatorEvaluations.get() > 
+				evaluations);
+	}
+	
+	@Test
+	public void testStreamResultFiles() throws IOException {
+		Analyzer analyzer = generate();
+		File tempFile = TestUtils.createTempFile();
+		
+		ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		analyzer.printAnalysis(new PrintStream(expected));
+
+		analyzer.saveData(tempFile.getParentFile(), tempFile.getName(), ".dat");
+		analyzer.clear();
+		analyzer.streamResultFiles();
+		analyzer.loadData(tempFile.getParentFile(), tempFile.getName(), ".dat");
+		
+		ByteArrayOutputStream actual = new ByteArrayOutputStream();
+		analyzer.distributeOn(2).printAnalysis(new PrintStream(actual));
+		
+		Assert.assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+		
+		//saving over a streamed file must preserve its contents
+		analyzer.saveData(tempFile.getParentFile(), tempFile.getName(), ".dat");
+		
+		ByteArrayOutputStream resaved = new ByteArrayOutputStream();
+		analyzer.clear();
+		analyzer.loadData(tempFile.getParentFile(), tempFile.getName(), ".dat");
+		analyzer.printAnalysis(new PrintStream(resaved));
+		
+		Assert.assertArrayEquals(expected.toByteArray(), resaved.toByteArray());
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testSaveChangesStreamedFile() throws IOException {
+		Analyzer analyzer = generate();
+		File tempFile = TestUtils.createTempFile();
+		
+		analyzer.saveAs("eMOEA", tempFile);
+		analyzer.clear();
+		analyzer.streamResultFiles();
+		analyzer.loadAs("eMOEA", tempFile);
+		
+		//the in-memory set would be counted twice after saving
+		analyzer.add("eMOEA", analyzer.getReferenceSet());
+		analyzer.saveAs("eMOEA", tempFile);
+	}
+	
 	private Analyzer generate() {
 		String[] algorithms = { "eMOEA", "NSGAII" };
 		
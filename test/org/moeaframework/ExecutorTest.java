@@ -18,10 +18,14 @@
 package org.moeaframework;
 
 import java.io.IOException;
+import java.util.List;
+
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.PRNG;
 import org.moeaframework.core.spi.TestAlgorithmFactory;
 import org.moeaframework.core.spi.TestProblemFactory;
 
@@ -83,6 +87,56 @@ public class ExecutorTest {
 		Assert.assertEquals(10, problemFactory.getCloseCount());
 	}
 
+	@Test
+	public void testRunSeedsInParallel() throws IOException {
+		//the checkpoint should be ignored, possibly emitting a warning
+		Assert.assertEquals(10, new Executor()
+				.usingAlgorithmFactory(algorithmFactory)
+				.usingProblemFactory(problemFactory)
+				.withProblem("DTLZ2_2")
+				.withAlgorithm("NSGAII")
+				.withProperty("populationSize", 100)
+				.withProperty("maxEvaluations", 1000)
+				.checkpointEveryIteration()
+				.withCheckpointFile(TestUtils.createTempFile())
+				.runSeedsInParallel(10, 4).size());
+		
+		Assert.assertEquals(10, algorithmFactory.getTerminateCount());
+		Assert.assertEquals(10, problemFactory.getCloseCount());
+	}
+	
+	@Test
+	public void testRunSeedsInParallelReproducible() {
+		Executor executor = new Executor()
+				.withProblem("DTLZ2_2")
+				.withAlgorithm("NSGAII")
+				.withProperty("populationSize", 100)
+				.withProperty("maxEvaluations", 1000);
+		
+		PRNG.setSeed(12345);
+		List<NondominatedPopulation> serial = 
+				executor.runSeedsInParallel(5, 1);
+		
+		PRNG.setSeed(12345);
+		List<NondominatedPopulation> parallel =
+				executor.runSeedsInParallel(5, 5);
+		
+		Assert.assertEquals(5, serial.size());
+		Assert.assertEquals(5, parallel.size());
+		
+		for (int i = 0; i < 5; i++) {
+			TestUtils.assertEquals(serial.get(i), parallel.get(i));
+		}
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testRunSeedsInParallelInvalidThreads() {
+		new Executor()
+				.withProblem("DTLZ2_2")
+				.withAlgorithm("NSGAII")
+				.runSeedsInParallel(10, 0);
+	}
+
 	@Test(expected = IllegalArgumentException.class)
 	public void testNoProblem() {
 		new Executor().withAlgorithm("NSGAII").run();
@@ -24,6 +24,7 @@ import java.util.Arrays;
 import org.junit.Assert;
 import org.junit.Test;
 import org.moeaframework.TestUtils;
+import org.moeaframework.core.BatchProblem;
 import org.moeaframework.core.NondominatedPopulation;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
@@ -75,6 +76,29 @@ public class AbstractAlgorithmTest {
 
 	}
 
+	/**
+	 * Test problem that counts the number of batches evaluated.
+	 */
+	private static class TestBatchProblem extends TestProblem implements
+	BatchProblem {
+		
+		/**
+		 * The number of batches evaluated.
+		 */
+		private int batches;
+		
+		@Override
+		public void evaluate(Solution solution) {
+			Assert.fail("batch evaluation expected");
+		}
+
+		@Override
+		public void evaluateAll(Solution[] solutions) {
+			batches++;
+		}
+		
+	}
+
 	/**
 	 * Test {@code AbstractAlgorithm} that counts the number of times the
 	 * {@code iterate} method is invoked.
@@ -90,7 +114,17 @@ public class AbstractAlgorithmTest {
 		 * Constructs a test {@code AbstractAlgorithm}.
 		 */
 		public TestAbstractAlgorithm() {
-			super(new TestProblem());
+			this(new TestProblem());
+		}
+		
+		/**
+		 * Constructs a test {@code AbstractAlgorithm} for the specified
+		 * problem.
+		 * 
+		 * @param problem the problem
+		 */
+		public TestAbstractAlgorithm(Problem problem) {
+			super(problem);
 		}
 
 		@Override
@@ -264,6 +298,24 @@ public class AbstractAlgorithmTest {
 
 		Assert.assertEquals(202, algorithm.getNumberOfEvaluations());
 	}
+	
+	/**
+	 * Tests if the {@code evaluateAll} methods pass the solutions to a
+	 * {@link BatchProblem} as a single batch.
+	 */
+	@Test
+	public void testBatchEvaluation() {
+		TestBatchProblem problem = new TestBatchProblem();
+		AbstractAlgorithm algorithm = new TestAbstractAlgorithm(problem);
+		Solution[] solutions = new Solution[100];
+
+		algorithm.evaluateAll(Arrays.asList(solutions));
+		algorithm.evaluateAll(solutions);
+		algorithm.evaluateAll(new Solution[0]);
+
+		Assert.assertEquals(2, problem.batches);
+		Assert.assertEquals(200, algorithm.getNumberOfEvaluations());
+	}
 
 	/**
 	 * While this is technically an error as the {@code AbstractAlgorithm} is
@@ -0,0 +1,121 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.algorithm;
+
+import java.util.Properties;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.core.Algorithm;
+import org.moeaframework.core.BatchProblem;
+import org.moeaframework.core.Solution;
+import org.moeaframework.problem.DTLZ.DTLZ2;
+
+/**
+ * Tests the {@link BatchMOEAD} class.
+ */
+public class BatchMOEADTest {
+
+	/**
+	 * Test problem that counts the number of batches and solutions evaluated.
+	 */
+	private static class TestBatchProblem extends DTLZ2 implements
+	BatchProblem {
+
+		/**
+		 * The number of batches evaluated.
+		 */
+		private int batches;
+
+		/**
+		 * The number of solutions evaluated.
+		 */
+		private int evaluations;
+
+		/**
+		 * Constructs a new test problem with two objectives.
+		 */
+		public TestBatchProblem() {
+			super(2);
+		}
+
+		@Override
+		public void evaluate(Solution solution) {
+			Assert.fail("batch evaluation expected");
+		}
+
+		@Override
+		public void evaluateAll(Solution[] solutions) {
+			batches++;
+
+			for (Solution solution : solutions) {
+				super.evaluate(solution);
+				evaluations++;
+			}
+		}
+
+	}
+
+	/**
+	 * Tests if the {@code batch} property creates a {@code BatchMOEAD}
+	 * instance that evaluates each generation as a single batch.
+	 */
+	@Test
+	public void testBatchEvaluation() {
+		TestBatchProblem problem = new TestBatchProblem();
+		Properties properties = new Properties();
+		properties.setProperty("populationSize", "50");
+		properties.setProperty("batch", "true");
+
+		Algorithm algorithm = new StandardAlgorithms().getAlgorithm("MOEAD",
+				properties, problem);
+
+		Assert.assertTrue(algorithm instanceof BatchMOEAD);
+
+		for (int i = 0; i < 10; i++) {
+			algorithm.step();
+		}
+
+		Assert.assertEquals(10, problem.batches);
+		Assert.assertEquals(500, problem.evaluations);
+		Assert.assertEquals(500, algorithm.getNumberOfEvaluations());
+		Assert.assertFalse(algorithm.getResult().isEmpty());
+	}
+
+	/**
+	 * Tests if large populations, whose neighborhoods are constructed in
+	 * parallel, can be initialized.
+	 */
+	@Test
+	public void testLargePopulation() {
+		TestBatchProblem problem = new TestBatchProblem();
+		Properties properties = new Properties();
+		properties.setProperty("populationSize", "2000");
+		properties.setProperty("batch", "true");
+
+		Algorithm algorithm = new StandardAlgorithms().getAlgorithm("MOEAD",
+				properties, problem);
+
+		algorithm.step();
+		algorithm.step();
+
+		Assert.assertEquals(2, problem.batches);
+		Assert.assertEquals(4000, problem.evaluations);
+	}
+
+}
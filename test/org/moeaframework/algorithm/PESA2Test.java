@@ -47,7 +47,7 @@ public class PESA2Test extends AlgorithmTest {
 		pesa2.getArchive().add(solution2);
 		pesa2.getArchive().add(solution3);
 		
-		Map<Integer, List<Solution>> map = pesa2.createGridMap();
+		Map<Long, List<Solution>> map = pesa2.createGridMap();
 		Assert.assertEquals(2, map.size());
 		
 		for (List<Solution> list : map.values()) {
@@ -0,0 +1,116 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.algorithm;
+
+import static org.moeaframework.core.FastNondominatedSorting.RANK_ATTRIBUTE;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Solution;
+
+/**
+ * Tests the {@link ReferencePointNondominatedSortingPopulation} class.
+ */
+public class ReferencePointNondominatedSortingPopulationTest {
+
+	/**
+	 * Tests if the niche-preservation operation keeps the solution nearest
+	 * each reference point that has associated solutions.
+	 */
+	@Test
+	public void testNichePreservation() {
+		ReferencePointNondominatedSortingPopulation population =
+				new ReferencePointNondominatedSortingPopulation(2, 4);
+		
+		Solution solution1 = new Solution(new double[] { 0.0, 1.0 });
+		Solution solution2 = new Solution(new double[] { 0.5, 0.5 });
+		Solution solution3 = new Solution(new double[] { 1.0, 0.0 });
+		
+		population.add(new Solution(new double[] { 0.05, 0.95 }));
+		population.add(solution1);
+		population.add(new Solution(new double[] { 0.45, 0.55 }));
+		population.add(solution2);
+		population.add(new Solution(new double[] { 0.95, 0.05 }));
+		population.add(solution3);
+		
+		population.truncate(3);
+		
+		Assert.assertEquals(3, population.size());
+		Assert.assertTrue(population.contains(solution1));
+		Assert.assertTrue(population.contains(solution2));
+		Assert.assertTrue(population.contains(solution3));
+	}
+	
+	/**
+	 * Tests if truncation keeps all solutions in the fronts preceding the
+	 * last front, including when association runs in parallel.
+	 */
+	@Test
+	public void testTruncate() {
+		for (int numberOfObjectives = 2; numberOfObjectives <= 10;
+				numberOfObjectives += 4) {
+			ReferencePointNondominatedSortingPopulation population =
+					new ReferencePointNondominatedSortingPopulation(
+							numberOfObjectives, 4);
+			
+			for (int i = 0; i < 400; i++) {
+				double[] objectives = new double[numberOfObjectives];
+				
+				for (int j = 0; j < numberOfObjectives; j++) {
+					objectives[j] = PRNG.nextDouble();
+				}
+				
+				population.add(new Solution(objectives));
+			}
+			
+			// ensure ranks are assigned before truncation
+			population.get(0);
+			
+			List<Solution> solutions = new ArrayList<Solution>();
+			
+			for (Solution solution : population) {
+				solutions.add(solution);
+			}
+			
+			population.truncate(200);
+			Assert.assertEquals(200, population.size());
+			
+			int maxRank = 0;
+			
+			for (Solution solution : population) {
+				maxRank = Math.max(maxRank,
+						(Integer)solution.getAttribute(RANK_ATTRIBUTE));
+			}
+			
+			for (Solution solution : solutions) {
+				int rank = (Integer)solution.getAttribute(RANK_ATTRIBUTE);
+				
+				if (rank < maxRank) {
+					Assert.assertTrue(population.contains(solution));
+				} else if (rank > maxRank) {
+					Assert.assertFalse(population.contains(solution));
+				}
+			}
+		}
+	}
+	
+}
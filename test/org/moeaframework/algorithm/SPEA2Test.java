@@ -18,12 +18,17 @@
 package org.moeaframework.algorithm;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
 
 import org.junit.Assert;
 import org.junit.Test;
 import org.moeaframework.TestUtils;
+import org.moeaframework.algorithm.SPEA2.MutableDistanceMap;
 import org.moeaframework.core.FitnessEvaluator;
+import org.moeaframework.core.PRNG;
 import org.moeaframework.core.Population;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
@@ -126,6 +131,82 @@ public class SPEA2Test extends AlgorithmTest {
 		Assert.assertFalse(result.contains(solution3));
 	}
 	
+	@Test
+	public void testMutableDistanceMap() {
+		SPEA2 spea2 = new SPEA2(new MockRealProblem(), null, null, 0, 1);
+		
+		for (int trial = 0; trial < 100; trial++) {
+			Population population = new Population();
+			int size = PRNG.nextInt(2, 50);
+			
+			// coarse coordinates produce many tied and duplicate distances
+			for (int i = 0; i < size; i++) {
+				population.add(TestUtils.newSolution(PRNG.nextInt(0, 5),
+						PRNG.nextInt(0, 5)));
+			}
+			
+			double[][] distances = spea2.computeDistanceMatrix(population);
+			MutableDistanceMap map = new MutableDistanceMap(distances);
+			List<Integer> points = new ArrayList<Integer>();
+			
+			for (int i = 0; i < size; i++) {
+				points.add(i);
+			}
+			
+			while (points.size() > 1) {
+				int index = findMostCrowdedPoint(distances, points);
+				
+				Assert.assertEquals(index, map.findMostCrowdedPoint());
+				map.removePoint(index);
+				points.remove(index);
+			}
+		}
+	}
+	
+	/**
+	 * Reference implementation of SPEA2's truncation strategy that compares
+	 * the sorted distances of every remaining point.
+	 * 
+	 * @param distances the distance matrix
+	 * @param points the original indices of the remaining points
+	 * @return the index of the most crowded point
+	 */
+	private int findMostCrowdedPoint(double[][] distances,
+			List<Integer> points) {
+		List<List<Double>> sortedDistances = new ArrayList<List<Double>>();
+		
+		for (int i : points) {
+			List<Double> row = new ArrayList<Double>();
+			
+			for (int j : points) {
+				if (i != j) {
+					row.add(distances[i][j]);
+				}
+			}
+			
+			Collections.sort(row);
+			sortedDistances.add(row);
+		}
+		
+		int minimumIndex = 0;
+		
+		for (int i = 1; i < points.size(); i++) {
+			List<Double> row = sortedDistances.get(i);
+			List<Double> minimumRow = sortedDistances.get(minimumIndex);
+			
+			for (int k = 0; k < row.size(); k++) {
+				if (row.get(k) < minimumRow.get(k)) {
+					minimumIndex = i;
+					break;
+				} else if (minimumRow.get(k) < row.get(k)) {
+					break;
+				}
+			}
+		}
+		
+		return minimumIndex;
+	}
+	
 	@Test
 	public void testFitnessNondominated() {
 		SPEA2 spea2 = new SPEA2(new MockRealProblem(), null, null, 0, 1);
@@ -166,6 +247,36 @@ public class SPEA2Test extends AlgorithmTest {
 		assertFitnessInRange(solution3, 3, 3.9999); // ~= S(1) + S(2) = 3
 	}
 	
+	@Test
+	public void testFitnessReused() {
+		SPEA2 spea2 = new SPEA2(new MockRealProblem(), null, null, 0, 1);
+		Population population = new Population();
+		
+		// the remembered comparisons of a larger population, where each
+		// solution is dominated by all later ones, must not affect the
+		// fitness of a smaller one
+		for (int i = 0; i < 10; i++) {
+			population.add(TestUtils.newSolution(10 - i, 10 - i));
+		}
+		
+		spea2.fitnessEvaluator.evaluate(population);
+		
+		Solution solution1 = TestUtils.newSolution(0.0, 0.0);
+		Solution solution2 = TestUtils.newSolution(1.0, 1.0);
+		Solution solution3 = TestUtils.newSolution(2.0, 2.0);
+		
+		population.clear();
+		population.add(solution1);
+		population.add(solution2);
+		population.add(solution3);
+		
+		spea2.fitnessEvaluator.evaluate(population);
+		
+		assertFitnessInRange(solution1, 0, 0.9999);
+		assertFitnessInRange(solution2, 2, 2.9999);
+		assertFitnessInRange(solution3, 3, 3.9999);
+	}
+	
 	private void assertFitnessInRange(Solution solution, double min, double max) {
 		double fitness = (Double)solution.getAttribute(FitnessEvaluator.FITNESS_ATTRIBUTE);
 		
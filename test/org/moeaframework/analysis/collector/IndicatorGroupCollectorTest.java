@@ -0,0 +1,175 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.collector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.core.Algorithm;
+import org.moeaframework.core.EpsilonBoxDominanceArchive;
+import org.moeaframework.core.Indicator;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Settings;
+import org.moeaframework.core.indicator.AdditiveEpsilonIndicator;
+import org.moeaframework.core.indicator.Contribution;
+import org.moeaframework.core.indicator.GenerationalDistance;
+import org.moeaframework.core.indicator.Hypervolume;
+import org.moeaframework.core.indicator.InvertedGenerationalDistance;
+import org.moeaframework.core.indicator.R1Indicator;
+import org.moeaframework.core.indicator.R2Indicator;
+import org.moeaframework.core.indicator.R3Indicator;
+import org.moeaframework.core.indicator.Spacing;
+import org.moeaframework.core.spi.AlgorithmFactory;
+import org.moeaframework.core.spi.ProblemFactory;
+
+/**
+ * Tests the {@link IndicatorGroupCollector} class.
+ */
+public class IndicatorGroupCollectorTest extends CollectorTest {
+	
+	private static class MockIndicator implements Indicator {
+
+		@Override
+		public double evaluate(NondominatedPopulation approximationSet) {
+			return 0;
+		}
+		
+	}
+	
+	private Collector createMockCollector() {
+		List<Indicator> indicators = new ArrayList<Indicator>();
+		indicators.add(new MockIndicator());
+		return new IndicatorGroupCollector(indicators, null, false);
+	}
+	
+	@Test
+	public void testNSGAII() {
+		test("NSGAII", createMockCollector(), true);
+	}
+	
+	@Test
+	public void testeMOEA() {
+		test("eMOEA", createMockCollector(), true);
+	}
+	
+	@Test
+	public void testMOEAD() {
+		test("MOEAD", createMockCollector(), true);
+	}
+	
+	@Test
+	public void testValues() {
+		testValues(false, false);
+	}
+	
+	@Test
+	public void testValuesWithArchive() {
+		testValues(false, true);
+	}
+	
+	@Test
+	public void testValuesInBackground() {
+		testValues(true, false);
+	}
+	
+	@Test
+	public void testValuesInBackgroundWithArchive() {
+		testValues(true, true);
+	}
+	
+	/**
+	 * Checks that the values recorded by an {@code IndicatorGroupCollector}
+	 * are identical to those recorded by individual
+	 * {@code IndicatorCollector}s.
+	 * 
+	 * @param background {@code true} if the indicators are evaluated on a
+	 *        background thread; {@code false} otherwise
+	 * @param useArchive {@code true} if the approximation set is pruned by an
+	 *        &epsilon;-box dominance archive; {@code false} otherwise
+	 */
+	private void testValues(boolean background, boolean useArchive) {
+		Problem problem = ProblemFactory.getInstance().getProblem("DTLZ2_2");
+		NondominatedPopulation referenceSet = 
+				ProblemFactory.getInstance().getReferenceSet("DTLZ2_2");
+		Algorithm algorithm = AlgorithmFactory.getInstance().getAlgorithm(
+				"NSGAII", new Properties(), problem);
+		EpsilonBoxDominanceArchive archive = useArchive ?
+				new EpsilonBoxDominanceArchive(0.01) : null;
+		
+		List<Indicator> indicators = new ArrayList<Indicator>();
+		indicators.add(new Hypervolume(problem, referenceSet));
+		indicators.add(new GenerationalDistance(problem, referenceSet));
+		indicators.add(new InvertedGenerationalDistance(problem, 
+				referenceSet));
+		indicators.add(new Spacing(problem));
+		indicators.add(new AdditiveEpsilonIndicator(problem, referenceSet));
+		indicators.add(archive == null ? new Contribution(referenceSet) :
+				new Contribution(referenceSet, archive.getComparator()));
+		indicators.add(new R1Indicator(problem, 
+				R1Indicator.getDefaultSubdivisions(problem), referenceSet));
+		indicators.add(new R2Indicator(problem, 
+				R2Indicator.getDefaultSubdivisions(problem), referenceSet));
+		indicators.add(new R3Indicator(problem, 
+				R3Indicator.getDefaultSubdivisions(problem), referenceSet));
+		
+		List<Collector> individualCollectors = new ArrayList<Collector>();
+		
+		for (Indicator indicator : indicators) {
+			individualCollectors.add(new IndicatorCollector(indicator,
+					archive).attach(algorithm));
+		}
+		
+		IndicatorGroupCollector groupCollector = 
+				(IndicatorGroupCollector)new IndicatorGroupCollector(
+						indicators, archive, background).attach(algorithm);
+		
+		Accumulator expected = new Accumulator();
+		Accumulator actual = new Accumulator();
+		
+		for (int i = 0; i < 20; i++) {
+			algorithm.step();
+			
+			for (Collector collector : individualCollectors) {
+				collector.collect(expected);
+			}
+			
+			groupCollector.collect(actual);
+		}
+		
+		groupCollector.flush(actual);
+		
+		Assert.assertEquals(expected.keySet(), actual.keySet());
+		Assert.assertEquals(indicators.size(), actual.keySet().size());
+		
+		for (String key : expected.keySet()) {
+			Assert.assertEquals(20, actual.size(key));
+			
+			for (int i = 0; i < expected.size(key); i++) {
+				Assert.assertEquals(
+						((Number)expected.get(key, i)).doubleValue(),
+						((Number)actual.get(key, i)).doubleValue(),
+						Settings.EPS);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,406 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.sensitivity;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Properties;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.moeaframework.TestUtils;
+import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.variable.BinaryVariable;
+import org.moeaframework.core.variable.Permutation;
+import org.moeaframework.core.variable.RealVariable;
+import org.moeaframework.problem.AbstractProblem;
+
+/**
+ * Tests the {@link BinaryResultFileWriter} and {@link BinaryResultFileReader}
+ * classes.
+ */
+public class BinaryResultFileWriterTest {
+	
+	/**
+	 * The problem used for testing.
+	 */
+	private Problem problem;
+	
+	/**
+	 * A feasible solution.
+	 */
+	private Solution solution1;
+	
+	/**
+	 * Another feasible solution.
+	 */
+	private Solution solution2;
+	
+	/**
+	 * A solution violating its constraints.
+	 */
+	private Solution solution3;
+	
+	/**
+	 * The population containing the feasible solutions.
+	 */
+	private NondominatedPopulation population;
+	
+	/**
+	 * The properties stored with each entry.
+	 */
+	private Properties properties;
+
+	/**
+	 * Creates the problem used for testing.
+	 */
+	@Before
+	public void setUp() {
+		problem = new AbstractProblem(3, 2, 1) {
+			
+			@Override
+			public void evaluate(Solution solution) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public Solution newSolution() {
+				Solution solution = new Solution(3, 2, 1);
+				solution.setVariable(0, new RealVariable(0.0, 1.0));
+				solution.setVariable(1, new BinaryVariable(5));
+				solution.setVariable(2, new Permutation(3));
+				return solution;
+			}
+			
+		};
+		
+		solution1 = problem.newSolution();
+		((RealVariable)solution1.getVariable(0)).setValue(0.25);
+		((BinaryVariable)solution1.getVariable(1)).set(2, true);
+		((Permutation)solution1.getVariable(2)).swap(0, 2);
+		solution1.setObjectives(new double[] { 0.0, 1.0 });
+		
+		solution2 = problem.newSolution();
+		((RealVariable)solution2.getVariable(0)).setValue(1.0);
+		((BinaryVariable)solution2.getVariable(1)).set(1, true);
+		((Permutation)solution2.getVariable(2)).swap(0, 1);
+		solution2.setObjectives(new double[] { 1.0, 0.0 });
+		
+		solution3 = problem.newSolution();
+		solution3.setObjectives(new double[] { 0.5, 0.5 });
+		solution3.setConstraints(new double[] { -1.0 });
+		
+		population = new NondominatedPopulation();
+		population.add(solution1);
+		population.add(solution2);
+		
+		properties = new Properties();
+		properties.setProperty("foo", "bar");
+		properties.setProperty("\"'!@#$=:%^&*()\\\r\n//\t ", "\\\r\n");
+	}
+
+	/**
+	 * Removes references to shared objects so they can be garbage collected.
+	 */
+	@After
+	public void tearDown() {
+		problem = null;
+		solution1 = null;
+		solution2 = null;
+		solution3 = null;
+		population = null;
+		properties = null;
+	}
+	
+	/**
+	 * Writes the specified number of entries to the file.
+	 * 
+	 * @param file the file
+	 * @param entries the number of entries to write
+	 * @param expectedStart the expected number of entries already in the file
+	 * @throws IOException should not occur
+	 */
+	private void write(File file, int entries, int expectedStart)
+			throws IOException {
+		BinaryResultFileWriter writer = null;
+		
+		try {
+			writer = new BinaryResultFileWriter(problem, file);
+			Assert.assertEquals(expectedStart, writer.getNumberOfEntries());
+			
+			for (int i = 0; i < entries; i++) {
+				writer.append(new ResultEntry(population, properties));
+			}
+			
+			Assert.assertEquals(expectedStart + entries,
+					writer.getNumberOfEntries());
+		} finally {
+			if (writer != null) {
+				writer.close();
+			}
+		}
+	}
+	
+	/**
+	 * Asserts that the file contains the expected number of entries, each
+	 * storing the test population and properties.
+	 * 
+	 * @param file the file
+	 * @param entries the expected number of entries
+	 * @throws IOException should not occur
+	 */
+	private void validate(File file, int entries) throws IOException {
+		ResultFileReader reader = null;
+		
+		try {
+			reader = new ResultFileReader(problem, file);
+			
+			for (int i = 0; i < entries; i++) {
+				Assert.assertTrue(reader.hasNext());
+				ResultEntry entry = reader.next();
+				TestUtils.assertEquals(population, entry.getPopulation());
+				Assert.assertEquals(properties, entry.getProperties());
+			}
+			
+			Assert.assertFalse(reader.hasNext());
+		} finally {
+			if (reader != null) {
+				reader.close();
+			}
+		}
+	}
+	
+	/**
+	 * Tests if the population and properties are written correctly, including
+	 * non-real decision variables.
+	 * 
+	 * @throws IOException should not occur
+	 */
+	@Test
+	public void testNormal() throws IOException {
+		File file = TestUtils.createTempFile();
+		
+		write(file, 1, 0);
+		
+		Assert.assertTrue(BinaryResultFileReader.isBinaryResultFile(file));
+		validate(file, 1);
+	}
+	
+	/**
+	 * Tests if the population and properties are written correctly when
+	 * writing decision variables is disabled.
+	 * 
+	 * @throws IOException should not occur
+	 */
+	@Test
+	public void testNoVariables() throws IOException {
+		File file = TestUtils.createTempFile();
+		BinaryResultFileWriter writer = null;
+		
+		try {
+			writer = new BinaryResultFileWriter(problem, file, false);
+			writer.append(new ResultEntry(population, properties));
+		} finally {
+			if (writer != null) {
+				writer.close();
+			}
+		}
+		
+		population.clear();
+		population.add(new Solution(solution1.getObjectives()));
+		population.add(new Solution(solution2.getObjectives()));
+		
+		validate(file, 1);
+	}
+	
+	/**
+	 * Tests if constraint violating solutions are not written, and that
+	 * empty populations are written correctly.
+	 * 
+	 * @throws IOException should not occur
+	 */
+	@Test
+	public void testConstrainedSolution() throws IOException {
+		population.clear();
+		population.add(solution3);
+		
+		File file = TestUtils.createTempFile();
+		write(file, 1, 0);
+		
+		population.clear();
+		validate(file, 1);
+	}
+	
+	/**
+	 * Tests if writing can be resumed after the file was closed cleanly.
+	 * 
+	 * @throws IOException should not occur
+	 */
+	@Test
+	public void testResume() throws IOException {
+		File file = TestUtils.createTempFile();
+		
+		write(file, 2, 0);
+		write(file, 1, 2);
+		validate(file, 3);
+	}
+	
+	/**
+	 * Tests if writing resumes after the last valid entry when the file was
+	 * not closed cleanly.
+	 * 
+	 * @throws IOException should not occur
+	 */
+	@Test
+	public void testResumeIncomplete() throws IOException {
+		File file = TestUtils.createTempFile();
+		
+		write(file, 3, 0);
+		
+		// remove the index and part of the last entry
+		RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		
+		try {
+			raf.setLength(raf.length() - 3*8 - 12 - 5);
+		} finally {
+			raf.close();
+		}
+		
+		validate(file, 2);
+		write(file, 1, 2);
+		validate(file, 3);
+	}
+	
+	/**
+	 * Tests if a corrupted entry is detected by its checksum.
+	 * 
+	 * @throws IOException should not occur
+	 */
+	@Test
+	public void testCorruptEntry() throws IOException {
+		File file = TestUtils.createTempFile();
+		
+		write(file, 2, 0);
+		
+		// flip a byte inside the body of the last entry
+		RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		
+		try {
+			long position = raf.length() - 2*8 - 12 - 20;
+			raf.seek(position);
+			int value = raf.read();
+			raf.seek(position);
+			raf.write(value ^ 0xFF);
+		} finally {
+			raf.close();
+		}
+		
+		validate(file, 1);
+	}
+	
+	/**
+	 * Tests random access to entries using the index.
+	 * 
+	 * @throws IOException should not occur
+	 */
+	@Test
+	public void testRandomAccess() throws IOException {
+		File file = TestUtils.createTempFile();
+		
+		write(file, 3, 0);
+		
+		BinaryResultFileReader reader = null;
+		
+		try {
+			reader = new BinaryResultFileReader(problem, file);
+			Assert.assertEquals(3, reader.getNumberOfEntries());
+			TestUtils.assertEquals(population, reader.get(2).getPopulation());
+			TestUtils.assertEquals(population, reader.get(0).getPopulation());
+			Assert.assertEquals(properties, reader.get(1).getProperties());
+		} finally {
+			if (reader != null) {
+				reader.close();
+			}
+		}
+	}
+	
+	/**
+	 * Tests if the file can be deleted once the reader is closed, as done
+	 * when resuming or replacing result files.
+	 * 
+	 * @throws IOException should not occur
+	 */
+	@Test
+	public void testDeleteAfterClose() throws IOException {
+		File file = TestUtils.createTempFile();
+		
+		write(file, 3, 0);
+		validate(file, 3);
+		
+		Assert.assertTrue(file.delete());
+	}
+	
+	/**
+	 * Tests if text result files are not identified as binary result files.
+	 * 
+	 * @throws IOException should not occur
+	 */
+	@Test
+	public void testTextFile() throws IOException {
+		File file = TestUtils.createTempFile();
+		ResultFileWriter writer = null;
+		
+		try {
+			writer = new ResultFileWriter(problem, file);
+			writer.append(new ResultEntry(population, properties));
+		} finally {
+			if (writer != null) {
+				writer.close();
+			}
+		}
+		
+		Assert.assertFalse(BinaryResultFileReader.isBinaryResultFile(file));
+	}
+	
+	/**
+	 * Tests if resuming a file that is not a binary result file fails.
+	 * 
+	 * @throws IOException should not occur
+	 */
+	@Test(expected = FrameworkException.class)
+	public void testResumeTextFile() throws IOException {
+		File file = TestUtils.createTempFile();
+		FileOutputStream output = new FileOutputStream(file);
+		
+		try {
+			output.write("0.0 1.0\n#\n".getBytes());
+		} finally {
+			output.close();
+		}
+		
+		write(file, 1, 0);
+	}
+
+}
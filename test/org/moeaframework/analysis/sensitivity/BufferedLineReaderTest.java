@@ -0,0 +1,200 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.sensitivity;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.TestUtils;
+import org.moeaframework.core.PRNG;
+
+/**
+ * Tests the {@link BufferedLineReader} class.
+ */
+public class BufferedLineReaderTest {
+
+	/**
+	 * Tests if lines are split identically to
+	 * {@link java.io.BufferedReader#readLine()} for all line terminators,
+	 * including when lines span multiple windows.
+	 *
+	 * @throws IOException should not occur
+	 */
+	@Test
+	public void testLines() throws IOException {
+		String data = "first\nsecond\r\nthird\rfourth\n\n\r\nlast";
+		String[] expected = { "first", "second", "third", "fourth", "", "",
+				"last" };
+
+		for (int windowSize = 1; windowSize <= data.length() + 1;
+				windowSize++) {
+			BufferedLineReader reader = new BufferedLineReader(
+					TestUtils.createTempFile(data), windowSize);
+
+			try {
+				for (int i = 0; i < expected.length; i++) {
+					Assert.assertTrue(reader.readLine());
+					Assert.assertEquals(expected[i],
+							reader.substring(0, reader.length()));
+				}
+
+				Assert.assertFalse(reader.readLine());
+			} finally {
+				reader.close();
+			}
+		}
+	}
+
+	/**
+	 * Tests if the file can be deleted once the reader is closed.
+	 *
+	 * @throws IOException should not occur
+	 */
+	@Test
+	public void testDeleteAfterClose() throws IOException {
+		File file = TestUtils.createTempFile("first\nsecond\n");
+		BufferedLineReader reader = new BufferedLineReader(file);
+
+		try {
+			Assert.assertTrue(reader.readLine());
+		} finally {
+			reader.close();
+		}
+
+		Assert.assertTrue(file.delete());
+	}
+
+	/**
+	 * Tests if an empty file contains no lines.
+	 *
+	 * @throws IOException should not occur
+	 */
+	@Test
+	public void testEmpty() throws IOException {
+		BufferedLineReader reader = new BufferedLineReader(
+				TestUtils.createTempFile(""));
+
+		try {
+			Assert.assertFalse(reader.readLine());
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Tests if lines are split into whitespace-separated tokens.
+	 *
+	 * @throws IOException should not occur
+	 */
+	@Test
+	public void testTokenize() throws IOException {
+		BufferedLineReader reader = new BufferedLineReader(
+				TestUtils.createTempFile(" \t0.5  foo\tbar \n"));
+
+		try {
+			int[] starts = new int[2];
+			int[] ends = new int[2];
+
+			Assert.assertTrue(reader.readLine());
+			Assert.assertTrue(reader.startsWith(" \t0"));
+			Assert.assertFalse(reader.startsWith("0"));
+			Assert.assertEquals(3, reader.tokenize(starts, ends));
+			Assert.assertEquals("0.5", reader.substring(starts[0], ends[0]));
+			Assert.assertEquals("foo", reader.substring(starts[1], ends[1]));
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Tests if parsing values produces the same result as
+	 * {@link Double#parseDouble(String)}.
+	 *
+	 * @throws IOException should not occur
+	 */
+	@Test
+	public void testParseDouble() throws IOException {
+		List<String> values = new ArrayList<String>();
+
+		String[] special = { "0", "-0.0", "+1", "1.", ".5", "1e5", "1E-5",
+				"-2.5e+3", "123456789012345678901234567890", "0.000001",
+				"1.7976931348623157E308", "4.9E-324", "NaN", "Infinity",
+				"-Infinity", "1.5d", "2f", "0x1p3", "9007199254740993",
+				"0.1234567890123456789", "1e22", "1e23", "1e-22", "1e-23" };
+
+		for (String value : special) {
+			values.add(value);
+		}
+
+		for (int i = 0; i < 10000; i++) {
+			double value = PRNG.nextDouble(-1.0, 1.0) *
+					Math.pow(10.0, PRNG.nextInt(-30, 30));
+
+			values.add(Double.toString(value));
+			values.add(Float.toString((float)value));
+			values.add(String.format(Locale.US, "%.6f", value));
+			values.add(Long.toString(PRNG.nextInt()));
+		}
+
+		StringBuilder data = new StringBuilder();
+
+		for (String value : values) {
+			data.append(value);
+			data.append('\n');
+		}
+
+		File file = TestUtils.createTempFile(data.toString());
+		BufferedLineReader reader = new BufferedLineReader(file);
+
+		try {
+			for (String value : values) {
+				Assert.assertTrue(reader.readLine());
+				Assert.assertEquals(value,
+						Double.doubleToRawLongBits(Double.parseDouble(value)),
+						Double.doubleToRawLongBits(reader.parseDouble(0,
+								reader.length())));
+			}
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Tests if parsing an invalid value throws an exception.
+	 *
+	 * @throws IOException should not occur
+	 */
+	@Test(expected = NumberFormatException.class)
+	public void testParseInvalid() throws IOException {
+		BufferedLineReader reader = new BufferedLineReader(
+				TestUtils.createTempFile("1.0.0\n"));
+
+		try {
+			Assert.assertTrue(reader.readLine());
+			reader.parseDouble(0, reader.length());
+		} finally {
+			reader.close();
+		}
+	}
+
+}
@@ -0,0 +1,156 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.sensitivity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.core.PRNG;
+
+/**
+ * Tests the {@link FractalDimension} class.
+ */
+public class FractalDimensionTest {
+
+	/**
+	 * Tests if the dimension matches the pairwise computation of each
+	 * correlation sum on small random point sets.
+	 */
+	@Test
+	public void testPairwise() {
+		for (int dimensions = 1; dimensions <= 4; dimensions++) {
+			double[][] points = new double[300][dimensions];
+			
+			for (int i = 0; i < points.length; i++) {
+				for (int j = 0; j < dimensions; j++) {
+					points[i][j] = PRNG.nextDouble();
+				}
+			}
+			
+			Assert.assertEquals(computePairwiseDimension(points),
+					FractalDimension.computeDimension(points), 1e-12);
+		}
+	}
+	
+	/**
+	 * Tests the dimension of uniformly distributed points on a line and a
+	 * square, which uses the parallel computation.
+	 */
+	@Test
+	public void testKnownDimensions() {
+		double[][] line = new double[5000][2];
+		double[][] square = new double[5000][2];
+		
+		for (int i = 0; i < 5000; i++) {
+			double value = PRNG.nextDouble();
+			line[i][0] = value;
+			line[i][1] = value;
+			square[i][0] = PRNG.nextDouble();
+			square[i][1] = PRNG.nextDouble();
+		}
+		
+		Assert.assertEquals(1.0, FractalDimension.computeDimension(line), 0.1);
+		Assert.assertEquals(2.0, FractalDimension.computeDimension(square),
+				0.2);
+	}
+	
+	/**
+	 * Computes the fractal dimension by evaluating the correlation sum of
+	 * each radius over all pairs of points.
+	 * 
+	 * @param points the points
+	 * @return the fractal dimension
+	 */
+	private double computePairwiseDimension(double[][] points) {
+		List<Double> X = new ArrayList<Double>();
+		List<Double> Y = new ArrayList<Double>();
+		int n = points.length;
+
+		for (double r = 0.25; r >= 0.0005; r -= 0.0005) {
+			double sum = 0.0;
+			
+			for (int i = 0; i < n - 1; i++) {
+				for (int j = i + 1; j < n; j++) {
+					double distance = 0.0;
+					
+					for (int k = 0; k < points[i].length; k++) {
+						double difference = points[j][k] - points[i][k];
+						distance += difference * difference;
+					}
+					
+					if (r - Math.sqrt(distance) >= 0) {
+						sum += 1.0;
+					}
+				}
+			}
+			
+			double lc = Math.log(sum / (n * (n - 1) / 2.0));
+			
+			if (lc == Double.NEGATIVE_INFINITY) {
+				break;
+			}
+			
+			X.add(Math.log(r));
+			Y.add(lc);
+		}
+		
+		int size = X.size();
+		int remove = 0;
+		
+		for (int i = 0; i < (size - 4) / 2; i++) {
+			double sumX = 0.0;
+			double sumXX = 0.0;
+			double sumY = 0.0;
+			double sumXY = 0.0;
+			double sumYY = 0.0;
+			
+			for (int j = i; j < size - i; j++) {
+				sumX += X.get(j);
+				sumXX += X.get(j) * X.get(j);
+				sumY += Y.get(j);
+				sumXY += X.get(j) * Y.get(j);
+				sumYY += Y.get(j) * Y.get(j);
+			}
+			
+			int k = size - 2 * i;
+			
+			if ((k * sumXY - sumX * sumY) / (Math.sqrt(k * sumXX - sumX * sumX) *
+					Math.sqrt(k * sumYY - sumY * sumY)) >= 0.99) {
+				remove = i;
+				break;
+			}
+		}
+		
+		double sumX = 0.0;
+		double sumXX = 0.0;
+		double sumY = 0.0;
+		double sumXY = 0.0;
+
+		for (int i = remove; i < size - remove; i++) {
+			sumX += X.get(i);
+			sumXX += X.get(i) * X.get(i);
+			sumY += Y.get(i);
+			sumXY += X.get(i) * Y.get(i);
+		}
+		
+		return (sumX * sumY - size * sumXY) / (sumX * sumX - size * sumXX);
+	}
+
+}
@@ -17,14 +17,18 @@
  */
 package org.moeaframework.analysis.sensitivity;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileReader;
 import java.io.IOException;
+import java.util.Properties;
 
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.moeaframework.TestUtils;
+import org.moeaframework.core.FrameworkException;
 import org.moeaframework.core.spi.AlgorithmFactory;
 import org.moeaframework.core.spi.ProblemFactory;
 import org.moeaframework.core.spi.TestAlgorithmFactory;
@@ -280,7 +284,192 @@ public class IntegrationTest {
 		Assert.assertEquals(9, TestUtils.lineCount(analysisFile1));
 		Assert.assertEquals(4, TestUtils.lineCount(analysisFile2));
 	}
-	
+
+	/**
+	 * Tests if evaluating parameter samples in parallel produces the same
+	 * output regardless of the number of threads, including when resuming a
+	 * partially completed output file.
+	 *
+	 * @throws IOException if an I/O error occurred
+	 */
+	@Test
+	public void testParallelEvaluator() throws Exception {
+		//create the sample files
+		File parameterDescriptionFile = TestUtils.createTempFile(
+				"populationSize 10 100\r\nmaxEvaluations 1000 5000");
+		File parameterFile = TestUtils.createTempFile();
+
+		SampleGenerator.main(new String[] {
+				"-n", "10",
+				"-p", parameterDescriptionFile.getPath(),
+				"-m", "la",
+				"-o", parameterFile.getPath()});
+
+		StringBuilder partialSamples = new StringBuilder();
+		BufferedReader reader = new BufferedReader(new FileReader(
+				parameterFile));
+
+		try {
+			for (int i = 0; i < 4; i++) {
+				partialSamples.append(reader.readLine());
+				partialSamples.append('\n');
+			}
+		} finally {
+			reader.close();
+		}
+
+		File partialParameterFile = TestUtils.createTempFile(
+				partialSamples.toString());
+
+		//evaluate with one and three threads
+		File resultFile1 = TestUtils.createTempFile();
+		File resultFile2 = TestUtils.createTempFile();
+		File resultFile3 = TestUtils.createTempFile();
+
+		runParallelEvaluator(parameterDescriptionFile, parameterFile,
+				resultFile1, "1");
+		runParallelEvaluator(parameterDescriptionFile, parameterFile,
+				resultFile2, "3");
+
+		//evaluate the first few samples and resume with the remainder
+		runParallelEvaluator(parameterDescriptionFile, partialParameterFile,
+				resultFile3, "2");
+		runParallelEvaluator(parameterDescriptionFile, parameterFile,
+				resultFile3, "2");
+
+		Assert.assertEquals(11, TestUtils.lineCount(resultFile1));
+		Assert.assertArrayEquals(TestUtils.loadFile(resultFile1),
+				TestUtils.loadFile(resultFile2));
+		Assert.assertArrayEquals(TestUtils.loadFile(resultFile1),
+				TestUtils.loadFile(resultFile3));
+	}
+
+	/**
+	 * Tests if evaluating a list of result files in parallel produces the
+	 * same metric files as evaluating each result file individually.
+	 *
+	 * @throws IOException if an I/O error occurred
+	 */
+	@Test
+	public void testResultFileEvaluatorBatch() throws Exception {
+		//create the sample file
+		File parameterDescriptionFile = TestUtils.createTempFile(
+				"populationSize 10 100\r\nmaxEvaluations 1000 5000");
+		File parameterFile = TestUtils.createTempFile();
+
+		SampleGenerator.main(new String[] {
+				"-n", "5",
+				"-p", parameterDescriptionFile.getPath(),
+				"-m", "la",
+				"-o", parameterFile.getPath()});
+
+		//evaluate three MOEAs
+		String[] algorithms = { "NSGAII", "eMOEA", "GDE3" };
+		File[] resultFiles = new File[algorithms.length];
+		File[] metricFiles = new File[algorithms.length];
+		String[] batchArguments = new String[algorithms.length + 6];
+
+		batchArguments[0] = "-b";
+		batchArguments[1] = "DTLZ2_2";
+		batchArguments[2] = "-t";
+		batchArguments[3] = "2";
+		batchArguments[4] = "-e";
+		batchArguments[5] = ".batch";
+
+		for (int i = 0; i < algorithms.length; i++) {
+			resultFiles[i] = TestUtils.createTempFile();
+			batchArguments[i + 6] = resultFiles[i].getPath();
+
+			Evaluator.main(new String[] {
+					"-p", parameterDescriptionFile.getPath(),
+					"-i", parameterFile.getPath(),
+					"-o", resultFiles[i].getPath(),
+					"-a", algorithms[i],
+					"-b", "DTLZ2_2"});
+
+			metricFiles[i] = TestUtils.createTempFile();
+
+			ResultFileEvaluator.main(new String[] {
+					"-b", "DTLZ2_2",
+					"-i", resultFiles[i].getPath(),
+					"-o", metricFiles[i].getPath()});
+		}
+
+		//evaluate all result files at once
+		ResultFileEvaluator.main(batchArguments);
+
+		for (int i = 0; i < algorithms.length; i++) {
+			File batchFile = new File(resultFiles[i].getPath() + ".batch");
+			batchFile.deleteOnExit();
+
+			Assert.assertEquals(6, TestUtils.lineCount(batchFile));
+			Assert.assertArrayEquals(TestUtils.loadFile(metricFiles[i]),
+					TestUtils.loadFile(batchFile));
+		}
+	}
+
+	/**
+	 * Tests if an interrupted run stops without writing an entry to the
+	 * output.
+	 * 
+	 * @throws IOException if an I/O error occurred
+	 */
+	@Test
+	public void testInterruptedEvaluator() throws IOException {
+		File resultFile = TestUtils.createTempFile();
+		
+		Properties properties = new Properties();
+		properties.setProperty("maxEvaluations", "1000");
+		
+		Evaluator evaluator = new Evaluator();
+		evaluator.problem = ProblemFactory.getInstance().getProblem("DTLZ2_2");
+		evaluator.output = new ResultFileWriter(evaluator.problem, resultFile);
+		
+		try {
+			Thread.currentThread().interrupt();
+			evaluator.process("NSGAII", properties);
+			Assert.fail("expected FrameworkException");
+		} catch (FrameworkException e) {
+			//expected
+		} finally {
+			Thread.interrupted();
+			evaluator.output.close();
+		}
+		
+		ResultFileReader reader = new ResultFileReader(evaluator.problem,
+				resultFile);
+		
+		try {
+			Assert.assertFalse(reader.hasNext());
+		} finally {
+			reader.close();
+		}
+	}
+
+	/**
+	 * Evaluates the parameter samples in parallel, outputting metrics.
+	 *
+	 * @param parameterDescriptionFile the parameter description file
+	 * @param parameterFile the parameter samples
+	 * @param metricFile the output metric file
+	 * @param threads the number of threads
+	 * @throws Exception if an error occurred
+	 */
+	private void runParallelEvaluator(File parameterDescriptionFile,
+			File parameterFile, File metricFile, String threads)
+			throws Exception {
+		Evaluator.main(new String[] {
+				"-p", parameterDescriptionFile.getPath(),
+				"-i", parameterFile.getPath(),
+				"-o", metricFile.getPath(),
+				"-a", "NSGAII",
+				"-b", "DTLZ2_2",
+				"-s", "1234",
+				"-t", threads,
+				"-m",
+				"-f"});
+	}
+
 	@Test
 	public void testMerger() throws Exception {
 		//test reference set merger
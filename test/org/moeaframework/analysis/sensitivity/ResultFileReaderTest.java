@@ -27,6 +27,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.moeaframework.TestUtils;
 import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.NondominatedPopulation;
 import org.moeaframework.core.Population;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Settings;
@@ -733,6 +734,136 @@ public class ResultFileReaderTest {
 		}
 	}
 	
+	/**
+	 * Tests if only the objectives are read correctly, including from
+	 * incomplete and binary result files.
+	 *
+	 * @throws IOException should not occur
+	 */
+	@Test
+	public void testObjectives() throws IOException {
+		validateObjectives(TestUtils.createTempFile(COMPLETE), 2);
+		validateObjectives(TestUtils.createTempFile(COMPLETE_WHITESPACE), 2);
+		validateObjectives(TestUtils.createTempFile(COMPLETE_NOVARIABLES), 2);
+		validateObjectives(TestUtils.createTempFile(INCOMPLETE1), 1);
+
+		File file = TestUtils.createTempFile();
+		BinaryResultFileWriter writer = new BinaryResultFileWriter(problem,
+				file);
+
+		try {
+			writer.append(new ResultEntry(new NondominatedPopulation(
+					population)));
+			writer.append(new ResultEntry(new NondominatedPopulation(
+					population)));
+		} finally {
+			writer.close();
+		}
+
+		validateObjectives(file, 2);
+	}
+
+	/**
+	 * Tests if the properties are read along with the objectives.
+	 *
+	 * @throws IOException should not occur
+	 */
+	@Test
+	public void testObjectivesProperties() throws IOException {
+		ResultFileReader reader = null;
+
+		Properties properties = new Properties();
+		properties.setProperty("foo", "bar");
+		properties.setProperty("answer", "42");
+
+		try {
+			reader = new ResultFileReader(problem, TestUtils.createTempFile(
+					COMPLETE_PROPERTIES));
+
+			Assert.assertTrue(reader.nextObjectives());
+			Assert.assertEquals(properties, reader.getProperties());
+			Assert.assertFalse(reader.nextObjectives());
+		} finally {
+			if (reader != null) {
+				reader.close();
+			}
+		}
+	}
+
+	/**
+	 * Tests if skipping entries can be mixed with reading entries.
+	 *
+	 * @throws IOException should not occur
+	 */
+	@Test
+	public void testSkip() throws IOException {
+		ResultFileReader reader = null;
+
+		try {
+			reader = new ResultFileReader(problem, TestUtils.createTempFile(
+					COMPLETE));
+
+			Assert.assertTrue(reader.skip());
+			Assert.assertTrue(reader.hasNext());
+			TestUtils.assertEquals(population, reader.next().getPopulation());
+			Assert.assertFalse(reader.skip());
+			Assert.assertFalse(reader.hasNext());
+		} finally {
+			if (reader != null) {
+				reader.close();
+			}
+		}
+
+		try {
+			reader = new ResultFileReader(problem, TestUtils.createTempFile(
+					INCOMPLETE1));
+
+			Assert.assertTrue(reader.hasNext());
+			Assert.assertTrue(reader.skip());
+			Assert.assertFalse(reader.skip());
+		} finally {
+			if (reader != null) {
+				reader.close();
+			}
+		}
+	}
+
+	/**
+	 * Validates the objectives read from a result file, where each entry
+	 * contains the solutions in {@link #population}.
+	 *
+	 * @param file the result file
+	 * @param numberOfEntries the number of complete entries in the file
+	 * @throws IOException should not occur
+	 */
+	private void validateObjectives(File file, int numberOfEntries)
+			throws IOException {
+		ResultFileReader reader = null;
+
+		try {
+			reader = new ResultFileReader(problem, file);
+
+			for (int i = 0; i < numberOfEntries; i++) {
+				Assert.assertTrue(reader.nextObjectives());
+				Assert.assertEquals(population.size(),
+						reader.getNumberOfSolutions());
+
+				for (int j = 0; j < population.size(); j++) {
+					Assert.assertArrayEquals(
+							population.get(j).getObjectives(),
+							reader.getObjectives()[j], 0.0);
+				}
+			}
+
+			Assert.assertFalse(reader.nextObjectives());
+			Assert.assertFalse(reader.hasNext());
+		} finally {
+			if (reader != null) {
+				reader.close();
+			}
+		}
+	}
+
 	@Test
 	public void testDecode() throws IOException {
 		File file = TestUtils.createTempFile();
@@ -0,0 +1,180 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.sensitivity;
+
+import java.util.Random;
+
+import org.apache.commons.math3.stat.StatUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.util.random.RandomStreams;
+
+/**
+ * Tests the {@link SobolBootstrap} class.
+ */
+public class SobolBootstrapTest {
+	
+	private static final int N = 200;
+	
+	private static final int P = 4;
+	
+	private static final int RESAMPLES = 50;
+	
+	private static final long SEED = 1234;
+	
+	private double[] A;
+	
+	private double[] B;
+	
+	private double[][] C_A;
+	
+	private double[][] C_B;
+	
+	@Before
+	public void setUp() {
+		A = new double[N];
+		B = new double[N];
+		C_A = new double[N][P];
+		C_B = new double[N][P];
+		
+		for (int i = 0; i < N; i++) {
+			A[i] = PRNG.nextDouble();
+			B[i] = PRNG.nextDouble();
+			
+			for (int j = 0; j < P; j++) {
+				C_A[i][j] = PRNG.nextDouble();
+				C_B[i][j] = PRNG.nextDouble();
+			}
+		}
+	}
+	
+	/**
+	 * Tests if the confidence intervals match resampling each sensitivity
+	 * separately with the same random streams.
+	 */
+	@Test
+	public void testSeparateResampling() {
+		SobolBootstrap bootstrap = new SobolBootstrap(A, B, C_A, C_B);
+		bootstrap.run(RESAMPLES, SEED, 1);
+		
+		for (int j = 0; j < P; j++) {
+			double[] first = new double[RESAMPLES];
+			double[] total = new double[RESAMPLES];
+			
+			for (int r = 0; r < RESAMPLES; r++) {
+				int[] index = getIndices(r);
+				
+				first[r] = SobolAnalysis.computeFirstOrder(select(A, index),
+						select(C_A, j, index), select(B, index), N);
+				total[r] = SobolAnalysis.computeTotalOrder(select(A, index),
+						select(C_A, j, index), select(B, index), N);
+			}
+			
+			Assert.assertEquals(getConfidence(first),
+					bootstrap.getFirstOrderConfidence(j), 1e-12);
+			Assert.assertEquals(getConfidence(total),
+					bootstrap.getTotalOrderConfidence(j), 1e-12);
+			
+			for (int k = j + 1; k < P; k++) {
+				double[] second = new double[RESAMPLES];
+				
+				for (int r = 0; r < RESAMPLES; r++) {
+					int[] index = getIndices(r);
+					
+					second[r] = SobolAnalysis.computeSecondOrder(
+							select(A, index), select(C_B, j, index),
+							select(C_A, k, index), select(C_A, j, index),
+							select(B, index), N);
+				}
+				
+				Assert.assertEquals(getConfidence(second),
+						bootstrap.getSecondOrderConfidence(j, k), 1e-12);
+			}
+		}
+	}
+	
+	/**
+	 * Tests if the confidence intervals are independent of the number of
+	 * threads.
+	 */
+	@Test
+	public void testParallel() {
+		SobolBootstrap serial = new SobolBootstrap(A, B, C_A, C_B);
+		SobolBootstrap parallel = new SobolBootstrap(A, B, C_A, C_B);
+		
+		serial.run(RESAMPLES, SEED, 1);
+		parallel.run(RESAMPLES, SEED, 4);
+		
+		for (int j = 0; j < P; j++) {
+			Assert.assertEquals(serial.getFirstOrderConfidence(j),
+					parallel.getFirstOrderConfidence(j), 0.0);
+			Assert.assertEquals(serial.getTotalOrderConfidence(j),
+					parallel.getTotalOrderConfidence(j), 0.0);
+			
+			for (int k = j + 1; k < P; k++) {
+				Assert.assertEquals(serial.getSecondOrderConfidence(j, k),
+						parallel.getSecondOrderConfidence(j, k), 0.0);
+			}
+		}
+	}
+	
+	private int[] getIndices(int resample) {
+		Random random = new RandomStreams(SEED).getStream(resample);
+		int[] index = new int[N];
+		
+		for (int i = 0; i < N; i++) {
+			index[i] = random.nextInt(N);
+		}
+		
+		return index;
+	}
+	
+	private double[] select(double[] values, int[] index) {
+		double[] result = new double[index.length];
+		
+		for (int i = 0; i < index.length; i++) {
+			result[i] = values[index[i]];
+		}
+		
+		return result;
+	}
+	
+	private double[] select(double[][] values, int j, int[] index) {
+		double[] result = new double[index.length];
+		
+		for (int i = 0; i < index.length; i++) {
+			result[i] = values[index[i]][j];
+		}
+		
+		return result;
+	}
+	
+	private double getConfidence(double[] s) {
+		double mean = StatUtils.sum(s) / s.length;
+		double sum = 0.0;
+		
+		for (int i = 0; i < s.length; i++) {
+			sum += Math.pow(s[i] - mean, 2.0);
+		}
+		
+		return 1.96 * Math.sqrt(sum / (s.length - 1));
+	}
+
+}
@@ -17,12 +17,16 @@
  */
 package org.moeaframework.core;
 
+import java.util.Arrays;
+import java.util.Comparator;
+
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.moeaframework.TestUtils;
 import org.moeaframework.analysis.sensitivity.ProblemStub;
+import org.moeaframework.core.comparator.ObjectiveComparator;
 
 /**
  * Tests the {@link AdaptiveGridArchive} class.
@@ -129,7 +133,7 @@ public class AdaptiveGridArchiveTest {
 		archive.add(TestUtils.newSolution(0.6, 0.3));
 		archive.add(TestUtils.newSolution(0.8, 0.1));
 
-		Assert.assertArrayEquals(new int[] { 0, 3, 1, 0 }, archive.density);
+		assertDensities(new int[] { 0, 3, 1, 0 }, archive);
 		Assert.assertArrayEquals(new double[] { 0.0, 0.1 }, archive.minimum,
 				Settings.EPS);
 		Assert.assertArrayEquals(new double[] { 0.8, 1.0 }, archive.maximum,
@@ -152,7 +156,7 @@ public class AdaptiveGridArchiveTest {
 		archive.add(TestUtils.newSolution(0.0, 0.0));
 
 		Assert.assertEquals(1, archive.size());
-		Assert.assertArrayEquals(new int[] { 1, 0, 0, 0 }, archive.density);
+		assertDensities(new int[] { 1, 0, 0, 0 }, archive);
 	}
 
 	/**
@@ -169,7 +173,7 @@ public class AdaptiveGridArchiveTest {
 		archive.remove(1);
 
 		Assert.assertEquals(1, archive.size());
-		Assert.assertArrayEquals(new int[] { 0, 0, 1, 0 }, archive.density);
+		assertDensities(new int[] { 0, 0, 1, 0 }, archive);
 	}
 
 	/**
@@ -186,7 +190,334 @@ public class AdaptiveGridArchiveTest {
 		archive.remove(archive.get(1));
 
 		Assert.assertEquals(1, archive.size());
-		Assert.assertArrayEquals(new int[] { 0, 0, 1, 0 }, archive.density);
+		assertDensities(new int[] { 0, 0, 1, 0 }, archive);
+	}
+
+	/**
+	 * Tests if random insertions, removals and truncations produce the same
+	 * archive contents, in the same order, as an archive storing the density
+	 * of every grid cell.
+	 */
+	@Test
+	public void testRandom() {
+		for (int numberOfObjectives = 2; numberOfObjectives <= 3;
+				numberOfObjectives++) {
+			Problem problem = new ProblemStub(numberOfObjectives);
+			DenseGridArchive expected = new DenseGridArchive(50, problem, 4);
+			AdaptiveGridArchive actual = new AdaptiveGridArchive(50, problem,
+					4);
+
+			for (int i = 0; i < 5000; i++) {
+				double[] objectives = new double[numberOfObjectives];
+				double sum = 0.0;
+
+				for (int j = 0; j < numberOfObjectives; j++) {
+					objectives[j] = PRNG.nextDouble();
+					sum += objectives[j];
+				}
+
+				// bias points toward the simplex to grow a large front
+				for (int j = 0; j < numberOfObjectives; j++) {
+					objectives[j] = objectives[j] / sum +
+							PRNG.nextDouble(0.0, 0.05) - 0.1*i/5000;
+				}
+
+				Solution solution = TestUtils.newSolution(objectives);
+				Assert.assertEquals(expected.add(solution),
+						actual.add(solution));
+
+				if ((i % 100 == 0) && !expected.isEmpty()) {
+					int index = PRNG.nextInt(expected.size());
+					expected.remove(index);
+					actual.remove(index);
+				}
+
+				if (i % 1000 == 500) {
+					expected.truncate(25, new ObjectiveComparator(0));
+					actual.truncate(25, new ObjectiveComparator(0));
+				}
+
+				Assert.assertEquals(expected.size(), actual.size());
+
+				for (int j = 0; j < expected.size(); j++) {
+					Assert.assertSame(expected.get(j), actual.get(j));
+					Assert.assertEquals(expected.findIndex(expected.get(j)),
+							actual.findIndex(actual.get(j)));
+				}
+
+				Assert.assertEquals(expected.findDensestIndex(),
+						actual.findDensestIndex());
+			}
+		}
+	}
+
+	/**
+	 * Tests if a grid with more than {@code 2^31} cells assigns each solution
+	 * the grid index and density computed from its coordinates.
+	 */
+	@Test
+	public void testLargeGrid() {
+		Problem problem = new ProblemStub(4);
+		AdaptiveGridArchive archive = new AdaptiveGridArchive(5, problem, 256);
+
+		for (int i = 0; i < 50; i++) {
+			double[] objectives = new double[4];
+			double sum = 0.0;
+
+			for (int j = 0; j < 4; j++) {
+				objectives[j] = PRNG.nextDouble();
+				sum += objectives[j];
+			}
+
+			// points on the simplex are nondominated
+			for (int j = 0; j < 4; j++) {
+				objectives[j] /= sum;
+			}
+
+			archive.add(TestUtils.newSolution(objectives));
+			Assert.assertTrue(archive.size() <= 5);
+
+			long[] indices = new long[archive.size()];
+
+			for (int j = 0; j < archive.size(); j++) {
+				indices[j] = computeIndex(archive, archive.get(j));
+				Assert.assertEquals(indices[j],
+						archive.findIndex(archive.get(j)));
+			}
+
+			for (int j = 0; j < archive.size(); j++) {
+				int density = 0;
+
+				for (int k = 0; k < archive.size(); k++) {
+					if (indices[k] == indices[j]) {
+						density++;
+					}
+				}
+
+				Assert.assertEquals(density, archive.getDensity(indices[j]));
+			}
+		}
+	}
+
+	/**
+	 * Tests if a grid with more than {@code Long.MAX_VALUE} cells is
+	 * rejected.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testTooManyCells() {
+		new AdaptiveGridArchive(5, new ProblemStub(8), 256);
+	}
+
+	/**
+	 * Returns the grid index of a solution computed from its coordinates in
+	 * each objective.
+	 * 
+	 * @param archive the archive
+	 * @param solution the solution
+	 * @return the grid index of the solution
+	 */
+	private long computeIndex(AdaptiveGridArchive archive,
+			Solution solution) {
+		int numberOfDivisions = archive.getNumberOfDivisions();
+		long index = 0;
+
+		for (int i = solution.getNumberOfObjectives() - 1; i >= 0; i--) {
+			long coordinate = (long)Math.floor(numberOfDivisions *
+					(solution.getObjective(i) - archive.minimum[i]) /
+					(archive.maximum[i] - archive.minimum[i]));
+
+			index = index*numberOfDivisions + Math.min(coordinate,
+					numberOfDivisions - 1);
+		}
+
+		return index;
+	}
+
+	/**
+	 * Asserts that the grid cells of an archive have the expected densities.
+	 * 
+	 * @param expected the expected density of each grid cell
+	 * @param archive the archive
+	 */
+	private void assertDensities(int[] expected, AdaptiveGridArchive archive) {
+		for (int i = 0; i < expected.length; i++) {
+			Assert.assertEquals(expected[i], archive.getDensity(i));
+		}
+	}
+
+	/**
+	 * Reference adaptive grid archive storing the density of every grid cell
+	 * in an array, which is recomputed whenever the bounds change.
+	 */
+	private static class DenseGridArchive extends NondominatedPopulation {
+
+		/**
+		 * The maximum capacity of this archive.
+		 */
+		private final int capacity;
+
+		/**
+		 * The number of objectives.
+		 */
+		private final int numberOfObjectives;
+
+		/**
+		 * The number of divisions this archive uses to split each objective.
+		 */
+		private final int numberOfDivisions;
+
+		/**
+		 * The minimum objective value for each dimension.
+		 */
+		private final double[] minimum;
+
+		/**
+		 * The maximum objective value for each dimension.
+		 */
+		private final double[] maximum;
+
+		/**
+		 * The number of solutions in each grid cell.
+		 */
+		private final int[] density;
+
+		/**
+		 * Constructs a new reference adaptive grid archive.
+		 * 
+		 * @param capacity the capacity of this archive
+		 * @param problem the problem for which this archive is used
+		 * @param numberOfDivisions the number of divisions this archive uses
+		 *        to split each objective
+		 */
+		public DenseGridArchive(int capacity, Problem problem,
+				int numberOfDivisions) {
+			this.capacity = capacity;
+			this.numberOfDivisions = numberOfDivisions;
+
+			numberOfObjectives = problem.getNumberOfObjectives();
+			minimum = new double[numberOfObjectives];
+			maximum = new double[numberOfObjectives];
+			density = new int[(int)Math.pow(numberOfDivisions,
+					numberOfObjectives)];
+
+			adaptGrid();
+		}
+
+		@Override
+		public boolean add(Solution solution) {
+			if (!super.add(solution)) {
+				return false;
+			}
+
+			int index = findIndex(solution);
+
+			if (index < 0) {
+				adaptGrid();
+			} else {
+				density[index]++;
+			}
+
+			if (size() > capacity) {
+				remove(findDensestIndex());
+			}
+
+			return true;
+		}
+
+		@Override
+		public void remove(int index) {
+			int gridIndex = findIndex(get(index));
+
+			super.remove(index);
+
+			density[gridIndex]--;
+		}
+
+		@Override
+		public void truncate(int size, Comparator<? super Solution> comparator) {
+			sort(comparator);
+
+			while (size() > size) {
+				remove(size() - 1);
+			}
+		}
+
+		/**
+		 * Returns the index of the first solution residing in the densest grid
+		 * cell.
+		 * 
+		 * @return the index of the first solution residing in the densest
+		 *         grid cell
+		 */
+		public int findDensestIndex() {
+			int index = -1;
+			int value = -1;
+
+			for (int i = 0; i < size(); i++) {
+				int tempValue = density[findIndex(get(i))];
+
+				if (tempValue > value) {
+					index = i;
+					value = tempValue;
+				}
+			}
+
+			return index;
+		}
+
+		/**
+		 * Computes new lower and upper bounds and recalculates the densities
+		 * of each grid cell.
+		 */
+		private void adaptGrid() {
+			Arrays.fill(minimum, Double.POSITIVE_INFINITY);
+			Arrays.fill(maximum, Double.NEGATIVE_INFINITY);
+			Arrays.fill(density, 0);
+
+			for (Solution solution : this) {
+				for (int i = 0; i < numberOfObjectives; i++) {
+					minimum[i] = Math.min(minimum[i], solution.getObjective(i));
+					maximum[i] = Math.max(maximum[i], solution.getObjective(i));
+				}
+			}
+
+			for (Solution solution : this) {
+				density[findIndex(solution)]++;
+			}
+		}
+
+		/**
+		 * Returns the grid index of the specified solution, or {@code -1} if
+		 * the solution is not within the current lower and upper bounds.
+		 * 
+		 * @param solution the specified solution
+		 * @return the grid index of the specified solution, or {@code -1} if
+		 *         the solution is not within the current lower and upper
+		 *         bounds
+		 */
+		public int findIndex(Solution solution) {
+			int index = 0;
+
+			for (int i = 0; i < numberOfObjectives; i++) {
+				double value = solution.getObjective(i);
+
+				if ((value < minimum[i]) || (value > maximum[i])) {
+					return -1;
+				}
+
+				int tempIndex = (int)(numberOfDivisions * 
+						((value - minimum[i]) / (maximum[i] - minimum[i])));
+
+				if (tempIndex == numberOfDivisions) {
+					tempIndex--;
+				}
+
+				index += tempIndex * (int)Math.pow(numberOfDivisions, i);
+			}
+
+			return index;
+		}
+
 	}
 
 }
@@ -0,0 +1,208 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.core.comparator.ObjectiveComparator;
+
+/**
+ * Tests the {@link HashedEpsilonBoxDominanceArchive} class.
+ */
+public class HashedEpsilonBoxDominanceArchiveTest {
+
+	/**
+	 * Tests if the improvement counts match the examples from
+	 * {@link EpsilonBoxDominanceArchiveTest}.
+	 */
+	@Test
+	public void testImprovements() {
+		EpsilonBoxDominanceArchive archive =
+				new HashedEpsilonBoxDominanceArchive(0.5);
+
+		Assert.assertTrue(archive.add(new Solution(new double[] { 1.0, 1.0 })));
+		Assert.assertTrue(archive.add(new Solution(
+				new double[] { 0.25, 0.75 })));
+		Assert.assertTrue(archive.add(new Solution(
+				new double[] { 0.75, 0.25 })));
+		Assert.assertEquals(2, archive.size());
+		Assert.assertEquals(1, archive.getNumberOfDominatingImprovements());
+		Assert.assertEquals(3, archive.getNumberOfImprovements());
+
+		Assert.assertTrue(archive.add(new Solution(
+				new double[] { 0.01, 0.51 })));
+		Assert.assertFalse(archive.add(new Solution(
+				new double[] { 0.26, 0.74 })));
+		Assert.assertFalse(archive.add(new Solution(
+				new double[] { 0.6, 0.6 })));
+		Assert.assertEquals(2, archive.size());
+		Assert.assertEquals(1, archive.getNumberOfDominatingImprovements());
+		Assert.assertEquals(3, archive.getNumberOfImprovements());
+	}
+
+	/**
+	 * Tests if constraint violations are handled the same as an
+	 * {@link EpsilonBoxDominanceArchive}.
+	 */
+	@Test
+	public void testConstraints() {
+		EpsilonBoxDominanceArchive archive =
+				new HashedEpsilonBoxDominanceArchive(0.5);
+
+		Solution infeasible1 = newSolution(0.0, 0.0, 2.0);
+		Solution infeasible2 = newSolution(1.0, 1.0, -1.0);
+		Solution feasible = newSolution(2.0, 2.0, 0.0);
+
+		Assert.assertTrue(archive.add(infeasible1));
+		Assert.assertTrue(archive.add(infeasible2));
+		Assert.assertEquals(1, archive.size());
+		Assert.assertFalse(archive.add(infeasible1));
+		Assert.assertTrue(archive.add(feasible));
+		Assert.assertEquals(1, archive.size());
+		Assert.assertTrue(archive.contains(feasible));
+		Assert.assertEquals(3, archive.getNumberOfImprovements());
+		Assert.assertEquals(2, archive.getNumberOfDominatingImprovements());
+	}
+
+	/**
+	 * Tests if solutions whose boxes can not be indexed are handled by the
+	 * linear scan.
+	 */
+	@Test
+	public void testUnindexedBoxes() {
+		EpsilonBoxDominanceArchive expected =
+				new EpsilonBoxDominanceArchive(0.5);
+		EpsilonBoxDominanceArchive actual =
+				new HashedEpsilonBoxDominanceArchive(0.5);
+
+		Solution[] solutions = new Solution[] {
+				new Solution(new double[] { 1.0, 1.0 }),
+				new Solution(new double[] { Double.POSITIVE_INFINITY, 0.0 }),
+				new Solution(new double[] { 0.5, 2.0 }),
+				new Solution(new double[] { 1e300, -1e300 }),
+				new Solution(new double[] { 0.0, 0.5 }) };
+
+		for (Solution solution : solutions) {
+			Assert.assertEquals(expected.add(solution), actual.add(solution));
+			assertSame(expected, actual);
+		}
+	}
+
+	/**
+	 * Returns a new solution with two objectives and one constraint.
+	 *
+	 * @param objective1 the first objective value
+	 * @param objective2 the second objective value
+	 * @param constraint the constraint value
+	 * @return the new solution
+	 */
+	private Solution newSolution(double objective1, double objective2,
+			double constraint) {
+		Solution solution = new Solution(0, 2, 1);
+		solution.setObjectives(new double[] { objective1, objective2 });
+		solution.setConstraint(0, constraint);
+		return solution;
+	}
+
+	/**
+	 * Tests if a {@code HashedEpsilonBoxDominanceArchive} produces the same
+	 * contents, in the same order, and the same improvement counts as an
+	 * {@code EpsilonBoxDominanceArchive} for random insertions and removals.
+	 */
+	@Test
+	public void testRandom() {
+		for (int numberOfObjectives = 2; numberOfObjectives <= 4;
+				numberOfObjectives++) {
+			EpsilonBoxDominanceArchive expected =
+					new EpsilonBoxDominanceArchive(0.01);
+			EpsilonBoxDominanceArchive actual =
+					new HashedEpsilonBoxDominanceArchive(0.01);
+
+			for (int i = 0; i < 5000; i++) {
+				double[] objectives = new double[numberOfObjectives];
+				double sum = 0.0;
+
+				for (int j = 0; j < numberOfObjectives; j++) {
+					objectives[j] = PRNG.nextDouble();
+					sum += objectives[j];
+				}
+
+				// bias points toward the simplex to grow a large front
+				for (int j = 0; j < numberOfObjectives; j++) {
+					objectives[j] = objectives[j] / sum +
+							PRNG.nextDouble(0.0, 0.05) - 0.1*i/5000;
+				}
+
+				Solution solution = new Solution(objectives);
+				Assert.assertEquals(expected.add(solution),
+						actual.add(solution));
+
+				if ((i % 100 == 0) && !expected.isEmpty()) {
+					Solution removed = expected.get(
+							PRNG.nextInt(expected.size()));
+					expected.remove(removed);
+					Assert.assertTrue(actual.remove(removed));
+				}
+
+				if ((i % 1000 == 500) && !expected.isEmpty()) {
+					int index = PRNG.nextInt(expected.size());
+					expected.remove(index);
+					actual.remove(index);
+				}
+			}
+
+			assertSame(expected, actual);
+
+			expected.truncate(10, new ObjectiveComparator(0));
+			actual.truncate(10, new ObjectiveComparator(0));
+			assertSame(expected, actual);
+
+			Solution solution = new Solution(new double[numberOfObjectives]);
+			Assert.assertEquals(expected.add(solution), actual.add(solution));
+			assertSame(expected, actual);
+
+			expected.clear();
+			actual.clear();
+			solution = new Solution(new double[numberOfObjectives]);
+			Assert.assertEquals(expected.add(solution), actual.add(solution));
+			assertSame(expected, actual);
+		}
+	}
+
+	/**
+	 * Asserts that two archives contain the same solutions in the same order
+	 * and have counted the same improvements.
+	 *
+	 * @param expected the expected archive
+	 * @param actual the actual archive
+	 */
+	private void assertSame(EpsilonBoxDominanceArchive expected,
+			EpsilonBoxDominanceArchive actual) {
+		Assert.assertEquals(expected.size(), actual.size());
+
+		for (int i = 0; i < expected.size(); i++) {
+			Assert.assertSame(expected.get(i), actual.get(i));
+		}
+
+		Assert.assertEquals(expected.getNumberOfImprovements(),
+				actual.getNumberOfImprovements());
+		Assert.assertEquals(expected.getNumberOfDominatingImprovements(),
+				actual.getNumberOfDominatingImprovements());
+	}
+
+}
@@ -0,0 +1,167 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.TestUtils;
+import org.moeaframework.core.comparator.ObjectiveComparator;
+
+/**
+ * Tests the {@link NDTreeArchive} class.
+ */
+public class NDTreeArchiveTest {
+
+	/**
+	 * Tests that an {@code NDTreeArchive} maintains a non-dominated population
+	 * and rejects duplicate solutions.
+	 */
+	@Test
+	public void testAdd() {
+		NondominatedPopulation population = new NDTreeArchive();
+
+		Solution solution1 = new Solution(new double[] { 1.0, 2.0, 3.0 });
+		Solution solution2 = new Solution(new double[] { 1.0, 3.0, 2.0 });
+		Solution solution3 = new Solution(new double[] { 2.0, 1.0, 3.0 });
+		Solution solution4 = new Solution(new double[] { 1.0, 1.0, 3.0 });
+		Solution solution5 = new Solution(new double[] { 1.0, 2.0, 3.0 });
+		Solution solution6 = new Solution(new double[] { 1.0, 1.0, 3.0 });
+
+		Assert.assertTrue(population.add(solution1));
+		Assert.assertTrue(population.add(solution2));
+		Assert.assertEquals(2, population.size());
+		Assert.assertTrue(population.add(solution3));
+		Assert.assertEquals(3, population.size());
+		Assert.assertTrue(population.add(solution4));
+		Assert.assertEquals(2, population.size());
+		Assert.assertFalse(population.add(solution5));
+		Assert.assertEquals(2, population.size());
+		Assert.assertFalse(population.add(solution6));
+		Assert.assertEquals(2, population.size());
+		Assert.assertTrue(population.contains(solution2));
+		Assert.assertTrue(population.contains(solution4));
+	}
+	
+	/**
+	 * Tests that an {@code NDTreeArchive} rejects adding nearly identical
+	 * solutions.
+	 */
+	@Test
+	public void testAddSimilar() {
+		NondominatedPopulation population = new NDTreeArchive();
+
+		Solution solution1 = new Solution(new double[] { 0.0, 0.0,
+				Settings.EPS / 2.0 });
+		Solution solution2 = new Solution(new double[] { 0.0,
+				Settings.EPS / 2.0, 0.0 });
+
+		Assert.assertTrue(population.add(solution1));
+		Assert.assertFalse(population.add(solution2));
+		Assert.assertEquals(1, population.size());
+		Assert.assertTrue(population.contains(solution1));
+	}
+	
+	/**
+	 * Tests that an {@code NDTreeArchive} handles constraint violations the
+	 * same as a non-dominated population using Pareto dominance.
+	 */
+	@Test
+	public void testConstraints() {
+		NondominatedPopulation population = new NDTreeArchive();
+		
+		Solution infeasible1 = newSolution(0.0, 0.0, 2.0);
+		Solution infeasible2 = newSolution(1.0, 1.0, -1.0);
+		Solution feasible = newSolution(2.0, 2.0, 0.0);
+		
+		Assert.assertTrue(population.add(infeasible1));
+		Assert.assertTrue(population.add(infeasible2));
+		Assert.assertEquals(1, population.size());
+		Assert.assertFalse(population.add(infeasible1));
+		Assert.assertTrue(population.add(feasible));
+		Assert.assertEquals(1, population.size());
+		Assert.assertTrue(population.contains(feasible));
+	}
+
+	/**
+	 * Returns a new solution with two objectives and one constraint.
+	 * 
+	 * @param objective1 the first objective value
+	 * @param objective2 the second objective value
+	 * @param constraint the constraint value
+	 * @return the new solution
+	 */
+	private Solution newSolution(double objective1, double objective2,
+			double constraint) {
+		Solution solution = new Solution(0, 2, 1);
+		solution.setObjectives(new double[] { objective1, objective2 });
+		solution.setConstraint(0, constraint);
+		return solution;
+	}
+
+	/**
+	 * Tests that an {@code NDTreeArchive} produces the same contents as a
+	 * {@code NondominatedPopulation} for random insertions and removals, using
+	 * a small leaf size to exercise splitting.
+	 */
+	@Test
+	public void testRandom() {
+		for (int numberOfObjectives = 2; numberOfObjectives <= 4;
+				numberOfObjectives++) {
+			NondominatedPopulation expected = new NondominatedPopulation();
+			NondominatedPopulation actual = new NDTreeArchive(4);
+			
+			for (int i = 0; i < 5000; i++) {
+				double[] objectives = new double[numberOfObjectives];
+				double sum = 0.0;
+				
+				for (int j = 0; j < numberOfObjectives; j++) {
+					objectives[j] = PRNG.nextDouble();
+					sum += objectives[j];
+				}
+				
+				// bias points toward the simplex to grow a large front
+				for (int j = 0; j < numberOfObjectives; j++) {
+					objectives[j] = objectives[j] / sum +
+							PRNG.nextDouble(0.0, 0.01);
+				}
+				
+				Solution solution = new Solution(objectives);
+				Assert.assertEquals(expected.add(solution),
+						actual.add(solution));
+				
+				if ((i % 100 == 0) && !expected.isEmpty()) {
+					Solution removed = expected.get(
+							PRNG.nextInt(expected.size()));
+					expected.remove(removed);
+					Assert.assertTrue(actual.remove(removed));
+				}
+			}
+			
+			TestUtils.assertEquals(expected, actual);
+			
+			expected.truncate(10, new ObjectiveComparator(0));
+			actual.truncate(10, new ObjectiveComparator(0));
+			TestUtils.assertEquals(expected, actual);
+			
+			Solution solution = new Solution(new double[numberOfObjectives]);
+			Assert.assertTrue(actual.add(solution));
+			Assert.assertEquals(1, actual.size());
+		}
+	}
+
+}
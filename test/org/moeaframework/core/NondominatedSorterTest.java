@@ -0,0 +1,130 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core;
+
+import static org.moeaframework.core.FastNondominatedSorting.CROWDING_ATTRIBUTE;
+import static org.moeaframework.core.FastNondominatedSorting.RANK_ATTRIBUTE;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.core.comparator.ParetoDominanceComparator;
+
+/**
+ * Tests the {@link NondominatedSorter} class.
+ */
+public class NondominatedSorterTest {
+
+	/**
+	 * Tests if each sorter assigns ranks consistent with Pareto dominance on a
+	 * small example.
+	 */
+	@Test
+	public void testSort() {
+		double[][] objectives = new double[][] {
+				{ 1.0, 1.0 },
+				{ 0.0, 2.0 },
+				{ 0.5, 0.5 },
+				{ 2.0, 0.0 },
+				{ 0.5, 0.5 },
+				{ 3.0, 3.0 } };
+
+		for (NondominatedSorter sorter : NondominatedSorter.values()) {
+			Assert.assertArrayEquals(sorter.name(),
+					new int[] { 2, 0, 0, 0, 1, 3 },
+					sorter.sort(objectives));
+		}
+	}
+
+	/**
+	 * Tests if feasible solutions are ranked before infeasible solutions.
+	 */
+	@Test
+	public void testConstraints() {
+		double[][] objectives = new double[][] {
+				{ 0.0, 0.0 },
+				{ 1.0, 1.0 },
+				{ 0.0, 0.0 } };
+		double[] constraints = new double[] { 2.0, 0.0, 1.0 };
+
+		for (NondominatedSorter sorter : NondominatedSorter.values()) {
+			Assert.assertArrayEquals(sorter.name(),
+					new int[] { 2, 0, 1 },
+					sorter.sort(objectives, constraints));
+		}
+	}
+
+	/**
+	 * Tests if each sorter produces the same ranks and crowding distances as
+	 * the generic comparator-based sorting routine on random populations.
+	 */
+	@Test
+	public void testRandom() {
+		for (int i = 0; i < 100; i++) {
+			Population population = new Population();
+			int numberOfObjectives = PRNG.nextInt(1, 4);
+
+			for (int j = 0; j < 100; j++) {
+				Solution solution = new Solution(0, numberOfObjectives, 1);
+
+				for (int k = 0; k < numberOfObjectives; k++) {
+					// coarse values to produce ties and duplicates
+					solution.setObjective(k, PRNG.nextInt(10));
+				}
+
+				if (PRNG.nextDouble() < 0.1) {
+					solution.setConstraint(0, PRNG.nextInt(3));
+				}
+
+				population.add(solution);
+			}
+
+			// subclassing the comparator forces the generic routine
+			new FastNondominatedSorting(new ParetoDominanceComparator() {
+
+				private static final long serialVersionUID =
+						-3371452296547101329L;
+
+			}).evaluate(population);
+
+			int[] expectedRanks = new int[population.size()];
+			double[] expectedCrowding = new double[population.size()];
+
+			for (int j = 0; j < population.size(); j++) {
+				expectedRanks[j] = (Integer)population.get(j).getAttribute(
+						RANK_ATTRIBUTE);
+				expectedCrowding[j] = (Double)population.get(j).getAttribute(
+						CROWDING_ATTRIBUTE);
+			}
+
+			for (NondominatedSorter sorter : NondominatedSorter.values()) {
+				new FastNondominatedSorting(sorter).evaluate(population);
+
+				for (int j = 0; j < population.size(); j++) {
+					Solution solution = population.get(j);
+
+					Assert.assertEquals(expectedRanks[j],
+							solution.getAttribute(RANK_ATTRIBUTE));
+					Assert.assertEquals(expectedCrowding[j],
+							(Double)solution.getAttribute(CROWDING_ATTRIBUTE),
+							Settings.EPS);
+				}
+			}
+		}
+	}
+
+}
@@ -17,12 +17,18 @@
  */
 package org.moeaframework.core;
 
+import static org.moeaframework.core.FastNondominatedSorting.RANK_ATTRIBUTE;
+
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.moeaframework.core.comparator.CrowdingComparator;
 import org.moeaframework.core.comparator.NondominatedSortingComparator;
+import org.moeaframework.core.comparator.RankComparator;
 
 /**
  * Tests the {@link NondominatedSortingPopulation} class.
@@ -177,6 +183,92 @@ public class NondominatedSortingPopulationTest {
 		Assert.assertEquals(1, population.getNumberOfUpdates());
 	}
 	
+	/**
+	 * Tests if pruning removes the same solutions and produces the same
+	 * order as repeatedly updating the crowding distance and truncating the
+	 * front, including fronts with tied objective values and duplicate
+	 * solutions.
+	 */
+	@Test
+	public void testPruningRandom() {
+		for (int numberOfObjectives = 2; numberOfObjectives <= 4;
+				numberOfObjectives++) {
+			for (int i = 0; i < 200; i++) {
+				List<Solution> solutions = new ArrayList<Solution>();
+				int n = PRNG.nextInt(3, 60);
+				boolean discrete = PRNG.nextBoolean();
+
+				// points on a plane where the objectives have a constant sum
+				// are nondominated, except for duplicates
+				for (int j = 0; j < n; j++) {
+					double[] objectives = new double[numberOfObjectives];
+					double sum = 0.0;
+
+					for (int k = 0; k < numberOfObjectives; k++) {
+						objectives[k] = discrete ? PRNG.nextInt(1, 4) :
+							PRNG.nextDouble();
+						sum += objectives[k];
+					}
+
+					if (discrete) {
+						objectives[numberOfObjectives-1] +=
+								4*numberOfObjectives - sum;
+					} else {
+						for (int k = 0; k < numberOfObjectives; k++) {
+							objectives[k] /= sum;
+						}
+					}
+
+					solutions.add(new Solution(objectives));
+				}
+
+				int size = PRNG.nextInt(1, n-1);
+				NondominatedSortingPopulation population =
+						new NondominatedSortingPopulation(solutions);
+				population.sort(new RankComparator());
+
+				int maxRank = (Integer)population.get(size-1).getAttribute(
+						RANK_ATTRIBUTE);
+				Population expected = new Population();
+				Population front = new Population();
+
+				for (Solution solution : population) {
+					if ((Integer)solution.getAttribute(RANK_ATTRIBUTE) <
+							maxRank) {
+						expected.add(solution);
+					}
+				}
+
+				// the front is collected in reverse order when pruning
+				for (int j = population.size()-1; j >= 0; j--) {
+					Solution solution = population.get(j);
+					
+					if ((Integer)solution.getAttribute(RANK_ATTRIBUTE) ==
+							maxRank) {
+						front.add(solution);
+					}
+				}
+
+				population.prune(size);
+
+				FastNondominatedSorting sorting = new FastNondominatedSorting();
+
+				while (expected.size() + front.size() > size) {
+					sorting.updateCrowdingDistance(front);
+					front.truncate(front.size()-1, new CrowdingComparator());
+				}
+
+				expected.addAll(front);
+
+				Assert.assertEquals(expected.size(), population.size());
+
+				for (int j = 0; j < expected.size(); j++) {
+					Assert.assertSame(expected.get(j), population.get(j));
+				}
+			}
+		}
+	}
+
 	@Test
 	public void testUpdate() {
 		Solution solution1 = new Solution(new double[] { 0.0, 0.0 });
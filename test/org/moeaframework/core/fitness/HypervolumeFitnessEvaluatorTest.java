@@ -22,6 +22,7 @@ import java.util.Arrays;
 import jmetal.core.SolutionSet;
 import jmetal.metaheuristics.ibea.IBEA;
 
+import org.junit.Assert;
 import org.junit.Test;
 import org.moeaframework.TestUtils;
 import org.moeaframework.algorithm.jmetal.JMetalProblemAdapter;
@@ -30,6 +31,7 @@ import org.moeaframework.core.Initialization;
 import org.moeaframework.core.Population;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
+import org.moeaframework.core.comparator.ParetoDominanceComparator;
 import org.moeaframework.core.operator.RandomInitialization;
 import org.moeaframework.core.spi.ProblemFactory;
 import org.moeaframework.problem.MockRealProblem;
@@ -111,6 +113,105 @@ public class HypervolumeFitnessEvaluatorTest {
 		}
 	}
 	
+	/**
+	 * Tests if the default evaluator produces the same fitness values, bit
+	 * for bit, as the original recursive PISA routine on solutions.
+	 */
+	@Test
+	public void testDefaultMatchesRecursion() {
+		for (String problemName : new String[] { "DTLZ2_2", "DTLZ2_3",
+				"DTLZ2_5" }) {
+			Problem problem = ProblemFactory.getInstance().getProblem(
+					problemName);
+			Population population1 = generatePopulation(problem, 100);
+			Population population2 = new Population();
+			
+			for (Solution solution : population1) {
+				population2.add(solution.copy());
+			}
+			
+			new HypervolumeFitnessEvaluator(problem).evaluate(population1);
+			new RecursiveHypervolumeFitnessEvaluator(problem).evaluate(
+					population2);
+			
+			for (int i = 0; i < population1.size(); i++) {
+				Assert.assertEquals(
+						Double.doubleToLongBits((Double)population2.get(i)
+								.getAttribute(FitnessEvaluator.FITNESS_ATTRIBUTE)),
+						Double.doubleToLongBits((Double)population1.get(i)
+								.getAttribute(FitnessEvaluator.FITNESS_ATTRIBUTE)));
+			}
+		}
+	}
+	
+	/**
+	 * The hypervolume fitness evaluator as originally implemented, computing
+	 * the exclusive hypervolume recursively on solutions.
+	 */
+	private static class RecursiveHypervolumeFitnessEvaluator extends
+			IndicatorFitnessEvaluator {
+		
+		private static final double rho = HypervolumeFitnessEvaluator.rho;
+		
+		private final ParetoDominanceComparator dominanceComparator;
+		
+		public RecursiveHypervolumeFitnessEvaluator(Problem problem) {
+			super(problem);
+			dominanceComparator = new ParetoDominanceComparator();
+		}
+
+		@Override
+		protected double calculateIndicator(Solution solution1,
+				Solution solution2) {
+			int numberOfObjectives = getProblem().getNumberOfObjectives();
+			
+			if (dominanceComparator.compare(solution1, solution2) < 0) {
+				return -calculateHypervolume(solution1, solution2,
+						numberOfObjectives);
+			} else {
+				return calculateHypervolume(solution2, solution1,
+						numberOfObjectives);
+			}
+		}
+		
+		private double calculateHypervolume(Solution solution1,
+				Solution solution2, int d) {
+			double max = rho;
+			double a = solution1.getObjective(d - 1);
+			double b = max;
+
+			if (solution2 != null) {
+				b = solution2.getObjective(d - 1);
+			}
+
+			double volume = 0.0;
+
+			if (d == 1) {
+				if (a < b) {
+					volume = (b - a) / rho;
+				}
+			} else {
+				if (a < b) {
+					volume = calculateHypervolume(solution1, null, d - 1) * 
+							(b - a) / rho
+							+ calculateHypervolume(solution1, solution2,
+									d - 1) * (max - b) / rho;
+				} else {
+					volume = calculateHypervolume(solution1, solution2,
+							d - 1) * (max - a) / rho;
+				}
+			}
+
+			return volume;
+		}
+
+		@Override
+		public boolean areLargerValuesPreferred() {
+			return false;
+		}
+		
+	}
+	
 	private Population generatePopulation(Problem problem, int N) {
 		Initialization initialization = new RandomInitialization(problem, N);
 		Solution[] solutions = initialization.initialize();
@@ -21,8 +21,12 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.moeaframework.TestUtils;
 import org.moeaframework.core.FitnessEvaluator;
+import org.moeaframework.core.PRNG;
 import org.moeaframework.core.Population;
 import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.indicator.HypervolumeAlgorithm;
+import org.moeaframework.problem.AbstractProblem;
 import org.moeaframework.problem.MockRealProblem;
 
 /**
@@ -67,5 +71,175 @@ public class IndicatorFitnessEvaluatorTest {
 					(Double)expectedPopulation.get(i).getAttribute(FitnessEvaluator.FITNESS_ATTRIBUTE));
 		}
 	}
+	
+	/**
+	 * Tests if the packed objective implementations produce the same fitness
+	 * values, removals and worst solutions as the implementations on
+	 * solutions, including populations large enough to be split across
+	 * threads.
+	 */
+	@Test
+	public void testPackedObjectives() {
+		PRNG.setSeed(1337);
+		
+		for (int numberOfObjectives = 2; numberOfObjectives <= 4;
+				numberOfObjectives++) {
+			final Problem problem = new MockObjectivesProblem(
+					numberOfObjectives);
+			
+			for (int size : new int[] { 2, 10, 200 }) {
+				Population population = new Population();
+				
+				for (int i = 0; i < size; i++) {
+					Solution solution = problem.newSolution();
+					
+					for (int j = 0; j < numberOfObjectives; j++) {
+						if (i == 0) {
+							// pin the range of each objective so it is never
+							// empty when normalized
+							solution.setObjective(j, 0.0);
+						} else if (i == 1) {
+							solution.setObjective(j, 0.9);
+						} else {
+							// coarse values to produce ties
+							solution.setObjective(j, PRNG.nextInt(10) / 10.0);
+						}
+					}
+					
+					population.add(solution);
+				}
+				
+				testPackedObjectives(population,
+						new AdditiveEpsilonIndicatorFitnessEvaluator(problem));
+				
+				for (HypervolumeAlgorithm algorithm :
+						HypervolumeAlgorithm.values()) {
+					testPackedObjectives(population,
+							new HypervolumeFitnessEvaluator(problem,
+									algorithm));
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Asserts that a fitness evaluator using packed objective values produces
+	 * the same fitness values, removals and worst solutions as the same
+	 * indicator computed on solutions when repeatedly removing the worst
+	 * solution from copies of the population.
+	 * 
+	 * @param population the population
+	 * @param packed the fitness evaluator using packed objective values
+	 */
+	private void testPackedObjectives(Population population,
+			final IndicatorFitnessEvaluator packed) {
+		Assert.assertTrue(packed instanceof PackedIndicator);
+		
+		// computes the same indicator on solutions, since it does not
+		// implement PackedIndicator
+		IndicatorFitnessEvaluator unpacked = new IndicatorFitnessEvaluator(
+				packed.getProblem()) {
+
+			@Override
+			protected double calculateIndicator(Solution solution1,
+					Solution solution2) {
+				return packed.calculateIndicator(solution1, solution2);
+			}
+
+			@Override
+			public boolean areLargerValuesPreferred() {
+				return packed.areLargerValuesPreferred();
+			}
+			
+		};
+		
+
+		Population population1 = copy(population);
+		Population population2 = copy(population);
+		
+		packed.evaluate(population1);
+		unpacked.evaluate(population2);
+		
+		while (!population1.isEmpty()) {
+			Assert.assertEquals(population2.size(), population1.size());
+			
+			int worstIndex = 0;
+			
+			for (int i = 0; i < population1.size(); i++) {
+				double fitness = getFitness(population2, i);
+				
+				Assert.assertEquals(
+						Double.doubleToLongBits(fitness),
+						Double.doubleToLongBits(getFitness(population1, i)));
+				
+				if (fitness > getFitness(population2, worstIndex)) {
+					worstIndex = i;
+				}
+			}
+			
+			Assert.assertEquals(worstIndex, packed.findWorstIndex());
+			Assert.assertEquals(worstIndex, unpacked.findWorstIndex());
+			
+			packed.removeAndUpdate(population1, worstIndex);
+			unpacked.removeAndUpdate(population2, worstIndex);
+		}
+		
+		Assert.assertEquals(-1, packed.findWorstIndex());
+	}
+	
+	/**
+	 * Returns copies of the solutions in a population.
+	 * 
+	 * @param population the population
+	 * @return copies of the solutions in the population
+	 */
+	private Population copy(Population population) {
+		Population result = new Population();
+		
+		for (Solution solution : population) {
+			result.add(solution.copy());
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Returns the fitness of the solution at the given index.
+	 * 
+	 * @param population the population
+	 * @param index the index of the solution
+	 * @return the fitness of the solution at the given index
+	 */
+	private double getFitness(Population population, int index) {
+		return (Double)population.get(index).getAttribute(
+				FitnessEvaluator.FITNESS_ATTRIBUTE);
+	}
+	
+	/**
+	 * Problem with no decision variables and the given number of objectives,
+	 * used only to create solutions.
+	 */
+	private static class MockObjectivesProblem extends AbstractProblem {
+		
+		/**
+		 * Constructs a new problem with the given number of objectives.
+		 * 
+		 * @param numberOfObjectives the number of objectives
+		 */
+		public MockObjectivesProblem(int numberOfObjectives) {
+			super(0, numberOfObjectives);
+		}
+
+		@Override
+		public void evaluate(Solution solution) {
+			// solutions are not evaluated
+		}
+
+		@Override
+		public Solution newSolution() {
+			return new Solution(0, getNumberOfObjectives());
+		}
+		
+	}
 
 }
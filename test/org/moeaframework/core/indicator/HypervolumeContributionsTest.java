@@ -0,0 +1,193 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core.indicator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.core.PRNG;
+
+/**
+ * Tests the {@link HypervolumeContributions} class.
+ */
+public class HypervolumeContributionsTest {
+
+	/**
+	 * Tests if an exception is thrown when the number of samples is negative.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegativeSamples() {
+		new HypervolumeContributions(new double[] { 1.0, 1.0 }, -1);
+	}
+
+	/**
+	 * Tests the contributions of a simple two-dimensional front.
+	 */
+	@Test
+	public void testSimple() {
+		HypervolumeContributions contributions = new HypervolumeContributions(
+				new double[] { 1.0, 1.0 });
+
+		contributions.add(new double[] { 0.0, 0.5 });
+		contributions.add(new double[] { 0.5, 0.0 });
+		Assert.assertEquals(0.25, contributions.getContribution(0), 1e-12);
+		Assert.assertEquals(0.25, contributions.getContribution(1), 1e-12);
+
+		contributions.add(new double[] { 0.25, 0.25 });
+		Assert.assertEquals(0.125, contributions.getContribution(0), 1e-12);
+		Assert.assertEquals(0.125, contributions.getContribution(1), 1e-12);
+		Assert.assertEquals(0.0625, contributions.getContribution(2), 1e-12);
+
+		contributions.add(new double[] { 0.1, 0.1 });
+		Assert.assertEquals(0.0, contributions.getContribution(2), 1e-12);
+
+		contributions.remove(3);
+		Assert.assertEquals(0.0625, contributions.getContribution(2), 1e-12);
+	}
+
+	/**
+	 * Tests if the exact contributions remain correct through a random
+	 * sequence of insertions and removals, including dominated and duplicate
+	 * points.
+	 */
+	@Test
+	public void testExact() {
+		for (int numberOfObjectives = 2; numberOfObjectives <= 4;
+				numberOfObjectives++) {
+			double[] referencePoint = createReferencePoint(numberOfObjectives);
+			HypervolumeContributions contributions =
+					new HypervolumeContributions(referencePoint, 0);
+			List<double[]> points = new ArrayList<double[]>();
+
+			for (int k = 0; k < 200; k++) {
+				if (!points.isEmpty() && (PRNG.nextDouble() < 0.4)) {
+					int index = PRNG.nextInt(points.size());
+					points.remove(index);
+					contributions.remove(index);
+				} else {
+					double[] point = randomPoint(numberOfObjectives);
+					points.add(point);
+					contributions.add(point);
+				}
+
+				for (int i = 0; i < points.size(); i++) {
+					Assert.assertEquals(calculateContribution(points, i,
+							referencePoint), contributions.getContribution(i),
+							1e-10);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Tests if the Monte-Carlo estimates are close to the exact
+	 * contributions.
+	 */
+	@Test
+	public void testMonteCarlo() {
+		int numberOfObjectives = 4;
+		double[] referencePoint = createReferencePoint(numberOfObjectives);
+		HypervolumeContributions contributions = new HypervolumeContributions(
+				referencePoint, 100000);
+		List<double[]> points = new ArrayList<double[]>();
+
+		Assert.assertFalse(contributions.isExact());
+
+		for (int k = 0; k < 20; k++) {
+			double[] point = randomPoint(numberOfObjectives);
+			points.add(point);
+			contributions.add(point);
+		}
+
+		points.remove(5);
+		contributions.remove(5);
+
+		for (int i = 0; i < points.size(); i++) {
+			double[] point = points.get(i);
+			double volume = 1.0;
+
+			for (int j = 0; j < numberOfObjectives; j++) {
+				volume *= Math.max(0.0, referencePoint[j] - point[j]);
+			}
+
+			Assert.assertEquals(calculateContribution(points, i,
+					referencePoint), contributions.getContribution(i),
+					0.02 * volume);
+		}
+	}
+
+	/**
+	 * Returns the exact contribution of a point by computing the hypervolume
+	 * with and without the point.
+	 * 
+	 * @param points the points
+	 * @param index the index of the point
+	 * @param referencePoint the reference point
+	 * @return the exact contribution of the point
+	 */
+	private double calculateContribution(List<double[]> points, int index,
+			double[] referencePoint) {
+		List<double[]> others = new ArrayList<double[]>(points);
+		others.remove(index);
+
+		return WFGHypervolume.calculate(points.toArray(new double[0][]),
+				referencePoint) - WFGHypervolume.calculate(
+				others.toArray(new double[0][]), referencePoint);
+	}
+
+	/**
+	 * Returns the reference point {@code (1, ..., 1)}.
+	 * 
+	 * @param numberOfObjectives the number of objectives
+	 * @return the reference point
+	 */
+	private double[] createReferencePoint(int numberOfObjectives) {
+		double[] referencePoint = new double[numberOfObjectives];
+
+		for (int i = 0; i < numberOfObjectives; i++) {
+			referencePoint[i] = 1.0;
+		}
+
+		return referencePoint;
+	}
+
+	/**
+	 * Returns a random point, some of which lie on a coarse grid to produce
+	 * ties and duplicates or exceed the reference point.
+	 * 
+	 * @param numberOfObjectives the number of objectives
+	 * @return the random point
+	 */
+	private double[] randomPoint(int numberOfObjectives) {
+		double[] point = new double[numberOfObjectives];
+		boolean isGrid = PRNG.nextBoolean();
+
+		for (int i = 0; i < numberOfObjectives; i++) {
+			if (isGrid) {
+				point[i] = PRNG.nextInt(5) / 4.0;
+			} else {
+				point[i] = PRNG.nextDouble(0.0, 1.1);
+			}
+		}
+
+		return point;
+	}
+
+}
@@ -0,0 +1,107 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core.indicator;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.core.PRNG;
+
+/**
+ * Tests the {@link NearestNeighborSearch} class.
+ */
+public class NearestNeighborSearchTest {
+
+	/**
+	 * Tests if searching an empty set returns positive infinity.
+	 */
+	@Test
+	public void testEmpty() {
+		NearestNeighborSearch search = new NearestNeighborSearch(2,
+				new double[0][]);
+
+		Assert.assertEquals(0, search.size());
+		Assert.assertEquals(Double.POSITIVE_INFINITY,
+				search.distanceToNearest(new double[] { 0.5, 0.5 }), 0.0);
+	}
+
+	/**
+	 * Tests if the nearest distances match a linear scan on random point
+	 * sets, including duplicate points and points sharing coordinates.
+	 */
+	@Test
+	public void testRandom() {
+		for (int numberOfObjectives = 1; numberOfObjectives <= 8;
+				numberOfObjectives++) {
+			double[][] points = randomPoints(1000, numberOfObjectives);
+			double[][] queries = randomPoints(1000, numberOfObjectives);
+
+			for (int i = 0; i < 100; i++) {
+				points[PRNG.nextInt(points.length)] =
+						points[PRNG.nextInt(points.length)].clone();
+				points[PRNG.nextInt(points.length)][0] = 0.5;
+				queries[PRNG.nextInt(queries.length)] =
+						points[PRNG.nextInt(points.length)].clone();
+			}
+
+			NearestNeighborSearch search = new NearestNeighborSearch(
+					numberOfObjectives, points);
+			double[] serial = search.squaredDistancesToNearest(queries,
+					false);
+			double[] parallel = search.squaredDistancesToNearest(queries,
+					true);
+
+			for (int i = 0; i < queries.length; i++) {
+				double expected = Double.POSITIVE_INFINITY;
+
+				for (int j = 0; j < points.length; j++) {
+					double sum = 0.0;
+
+					for (int k = 0; k < numberOfObjectives; k++) {
+						double difference = queries[i][k] - points[j][k];
+						sum += difference * difference;
+					}
+
+					expected = Math.min(expected, sum);
+				}
+
+				Assert.assertEquals(expected, serial[i], 0.0);
+				Assert.assertEquals(expected, parallel[i], 0.0);
+			}
+		}
+	}
+
+	/**
+	 * Returns uniformly distributed random points in the unit hypercube.
+	 *
+	 * @param size the number of points
+	 * @param numberOfObjectives the number of coordinates of each point
+	 * @return the random points
+	 */
+	private double[][] randomPoints(int size, int numberOfObjectives) {
+		double[][] points = new double[size][numberOfObjectives];
+
+		for (int i = 0; i < size; i++) {
+			for (int j = 0; j < numberOfObjectives; j++) {
+				points[i][j] = PRNG.nextDouble();
+			}
+		}
+
+		return points;
+	}
+
+}
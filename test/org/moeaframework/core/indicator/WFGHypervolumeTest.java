@@ -0,0 +1,133 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core.indicator;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.core.PRNG;
+
+/**
+ * Tests the {@link WFGHypervolume} class.
+ */
+public class WFGHypervolumeTest {
+
+	/**
+	 * Tests the hypervolume of a few simple point sets.
+	 */
+	@Test
+	public void testSimple() {
+		double[] referencePoint = new double[] { 1.0, 1.0, 1.0 };
+
+		Assert.assertEquals(0.0, WFGHypervolume.calculate(new double[0][],
+				referencePoint), 1e-12);
+		Assert.assertEquals(0.125, WFGHypervolume.calculate(new double[][] {
+				{ 0.5, 0.5, 0.5 } }, referencePoint), 1e-12);
+		Assert.assertEquals(0.0, WFGHypervolume.calculate(new double[][] {
+				{ 0.5, 1.0, 0.5 } }, referencePoint), 1e-12);
+		Assert.assertEquals(0.875, WFGHypervolume.calculate(new double[][] {
+				{ 0.5, 0.0, 0.0 },
+				{ 0.0, 0.5, 0.0 },
+				{ 0.0, 0.0, 0.5 },
+				{ 0.6, 0.6, 0.6 } }, referencePoint), 1e-12);
+	}
+
+	/**
+	 * Tests if the hypervolume matches the PISA algorithm on random point
+	 * sets, including dominated, duplicate and non-contributing points.
+	 */
+	@Test
+	public void testRandom() {
+		for (int numberOfObjectives = 2; numberOfObjectives <= 6;
+				numberOfObjectives++) {
+			double[] referencePoint = new double[numberOfObjectives];
+
+			for (int i = 0; i < numberOfObjectives; i++) {
+				referencePoint[i] = 1.0;
+			}
+
+			for (int k = 0; k < 20; k++) {
+				double[][] points = randomPoints(PRNG.nextInt(1, 40),
+						numberOfObjectives);
+
+				Assert.assertEquals(
+						HypervolumeAlgorithm.PISA.calculate(points,
+								referencePoint),
+						HypervolumeAlgorithm.WFG.calculate(points,
+								referencePoint),
+						1e-10);
+			}
+		}
+	}
+
+	/**
+	 * Tests if the exclusive hypervolume equals the difference between the
+	 * hypervolume with and without the point.
+	 */
+	@Test
+	public void testExclusive() {
+		for (int numberOfObjectives = 2; numberOfObjectives <= 5;
+				numberOfObjectives++) {
+			double[] referencePoint = new double[numberOfObjectives];
+
+			for (int i = 0; i < numberOfObjectives; i++) {
+				referencePoint[i] = 1.0;
+			}
+
+			for (int k = 0; k < 20; k++) {
+				double[][] points = randomPoints(PRNG.nextInt(2, 20),
+						numberOfObjectives);
+				double[][] others = new double[points.length - 1][];
+				System.arraycopy(points, 1, others, 0, others.length);
+
+				Assert.assertEquals(
+						WFGHypervolume.calculate(points, referencePoint) -
+						WFGHypervolume.calculate(others, referencePoint),
+						WFGHypervolume.calculateExclusive(points[0], others,
+								referencePoint),
+						1e-10);
+			}
+		}
+	}
+
+	/**
+	 * Returns random points, where some points lie on a coarse grid to
+	 * produce ties and duplicates and some exceed the reference point.
+	 * 
+	 * @param n the number of points
+	 * @param numberOfObjectives the number of objectives
+	 * @return the random points
+	 */
+	private double[][] randomPoints(int n, int numberOfObjectives) {
+		double[][] points = new double[n][numberOfObjectives];
+
+		for (int i = 0; i < n; i++) {
+			boolean isGrid = PRNG.nextBoolean();
+
+			for (int j = 0; j < numberOfObjectives; j++) {
+				if (isGrid) {
+					points[i][j] = PRNG.nextInt(5) / 4.0;
+				} else {
+					points[i][j] = PRNG.nextDouble(0.0, 1.1);
+				}
+			}
+		}
+
+		return points;
+	}
+
+}
@@ -20,6 +20,7 @@ package org.moeaframework.core.spi;
 import java.io.NotSerializableException;
 import java.io.Serializable;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.moeaframework.core.Algorithm;
 import org.moeaframework.core.NondominatedPopulation;
@@ -35,7 +36,7 @@ public class TestAlgorithmFactory extends AlgorithmFactory {
 	/**
 	 * The number of times the {@code terminate} method has been invoked.
 	 */
-	private int terminateCount;
+	private final AtomicInteger terminateCount = new AtomicInteger();
 
 	@Override
 	public synchronized Algorithm getAlgorithm(String name,
@@ -78,7 +79,7 @@ public class TestAlgorithmFactory extends AlgorithmFactory {
 			@Override
 			public void terminate() {
 				algorithm.terminate();
-				terminateCount++;
+				terminateCount.incrementAndGet();
 			}
 
 			@Override
@@ -102,7 +103,7 @@ public class TestAlgorithmFactory extends AlgorithmFactory {
 	 *         invoked
 	 */
 	public int getTerminateCount() {
-		return terminateCount;
+		return terminateCount.get();
 	}
 	
 }
\ No newline at end of file
@@ -17,6 +17,8 @@
  */
 package org.moeaframework.core.spi;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
 import org.moeaframework.problem.AnalyticalProblem;
@@ -30,7 +32,7 @@ public class TestProblemFactory extends ProblemFactory {
 	/**
 	 * The number of times the {@code close} method has been invoked.
 	 */
-	private int closeCount;
+	private final AtomicInteger closeCount = new AtomicInteger();
 
 	@Override
 	public synchronized Problem getProblem(String name) {
@@ -72,7 +74,7 @@ public class TestProblemFactory extends ProblemFactory {
 				@Override
 				public void close() {
 					problem.close();
-					closeCount++;
+					closeCount.incrementAndGet();
 				}
 
 				@Override
@@ -117,7 +119,7 @@ public class TestProblemFactory extends ProblemFactory {
 				@Override
 				public void close() {
 					problem.close();
-					closeCount++;
+					closeCount.incrementAndGet();
 				}
 				
 			};
@@ -130,7 +132,7 @@ public class TestProblemFactory extends ProblemFactory {
 	 * @return the number of times the {@code close} method has been invoked
 	 */
 	public int getCloseCount() {
-		return closeCount;
+		return closeCount.get();
 	}
 	
 }
@@ -36,7 +36,8 @@ import org.moeaframework.core.variable.RealVariable;
 
 /**
  * Tests the {@link ExternalProblem} class without the need for an external
- * executable.  No error conditions are tested.
+ * executable.  The only error condition tested is an invalid response
+ * during batch evaluation.
  */
 public class ExternalProblemTest {
 	
@@ -141,6 +142,186 @@ public class ExternalProblemTest {
 		});
 	}
 	
+	@Test
+	public void testBatch() throws Exception {
+		Thread consumerThread = new Thread() {
+			public void run() {
+				BufferedReader reader = null;
+				PrintStream writer = null;
+				
+				try {
+					String line = null;
+					reader = new BufferedReader(new InputStreamReader(i2));
+					writer = new PrintStream(o1);
+	
+					while ((line = reader.readLine()) != null) {
+						String[] tokens = line.split("\\s+");
+	
+						Assert.assertEquals(4, tokens.length);
+	
+						writer.println(tokens[0] + " " + tokens[1] + " 0.5");
+						writer.flush();
+					}
+				} catch (IOException e) {
+					throw new RuntimeException(e);
+				} finally {
+					try {
+						if (reader != null) {
+							reader.close();
+						}
+						
+						if (writer != null) {
+							writer.close();
+						}
+					} catch (IOException e) {
+						throw new RuntimeException(e);
+					}
+				}
+			}
+		};
+		
+		Thread producerThread = new Thread() {
+			public void run() {
+				Solution[] solutions = new Solution[100];
+				
+				for (int i=0; i<solutions.length; i++) {
+					solutions[i] = problem.newSolution();
+					((RealVariable)solutions[i].getVariable(0)).setValue(
+							i / 100.0);
+					((RealVariable)solutions[i].getVariable(1)).setValue(
+							1.0 - i / 100.0);
+				}
+				
+				problem.evaluateAll(solutions);
+				
+				for (int i=0; i<solutions.length; i++) {
+					Assert.assertEquals(i / 100.0, 
+							solutions[i].getObjective(0), Settings.EPS);
+					Assert.assertEquals(1.0 - i / 100.0, 
+							solutions[i].getObjective(1), Settings.EPS);
+					Assert.assertEquals(0.5, solutions[i].getConstraint(0), 
+							Settings.EPS);
+				}
+				
+				problem.close();
+			}
+		};
+		
+		producerThread.start();
+		consumerThread.start();
+		
+		producerThread.join(5000);
+		consumerThread.join(5000);
+		
+		Assert.assertFalse(producerThread.isAlive());
+		Assert.assertFalse(consumerThread.isAlive());
+	}
+	
+	@Test
+	public void testMalformedResponseInBatch() throws Exception {
+		final Throwable[] failure = new Throwable[1];
+		
+		Thread consumerThread = new Thread() {
+			public void run() {
+				BufferedReader reader = null;
+				PrintStream writer = null;
+				
+				try {
+					String line = null;
+					int count = 0;
+					reader = new BufferedReader(new InputStreamReader(i2));
+					writer = new PrintStream(o1);
+	
+					while ((line = reader.readLine()) != null) {
+						String[] tokens = line.split("\\s+");
+						
+						if (count == 10) {
+							writer.println("malformed");
+						} else {
+							writer.println(tokens[0] + " " + tokens[1] + " 0.5");
+						}
+						
+						writer.flush();
+						count++;
+					}
+				} catch (IOException e) {
+					throw new RuntimeException(e);
+				} finally {
+					try {
+						if (reader != null) {
+							reader.close();
+						}
+						
+						if (writer != null) {
+							writer.close();
+						}
+					} catch (IOException e) {
+						throw new RuntimeException(e);
+					}
+				}
+			}
+		};
+		
+		Thread producerThread = new Thread() {
+			public void run() {
+				try {
+					try {
+						problem.evaluateAll(createSolutions(0.0));
+						Assert.fail("expected ProblemException");
+					} catch (ProblemException e) {
+						// expected
+					}
+					
+					// the responses outstanding when the error occurred must
+					// not be read as the responses to these solutions
+					Solution[] solutions = createSolutions(0.25);
+					problem.evaluateAll(solutions);
+					
+					for (int i=0; i<solutions.length; i++) {
+						Assert.assertEquals(0.25 + i / 1000.0, 
+								solutions[i].getObjective(0), Settings.EPS);
+						Assert.assertEquals(0.5, 
+								solutions[i].getConstraint(0), Settings.EPS);
+					}
+					
+					Solution solution = createSolutions(0.75)[0];
+					problem.evaluate(solution);
+					Assert.assertEquals(0.75, solution.getObjective(0), 
+							Settings.EPS);
+				} catch (Throwable e) {
+					failure[0] = e;
+				} finally {
+					problem.close();
+				}
+			}
+		};
+		
+		producerThread.start();
+		consumerThread.start();
+		
+		producerThread.join(5000);
+		consumerThread.join(5000);
+		
+		Assert.assertFalse(producerThread.isAlive());
+		Assert.assertFalse(consumerThread.isAlive());
+		
+		if (failure[0] != null) {
+			throw new AssertionError(failure[0]);
+		}
+	}
+	
+	private Solution[] createSolutions(double offset) {
+		Solution[] solutions = new Solution[100];
+		
+		for (int i=0; i<solutions.length; i++) {
+			solutions[i] = problem.newSolution();
+			((RealVariable)solutions[i].getVariable(0)).setValue(
+					offset + i / 1000.0);
+		}
+		
+		return solutions;
+	}
+	
 	public void run(Thread consumerThread) throws Exception {
 		Thread producerThread = new Thread() {
 			public void run() {
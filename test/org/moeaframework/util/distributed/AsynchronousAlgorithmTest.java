@@ -0,0 +1,220 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.util.distributed;
+
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.Executor;
+import org.moeaframework.algorithm.AlgorithmException;
+import org.moeaframework.algorithm.EpsilonMOEA;
+import org.moeaframework.algorithm.SteadyStateAlgorithm;
+import org.moeaframework.core.EpsilonBoxDominanceArchive;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.Population;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.indicator.GenerationalDistance;
+import org.moeaframework.core.operator.RandomInitialization;
+import org.moeaframework.core.operator.TournamentSelection;
+import org.moeaframework.core.spi.AlgorithmFactory;
+import org.moeaframework.core.spi.OperatorFactory;
+import org.moeaframework.core.spi.ProblemFactory;
+import org.moeaframework.problem.DTLZ.DTLZ2;
+
+/**
+ * Tests the {@link AsynchronousAlgorithm} class.
+ */
+public class AsynchronousAlgorithmTest {
+	
+	/**
+	 * Tests if &epsilon;-MOEA converges when driven asynchronously.
+	 */
+	@Test
+	public void testEpsilonMOEA() {
+		test("eMOEA");
+	}
+	
+	/**
+	 * Tests if MOEA/D converges when driven asynchronously.
+	 */
+	@Test
+	public void testMOEAD() {
+		test("MOEAD");
+	}
+	
+	/**
+	 * Tests if the {@link Executor} drives steady-state algorithms
+	 * asynchronously when requested.
+	 */
+	@Test
+	public void testExecutor() {
+		NondominatedPopulation result = new Executor()
+				.withProblem("DTLZ2_2")
+				.withAlgorithm("eMOEA")
+				.withMaxEvaluations(5000)
+				.distributeOn(4, true)
+				.run();
+		
+		Assert.assertTrue(result.size() > 1);
+		Assert.assertTrue(getGenerationalDistance(result) < 0.05);
+	}
+	
+	/**
+	 * Tests if the driver evaluates and inserts the offspring already being
+	 * evaluated once the algorithm stops generating offspring, and then
+	 * fails rather than loops forever.
+	 */
+	@Test(timeout = 10000)
+	public void testExhaustedOffspring() {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		
+		try {
+			Problem problem = new DTLZ2(2);
+			// each call generates two offspring, filling the window
+			AsynchronousAlgorithm driver = new AsynchronousAlgorithm(
+					createLimitedGenerator(problem, 4), problem, executor, 8);
+			
+			driver.step();
+			driver.step();
+			
+			try {
+				while (true) {
+					int before = driver.getNumberOfEvaluations();
+					driver.step();
+					Assert.assertTrue(driver.getNumberOfEvaluations() > before);
+				}
+			} catch (AlgorithmException e) {
+				// expected once all offspring are inserted
+			}
+			
+			Assert.assertEquals(108, driver.getNumberOfEvaluations());
+		} finally {
+			executor.shutdown();
+		}
+	}
+	
+	/**
+	 * Tests if the driver fails rather than loops forever when the algorithm
+	 * never generates any offspring.
+	 */
+	@Test(timeout = 10000, expected = AlgorithmException.class)
+	public void testEmptyOffspring() {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		
+		try {
+			Problem problem = new DTLZ2(2);
+			AsynchronousAlgorithm driver = new AsynchronousAlgorithm(
+					createLimitedGenerator(problem, 0), problem, executor, 8);
+			
+			driver.step();
+			driver.step();
+		} finally {
+			executor.shutdown();
+		}
+	}
+	
+	/**
+	 * Returns an &epsilon;-MOEA instance with a population size of
+	 * {@code 100} whose {@code generate()} method returns an empty array
+	 * after the specified number of calls.
+	 * 
+	 * @param problem the problem
+	 * @param limit the number of calls returning new offspring
+	 * @return the &epsilon;-MOEA instance
+	 */
+	private SteadyStateAlgorithm createLimitedGenerator(Problem problem, 
+			final int limit) {
+		return new EpsilonMOEA(problem, new Population(), 
+				new EpsilonBoxDominanceArchive(0.01),
+				new TournamentSelection(2), 
+				OperatorFactory.getInstance().getVariation("sbx+pm", 
+						new Properties(), problem),
+				new RandomInitialization(problem, 100)) {
+			
+			private int count;
+
+			@Override
+			public Solution[] generate() {
+				if (count < limit) {
+					count++;
+					return super.generate();
+				} else {
+					return new Solution[0];
+				}
+			}
+			
+		};
+	}
+	
+	/**
+	 * Runs the specified algorithm on a two-objective DTLZ2 problem using
+	 * the asynchronous driver, checking the number of evaluations and the
+	 * quality of the result.
+	 * 
+	 * @param algorithmName the algorithm name
+	 */
+	private void test(String algorithmName) {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		
+		try {
+			Problem problem = new DTLZ2(2);
+			Problem distributedProblem = new DistributedProblem(problem, 
+					executor);
+			SteadyStateAlgorithm algorithm = (SteadyStateAlgorithm)
+					AlgorithmFactory.getInstance().getAlgorithm(algorithmName, 
+							new Properties(), distributedProblem);
+			AsynchronousAlgorithm driver = new AsynchronousAlgorithm(
+					algorithm, problem, executor, 8);
+			
+			while (driver.getNumberOfEvaluations() < 10000) {
+				int before = driver.getNumberOfEvaluations();
+				driver.step();
+				Assert.assertTrue(driver.getNumberOfEvaluations() > before);
+			}
+			
+			NondominatedPopulation result = driver.getResult();
+			driver.terminate();
+			
+			for (Solution solution : result) {
+				Assert.assertFalse(Double.isNaN(solution.getObjective(0)));
+			}
+			
+			Assert.assertTrue(result.size() > 1);
+			Assert.assertTrue(getGenerationalDistance(result) < 0.05);
+		} finally {
+			executor.shutdown();
+		}
+	}
+	
+	/**
+	 * Returns the generational distance of the result to the reference set
+	 * for the two-objective DTLZ2 problem.
+	 * 
+	 * @param result the result
+	 * @return the generational distance of the result
+	 */
+	private double getGenerationalDistance(NondominatedPopulation result) {
+		return new GenerationalDistance(new DTLZ2(2), ProblemFactory
+				.getInstance().getReferenceSet("DTLZ2_2")).evaluate(result);
+	}
+
+}
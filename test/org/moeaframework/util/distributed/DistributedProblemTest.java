@@ -22,6 +22,7 @@ import java.util.concurrent.Executors;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.moeaframework.core.BatchProblem;
 import org.moeaframework.core.Population;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
@@ -80,6 +81,58 @@ public class DistributedProblemTest {
 		executor.shutdown();
 	}
 
+	/**
+	 * Tests if batches are submitted as a single job when the decorated
+	 * problem is a {@link BatchProblem}.
+	 */
+	@Test
+	public void testBatchProblem() {
+		ExecutorService executor = Executors.newFixedThreadPool(10);
+		final int[] batches = new int[1];
+		
+		class TestBatchProblem extends MockRealProblem implements 
+		BatchProblem {
+
+			@Override
+			public void evaluate(Solution solution) {
+				Assert.fail("batch evaluation expected");
+			}
+
+			@Override
+			public void evaluateAll(Solution[] solutions) {
+				batches[0]++;
+				
+				for (Solution solution : solutions) {
+					super.evaluate(solution);
+				}
+			}
+			
+		}
+		
+		Problem innerProblem = new TestBatchProblem();
+		DistributedProblem problem = new DistributedProblem(innerProblem,
+				executor);
+		Solution[] solutions = new Solution[10];
+		
+		for (int i = 0; i < solutions.length; i++) {
+			solutions[i] = problem.newSolution();
+		}
+		
+		problem.evaluateAll(solutions);
+		
+		for (int i = 0; i < solutions.length; i++) {
+			Solution expected = solutions[i].copy();
+			new MockRealProblem().evaluate(expected);
+			
+			Assert.assertArrayEquals(expected.getObjectives(), 
+					solutions[i].getObjectives(), 0.0);
+		}
+		
+		Assert.assertEquals(1, batches[0]);
+		
+		executor.shutdown();
+	}
+
 	/**
 	 * Tests running a small single-thread test.
 	 */
@@ -0,0 +1,130 @@
+/* Copyright 2009-2015 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.util.random;
+
+import java.util.Random;
+
+import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.TestThresholds;
+import org.moeaframework.core.PRNG;
+
+/**
+ * Tests the {@link RandomStreams} class and the generators in
+ * {@link RandomGenerator}.
+ */
+public class RandomStreamsTest {
+
+	/**
+	 * Tests the SplitMix64 output against the reference implementation.
+	 */
+	@Test
+	public void testSplitMix64Reference() {
+		Random random = new SplitMix64Random(1234567);
+		
+		Assert.assertEquals(6457827717110365317L, random.nextLong());
+		Assert.assertEquals(3203168211198807973L, random.nextLong());
+		Assert.assertEquals(-8629252141511181193L, random.nextLong());
+		Assert.assertEquals(4593380528125082431L, random.nextLong());
+	}
+	
+	/**
+	 * Tests if each generator produces uniformly-distributed values in the
+	 * range {@code [0, 1]} and is reproducible after reseeding.
+	 */
+	@Test
+	public void testGenerators() {
+		for (RandomGenerator generator : RandomGenerator.values()) {
+			Random random = generator.newInstance(42);
+			DescriptiveStatistics statistics = new DescriptiveStatistics();
+			
+			for (int i = 0; i < 100000; i++) {
+				double value = random.nextDouble();
+				Assert.assertTrue((value >= 0.0) && (value < 1.0));
+				statistics.addValue(value);
+			}
+			
+			Assert.assertEquals(0.5, statistics.getMean(),
+					TestThresholds.STATISTICS_EPS);
+			Assert.assertEquals(1.0 / 12.0, statistics.getVariance(),
+					TestThresholds.STATISTICS_EPS);
+			
+			random.setSeed(42);
+			long expected = random.nextLong();
+			random.setSeed(42);
+			Assert.assertEquals(expected, random.nextLong());
+		}
+	}
+	
+	/**
+	 * Tests if streams are reproducible and independent of the order in which
+	 * they are requested.
+	 */
+	@Test
+	public void testStreams() {
+		RandomStreams streams1 = new RandomStreams(
+				RandomGenerator.XOROSHIRO128PLUS, 12345);
+		RandomStreams streams2 = new RandomStreams(
+				RandomGenerator.XOROSHIRO128PLUS, 12345);
+		
+		Random first = streams1.newStream();
+		Random second = streams1.newStream();
+		
+		Assert.assertEquals(streams2.getStream(1).nextLong(),
+				second.nextLong());
+		Assert.assertEquals(streams2.getStream(0).nextLong(),
+				first.nextLong());
+		Assert.assertFalse(streams1.getSeed(0) == streams1.getSeed(1));
+	}
+	
+	/**
+	 * Tests if {@link PRNG} assigns each thread its own stream when random
+	 * streams are enabled.
+	 */
+	@Test
+	public void testThreadStreams() throws InterruptedException {
+		final RandomStreams streams = new RandomStreams(
+				RandomGenerator.SPLITMIX64, 12345);
+		final long[] values = new long[2];
+		
+		try {
+			PRNG.setRandomStreams(streams);
+			values[0] = PRNG.getRandom().nextLong();
+			
+			Thread thread = new Thread() {
+				
+				@Override
+				public void run() {
+					values[1] = PRNG.getRandom().nextLong();
+				}
+				
+			};
+			
+			thread.start();
+			thread.join();
+		} finally {
+			PRNG.setRandomStreams(null);
+		}
+		
+		Assert.assertEquals(streams.getStream(0).nextLong(), values[0]);
+		Assert.assertEquals(streams.getStream(1).nextLong(), values[1]);
+		Assert.assertNull(PRNG.getRandomStreams());
+	}
+
+}